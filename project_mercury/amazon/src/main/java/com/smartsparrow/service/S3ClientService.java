@@ -100,6 +100,20 @@ public class S3ClientService {
         }
     }
 
+    /**
+     * Open a stream uploading its content to an s3 bucket. The object is created when the stream is closed, the
+     * caller is responsible for either closing or aborting it.
+     *
+     * @param bucketName  the bucket name
+     * @param key         represents the path within the bucket
+     * @param contentType the object contentType
+     * @return the upload stream
+     */
+    public S3UploadStream openUploadStream(@Nonnull final String bucketName, @Nonnull final String key,
+                                           @Nonnull final ContentType contentType) {
+        return new S3UploadStream(s3Client, bucketName, key, contentType.toString());
+    }
+
     /**
      * Pre-sign a url to upload an object to an s3 bucket
      *
@@ -0,0 +1,197 @@
+package com.smartsparrow.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.smartsparrow.lang.S3UploadFault;
+import com.smartsparrow.util.log.MercuryLogger;
+import com.smartsparrow.util.log.MercuryLoggerFactory;
+
+/**
+ * Output stream uploading its content to an s3 object with a multipart upload. Only the part being written is held in
+ * memory, every <code>s3.upload.partSize</code> bytes (default 8MB, s3 requires at least 5MB) are uploaded as a part.
+ * Content smaller than a part is uploaded with a single put on close. The part buffer starts small and grows with the
+ * content written, so small uploads do not hold a whole part.
+ *
+ * The object is only created when the stream is closed, {@link #abort()} discards the parts uploaded so far.
+ */
+public class S3UploadStream extends OutputStream {
+
+    private static final MercuryLogger log = MercuryLoggerFactory.getLogger(S3UploadStream.class);
+
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+    private static final int PART_SIZE = Math.max(Integer.getInteger("s3.upload.partSize", 8 * 1024 * 1024), MIN_PART_SIZE);
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final AmazonS3 s3Client;
+    private final String bucketName;
+    private final String key;
+    private final String contentType;
+    private final List<PartETag> partETags = new ArrayList<>();
+
+    private byte[] part = new byte[0];
+    private int position;
+    private String uploadId;
+    private boolean closed;
+
+    S3UploadStream(@Nonnull final AmazonS3 s3Client,
+                   @Nonnull final String bucketName,
+                   @Nonnull final String key,
+                   @Nonnull final String contentType) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public void write(final int b) {
+        affirmOpen();
+        if (position == PART_SIZE) {
+            uploadPart();
+        }
+        ensureCapacity(position + 1);
+        part[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(@Nonnull final byte[] bytes, int offset, int length) {
+        affirmOpen();
+        while (length > 0) {
+            if (position == PART_SIZE) {
+                uploadPart();
+            }
+            int copied = Math.min(length, PART_SIZE - position);
+            ensureCapacity(position + copied);
+            System.arraycopy(bytes, offset, part, position, copied);
+            position += copied;
+            offset += copied;
+            length -= copied;
+        }
+    }
+
+    /**
+     * Upload the remaining content and complete the upload
+     *
+     * @throws S3UploadFault when failing to upload, the parts uploaded so far are discarded
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            if (uploadId == null) {
+                s3Client.putObject(new PutObjectRequest(bucketName, key, new ByteArrayInputStream(part, 0, position),
+                                                        metadata(position)));
+            } else {
+                if (position > 0) {
+                    uploadPart();
+                }
+                s3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+            }
+            closed = true;
+        } catch (S3UploadFault fault) {
+            throw fault;
+        } catch (Throwable throwable) {
+            abort();
+            throw fault("error completing the upload", throwable);
+        }
+    }
+
+    /**
+     * Discard the upload, this is a no-op once the stream is closed
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (uploadId != null) {
+            try {
+                s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            } catch (Throwable throwable) {
+                // the bucket lifecycle rules clean up the incomplete upload
+                log.jsonError("error aborting the upload", new HashMap<String, Object>() {
+                    {put("bucketName", bucketName);}
+                    {put("key", key);}
+                }, throwable);
+            }
+        }
+    }
+
+    private void uploadPart() {
+        try {
+            if (uploadId == null) {
+                uploadId = s3Client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, metadata(null)))
+                        .getUploadId();
+            }
+            partETags.add(s3Client.uploadPart(new UploadPartRequest()
+                                                      .withBucketName(bucketName)
+                                                      .withKey(key)
+                                                      .withUploadId(uploadId)
+                                                      .withPartNumber(partETags.size() + 1)
+                                                      .withInputStream(new ByteArrayInputStream(part, 0, position))
+                                                      .withPartSize(position))
+                                      .getPartETag());
+            position = 0;
+        } catch (Throwable throwable) {
+            abort();
+            throw fault("error uploading the part", throwable);
+        }
+    }
+
+    /**
+     * Grow the part buffer to hold at least the required number of bytes, doubling its size up to a whole part
+     *
+     * @param required the number of bytes the buffer must hold
+     */
+    private void ensureCapacity(final int required) {
+        if (required <= part.length) {
+            return;
+        }
+        int capacity = Math.max(part.length, INITIAL_BUFFER_SIZE);
+        while (capacity < required) {
+            capacity = (int) Math.min((long) capacity * 2, PART_SIZE);
+        }
+        part = Arrays.copyOf(part, capacity);
+    }
+
+    private ObjectMetadata metadata(final Integer contentLength) {
+        final ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentType(contentType);
+        if (contentLength != null) {
+            objectMetadata.setContentLength(contentLength);
+        }
+        return objectMetadata;
+    }
+
+    private S3UploadFault fault(final String message, final Throwable throwable) {
+        log.jsonError(message, new HashMap<String, Object>() {
+            {put("bucketName", bucketName);}
+            {put("key", key);}
+            {put("parts", partETags.size());}
+        }, throwable);
+        return new S3UploadFault(throwable.getMessage());
+    }
+
+    private void affirmOpen() {
+        if (closed) {
+            throw new S3UploadFault(String.format("upload stream to %s/%s is closed", bucketName, key));
+        }
+    }
+}
@@ -6,13 +6,27 @@ import static com.smartsparrow.util.Warrants.affirmDoesNotThrow;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.apache.commons.lang3.tuple.Pair;
+
 import com.akamai.edgeauth.EdgeAuth;
 import com.akamai.edgeauth.EdgeAuthBuilder;
 import com.akamai.edgeauth.EdgeAuthException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.asset.data.AkamaiTokenAuthenticationConfiguration;
 import com.smartsparrow.asset.data.AssetSignature;
@@ -29,14 +43,38 @@ import com.smartsparrow.util.monitoring.ReactiveTransaction;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+/**
+ * Signs asset urls with the signature strategy configured for the url host.
+ *
+ * The signature configuration of each host is held in a node-local cache, deserialized once, so signing a url does
+ * not query the storage. Creating or deleting a configuration refreshes the host on this node, configurations changed
+ * on other nodes are picked up when the entries expire after <code>asset.signature.hostTtlSeconds</code> (default 60).
+ * The cache holds at most <code>asset.signature.maxHosts</code> hosts (default 1000).
+ *
+ * A signed url is reused for <code>asset.signature.tokenReuseSeconds</code> (default 30, 0 disables the reuse) and up
+ * to <code>asset.signature.maxSignedUrls</code> urls per host (default 100000). Tokens valid for a window are only
+ * reused when the window is at least twice as long, so a reused url remains valid for at least half of its window.
+ */
 @Singleton
 public class AssetSignatureService {
 
     private static final MercuryLogger log = MercuryLoggerFactory.getLogger(AssetSignatureService.class);
 
+    private static final long HOST_TTL_SECONDS = Long.getLong("asset.signature.hostTtlSeconds", 60);
+    private static final long MAX_HOSTS = Long.getLong("asset.signature.maxHosts", 1000);
+    private static final long TOKEN_REUSE_SECONDS = Long.getLong("asset.signature.tokenReuseSeconds", 30);
+    private static final long MAX_SIGNED_URLS = Long.getLong("asset.signature.maxSignedUrls", 100_000);
+
     private final AssetSignatureGateway assetSignatureGateway;
     private final AssetSignatureConfigurationDeserializer assetSignatureConfigurationDeserializer;
 
+    // the signature of each host or an empty optional when the host is not signed. The lookup is cached rather than
+    // its result, so concurrent lookups of a host share a single query
+    private final Cache<String, Mono<Optional<HostSignature>>> hosts = CacheBuilder.newBuilder()
+            .maximumSize(MAX_HOSTS)
+            .expireAfterWrite(HOST_TTL_SECONDS, TimeUnit.SECONDS)
+            .build();
+
     @Inject
     public AssetSignatureService(final AssetSignatureGateway assetSignatureGateway,
                                  final AssetSignatureConfigurationDeserializer assetSignatureConfigurationDeserializer) {
@@ -78,6 +116,7 @@ public class AssetSignatureService {
         return assetSignatureGateway.persist(assetSignature)
                 .singleOrEmpty()
                 .thenReturn(assetSignature)
+                .doFinally(ignored -> invalidate(host))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
@@ -96,6 +135,7 @@ public class AssetSignatureService {
         return assetSignatureGateway.delete(new AssetSignature()
                 .setHost(host)
                 .setPath(path))
+                .doFinally(ignored -> invalidate(host))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
@@ -105,50 +145,141 @@ public class AssetSignatureService {
      *
      * @param url the url to sign
      * @return a mono containing the signed url or the original non signed url when configs not found
+     * @throws IllegalStateFault when the url is invalid
      */
     @Trace(async = true)
     public Mono<String> signUrl(final String url) {
+        final String host = hostOf(url);
+        return findSignature(host)
+                .map(signature -> sign(url, signature))
+                .doOnEach(ReactiveTransaction.linkOnNext());
+    }
+
+    /**
+     * Sign a batch of urls. The signature configuration of each distinct host is looked up once for the batch, the
+     * urls of hosts without a signature strategy are returned as is
+     *
+     * @param urls the urls to sign
+     * @return a mono with a map of each url to its signed url, an empty map when no urls are supplied
+     * @throws IllegalStateFault when any of the urls is invalid
+     */
+    @Trace(async = true)
+    public Mono<Map<String, String>> signUrls(final Collection<String> urls) {
+        affirmArgument(urls != null, "urls are required");
+
+        final Map<String, Set<String>> urlsByHost = new HashMap<>();
+        for (final String url : urls) {
+            urlsByHost.computeIfAbsent(hostOf(url), host -> new LinkedHashSet<>()).add(url);
+        }
+
+        return Flux.fromIterable(urlsByHost.entrySet())
+                .flatMap(entry -> findSignature(entry.getKey())
+                        .flatMapIterable(signature -> entry.getValue().stream()
+                                .map(url -> Pair.of(url, sign(url, signature)))
+                                .collect(Collectors.toList())))
+                .collectMap(Pair::getLeft, Pair::getRight)
+                .doOnEach(ReactiveTransaction.linkOnNext());
+    }
+
+    /**
+     * Drop the cached signature configuration and signed urls of a host on this node
+     *
+     * @param host the url host
+     */
+    public void invalidate(final String host) {
+        hosts.invalidate(host);
+    }
+
+    @VisibleForTesting
+    long size() {
+        return hosts.size();
+    }
+
+    /**
+     * @param url the url
+     * @return the url host or an empty string when the url has no host
+     * @throws IllegalStateFault when the url is invalid
+     */
+    private String hostOf(final String url) {
         try {
-            final URI uri = new URI(url);
-            final String host = uri.getHost();
-
-            // hardcode the path to an empty string for now
-            return assetSignatureGateway.findAssetSignature(host, "")
-                    .flatMap(assetSignature -> {
-                        // get the strategy
-                        final AssetSignatureStrategyType type = assetSignature.getAssetSignatureStrategyType();
-                        // deserialize the configuration
-                        final AssetSignatureConfiguration deserialized = assetSignatureConfigurationDeserializer
-                                .deserialize(type, assetSignature.getConfig());
-                        // sign the url
-                        return sign(url, deserialized, type);
-                    })
-                    // when no configs are found, just return the non signed url
-                    .defaultIfEmpty(url)
-                    .doOnEach(ReactiveTransaction.linkOnNext());
+            return Strings.nullToEmpty(new URI(url).getHost());
         } catch (URISyntaxException e) {
             throw new IllegalStateFault("invalid url");
         }
     }
 
+    /**
+     * Find the signature of a host, loading and caching its configuration when not cached
+     *
+     * @param host the url host
+     * @return a mono of the host signature or of an empty optional when the host is not signed
+     */
+    private Mono<Optional<HostSignature>> findSignature(final String host) {
+        if (host.isEmpty()) {
+            // a url without host can not match any configuration
+            return Mono.just(Optional.empty());
+        }
+        return hosts.asMap().computeIfAbsent(host, this::loadSignature);
+    }
+
+    private Mono<Optional<HostSignature>> loadSignature(final String host) {
+        // hardcode the path to an empty string for now
+        return assetSignatureGateway.findAssetSignature(host, "")
+                .map(assetSignature -> {
+                    // get the strategy
+                    final AssetSignatureStrategyType type = assetSignature.getAssetSignatureStrategyType();
+                    // deserialize the configuration
+                    final AssetSignatureConfiguration deserialized = assetSignatureConfigurationDeserializer
+                            .deserialize(type, assetSignature.getConfig());
+                    return Optional.of(new HostSignature(type, deserialized));
+                })
+                // when no configs are found the host urls are not signed
+                .defaultIfEmpty(Optional.empty())
+                // do not hold on to a failed lookup
+                .doOnError(throwable -> hosts.invalidate(host))
+                .cache();
+    }
+
+    /**
+     * Sign the url with the host signature, reusing a previously signed url when allowed
+     *
+     * @param url the url to sign
+     * @param signature the host signature or an empty optional when the host is not signed
+     * @return the signed url or the url as is when the host is not signed
+     */
+    private String sign(final String url, final Optional<HostSignature> signature) {
+        if (!signature.isPresent()) {
+            return url;
+        }
+        final HostSignature hostSignature = signature.get();
+        if (hostSignature.signedUrls == null) {
+            return sign(url, hostSignature.configuration, hostSignature.type);
+        }
+        // signing the same url concurrently is harmless, any of the signed urls can be reused
+        String signed = hostSignature.signedUrls.getIfPresent(url);
+        if (signed == null) {
+            signed = sign(url, hostSignature.configuration, hostSignature.type);
+            hostSignature.signedUrls.put(url, signed);
+        }
+        return signed;
+    }
+
     /**
      * Calls the appropriate signing strategy implementation according to the signature strategy type
      *
      * @param url the url to sign
      * @param configuration the asset signature configurations
      * @param type the signature strategy type
-     * @return a mono with the signed url
+     * @return the signed url
      */
-    @Trace(async = true)
-    private Mono<String> sign(final String url, final AssetSignatureConfiguration configuration,
-                              final AssetSignatureStrategyType type) {
+    private String sign(final String url, final AssetSignatureConfiguration configuration,
+                        final AssetSignatureStrategyType type) {
 
         if (type.equals(AssetSignatureStrategyType.AKAMAI_TOKEN_AUTHENTICATION)) {
-            return sign(url, (AkamaiTokenAuthenticationConfiguration) configuration)
-                    .doOnEach(ReactiveTransaction.linkOnNext());
+            return sign(url, (AkamaiTokenAuthenticationConfiguration) configuration);
         }
         // no signature required, return as is
-        return Mono.just(url).doOnEach(ReactiveTransaction.linkOnNext());
+        return url;
     }
 
     /**
@@ -156,10 +287,9 @@ public class AssetSignatureService {
      *
      * @param url the url to sign
      * @param configuration the akamai token authentication configuration
-     * @return a mono with the signed url
+     * @return the signed url
      */
-    @Trace(async = true)
-    private Mono<String> sign(final String url, final AkamaiTokenAuthenticationConfiguration configuration) {
+    private String sign(final String url, final AkamaiTokenAuthenticationConfiguration configuration) {
         try {
             final URI uri = new URI(url);
             // set required key and tokenName params
@@ -195,11 +325,44 @@ public class AssetSignatureService {
             // build auth and sign the url
             final EdgeAuth edgeAuth = edgeAuthBuilder.build();
             final String token = edgeAuth.generateURLToken(uri.getPath());
-            return Mono.just(String.format("%s?%s=%s", uri, edgeAuth.getTokenName(), token))
-                    .doOnEach(ReactiveTransaction.linkOnNext());
+            return String.format("%s?%s=%s", uri, edgeAuth.getTokenName(), token);
         } catch (EdgeAuthException | URISyntaxException e) {
             log.error("error ", e);
             throw new IllegalStateFault("failed to sign asset");
         }
     }
+
+    /**
+     * The deserialized signature configuration of a host and its reusable signed urls
+     */
+    private static class HostSignature {
+
+        private final AssetSignatureStrategyType type;
+        private final AssetSignatureConfiguration configuration;
+        // null when the signed urls are not reused
+        private final Cache<String, String> signedUrls;
+
+        private HostSignature(final AssetSignatureStrategyType type, final AssetSignatureConfiguration configuration) {
+            this.type = type;
+            this.configuration = configuration;
+            this.signedUrls = isReusable(configuration) ? CacheBuilder.newBuilder()
+                    .maximumSize(MAX_SIGNED_URLS)
+                    .expireAfterWrite(TOKEN_REUSE_SECONDS, TimeUnit.SECONDS)
+                    .<String, String>build() : null;
+        }
+
+        private static boolean isReusable(final AssetSignatureConfiguration configuration) {
+            if (TOKEN_REUSE_SECONDS <= 0) {
+                return false;
+            }
+            if (configuration instanceof AkamaiTokenAuthenticationConfiguration) {
+                final AkamaiTokenAuthenticationConfiguration akamai = (AkamaiTokenAuthenticationConfiguration) configuration;
+                // a token with an end time expires at the same time whenever it is generated
+                return akamai.getEndTime() != null
+                        || akamai.getWindowSeconds() == null
+                        || akamai.getWindowSeconds() >= 2 * TOKEN_REUSE_SECONDS;
+            }
+            return true;
+        }
+    }
 }
@@ -11,6 +11,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -310,9 +311,7 @@ public class BronteAssetService implements AssetService {
      */
     Mono<Map<String, Object>> getImageSourcePayload(final UUID assetId) {
         checkArgument(assetId != null, "assetId is required");
-        return assetGateway.fetchImageSources(assetId)
-                .flatMap(imageSource -> buildPublicUrl(imageSource.getUrl())
-                        .map(signedUrl -> Pair.of(imageSource, signedUrl)))
+        return buildPublicUrls(assetGateway.fetchImageSources(assetId), ImageSource::getUrl)
                 .collectMap(pair -> pair.getLeft().getName().getLabel(), pair -> {
                     HashMap<String, Object> map = new HashMap<>();
                     ImageSource imageSource = pair.getLeft();
@@ -342,9 +341,7 @@ public class BronteAssetService implements AssetService {
      */
     Mono<Map<String, Object>> getVideoSourcePayload(final UUID assetId) {
         checkArgument(assetId != null, "assetId is required");
-        Mono<Map<String, Object>> sources = assetGateway.fetchVideoSources(assetId)
-                .flatMap(videoSource -> buildPublicUrl(videoSource.getUrl())
-                        .map(signedUrl -> Pair.of(videoSource, signedUrl)))
+        Mono<Map<String, Object>> sources = buildPublicUrls(assetGateway.fetchVideoSources(assetId), VideoSource::getUrl)
                 .collectMap(pair -> pair.getLeft().getName().getLabel(), pair -> {
                     HashMap<String, Object> map = new HashMap<>();
                     map.put("url", pair.getRight());
@@ -352,9 +349,7 @@ public class BronteAssetService implements AssetService {
                     return map;
                 });
 
-        Mono<Map<String, Object>> subtitles = assetGateway.fetchVideoSubtitles(assetId)
-                .flatMap(videoSubtitle -> buildPublicUrl(videoSubtitle.getUrl())
-                        .map(signedUrl -> Pair.of(videoSubtitle, signedUrl)))
+        Mono<Map<String, Object>> subtitles = buildPublicUrls(assetGateway.fetchVideoSubtitles(assetId), VideoSubtitle::getUrl)
                 .collectMap(pair -> pair.getLeft().getLang(), Pair::getRight);
 
         return Mono.zip(sources, subtitles).map(tuple2 -> {
@@ -396,9 +391,7 @@ public class BronteAssetService implements AssetService {
      */
     Mono<Map<String, Object>> getAudioSourcePayload(final UUID assetId) {
         checkArgument(assetId != null, "assetId is required");
-        return assetGateway.fetchAudioSources(assetId)
-                .flatMap(audioSource -> buildPublicUrl(audioSource.getUrl())
-                        .map(signedUrl -> Pair.of(audioSource, signedUrl)))
+        return buildPublicUrls(assetGateway.fetchAudioSources(assetId), AudioSource::getUrl)
                 .collectMap(pair -> pair.getLeft().getName().getLabel(), pair -> {
                     HashMap<String, Object> map = new HashMap<>();
                     map.put("url", pair.getRight());
@@ -427,9 +420,7 @@ public class BronteAssetService implements AssetService {
      */
     Mono<Map<String, Object>> getIconSourcePayload(final UUID assetId) {
         checkArgument(assetId != null, "assetId is required");
-        return assetGateway.fetchIconSources(assetId)
-                .flatMap(iconSource -> buildPublicUrl(iconSource.getUrl())
-                        .map(signedUrl -> Pair.of(iconSource, signedUrl)))
+        return buildPublicUrls(assetGateway.fetchIconSources(assetId), IconSource::getUrl)
                 .collectMap(pair -> pair.getLeft().getName().getLabel(), pair -> {
                     HashMap<String, Object> map = new HashMap<>();
                     IconSource iconSource = pair.getLeft();
@@ -453,6 +444,28 @@ public class BronteAssetService implements AssetService {
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
+    /**
+     * Build and sign the public urls of a set of asset sources when required. The urls are signed in a single batch.
+     *
+     * @param sources the asset sources
+     * @param relativeUrl the function returning the source url
+     * @param <T> the type of asset source
+     * @return a flux of each source paired with the full url to the source
+     */
+    @Trace(async = true)
+    public <T> Flux<Pair<T, String>> buildPublicUrls(final Flux<T> sources, final Function<T, String> relativeUrl) {
+        return sources.collectList()
+                .flatMapMany(list -> {
+                    final List<String> fullUrls = list.stream()
+                            .map(source -> String.format("%s/%s", assetConfig.getPublicUrl(), relativeUrl.apply(source)))
+                            .collect(Collectors.toList());
+                    return assetSignatureService.signUrls(fullUrls)
+                            .flatMapMany(signedUrls -> Flux.range(0, list.size())
+                                    .map(i -> Pair.of(list.get(i), signedUrls.get(fullUrls.get(i)))));
+                })
+                .doOnEach(ReactiveTransaction.linkOnNext());
+    }
+
     /**
      * Fetch asset summary by asset id
      *
@@ -6,12 +6,16 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -21,11 +25,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import com.google.common.collect.Lists;
 import com.smartsparrow.asset.data.AssetSignature;
 import com.smartsparrow.asset.data.AssetSignatureConfiguration;
 import com.smartsparrow.asset.data.AssetSignatureGateway;
 import com.smartsparrow.asset.data.AssetSignatureStrategyType;
 import com.smartsparrow.exception.IllegalArgumentFault;
+import com.smartsparrow.exception.IllegalStateFault;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -97,6 +103,99 @@ class AssetSignatureServiceTest {
         assertTrue(signedUrl.contains("~hmac="));
     }
 
+    @Test
+    void signUrl_hostSignatureCached() {
+        AssetSignature akamaiSignature = mockAkamaiSignature();
+
+        String first = assetSignatureService.signUrl(url)
+                .block();
+        String second = assetSignatureService.signUrl(url)
+                .block();
+        String other = assetSignatureService.signUrl("https://assets-bronte.pearson.com/other.jpg")
+                .block();
+
+        assertNotNull(first);
+        assertNotNull(other);
+        // the signed url is reused within the reuse window
+        assertEquals(first, second);
+        assertTrue(other.startsWith("https://assets-bronte.pearson.com/other.jpg?aTokenName="));
+        verify(assetSignatureGateway, times(1)).findAssetSignature("assets-bronte.pearson.com", "");
+        verify(assetSignatureConfigurationDeserializer, times(1))
+                .deserialize(AssetSignatureStrategyType.AKAMAI_TOKEN_AUTHENTICATION, akamaiSignature.getConfig());
+        assertEquals(1, assetSignatureService.size());
+    }
+
+    @Test
+    void signUrl_lookupErrorNotCached() {
+        when(assetSignatureGateway.findAssetSignature("assets-bronte.pearson.com", ""))
+                .thenReturn(Mono.error(new RuntimeException("timeout")))
+                .thenReturn(Mono.empty());
+
+        assertThrows(RuntimeException.class, () -> assetSignatureService.signUrl(url).block());
+
+        assertEquals(url, assetSignatureService.signUrl(url).block());
+        verify(assetSignatureGateway, times(2)).findAssetSignature("assets-bronte.pearson.com", "");
+    }
+
+    @Test
+    void signUrl_invalidUrl() {
+        IllegalStateFault f = assertThrows(IllegalStateFault.class, () -> assetSignatureService.signUrl("https://a b"));
+
+        assertEquals("invalid url", f.getMessage());
+    }
+
+    @Test
+    void signUrls() {
+        mockAkamaiSignature();
+        when(assetSignatureGateway.findAssetSignature("unsigned.pearson.com", ""))
+                .thenReturn(Mono.empty());
+
+        final String other = "https://assets-bronte.pearson.com/other.jpg";
+        final String unsigned = "https://unsigned.pearson.com/image.jpg";
+
+        Map<String, String> signedUrls = assetSignatureService.signUrls(Lists.newArrayList(url, other, unsigned, url))
+                .block();
+
+        assertNotNull(signedUrls);
+        assertEquals(3, signedUrls.size());
+        assertTrue(signedUrls.get(url).startsWith(url + "?aTokenName="));
+        assertTrue(signedUrls.get(other).startsWith(other + "?aTokenName="));
+        assertEquals(unsigned, signedUrls.get(unsigned));
+        // each host is looked up once for the batch
+        verify(assetSignatureGateway, times(1)).findAssetSignature("assets-bronte.pearson.com", "");
+        verify(assetSignatureGateway, times(1)).findAssetSignature("unsigned.pearson.com", "");
+    }
+
+    @Test
+    void signUrls_empty() {
+        Map<String, String> signedUrls = assetSignatureService.signUrls(Collections.emptyList())
+                .block();
+
+        assertNotNull(signedUrls);
+        assertTrue(signedUrls.isEmpty());
+        verify(assetSignatureGateway, never()).findAssetSignature(anyString(), anyString());
+    }
+
+    @Test
+    void create_invalidatesHost() {
+        final AssetSignatureStrategyType type = AssetSignatureStrategyType.AKAMAI_TOKEN_AUTHENTICATION;
+        when(assetSignatureGateway.findAssetSignature("assets-bronte.pearson.com", ""))
+                .thenReturn(Mono.empty());
+        when(assetSignatureConfigurationDeserializer.deserialize(type, "config"))
+                .thenReturn(mock(AssetSignatureConfiguration.class));
+        when(assetSignatureGateway.persist(any(AssetSignature.class))).thenReturn(Flux.just(new Void[]{}));
+
+        assetSignatureService.signUrl(url).block();
+        assertEquals(1, assetSignatureService.size());
+
+        assetSignatureService.create("assets-bronte.pearson.com", "", "config", type)
+                .block();
+
+        assertEquals(0, assetSignatureService.size());
+        assetSignatureService.signUrl(url).block();
+        verify(assetSignatureGateway, times(2)).findAssetSignature("assets-bronte.pearson.com", "");
+    }
+
     @Test
     void create_nullOrEmptyHost() {
         IllegalArgumentFault f1 = assertThrows(IllegalArgumentFault.class,
@@ -244,4 +343,22 @@ class AssetSignatureServiceTest {
         });
     }
 
-}
\ No newline at end of file
+    private AssetSignature mockAkamaiSignature() {
+        final String akamaiConfig = "{" +
+                "\"key\":\"00a140670298f2ba50e7425375e168f9\"," +
+                "\"tokenName\":\"aTokenName\"," +
+                "\"windowSeconds\":3600" +
+                "}";
+        AssetSignature akamaiSignature = new AssetSignature()
+                .setId(UUID.randomUUID())
+                .setConfig(akamaiConfig)
+                .setAssetSignatureStrategyType(AssetSignatureStrategyType.AKAMAI_TOKEN_AUTHENTICATION);
+
+        when(assetSignatureGateway.findAssetSignature("assets-bronte.pearson.com", ""))
+                .thenReturn(Mono.just(akamaiSignature));
+        when(assetSignatureConfigurationDeserializer
+                .deserialize(eq(AssetSignatureStrategyType.AKAMAI_TOKEN_AUTHENTICATION), eq(akamaiConfig)))
+                .thenCallRealMethod();
+        return akamaiSignature;
+    }
+}
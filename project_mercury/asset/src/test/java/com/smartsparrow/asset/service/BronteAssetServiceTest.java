@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.atMostOnce;
@@ -20,10 +21,12 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.imaging.ImageReadException;
 import org.junit.jupiter.api.BeforeEach;
@@ -102,6 +105,7 @@ class BronteAssetServiceTest {
     private static final Account creator = new Account()
                                     .setId(UUID.randomUUID())
                                     .setSubscriptionId(UUID.randomUUID());
+    @SuppressWarnings("unchecked")
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -111,6 +115,10 @@ class BronteAssetServiceTest {
         when(assetBuilder.build(any(AssetProvider.class)))
                 .thenReturn(new BronteAsset()
                         .setId(assetId));
+        when(assetSignatureService.signUrls(anyCollection()))
+                .thenAnswer(invocation -> Mono.just(((Collection<String>) invocation.getArgument(0)).stream()
+                        .distinct()
+                        .collect(Collectors.toMap(url -> url, url -> url))));
 
         when(assetGateway.findAssetId(anyString()))
                 .thenReturn(Mono.just(new AssetIdByUrn()
@@ -188,13 +196,12 @@ class BronteAssetServiceTest {
                 .setWidth(72.0);
 
         when(assetGateway.fetchImageSources(assetId)).thenReturn(Flux.just(is1, is2));
-        when(assetSignatureService.signUrl("https://publicUrl/url for Original"))
-                .thenReturn(Mono.just("https://publicUrl/url for Original"));
-        when(assetSignatureService.signUrl("https://publicUrl/url for small"))
-                .thenReturn(Mono.just("https://publicUrl/url for small"));
 
         Map<String, Object> result = bronteAssetService.getImageSourcePayload(assetId).block();
 
+        // the urls of all sources are signed in a single batch
+        verify(assetSignatureService).signUrls(anyCollection());
+        verify(assetSignatureService, never()).signUrl(anyString());
 
         assertNotNull(result);
         assertEquals(2, result.size());
@@ -219,7 +226,6 @@ class BronteAssetServiceTest {
                 .setUrl("url");
 
         when(assetGateway.fetchAudioSources(assetId)).thenReturn(Flux.just(audioSource));
-        when(assetSignatureService.signUrl(anyString())).thenReturn(Mono.just("https://publicUrl/url"));
 
         Map<String, Object> result = bronteAssetService.getAudioSourcePayload(assetId).block();
 
@@ -252,12 +258,6 @@ class BronteAssetServiceTest {
         VideoSubtitle sub2 = new VideoSubtitle().setAssetId(assetId).setLang("ru").setUrl("url for ru");
         when(assetGateway.fetchVideoSources(assetId)).thenReturn(Flux.just(vs1));
         when(assetGateway.fetchVideoSubtitles(assetId)).thenReturn(Flux.just(sub1, sub2));
-        when(assetSignatureService.signUrl("https://publicUrl/url for Original"))
-                .thenReturn(Mono.just("https://publicUrl/url for Original"));
-        when(assetSignatureService.signUrl("https://publicUrl/url for en"))
-                .thenReturn(Mono.just("https://publicUrl/url for en"));
-        when(assetSignatureService.signUrl("https://publicUrl/url for ru"))
-                .thenReturn(Mono.just("https://publicUrl/url for ru"));
 
         Map<String, Object> result = bronteAssetService.getVideoSourcePayload(assetId).block();
 
@@ -282,7 +282,6 @@ class BronteAssetServiceTest {
                 .setResolution("720p");
         when(assetGateway.fetchVideoSources(assetId)).thenReturn(Flux.just(vs1));
         when(assetGateway.fetchVideoSubtitles(assetId)).thenReturn(Flux.empty());
-        when(assetSignatureService.signUrl(anyString())).thenReturn(Mono.just("url for Original"));
 
         Map<String, Object> result = bronteAssetService.getVideoSourcePayload(assetId).block();
 
@@ -296,7 +295,6 @@ class BronteAssetServiceTest {
         VideoSubtitle sub1 = new VideoSubtitle().setAssetId(assetId).setLang("en").setUrl("url for en");
         when(assetGateway.fetchVideoSources(assetId)).thenReturn(Flux.empty());
         when(assetGateway.fetchVideoSubtitles(assetId)).thenReturn(Flux.just(sub1));
-        when(assetSignatureService.signUrl(anyString())).thenReturn(Mono.just("url for en"));
 
         Map<String, Object> result = bronteAssetService.getVideoSourcePayload(assetId).block();
 
@@ -548,10 +546,6 @@ class BronteAssetServiceTest {
                 .setWidth(72.0);
 
         when(assetGateway.fetchIconSources(assetId)).thenReturn(Flux.just(is1, is2));
-        when(assetSignatureService.signUrl("https://publicUrl/url for Original"))
-                .thenReturn(Mono.just("https://publicUrl/url for Original"));
-        when(assetSignatureService.signUrl("https://publicUrl/url for small"))
-                .thenReturn(Mono.just("https://publicUrl/url for small"));
 
         Map<String, Object> result = bronteAssetService.getIconSourcePayload(assetId).block();
 
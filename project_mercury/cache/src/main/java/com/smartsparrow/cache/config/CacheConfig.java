@@ -12,6 +12,12 @@ public class CacheConfig {
     @JsonProperty("enableLearnerCache")
     private boolean enableLearnerCache;
 
+    @JsonProperty("nearCacheMaxSize")
+    private long nearCacheMaxSize = 10_000;
+
+    @JsonProperty("nearCacheTtlSeconds")
+    private long nearCacheTtlSeconds = 60;
+
     /**
      * Verify if CacheService should persist objects to external cache
      */
@@ -24,9 +30,38 @@ public class CacheConfig {
         return this;
     }
 
+    /**
+     * The maximum number of entries held in process per cache key namespace. The in-process tier is disabled
+     * when the value is <code>0</code>
+     */
+    public long getNearCacheMaxSize() {
+        return nearCacheMaxSize;
+    }
+
+    public CacheConfig setNearCacheMaxSize(long nearCacheMaxSize) {
+        this.nearCacheMaxSize = nearCacheMaxSize;
+        return this;
+    }
+
+    /**
+     * The maximum time in seconds an entry is held in process, capped by the entry time to live in Redis
+     */
+    public long getNearCacheTtlSeconds() {
+        return nearCacheTtlSeconds;
+    }
+
+    public CacheConfig setNearCacheTtlSeconds(long nearCacheTtlSeconds) {
+        this.nearCacheTtlSeconds = nearCacheTtlSeconds;
+        return this;
+    }
+
     @Override
     public String toString() {
-        return MoreObjects.toStringHelper(this).add("enableLearnerCache", enableLearnerCache).toString();
+        return MoreObjects.toStringHelper(this)
+                .add("enableLearnerCache", enableLearnerCache)
+                .add("nearCacheMaxSize", nearCacheMaxSize)
+                .add("nearCacheTtlSeconds", nearCacheTtlSeconds)
+                .toString();
     }
 
     @Override
@@ -36,11 +71,13 @@ public class CacheConfig {
         if (o == null || getClass() != o.getClass())
             return false;
         CacheConfig that = (CacheConfig) o;
-        return enableLearnerCache == that.enableLearnerCache;
+        return enableLearnerCache == that.enableLearnerCache
+                && nearCacheMaxSize == that.nearCacheMaxSize
+                && nearCacheTtlSeconds == that.nearCacheTtlSeconds;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(enableLearnerCache);
+        return Objects.hashCode(enableLearnerCache, nearCacheMaxSize, nearCacheTtlSeconds);
     }
 }
@@ -0,0 +1,82 @@
+package com.smartsparrow.cache.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.newrelic.api.agent.NewRelic;
+
+/**
+ * Hit, miss and load time counters of the {@link CacheService} reported per cache key namespace
+ */
+public class CacheMetrics {
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    void nearHit(final String namespace) {
+        stats(namespace).nearHits.increment();
+        NewRelic.incrementCounter(metricName(namespace, "NearHit"));
+    }
+
+    void redisHit(final String namespace) {
+        stats(namespace).redisHits.increment();
+        NewRelic.incrementCounter(metricName(namespace, "RedisHit"));
+    }
+
+    void miss(final String namespace) {
+        stats(namespace).misses.increment();
+        NewRelic.incrementCounter(metricName(namespace, "Miss"));
+    }
+
+    void load(final String namespace, final long elapsedMillis) {
+        Stats namespaceStats = stats(namespace);
+        namespaceStats.loads.increment();
+        namespaceStats.loadMillis.add(elapsedMillis);
+        NewRelic.recordResponseTimeMetric(metricName(namespace, "Load"), elapsedMillis);
+    }
+
+    /**
+     * @param namespace the cache key namespace
+     * @return the counters for the namespace
+     */
+    public Stats getStats(final String namespace) {
+        return stats(namespace);
+    }
+
+    private Stats stats(final String namespace) {
+        return stats.computeIfAbsent(namespace, ns -> new Stats());
+    }
+
+    private static String metricName(final String namespace, final String name) {
+        return "Custom/Cache/" + namespace + "/" + name;
+    }
+
+    public static class Stats {
+
+        private final LongAdder nearHits = new LongAdder();
+        private final LongAdder redisHits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder loadMillis = new LongAdder();
+
+        public long getNearHits() {
+            return nearHits.sum();
+        }
+
+        public long getRedisHits() {
+            return redisHits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getLoads() {
+            return loads.sum();
+        }
+
+        public long getLoadMillis() {
+            return loadMillis.sum();
+        }
+    }
+}
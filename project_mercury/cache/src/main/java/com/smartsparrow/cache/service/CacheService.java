@@ -2,9 +2,15 @@ package com.smartsparrow.cache.service;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -13,20 +19,35 @@ import org.apache.camel.Body;
 import org.apache.camel.Handler;
 import org.redisson.api.RBucketReactive;
 import org.redisson.api.RMapCacheReactive;
+import org.redisson.api.RSetCacheReactive;
 import org.redisson.api.RTopicReactive;
 import org.redisson.api.RedissonReactiveClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.FstCodec;
+import org.redisson.config.Config;
 
 import com.smartsparrow.cache.config.CacheConfig;
 import com.smartsparrow.dataevent.eventmessage.EventMessage;
+import com.smartsparrow.util.UUIDs;
 import com.smartsparrow.util.log.MercuryLogger;
 import com.smartsparrow.util.log.MercuryLoggerFactory;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 /**
  * Contains methods for working with Redis Cache.
  *
+ * Values read through {@link CacheService#computeIfAbsent(String, Class, Mono, long, TimeUnit)} are also held in
+ * a bounded in-process tier (per cache key namespace) kept coherent across nodes over a Redis topic.
+ *
+ * Node-local caches held outside of this service are kept coherent over the same topic, see
+ * {@link CacheService#registerLocalCache(String, Consumer)}.
+ *
+ * Values can be tagged (deployment, element...) when loaded, all the values of a tag are then cleared with
+ * {@link CacheService#invalidateTag(String)} through a redis index set instead of a keyspace scan.
+ *
  * Methods prefixed with:
  *  - <code>map</code>: operate on redis Hash type, equivalent to <code>hget, hset, hdel</code> etc.
  */
@@ -35,14 +56,38 @@ public class CacheService {
 
     private final static MercuryLogger log = MercuryLoggerFactory.getLogger(CacheService.class);
 
+    static final String NEAR_CACHE_INVALIDATION_TOPIC = "cache:near:invalidation";
+    static final String TAG_INDEX_PREFIX = "cache:tag:";
+    private static final int TAG_DELETE_BATCH_SIZE = 500;
+
     private final RedissonReactiveClient redissonReactiveClient;
     private final CacheConfig cacheConfig;
+    private final NearCache nearCache;
+    private final CacheMetrics cacheMetrics = new CacheMetrics();
+    private final Map<String, Mono<CachedMonoWrapper<?>>> inFlight = new ConcurrentHashMap<>();
+    private final String nodeId = UUIDs.timeBased().toString();
+    private final Map<String, Consumer<List<String>>> localCaches = new ConcurrentHashMap<>();
+    private final AtomicBoolean listening = new AtomicBoolean();
 
     @Inject
     public CacheService(RedissonReactiveClient redissonReactiveClient,
                         CacheConfig cacheConfig) {
         this.redissonReactiveClient = redissonReactiveClient;
         this.cacheConfig = cacheConfig;
+        this.nearCache = new NearCache(cacheConfig.getNearCacheMaxSize(), cacheConfig.getNearCacheTtlSeconds(),
+                codecOf(redissonReactiveClient));
+
+        if (cacheConfig.isEnableLearnerCache() && nearCache.isEnabled()) {
+            listenInvalidations();
+        }
+    }
+
+    /**
+     * @return the codec values are stored in redis with, the redisson default when not configured
+     */
+    private static Codec codecOf(RedissonReactiveClient redissonReactiveClient) {
+        Config config = redissonReactiveClient.getConfig();
+        return config != null && config.getCodec() != null ? config.getCodec() : new FstCodec();
     }
 
     /**
@@ -89,32 +134,68 @@ public class CacheService {
      *
      */
     public <T> Mono<T> computeIfAbsent(String cacheKey, Class<T> type, Mono<T> publisher, long ttl, TimeUnit timeUnit) {
+        return computeIfAbsent(cacheKey, type, publisher, ttl, timeUnit, Collections.emptySet());
+    }
+
+    /**
+     * Retrieves a value from external redis cache, see {@link CacheService#computeIfAbsent(String, Class, Mono, long,
+     * TimeUnit)}.
+     *
+     * When the value is loaded the cache key is registered under each of the tags, so that it can be cleared with
+     * {@link CacheService#invalidateTag(String)}. Tags are built with {@link CacheTags}.
+     *
+     * @param cacheKey the redis key of cached value
+     * @param type type of cached value, must match the type of mono in publisher
+     * @param publisher Mono that emits the value that should be cached if not cached already
+     * @param ttl time to live in cache
+     * @param timeUnit unit for time to live value
+     * @param tags the tags to register the cache key under
+     * @return either the cached value matching cacheKey key or publisher if it wasn't cached. if publisher emits no items,
+     * returns Mono.empty()
+     */
+    public <T> Mono<T> computeIfAbsent(String cacheKey, Class<T> type, Mono<T> publisher, long ttl, TimeUnit timeUnit,
+                                       Set<String> tags) {
 
         if(cacheConfig.isEnableLearnerCache()) {
+            final String namespace = NearCache.namespaceOf(cacheKey);
+
+            // try the in-process tier first
+            if (nearCache.isEnabled()) {
+                NearCache.Entry entry = nearCache.get(cacheKey);
+                if (entry != null && (entry.isEmptyValue() || type.isInstance(entry.getValue()))) {
+                    cacheMetrics.nearHit(namespace);
+                    return entry.isEmptyValue() ? Mono.empty() : Mono.just(type.cast(entry.getValue()));
+                }
+            }
+
             // Get redis bucket for given cacheKey key
             RBucketReactive<CachedMonoWrapper<T>> bucket = redissonReactiveClient.getBucket(cacheKey);
 
-            return bucket.get()
-                    // get the wrapped value from redis
-                    .flatMap(cached -> {
-                        // if publisher originally emitted no items, wrapped cached value is an empty husk to avoid
-                        // cache misses
-                        if (cached.isEmptyValue()) {
-                            return Mono.empty();
-                        }
-                        // if there was a value, return it in a new Mono
-                        return Mono.just(cached.getValue());
-                    })
+            // concurrent misses for the same key share a single redis lookup and a single load
+            return singleFlight(cacheKey, () -> bucket.get()
+                    .doOnNext(cached -> cacheMetrics.redisHit(namespace))
                     // no cached items match the cacheKey key, so cache it from publisher emitted item
-                    .switchIfEmpty(set(cacheKey, publisher, ttl, timeUnit))
+                    .switchIfEmpty(Mono.defer(() -> {
+                        cacheMetrics.miss(namespace);
+                        return load(namespace, cacheKey, bucket, publisher, ttl, timeUnit, tags);
+                    }))
+                    .doOnNext(cached -> {
+                        if (nearCache.isEnabled()) {
+                            nearCache.put(cacheKey, cached.isEmptyValue() ? null : cached.getValue(), ttl, timeUnit);
+                        }
+                    }))
+                    // if publisher originally emitted no items, wrapped cached value is an empty husk to avoid
+                    // cache misses
+                    .filter(cached -> !cached.isEmptyValue())
                     // cast result back to original type
-                    .map(type::cast)
+                    .map(cached -> type.cast(cached.getValue()))
                     // if casting serialized value from cache back to expected type fails, it means the cache might
                     // be stale and the class type for a given key changed, so clear the cache and return the original
                     // publisher without interrupting the chain
                     .doOnError(e -> {
                         log.warn("failed to deserialize {} to {} - cleaning it from cache. Message: {}",
                                 cacheKey, type.getName(), e.getMessage());
+                        nearCache.invalidate(cacheKey);
                         bucket.delete().subscribe();
                     })
                     .onErrorResume(e -> publisher);
@@ -125,7 +206,9 @@ public class CacheService {
     }
 
     /**
-     * Stores item emitted by value and returns it back to caller
+     * Stores item emitted by value and returns it back to caller. The value is subscribed once. Once the value is
+     * stored, the in-process tier of the other nodes is invalidated for the cache key.
+     *
      * @param cacheKey the redis key to store the value under
      * @param value mono that emits item that will be cached
      * @param ttl time to live in cache
@@ -138,32 +221,189 @@ public class CacheService {
         // Get redis bucket for given cacheKey key
         RBucketReactive<CachedMonoWrapper<T>> bucket = redissonReactiveClient.getBucket(cacheKey);
 
-        // turns value into a hot publisher. Necessary so it can be subscribed so the value can be cached,
-        // but the original caller still needs to subscribe too
-        return value.cache()
-                // check if it emits anything
-                .hasElement()
-                .doOnNext(hasElement -> {
-
-                    // prep a wrapper for the value
-                    CachedMonoWrapper<T> wrap = new CachedMonoWrapper<T>();
-
-                    if(hasElement) {
-                        // if it emits something, subscribe to loader value and store emitted item in redis, wrapped
-                        // in a MonoCached instance
-                        value.subscribe(v ->
-                                bucket.set(wrap.setValue(v).setEmptyValue(false), ttl, timeUnit)
-                                        .subscribe()
-                        );
-                    } else {
-                        // If loader value doesn't emit anything, store an empty wrapper to avoid further cache misses
-                        bucket.set(wrap.setEmptyValue(true), ttl, timeUnit)
-                                .subscribe();
-                    }
+        return value
+                // store the emitted item in redis, wrapped in a CachedMonoWrapper instance
+                .flatMap(v -> store(cacheKey, bucket, new CachedMonoWrapper<T>().setValue(v).setEmptyValue(false),
+                        ttl, timeUnit)
+                        .thenReturn(v))
+                // If value doesn't emit anything, store an empty wrapper to avoid further cache misses
+                .switchIfEmpty(Mono.defer(() -> store(cacheKey, bucket, new CachedMonoWrapper<T>().setEmptyValue(true),
+                        ttl, timeUnit)
+                        .then(Mono.empty())));
+    }
+
+    /**
+     * Write the wrapped value to redis then invalidate the in-process tier. The invalidation is only broadcast once
+     * redis holds the new value, so no node can read the old value back into its in-process tier. A failed write
+     * is logged and does not fail the caller.
+     */
+    private <T> Mono<Void> store(String cacheKey, RBucketReactive<CachedMonoWrapper<T>> bucket,
+                                 CachedMonoWrapper<T> wrap, long ttl, TimeUnit timeUnit) {
+        return bucket.set(wrap, ttl, timeUnit)
+                .doOnError(e -> log.warn("failed to cache {}. Message: {}", cacheKey, e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.fromRunnable(() -> invalidateNearCache(cacheKey)));
+    }
+
+    /**
+     * Subscribe the loader once, store the outcome in redis and return it wrapped
+     */
+    private <T> Mono<CachedMonoWrapper<T>> load(String namespace, String cacheKey,
+                                                RBucketReactive<CachedMonoWrapper<T>> bucket, Mono<T> publisher,
+                                                long ttl, TimeUnit timeUnit, Set<String> tags) {
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+            return publisher
+                    .map(v -> new CachedMonoWrapper<T>().setValue(v).setEmptyValue(false))
+                    .defaultIfEmpty(new CachedMonoWrapper<T>().setEmptyValue(true))
+                    .doOnNext(wrap -> {
+                        cacheMetrics.load(namespace, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        bucket.set(wrap, ttl, timeUnit).subscribe();
+                        tag(cacheKey, ttl, timeUnit, tags).subscribe();
+                    });
+        });
+    }
+
+    /**
+     * Register a key written outside of {@link CacheService#computeIfAbsent(String, Class, Mono, long, TimeUnit, Set)}
+     * under tags, so that it is deleted by {@link CacheService#invalidateTag(String)}. A failed registration is logged
+     * and does not fail the caller.
+     *
+     * If cache.isEnableLearnerCache config setting is false, bypasses the whole cache system and just returns.
+     *
+     * @param cacheKey the redis key
+     * @param ttl time to live of the value stored under the key
+     * @param timeUnit unit for time to live value
+     * @param tags the tags to register the key under, see {@link CacheTags}
+     * @return a mono completing once the key is registered
+     */
+    public Mono<Void> tag(String cacheKey, long ttl, TimeUnit timeUnit, Set<String> tags) {
+        if (!cacheConfig.isEnableLearnerCache()) {
+            return Mono.empty();
+        }
+        return Flux.fromIterable(tags)
+                .flatMap(tag -> tagIndex(tag).add(cacheKey, ttl, timeUnit)
+                        .doOnError(e -> log.warn("failed to tag {} with {}. Message: {}",
+                                cacheKey, tag, e.getMessage()))
+                        .onErrorResume(e -> Mono.empty()))
+                .then();
+    }
+
+    /**
+     * The index of the keys registered under a tag. Members expire with the cached value they point to.
+     */
+    private RSetCacheReactive<String> tagIndex(String tag) {
+        return redissonReactiveClient.getSetCache(TAG_INDEX_PREFIX + tag);
+    }
 
+    /**
+     * Share the lookup between all the concurrent callers for the same key. The lookup is released once completed.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<CachedMonoWrapper<T>> singleFlight(String cacheKey, Supplier<Mono<CachedMonoWrapper<T>>> lookup) {
+        return Mono.defer(() -> (Mono<CachedMonoWrapper<T>>) (Mono<?>) inFlight.computeIfAbsent(cacheKey,
+                key -> lookup.get()
+                        .doFinally(signal -> inFlight.remove(key))
+                        .map(cached -> (CachedMonoWrapper<?>) cached)
+                        .cache()));
+    }
+
+    /**
+     * Drop the keys matching the pattern from the in-process tier of this node then broadcast the invalidation to
+     * the other nodes.
+     *
+     * @param keyPattern the key or a redis glob style key pattern
+     */
+    private void invalidateNearCache(String keyPattern) {
+        if (!nearCache.isEnabled()) {
+            return;
+        }
+        nearCache.invalidate(keyPattern);
+        redissonReactiveClient.getTopic(NEAR_CACHE_INVALIDATION_TOPIC)
+                .publish(new NearCacheInvalidation().setOrigin(nodeId).setKeyPattern(keyPattern))
+                .doOnError(e -> log.warn("failed to broadcast near cache invalidation for {}. Message: {}",
+                        keyPattern, e.getMessage()))
+                .subscribe();
+    }
+
+    /**
+     * Drop the keys from the in-process tier of this node then broadcast the invalidation to the other nodes.
+     *
+     * @param keys the keys to drop
+     */
+    private void invalidateNearCache(List<String> keys) {
+        if (!nearCache.isEnabled()) {
+            return;
+        }
+        keys.forEach(nearCache::invalidate);
+        redissonReactiveClient.getTopic(NEAR_CACHE_INVALIDATION_TOPIC)
+                .publish(new NearCacheInvalidation().setOrigin(nodeId).setKeys(keys))
+                .doOnError(e -> log.warn("failed to broadcast near cache invalidation for {} keys. Message: {}",
+                        keys.size(), e.getMessage()))
+                .subscribe();
+    }
+
+    /**
+     * Keep a node-local cache coherent across nodes. The invalidator is called with the keys the other nodes
+     * invalidated through {@link CacheService#broadcastInvalidation(String, List)}.
+     *
+     * @param localCache the name of the node-local cache
+     * @param invalidator drops the keys from the node-local cache
+     */
+    public void registerLocalCache(String localCache, Consumer<List<String>> invalidator) {
+        localCaches.put(localCache, invalidator);
+        listenInvalidations();
+    }
+
+    /**
+     * Broadcast the invalidation of keys of a node-local cache to the other nodes. The keys are expected to be
+     * dropped from the cache of this node by the caller.
+     *
+     * @param localCache the name of the node-local cache
+     * @param keys the keys to drop
+     */
+    public void broadcastInvalidation(String localCache, List<String> keys) {
+        redissonReactiveClient.getTopic(NEAR_CACHE_INVALIDATION_TOPIC)
+                .publish(new NearCacheInvalidation().setOrigin(nodeId).setLocalCache(localCache).setKeys(keys))
+                .doOnError(e -> log.warn("failed to broadcast {} invalidation for {} keys. Message: {}",
+                        localCache, keys.size(), e.getMessage()))
+                .subscribe();
+    }
+
+    /**
+     * Listen to the invalidations broadcast by the other nodes, once
+     */
+    private void listenInvalidations() {
+        if (!listening.compareAndSet(false, true)) {
+            return;
+        }
+        redissonReactiveClient.getTopic(NEAR_CACHE_INVALIDATION_TOPIC)
+                .addListener(NearCacheInvalidation.class, (channel, invalidation) -> {
+                    if (nodeId.equals(invalidation.getOrigin())) {
+                        return;
+                    }
+                    if (invalidation.getLocalCache() != null) {
+                        Consumer<List<String>> invalidator = localCaches.get(invalidation.getLocalCache());
+                        if (invalidator != null && invalidation.getKeys() != null) {
+                            invalidator.accept(invalidation.getKeys());
+                        }
+                        return;
+                    }
+                    if (invalidation.getKeyPattern() != null) {
+                        nearCache.invalidate(invalidation.getKeyPattern());
+                    }
+                    if (invalidation.getKeys() != null) {
+                        invalidation.getKeys().forEach(nearCache::invalidate);
+                    }
                 })
-                // once caching work is done, return the original mono so caller can subscribe too
-                .then(value);
+                .subscribe();
+    }
+
+    /**
+     * @return the hit, miss and load time counters per cache key namespace
+     */
+    public CacheMetrics getCacheMetrics() {
+        return cacheMetrics;
     }
 
     /**
@@ -172,40 +412,62 @@ public class CacheService {
      * If cache.isEnableLearnerCache config setting is false, bypasses the whole cache system and just returns.
      *
      * If cache.isEnableLearnerCache config setting is true, queries redis for the provided cacheKey key. If key is
-     * not found in redis, just returns
+     * not found in redis, just returns. The in-process tier of every node is invalidated once the values are deleted.
      *
      * @param cacheKey the redis key of cached value
      * @return true if successful, else false
-     * returns Mono.empty()
      *
      */
     public Mono<Boolean> clearIfPresent(String cacheKey) {
-        AtomicBoolean error = new AtomicBoolean(false);
-
-        if (cacheConfig.isEnableLearnerCache()) {
-            // Get redis bucket for given cacheKey key
-            List<RBucketReactive<CachedMonoWrapper<Object>>> buckets = redissonReactiveClient.findBuckets(cacheKey);
-
-            buckets.forEach(bucket -> {
-                bucket.get()
-                        // get the wrapped value from redis
-                        .flatMap(cached -> {
-                            // Delete the cached key value pair
-                            return bucket.delete();
-                        })
-                        .thenReturn(Mono.just(true))
-                        .doOnError(e -> {
-                            log.warn("failed to delete entries from cache for deployment: {}. Message: {}",
-                                     cacheKey, e.getMessage());
-                            error.set(true);
-                        }).subscribe();
-            });
+        if (!cacheConfig.isEnableLearnerCache()) {
+            return Mono.just(true);
         }
-        if (error.get()) {
-            return Mono.just(false);
+
+        // Get redis bucket for given cacheKey key
+        List<RBucketReactive<CachedMonoWrapper<Object>>> buckets = redissonReactiveClient.findBuckets(cacheKey);
+
+        return Flux.fromIterable(buckets)
+                // Delete the cached key value pair
+                .flatMap(RBucketReactive::delete)
+                .then(Mono.just(true))
+                .onErrorResume(e -> {
+                    log.warn("failed to delete entries from cache for deployment: {}. Message: {}",
+                             cacheKey, e.getMessage());
+                    return Mono.just(false);
+                })
+                // invalidate the in-process tier once redis no longer holds the values
+                .flatMap(deleted -> Mono.fromRunnable(() -> invalidateNearCache(cacheKey)).thenReturn(deleted));
+    }
+
+    /**
+     * Deletes all the values registered under a tag, without scanning the redis keyspace. The tag index is iterated
+     * incrementally rather than read at once, the keys are deleted in batches of multi-key deletes and each batch is
+     * then removed from the tag index, so keys tagged while the deletes run stay indexed. The in-process tier of
+     * every node is invalidated once a batch is deleted.
+     *
+     * If cache.isEnableLearnerCache config setting is false, bypasses the whole cache system and just returns.
+     *
+     * @param tag the tag, see {@link CacheTags}
+     * @return the number of keys deleted from redis
+     */
+    public Mono<Long> invalidateTag(String tag) {
+        if (!cacheConfig.isEnableLearnerCache()) {
+            return Mono.just(0L);
         }
-        return Mono.just(true);
 
+        RSetCacheReactive<String> index = tagIndex(tag);
+        return Flux.from(index.iterator())
+                .buffer(TAG_DELETE_BATCH_SIZE)
+                .concatMap(keys -> Mono.from(redissonReactiveClient.getKeys().delete(keys.toArray(new String[0])))
+                        .flatMap(deleted -> Mono.from(index.removeAll(keys))
+                                // invalidate the in-process tier once redis no longer holds the values
+                                .then(Mono.fromRunnable(() -> invalidateNearCache(keys)))
+                                .thenReturn(deleted)))
+                .reduce(0L, Long::sum)
+                .doOnNext(deleted -> log.info("deleted {} cache entries tagged {}", deleted, tag))
+                .doOnError(e -> log.warn("failed to delete cache entries tagged {}. Message: {}",
+                        tag, e.getMessage()))
+                .onErrorReturn(0L);
     }
 
     /**
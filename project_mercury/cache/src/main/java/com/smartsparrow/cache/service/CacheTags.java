@@ -0,0 +1,29 @@
+package com.smartsparrow.cache.service;
+
+import java.util.UUID;
+
+/**
+ * Builds the tags cached values are registered under, see
+ * {@link CacheService#computeIfAbsent(String, Class, reactor.core.publisher.Mono, long, java.util.concurrent.TimeUnit, java.util.Set)}
+ */
+public class CacheTags {
+
+    private CacheTags() {
+    }
+
+    /**
+     * @param deploymentId the deployment id
+     * @return the tag of the values cached for a deployment
+     */
+    public static String deployment(final UUID deploymentId) {
+        return deployment(deploymentId.toString());
+    }
+
+    /**
+     * @param deploymentId the deployment id as found in a launch url
+     * @return the tag of the values cached for a deployment
+     */
+    public static String deployment(final String deploymentId) {
+        return "deployment:" + deploymentId;
+    }
+}
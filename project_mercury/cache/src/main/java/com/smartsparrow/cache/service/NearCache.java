@@ -0,0 +1,223 @@
+package com.smartsparrow.cache.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.redisson.client.codec.Codec;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * In-process tier in front of Redis. Entries are grouped by cache key namespace, each namespace is bounded in size
+ * and every entry expires after the smallest of the configured near cache ttl and its Redis ttl.
+ *
+ * Values of immutable types (strings, boxed primitives, uuids and enums) are held as is. Any other value is held
+ * encoded with the Redis codec and decoded on every hit, so each caller gets its own copy as it would from Redis and
+ * no mutable instance is shared between callers. Values the codec can not encode are not held in process.
+ */
+class NearCache {
+
+    private final long maxSize;
+    private final long ttlMillis;
+    private final Codec codec;
+    private final Map<String, Cache<String, Entry>> namespaces = new ConcurrentHashMap<>();
+
+    NearCache(final long maxSize, final long ttlSeconds, final Codec codec) {
+        this.maxSize = maxSize;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.codec = codec;
+    }
+
+    /**
+     * @return <code>true</code> when the in-process tier is enabled
+     */
+    boolean isEnabled() {
+        return maxSize > 0 && ttlMillis > 0;
+    }
+
+    /**
+     * Find a non expired entry
+     *
+     * @param cacheKey the cache key
+     * @return the entry holding a copy of the value or <code>null</code> when not found
+     */
+    Entry get(final String cacheKey) {
+        Cache<String, Entry> cache = namespaces.get(namespaceOf(cacheKey));
+        if (cache == null) {
+            return null;
+        }
+        Entry entry = cache.getIfPresent(cacheKey);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            cache.invalidate(cacheKey);
+            return null;
+        }
+        if (!(entry.value instanceof Encoded)) {
+            return entry;
+        }
+        try {
+            return new Entry(decode((Encoded) entry.value), entry.expiresAt);
+        } catch (IOException | RuntimeException e) {
+            // the value can not be restored, fall back to redis
+            cache.invalidate(cacheKey);
+            return null;
+        }
+    }
+
+    /**
+     * Hold a value in process
+     *
+     * @param cacheKey the cache key
+     * @param value the value, <code>null</code> when the loader emitted no item
+     * @param ttl the time to live of the value in Redis
+     * @param timeUnit unit for time to live value
+     */
+    void put(final String cacheKey, final Object value, final long ttl, final TimeUnit timeUnit) {
+        final Object held;
+        try {
+            held = isImmutable(value) ? value : encode(value);
+        } catch (IOException | RuntimeException e) {
+            // not held in process, the value is read from redis
+            invalidate(cacheKey);
+            return;
+        }
+        long expiresIn = Math.min(ttlMillis, timeUnit.toMillis(ttl));
+        namespaces.computeIfAbsent(namespaceOf(cacheKey), ns -> CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .build())
+                .put(cacheKey, new Entry(held, System.currentTimeMillis() + expiresIn));
+    }
+
+    private static boolean isImmutable(final Object value) {
+        return value == null
+                || value instanceof String
+                || value instanceof Number && value.getClass().getName().startsWith("java.lang.")
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof UUID
+                || value instanceof Enum;
+    }
+
+    private Encoded encode(final Object value) throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(value);
+        try {
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return new Encoded(bytes);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private Object decode(final Encoded encoded) throws IOException {
+        ByteBuf buf = Unpooled.wrappedBuffer(encoded.bytes);
+        try {
+            return codec.getValueDecoder().decode(buf, null);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Remove all the entries matching a Redis glob style pattern (only <code>*</code> and <code>?</code> are
+     * supported)
+     *
+     * @param keyPattern the key or key pattern
+     */
+    void invalidate(final String keyPattern) {
+        if (keyPattern.indexOf('*') < 0 && keyPattern.indexOf('?') < 0) {
+            Cache<String, Entry> cache = namespaces.get(namespaceOf(keyPattern));
+            if (cache != null) {
+                cache.invalidate(keyPattern);
+            }
+            return;
+        }
+        Pattern pattern = globToPattern(keyPattern);
+        namespaces.values().forEach(cache -> cache.asMap().keySet().removeIf(key -> pattern.matcher(key).matches()));
+    }
+
+    /**
+     * The namespace of a key is its prefix before the first <code>/</code>, or before the last <code>:</code> when
+     * the key has no <code>/</code>. For example <code>learner:deployment:/id/changeId</code> belongs to
+     * <code>learner:deployment</code> and <code>ies:valid:token</code> to <code>ies:valid</code>
+     *
+     * @param cacheKey the cache key
+     * @return the key namespace
+     */
+    static String namespaceOf(final String cacheKey) {
+        int end = cacheKey.indexOf('/');
+        if (end < 0) {
+            end = cacheKey.lastIndexOf(':');
+        }
+        if (end < 0) {
+            return cacheKey;
+        }
+        String namespace = cacheKey.substring(0, end);
+        return namespace.endsWith(":") ? namespace.substring(0, namespace.length() - 1) : namespace;
+    }
+
+    private static Pattern globToPattern(final String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * A value held encoded with the redis codec
+     */
+    private static class Encoded {
+
+        private final byte[] bytes;
+
+        private Encoded(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * A value held in process
+     */
+    static class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+
+        Entry(final Object value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isEmptyValue() {
+            return value == null;
+        }
+
+        Object getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.smartsparrow.cache.service;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Message broadcast to all the nodes when cached keys are written or cleared, so that the in-process tier of the
+ * other nodes drops its stale entries. When a local cache name is set, the keys belong to that node-local cache
+ * instead of the in-process tier.
+ */
+public class NearCacheInvalidation implements Serializable {
+
+    private static final long serialVersionUID = -3281594436617254783L;
+
+    private String origin;
+    private String keyPattern;
+    private List<String> keys;
+    private String localCache;
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public NearCacheInvalidation setOrigin(String origin) {
+        this.origin = origin;
+        return this;
+    }
+
+    public String getKeyPattern() {
+        return keyPattern;
+    }
+
+    public NearCacheInvalidation setKeyPattern(String keyPattern) {
+        this.keyPattern = keyPattern;
+        return this;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public NearCacheInvalidation setKeys(List<String> keys) {
+        this.keys = keys;
+        return this;
+    }
+
+    public String getLocalCache() {
+        return localCache;
+    }
+
+    public NearCacheInvalidation setLocalCache(String localCache) {
+        this.localCache = localCache;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheInvalidation{" +
+                "origin='" + origin + '\'' +
+                ", keyPattern='" + keyPattern + '\'' +
+                ", keys=" + keys +
+                ", localCache='" + localCache + '\'' +
+                '}';
+    }
+}
@@ -2,6 +2,9 @@ package com.smartsparrow.cache.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -11,18 +14,27 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.redisson.api.RBucketReactive;
+import org.redisson.api.RKeysReactive;
 import org.redisson.api.RMapCacheReactive;
+import org.redisson.api.RSetCacheReactive;
 import org.redisson.api.RTopicReactive;
 import org.redisson.api.RedissonReactiveClient;
+import org.redisson.api.listener.MessageListener;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.smartsparrow.cache.config.CacheConfig;
 import com.smartsparrow.dataevent.eventmessage.EventMessage;
 
@@ -41,6 +53,8 @@ class CacheServiceTest {
     @InjectMocks
     private CacheService cacheService;
     @Mock
+    private RTopicReactive invalidationTopic;
+    @Mock
     private RMapCacheReactive<String, String> mapCache;
 
     private static final String KEYSPACE = "keyspace";
@@ -153,6 +167,308 @@ class CacheServiceTest {
 
         verify(bucket).delete();
     }
+    @SuppressWarnings("unchecked")
+    @Test
+    void set_subscribesValueOnce() {
+        RBucketReactive bucket = mock(RBucketReactive.class);
+        when(redissonReactiveClient.getBucket("some:key")).thenReturn(bucket);
+        when(bucket.set(any(), anyLong(), any())).thenReturn(Mono.empty());
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        String res = cacheService.set("some:key", Mono.fromCallable(() -> {
+            subscriptions.incrementAndGet();
+            return VALUE;
+        }), 1, TimeUnit.HOURS).block();
+
+        assertEquals(VALUE, res);
+        assertEquals(1, subscriptions.get());
+        verify(bucket).set(any(), anyLong(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void computeIfAbsent_nearCacheHit() {
+        CacheService twoTier = twoTierCacheService();
+        RBucketReactive bucket = mock(RBucketReactive.class);
+        when(redissonReactiveClient.getBucket("learner:deployment:/1/2")).thenReturn(bucket);
+        when(bucket.get()).thenReturn(Mono.empty());
+        when(bucket.set(any(), anyLong(), any())).thenReturn(Mono.empty());
+
+        assertEquals(VALUE, twoTier.computeIfAbsent("learner:deployment:/1/2", String.class, Mono.just(VALUE)).block());
+        assertEquals(VALUE, twoTier.computeIfAbsent("learner:deployment:/1/2", String.class, Mono.just("other")).block());
+
+        // the second call is served in process
+        verify(bucket, times(1)).get();
+        CacheMetrics.Stats stats = twoTier.getCacheMetrics().getStats("learner:deployment");
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getLoads());
+        assertEquals(1, stats.getNearHits());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void computeIfAbsent_nearCacheCopiesMutableValues() {
+        CacheService twoTier = twoTierCacheService();
+        RBucketReactive bucket = mock(RBucketReactive.class);
+        when(redissonReactiveClient.getBucket("learner:favorites:/1")).thenReturn(bucket);
+        when(bucket.get()).thenReturn(Mono.empty());
+        when(bucket.set(any(), anyLong(), any())).thenReturn(Mono.empty());
+        Class<List<String>> type = (Class<List<String>>) (Class<?>) List.class;
+
+        List<String> loaded = twoTier.computeIfAbsent("learner:favorites:/1", type, Mono.just(Lists.newArrayList(VALUE)))
+                .block();
+        List<String> first = twoTier.computeIfAbsent("learner:favorites:/1", type, Mono.empty()).block();
+        assertNotNull(first);
+        first.add("changed by a caller");
+        List<String> second = twoTier.computeIfAbsent("learner:favorites:/1", type, Mono.empty()).block();
+
+        // both hits are served in process, each with its own copy
+        verify(bucket, times(1)).get();
+        assertNotSame(loaded, first);
+        assertNotSame(first, second);
+        assertEquals(Lists.newArrayList(VALUE), second);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void set_invalidatesNearCacheOnceStored() {
+        CacheService twoTier = twoTierCacheService();
+        RBucketReactive bucket = mock(RBucketReactive.class);
+        TestPublisher<Void> write = TestPublisher.create();
+        when(redissonReactiveClient.getBucket("learner:deployment:/1/2")).thenReturn(bucket);
+        when(bucket.set(any(), anyLong(), any())).thenReturn(write.mono());
+
+        AtomicReference<String> result = new AtomicReference<>();
+        twoTier.set("learner:deployment:/1/2", Mono.just(VALUE), 1, TimeUnit.HOURS).subscribe(result::set);
+
+        // the other nodes are not invalidated until redis holds the new value
+        verify(invalidationTopic, never()).publish(any());
+        assertNull(result.get());
+
+        write.complete();
+
+        verify(invalidationTopic).publish(any(NearCacheInvalidation.class));
+        assertEquals(VALUE, result.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void clearIfPresent_invalidatesNearCacheOnceDeleted() {
+        CacheService twoTier = twoTierCacheService();
+        RBucketReactive bucket = mock(RBucketReactive.class);
+        TestPublisher<Boolean> delete = TestPublisher.create();
+        when(redissonReactiveClient.findBuckets("learner:deployment:/1/*")).thenReturn(Lists.newArrayList(bucket));
+        when(bucket.delete()).thenReturn(delete.mono());
+
+        AtomicReference<Boolean> result = new AtomicReference<>();
+        twoTier.clearIfPresent("learner:deployment:/1/*").subscribe(result::set);
+
+        verify(invalidationTopic, never()).publish(any());
+
+        delete.emit(true);
+
+        verify(invalidationTopic).publish(any(NearCacheInvalidation.class));
+        assertEquals(true, result.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void clearIfPresent_deleteFails() {
+        RBucketReactive bucket = mock(RBucketReactive.class);
+        when(cacheConfig.isEnableLearnerCache()).thenReturn(true);
+        when(redissonReactiveClient.findBuckets("learner:deployment:/1/*")).thenReturn(Lists.newArrayList(bucket));
+        when(bucket.delete()).thenReturn(Mono.error(new RuntimeException("timeout")));
+
+        assertEquals(false, cacheService.clearIfPresent("learner:deployment:/1/*").block());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void computeIfAbsent_concurrentMissesShareLoad() {
+        CacheService twoTier = twoTierCacheService();
+        RBucketReactive bucket = mock(RBucketReactive.class);
+        when(redissonReactiveClient.getBucket("learner:activity/1/2/3")).thenReturn(bucket);
+        when(bucket.get()).thenReturn(Mono.empty());
+        when(bucket.set(any(), anyLong(), any())).thenReturn(Mono.empty());
+        TestPublisher<String> loader = TestPublisher.create();
+
+        Mono<String> first = twoTier.computeIfAbsent("learner:activity/1/2/3", String.class, loader.mono());
+        Mono<String> second = twoTier.computeIfAbsent("learner:activity/1/2/3", String.class, loader.mono());
+
+        AtomicReference<String> firstResult = new AtomicReference<>();
+        AtomicReference<String> secondResult = new AtomicReference<>();
+        first.subscribe(firstResult::set);
+        second.subscribe(secondResult::set);
+
+        loader.assertSubscribers(1);
+        loader.emit(VALUE);
+
+        assertEquals(VALUE, firstResult.get());
+        assertEquals(VALUE, secondResult.get());
+        verify(bucket, times(1)).get();
+        verify(bucket, times(1)).set(any(), anyLong(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void computeIfAbsent_nearCacheInvalidatedByOtherNode() {
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        CacheService twoTier = twoTierCacheService();
+        verify(invalidationTopic).addListener(eq(NearCacheInvalidation.class), listener.capture());
+
+        RBucketReactive bucket = mock(RBucketReactive.class);
+        when(redissonReactiveClient.getBucket("learner:interactive:/1/2/3")).thenReturn(bucket);
+        when(bucket.get()).thenReturn(Mono.empty());
+        when(bucket.set(any(), anyLong(), any())).thenReturn(Mono.empty());
+
+        twoTier.computeIfAbsent("learner:interactive:/1/2/3", String.class, Mono.just(VALUE)).block();
+        listener.getValue().onMessage(CacheService.NEAR_CACHE_INVALIDATION_TOPIC,
+                new NearCacheInvalidation().setOrigin("other-node").setKeyPattern("*/1/*"));
+        twoTier.computeIfAbsent("learner:interactive:/1/2/3", String.class, Mono.just(VALUE)).block();
+
+        // the entry was dropped from the in-process tier, redis is queried again
+        verify(bucket, times(2)).get();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void registerLocalCache_invalidatedByOtherNode() {
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        CacheService twoTier = twoTierCacheService();
+        AtomicReference<List<String>> invalidated = new AtomicReference<>();
+        twoTier.registerLocalCache("local", invalidated::set);
+        verify(invalidationTopic).addListener(eq(NearCacheInvalidation.class), listener.capture());
+
+        listener.getValue().onMessage(CacheService.NEAR_CACHE_INVALIDATION_TOPIC,
+                new NearCacheInvalidation().setOrigin("other-node").setLocalCache("other").setKeys(Lists.newArrayList("1")));
+        assertNull(invalidated.get());
+
+        listener.getValue().onMessage(CacheService.NEAR_CACHE_INVALIDATION_TOPIC,
+                new NearCacheInvalidation().setOrigin("other-node").setLocalCache("local").setKeys(Lists.newArrayList("1")));
+        assertEquals(Lists.newArrayList("1"), invalidated.get());
+    }
+
+    @Test
+    void broadcastInvalidation() {
+        CacheService twoTier = twoTierCacheService();
+        ArgumentCaptor<NearCacheInvalidation> invalidation = ArgumentCaptor.forClass(NearCacheInvalidation.class);
+
+        twoTier.broadcastInvalidation("local", Lists.newArrayList("1", "2"));
+
+        verify(invalidationTopic).publish(invalidation.capture());
+        assertEquals("local", invalidation.getValue().getLocalCache());
+        assertEquals(Lists.newArrayList("1", "2"), invalidation.getValue().getKeys());
+        assertNull(invalidation.getValue().getKeyPattern());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void computeIfAbsent_registersTags() {
+        RBucketReactive bucket = mock(RBucketReactive.class);
+        RSetCacheReactive index = mock(RSetCacheReactive.class);
+        when(cacheConfig.isEnableLearnerCache()).thenReturn(true);
+        when(redissonReactiveClient.getBucket("learner:activity/1/2/3")).thenReturn(bucket);
+        when(redissonReactiveClient.getSetCache(CacheService.TAG_INDEX_PREFIX + "deployment:1")).thenReturn(index);
+        when(bucket.get()).thenReturn(Mono.empty());
+        when(bucket.set(any(), anyLong(), any())).thenReturn(Mono.empty());
+        when(index.add(any(), anyLong(), any())).thenReturn(Mono.just(true));
+
+        cacheService.computeIfAbsent("learner:activity/1/2/3", String.class, Mono.just(VALUE), 1, TimeUnit.DAYS,
+                Sets.newHashSet("deployment:1")).block();
+
+        verify(index).add("learner:activity/1/2/3", 1, TimeUnit.DAYS);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void invalidateTag() {
+        RSetCacheReactive index = mock(RSetCacheReactive.class);
+        RKeysReactive keys = mock(RKeysReactive.class);
+        when(cacheConfig.isEnableLearnerCache()).thenReturn(true);
+        when(redissonReactiveClient.getSetCache(CacheService.TAG_INDEX_PREFIX + "deployment:1")).thenReturn(index);
+        when(redissonReactiveClient.getKeys()).thenReturn(keys);
+        when(index.iterator()).thenReturn(Flux.just("learner:activity/1/2/3"));
+        when(index.removeAll(any())).thenReturn(Mono.just(true));
+        when(keys.delete(any(String[].class))).thenReturn(Mono.just(1L));
+
+        assertEquals(Long.valueOf(1), cacheService.invalidateTag("deployment:1").block());
+
+        verify(keys).delete(new String[]{"learner:activity/1/2/3"});
+        verify(index).removeAll(Lists.newArrayList("learner:activity/1/2/3"));
+        verify(index, never()).delete();
+        verify(index, never()).readAll();
+        verify(redissonReactiveClient, never()).findBuckets(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void invalidateTag_deletesInBatches() {
+        RSetCacheReactive index = mock(RSetCacheReactive.class);
+        RKeysReactive keys = mock(RKeysReactive.class);
+        when(cacheConfig.isEnableLearnerCache()).thenReturn(true);
+        when(redissonReactiveClient.getSetCache(CacheService.TAG_INDEX_PREFIX + "deployment:1")).thenReturn(index);
+        when(redissonReactiveClient.getKeys()).thenReturn(keys);
+        when(index.iterator()).thenReturn(Flux.range(0, 501).map(i -> "learner:activity/" + i));
+        when(index.removeAll(any())).thenReturn(Mono.just(true));
+        when(keys.delete(any(String[].class))).thenAnswer(invocation -> Mono.just((long) invocation.getArguments().length));
+
+        assertEquals(Long.valueOf(501), cacheService.invalidateTag("deployment:1").block());
+
+        verify(keys, times(2)).delete(any(String[].class));
+        verify(index, times(2)).removeAll(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void tag() {
+        RSetCacheReactive index = mock(RSetCacheReactive.class);
+        when(cacheConfig.isEnableLearnerCache()).thenReturn(true);
+        when(redissonReactiveClient.getSetCache(CacheService.TAG_INDEX_PREFIX + "deployment:1")).thenReturn(index);
+        when(index.add(any(), anyLong(), any())).thenReturn(Mono.error(new RuntimeException("redis down")));
+
+        // a failed registration does not fail the caller
+        cacheService.tag("ltiParams:account:/1:deploymentId:/1", 1, TimeUnit.DAYS, Sets.newHashSet("deployment:1"))
+                .block();
+
+        verify(index).add("ltiParams:account:/1:deploymentId:/1", 1, TimeUnit.DAYS);
+    }
+
+    @Test
+    void tag_cacheDisabled() {
+        when(cacheConfig.isEnableLearnerCache()).thenReturn(false);
+
+        cacheService.tag("ltiParams:account:/1:deploymentId:/1", 1, TimeUnit.DAYS, Sets.newHashSet("deployment:1"))
+                .block();
+
+        verify(redissonReactiveClient, never()).getSetCache(any());
+    }
+
+    @Test
+    void invalidateTag_deleteFails() {
+        RSetCacheReactive index = mock(RSetCacheReactive.class);
+        RKeysReactive keys = mock(RKeysReactive.class);
+        when(cacheConfig.isEnableLearnerCache()).thenReturn(true);
+        when(redissonReactiveClient.getSetCache(CacheService.TAG_INDEX_PREFIX + "deployment:1")).thenReturn(index);
+        when(redissonReactiveClient.getKeys()).thenReturn(keys);
+        when(index.iterator()).thenReturn(Flux.just("learner:activity/1/2/3"));
+        when(keys.delete(any(String[].class))).thenReturn(Mono.error(new RuntimeException("redis down")));
+
+        assertEquals(Long.valueOf(0), cacheService.invalidateTag("deployment:1").block());
+
+        // the keys stay indexed so a later invalidation deletes them
+        verify(index, never()).removeAll(any());
+        verify(index, never()).delete();
+    }
+
+    @Test
+    void invalidateTag_cacheDisabled() {
+        when(cacheConfig.isEnableLearnerCache()).thenReturn(false);
+
+        assertEquals(Long.valueOf(0), cacheService.invalidateTag("deployment:1").block());
+
+        verify(redissonReactiveClient, never()).getSetCache(any());
+    }
+
     @Test
     void mapContainsKey() {
         Boolean result = cacheService.mapContainsKey(KEYSPACE, KEY).block();
@@ -221,6 +537,15 @@ class CacheServiceTest {
     }
 
     // Utils
+    @SuppressWarnings("unchecked")
+    private CacheService twoTierCacheService() {
+        when(redissonReactiveClient.getTopic(CacheService.NEAR_CACHE_INVALIDATION_TOPIC)).thenReturn(invalidationTopic);
+        when(invalidationTopic.addListener(eq(NearCacheInvalidation.class), any(MessageListener.class)))
+                .thenReturn(Mono.just(1));
+        when(invalidationTopic.publish(any())).thenReturn(Mono.just(1L));
+        return new CacheService(redissonReactiveClient, new CacheConfig().setEnableLearnerCache(true));
+    }
+
     private EventMessage<String> getEventMessage() {
         return new EventMessage<String>() {
 
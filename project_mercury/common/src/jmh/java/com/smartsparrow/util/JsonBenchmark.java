@@ -0,0 +1,120 @@
+package com.smartsparrow.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.collect.Lists;
+
+/**
+ * Compare the {@link Json} helpers with the implementation creating a mapper per call and querying through an
+ * org.json object, on a student scope entry and a BKT pathway configuration. The <code>legacy</code> variants
+ * reproduce the previous implementation. Run with <code>./gradlew :common:jmh -Pjmh.include=JsonBenchmark</code>,
+ * the gc profiler reports the allocation per operation (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    private static final List<String> selectionPath = Lists.newArrayList("selection");
+    private static final List<String> themePath = Lists.newArrayList("stage", "theme", "fontSize");
+    private static final List<String> slipPath = Lists.newArrayList("P_S");
+    private static final List<String> exitAfterPath = Lists.newArrayList("exitAfter");
+
+    private String scope;
+    private String config;
+    private Map<?, ?> triggeredActions;
+
+    @Setup
+    public void setUp() throws IOException {
+        scope = load("/json/scope.json");
+        config = load("/json/bkt-pathway-config.json");
+        triggeredActions = new ObjectMapper().readValue(scope, Map.class);
+    }
+
+    @Benchmark
+    public String stringify_legacy() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        return objectMapper.writeValueAsString(triggeredActions);
+    }
+
+    @Benchmark
+    public String stringify() {
+        return Json.stringify(triggeredActions);
+    }
+
+    @Benchmark
+    public JsonNode toJsonNode_legacy() throws IOException {
+        return new ObjectMapper().readValue(scope, JsonNode.class);
+    }
+
+    @Benchmark
+    public JsonNode toJsonNode() {
+        return Json.toJsonNode(scope);
+    }
+
+    @Benchmark
+    public Object queryScope_legacy() {
+        JSONObject json = new JSONObject(new JSONTokener(scope));
+        json.query("/" + String.join("/", themePath));
+        return json.query("/" + String.join("/", selectionPath));
+    }
+
+    @Benchmark
+    public Object queryScope() {
+        Json.query(scope, themePath);
+        return Json.query(scope, selectionPath);
+    }
+
+    @Benchmark
+    public double queryConfig_legacy() throws IOException {
+        Integer exitAfter = legacyQuery(config, exitAfterPath, Integer.class);
+        return legacyQuery(config, slipPath, BigDecimal.class).doubleValue() + exitAfter;
+    }
+
+    @Benchmark
+    public double queryConfig() {
+        Integer exitAfter = Json.query(config, exitAfterPath, Integer.class);
+        return Json.query(config, slipPath, BigDecimal.class).doubleValue() + exitAfter;
+    }
+
+    private static <T> T legacyQuery(String jsonString, List<String> contextPath, Class<T> type) throws IOException {
+        Object result = new JSONObject(new JSONTokener(jsonString)).query("/" + String.join("/", contextPath));
+        if (result instanceof JSONArray) {
+            return new ObjectMapper().readValue(result.toString(), type);
+        }
+        return type.cast(result);
+    }
+
+    private static String load(String resource) throws IOException {
+        try (InputStream in = JsonBenchmark.class.getResourceAsStream(resource)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -4,10 +4,14 @@ import static com.smartsparrow.util.Warrants.affirmArgument;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.hash.HashingInputStream;
 
 /**
  * Utility class to generate hashes consistently.
@@ -42,6 +46,21 @@ public class Hashing {
                 .toString();
     }
 
+    /**
+     * Copy the supplied stream to a file and create a hash of the content while copying. The hash value is the same
+     * as the {@link #file(File)} hash of the copied file.
+     *
+     * @param inputStream the stream to copy, not closed by this method
+     * @param target the file to copy to, replaced when existing
+     * @return the hash value
+     */
+    public static String copy(final InputStream inputStream, final Path target) throws IOException {
+        Preconditions.checkArgument(inputStream != null, "inputStream is null");
+        HashingInputStream hashingInputStream = new HashingInputStream(com.google.common.hash.Hashing.murmur3_128(), inputStream);
+        java.nio.file.Files.copy(hashingInputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        return hashingInputStream.hash().toString();
+    }
+
     public static String string(final String content) {
         affirmArgument(content != null, "content is required");
         return com.google.common.hash.Hashing.murmur3_128().hashString(content, StandardCharsets.UTF_8).toString();
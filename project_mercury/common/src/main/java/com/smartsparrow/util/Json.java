@@ -7,6 +7,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -17,13 +18,39 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 public class Json {
 
+    // mappers are thread safe once configured, all the helpers share a single mapper and its readers and writer
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+    private static final ObjectWriter writer = mapper.writer();
+    private static final ObjectReader treeReader = mapper.readerFor(JsonNode.class);
+    private static final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    // reads decimals as BigDecimal the way org.json does, so queried values keep the same types
+    private static final ObjectReader queryReader = treeReader
+            .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    /**
+     * Get the shared reader for a type. Readers are created once per type and cached.
+     *
+     * @param type the type to read
+     * @return the reader for the type
+     */
+    public static ObjectReader readerFor(@Nonnull Class<?> type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
     /**
      * Serialize an object to a string
      *
@@ -32,13 +59,8 @@ public class Json {
      * @throws JSONException when failing to serialize the object to a json string
      */
     public static String stringify(Object object) {
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        // configure the mapper
-        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
-
         try {
-            return objectMapper.writeValueAsString(object);
+            return writer.writeValueAsString(object);
         } catch (JsonProcessingException e) {
             // re-throw as some kind of runtime exception since this is not recoverable
             throw new JSONException(e);
@@ -55,7 +77,7 @@ public class Json {
     public static Map<String, String> toMap(String jsonString) {
         try {
             // get the root node
-            JsonNode root = new ObjectMapper().readValue(jsonString, JsonNode.class);
+            JsonNode root = treeReader.readValue(jsonString);
 
             // get all fields on the root node
             Iterator<String> fields = root.fieldNames();
@@ -122,10 +144,8 @@ public class Json {
      * @throws JSONException when the json string is invalid
      */
     public static JsonNode toJsonNode(String json) {
-        ObjectMapper objectMapper = new ObjectMapper();
-
         try {
-            return objectMapper.readValue(json, JsonNode.class);
+            return treeReader.readValue(json);
         } catch (IOException e) {
             throw new JSONException("invalid json", e);
         }
@@ -147,22 +167,17 @@ public class Json {
     }
 
     /**
-     * Query a json string value given a list of context path
+     * Query a json string value given a list of context path. The json string is read as a tree and only the value
+     * found at the path is converted to its org.json representation.
      *
      * @param jsonString the json string to query
      * @param contextPath the json path
-     * @return the json object found at that path in the json string
-     * @throws JSONException when the contextPath argument is empty.
+     * @return the json object found at that path in the json string, either a {@link JSONObject}, a {@link JSONArray},
+     * {@link JSONObject#NULL} or the boxed value
+     * @throws JSONException when the contextPath argument is empty or not found in the json string
      */
     public static Object query(@Nonnull String jsonString, @Nonnull List<String> contextPath) {
-
-        if (contextPath.isEmpty()) {
-            throw new JSONException("contextPath must not be empty");
-        }
-
-        JSONObject json = Json.parse(jsonString);
-
-        return query(json, contextPath);
+        return toJSONValue(query(read(jsonString, contextPath), contextPath));
     }
 
     /**
@@ -170,22 +185,37 @@ public class Json {
      *
      * @param jsonString the json string to query
      * @param contextPath the json path
-     * @param type the class type to use for casting the found value
+     * @param type the class type to use for reading the found value
      * @param <T> the type of value to return
      * @return the value in the expected data type
-     * @throws ClassCastException when failing to cast the found value
+     * @throws JSONException when the contextPath is not found or the found value can not be read as the type
      */
     public static <T> T query(@Nonnull String jsonString, @Nonnull List<String> contextPath, Class<T> type) {
-        Object result = query(jsonString, contextPath);
+        JsonNode result = query(read(jsonString, contextPath), contextPath);
 
-        if (result instanceof JSONArray) {
-            try {
-                return new ObjectMapper().readValue(result.toString(), type);
-            } catch (IOException e) {
-                throw new JSONException("invalid json", e);
-            }
+        try {
+            return readerFor(type).readValue(result);
+        } catch (IOException e) {
+            throw new JSONException("invalid json", e);
+        }
+    }
+
+    /**
+     * Query a json node value given the context path in a list
+     *
+     * @param json the json node to query the value from
+     * @param contextPath the context path to query
+     * @return the json node found at the path
+     * @throws JSONException when the supplied contextPath does not exists in the json node
+     */
+    public static JsonNode query(@Nonnull JsonNode json, @Nonnull List<String> contextPath) {
+        JsonNode result = json.at(JsonPointer.compile("/" + String.join("/", contextPath)));
+
+        if (result.isMissingNode()) {
+            throw new JSONException(String.format("could not find path %s", contextPath.toString()));
         }
-        return type.cast(query(jsonString, contextPath));
+
+        return result;
     }
 
     /**
@@ -356,4 +386,45 @@ public class Json {
 
         return json;
     }
+
+    /**
+     * Read the json string to query as a tree
+     *
+     * @throws JSONException when the contextPath is empty or the json string is invalid
+     */
+    private static JsonNode read(String jsonString, List<String> contextPath) {
+        if (contextPath.isEmpty()) {
+            throw new JSONException("contextPath must not be empty");
+        }
+
+        try {
+            return queryReader.readValue(jsonString);
+        } catch (IOException e) {
+            throw new JSONException("invalid json", e);
+        }
+    }
+
+    /**
+     * Convert a json node to the value {@link JSONObject#query(String)} returns for it, nested objects and arrays
+     * are converted to their org.json counterpart
+     */
+    private static Object toJSONValue(JsonNode node) {
+        if (node.isNull()) {
+            return JSONObject.NULL;
+        }
+        if (node.isObject()) {
+            return new JSONObject(node.toString());
+        }
+        if (node.isArray()) {
+            return new JSONArray(node.toString());
+        }
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        // int, long, BigInteger or BigDecimal
+        return node.numberValue();
+    }
 }
@@ -5,7 +5,6 @@ import static ch.qos.logback.core.CoreConstants.HOSTNAME_KEY;
 import java.io.IOException;
 import java.util.Arrays;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smartsparrow.util.Enums;
 import com.smartsparrow.util.log.data.JsonLog;
 import com.smartsparrow.util.log.data.EventLog;
@@ -37,12 +36,10 @@ public class JsonLayout extends LayoutBase<ILoggingEvent> {
         String requestContextString = event.getMDCPropertyMap().get(REQUEST_CONTEXT);
         String traceId = event.getMDCPropertyMap().get(TRACE_ID);
 
-        ObjectMapper om = new ObjectMapper();
-
         // get the request context object when defined
         if (requestContextString != null) {
             try {
-                requestContext = om.readValue(requestContextString, RequestContext.class);
+                requestContext = LogJson.readValue(requestContextString, RequestContext.class);
             } catch (IOException e) {
                 // do nothing here
             }
@@ -52,7 +49,7 @@ public class JsonLayout extends LayoutBase<ILoggingEvent> {
         LogMessage logMessage;
 
         try {
-            logMessage = om.readValue(formattedMessage, LogMessage.class);
+            logMessage = LogJson.readLogMessage(formattedMessage);
         } catch (IOException e) {
             logMessage = new LogMessage().setField("content", formattedMessage);
         }
@@ -90,6 +87,6 @@ public class JsonLayout extends LayoutBase<ILoggingEvent> {
                 .setEvent(eventLog);
 
         // return the json log string with a line separator at the end
-        return jsonLog.toString() + CoreConstants.LINE_SEPARATOR;
+        return LogJson.stringify(jsonLog) + CoreConstants.LINE_SEPARATOR;
     }
 }
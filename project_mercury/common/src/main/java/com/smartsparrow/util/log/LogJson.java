@@ -0,0 +1,43 @@
+package com.smartsparrow.util.log;
+
+import java.io.IOException;
+
+import org.json.JSONException;
+
+import com.smartsparrow.util.Json;
+import com.smartsparrow.util.log.data.LogMessage;
+
+/**
+ * Json writer and reader of the log messages, backed by the mapper shared by {@link Json}
+ */
+class LogJson {
+
+    private LogJson() {
+    }
+
+    /**
+     * Serialize an object to a json string
+     *
+     * @param object the object to serialize
+     * @return the json string
+     * @throws JSONException when failing to serialize the object
+     */
+    static String stringify(final Object object) {
+        return Json.stringify(object);
+    }
+
+    /**
+     * Read a log message written by the {@link MercuryLogger}
+     *
+     * @param json the formatted log line
+     * @return the log message
+     * @throws IOException when the log line is not a json log message
+     */
+    static LogMessage readLogMessage(final String json) throws IOException {
+        return Json.readerFor(LogMessage.class).readValue(json);
+    }
+
+    static <T> T readValue(final String json, final Class<T> type) throws IOException {
+        return Json.readerFor(type).readValue(json);
+    }
+}
@@ -3,6 +3,7 @@ package com.smartsparrow.util.log;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 
@@ -29,6 +30,15 @@ public interface MercuryLogger extends Logger {
      */
     void jsonInfo(final String message, final Map<String, Object> fields);
 
+    /**
+     * INFO level log that accepts a supplier of the fields to include in the json log. The fields are only supplied
+     * when the INFO level is enabled
+     *
+     * @param message the log message
+     * @param fields the supplier of the fields to include in the json log
+     */
+    void jsonInfo(final String message, final Supplier<Map<String, Object>> fields);
+
     /**
      * DEBUG level log that accepts a map of fields to include in the json log
      *
@@ -37,6 +47,15 @@ public interface MercuryLogger extends Logger {
      */
     void jsonDebug(final String message, final Map<String, Object> fields);
 
+    /**
+     * DEBUG level log that accepts a supplier of the fields to include in the json log. The fields are only supplied
+     * when the DEBUG level is enabled
+     *
+     * @param message the log message
+     * @param fields the supplier of the fields to include in the json log
+     */
+    void jsonDebug(final String message, final Supplier<Map<String, Object>> fields);
+
     /**
      * WARN level log that accepts a map of fields to include in the json log
      *
@@ -45,6 +64,15 @@ public interface MercuryLogger extends Logger {
      */
     void jsonWarn(final String message, final Map<String, Object> fields);
 
+    /**
+     * WARN level log that accepts a supplier of the fields to include in the json log. The fields are only supplied
+     * when the WARN level is enabled
+     *
+     * @param message the log message
+     * @param fields the supplier of the fields to include in the json log
+     */
+    void jsonWarn(final String message, final Supplier<Map<String, Object>> fields);
+
     /**
      * ERROR level log that accepts a map of fields and a throwable to include in the json log
      *
@@ -54,6 +82,16 @@ public interface MercuryLogger extends Logger {
      */
     void jsonError(final String message, final Map<String, Object> fields, Throwable throwable);
 
+    /**
+     * ERROR level log that accepts a supplier of the fields and a throwable to include in the json log. The fields
+     * are only supplied when the ERROR level is enabled
+     *
+     * @param message the log message
+     * @param fields the supplier of the fields to include in the json log
+     * @param throwable the throwable to include in the json log
+     */
+    void jsonError(final String message, final Supplier<Map<String, Object>> fields, Throwable throwable);
+
     //
     // Reactive log methods below
     //
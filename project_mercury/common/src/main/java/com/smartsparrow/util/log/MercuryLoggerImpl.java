@@ -7,15 +7,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.slf4j.Marker;
+import org.slf4j.event.Level;
 
 import com.google.common.io.Closer;
-import com.smartsparrow.util.Json;
 import com.smartsparrow.util.log.data.LogMessage;
 import com.smartsparrow.util.log.lang.MercuryLoggerCloseableException;
 
@@ -35,7 +36,16 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
 
     @Override
     public void jsonInfo(String message, Map<String, Object> fields) {
-        logger.info(buildLogMessage(message, fields));
+        if (logger.isInfoEnabled()) {
+            logger.info(buildLogMessage(message, fields));
+        }
+    }
+
+    @Override
+    public void jsonInfo(String message, Supplier<Map<String, Object>> fields) {
+        if (logger.isInfoEnabled()) {
+            logger.info(buildLogMessage(message, fields.get()));
+        }
     }
 
     @Override
@@ -45,52 +55,79 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
         }
     }
 
+    @Override
+    public void jsonDebug(String message, Supplier<Map<String, Object>> fields) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(buildLogMessage(message, fields.get()));
+        }
+    }
+
     @Override
     public void jsonWarn(String message, Map<String, Object> fields) {
-        logger.warn(buildLogMessage(message, fields));
+        if (logger.isWarnEnabled()) {
+            logger.warn(buildLogMessage(message, fields));
+        }
+    }
+
+    @Override
+    public void jsonWarn(String message, Supplier<Map<String, Object>> fields) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(buildLogMessage(message, fields.get()));
+        }
     }
 
     @Override
     public void jsonError(String message, Map<String, Object> fields, Throwable throwable) {
-        logger.error(Json.stringify(new LogMessage()
-                .setFields(fields)
-                .setField("content", message)
-                .setField("throwable", throwable.getStackTrace())
-        ));
+        if (logger.isErrorEnabled()) {
+            logger.error(LogJson.stringify(new LogMessage()
+                    .setFields(fields)
+                    .setField("content", message)
+                    .setField("throwable", throwable.getStackTrace())
+            ));
+        }
+    }
+
+    @Override
+    public void jsonError(String message, Supplier<Map<String, Object>> fields, Throwable throwable) {
+        if (logger.isErrorEnabled()) {
+            jsonError(message, fields.get(), throwable);
+        }
     }
 
     @Override
     public void error(String message, Throwable throwable) {
-        logger.error(Json.stringify(new LogMessage()
-                .setField("content", message)
-                .setField("throwable", throwable.getStackTrace())
-        ));
+        if (logger.isErrorEnabled()) {
+            logger.error(LogJson.stringify(new LogMessage()
+                    .setField("content", message)
+                    .setField("throwable", throwable.getStackTrace())
+            ));
+        }
     }
 
     @Override
     public <T> Consumer<? super Signal<T>> reactiveInfo(String message) {
-        return onNextLog(ignored -> logger.info(buildLogMessage(message)));
+        return onNextLog(Level.INFO, ignored -> logger.info(buildLogMessage(message)));
     }
 
     @Override
     public <T> Consumer<? super Signal<T>> reactiveInfoSignal(String message) {
-        return onNextLog(value -> logger.info(buildLogMessage(message, value)));
+        return onNextLog(Level.INFO, value -> logger.info(buildLogMessage(message, value)));
     }
 
     @Override
     public <T> Consumer<? super Signal<T>> reactiveInfoSignal(String message, Function<T, Map<String, Object>> function) {
-        return onNextLog(value -> logger.info(buildLogMessage(message, function, value)));
+        return onNextLog(Level.INFO, value -> logger.info(buildLogMessage(message, function, value)));
     }
 
     @Override
     public <T> Consumer<? super Signal<T>> reactiveInfoComplete(String message) {
-        return onCompleteLog(() -> logger.info(buildLogMessage(message)));
+        return onCompleteLog(Level.INFO, () -> logger.info(buildLogMessage(message)));
     }
 
     @Override
     public <T> Consumer<? super Signal<T>> reactiveDebug(String message) {
         if (logger.isDebugEnabled()) {
-            return onNextLog(value -> logger.debug(buildLogMessage(message)));
+            return onNextLog(Level.DEBUG, value -> logger.debug(buildLogMessage(message)));
         }
         return (Consumer<Signal<T>>) tSignal -> {
             // do nothing
@@ -100,7 +137,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
     @Override
     public <T> Consumer<? super Signal<T>> reactiveDebugSignal(String message) {
         if (logger.isDebugEnabled()) {
-            return onNextLog(value -> logger.debug(buildLogMessage(message, value)));
+            return onNextLog(Level.DEBUG, value -> logger.debug(buildLogMessage(message, value)));
         }
         return (Consumer<Signal<T>>) tSignal -> {
             // do nothing
@@ -110,7 +147,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
     @Override
     public <T> Consumer<? super Signal<T>> reactiveDebugSignal(String message, Function<T, Map<String, Object>> function) {
         if (logger.isDebugEnabled()) {
-            return onNextLog(value -> logger.debug(buildLogMessage(message, function, value)));
+            return onNextLog(Level.DEBUG, value -> logger.debug(buildLogMessage(message, function, value)));
         }
         return (Consumer<Signal<T>>) tSignal -> {
             // do nothing
@@ -119,17 +156,17 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
 
     @Override
     public <T> Consumer<? super Signal<T>> reactiveWarn(String message) {
-        return onNextLog(ignored -> logger.warn(buildLogMessage(message)));
+        return onNextLog(Level.WARN, ignored -> logger.warn(buildLogMessage(message)));
     }
 
     @Override
     public <T> Consumer<? super Signal<T>> reactiveWarnSignal(String message) {
-        return onNextLog(value -> logger.warn(buildLogMessage(message, value)));
+        return onNextLog(Level.WARN, value -> logger.warn(buildLogMessage(message, value)));
     }
 
     @Override
     public <T> Consumer<? super Signal<T>> reactiveWarnSignal(String message, Function<T, Map<String, Object>> function) {
-        return onNextLog(value -> logger.warn(buildLogMessage(message, function, value)));
+        return onNextLog(Level.WARN, value -> logger.warn(buildLogMessage(message, function, value)));
     }
 
     @Override
@@ -139,7 +176,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
 
     @Override
     public <T> Consumer<? super Signal<T>> reactiveErrorThrowable(String message) {
-        return onErrorLog(throwable -> logger.error(Json.stringify(new LogMessage()
+        return onErrorLog(throwable -> logger.error(LogJson.stringify(new LogMessage()
                 .setField("content", message)
                 .setField("throwable", throwable))));
     }
@@ -148,7 +185,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
     public <T> Consumer<? super Signal<T>> reactiveErrorThrowableIf(String message, Function<Throwable, Boolean> booleanFunction) {
         return onErrorLog(throwable -> {
             if(booleanFunction.apply(throwable)) {
-                logger.error(Json.stringify(new LogMessage()
+                logger.error(LogJson.stringify(new LogMessage()
                         .setField("content", message)
                         .setField("throwable", throwable)));
             }
@@ -157,7 +194,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
 
     @Override
     public <T> Consumer<? super Signal<T>> reactiveErrorThrowable(String message, Function<Throwable, Map<String, Object>> function) {
-        return onErrorLog(throwable -> logger.error(Json.stringify(new LogMessage()
+        return onErrorLog(throwable -> logger.error(LogJson.stringify(new LogMessage()
                 .setFields(function.apply(throwable))
                 .setField("content", message)
                 .setField("throwable", throwable))));
@@ -168,7 +205,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
                                                                     Function<Throwable, Map<String, Object>> function) {
         return onErrorLog(throwable -> {
             if(booleanFunction.apply(throwable)) {
-                logger.error(Json.stringify(new LogMessage()
+                logger.error(LogJson.stringify(new LogMessage()
                         .setFields(function.apply(throwable)).
                                 setField("content", message).
                                 setField("throwable", throwable)));
@@ -480,12 +517,13 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
      * For each onNext the Signal context is accessed and used to put each {@link ReactiveMdc.Property} found to the
      * MDC via closeable. The consumer will accept the signal at each onNext
      *
+     * @param level the level the consumer logs at, nothing is done when the level is disabled
      * @param consumer a consumer that will accept the signal
      * @return a generic signal consumer
      */
-    private <T> Consumer<? super Signal<T>> onNextLog(final Consumer<T> consumer) {
+    private <T> Consumer<? super Signal<T>> onNextLog(final Level level, final Consumer<T> consumer) {
         return signal -> {
-            if (signal.isOnNext()) {
+            if (signal.isOnNext() && isEnabled(level)) {
                 Closer closer = registerCloseable(addMdc(signal.getContext()));
                 consumer.accept(signal.get());
                 try {
@@ -506,7 +544,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
      */
     private <T> Consumer<? super Signal<T>> onErrorLog(final Consumer<Throwable> consumer) {
         return signal -> {
-            if (signal.isOnError()) {
+            if (signal.isOnError() && logger.isErrorEnabled()) {
                 Closer closer = registerCloseable(addMdc(signal.getContext()));
                 try {
                     consumer.accept(signal.getThrowable());
@@ -529,12 +567,13 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
      * For each onComplete the Signal context is accessed and used to put each {@link ReactiveMdc.Property} found to the
      * MDC via closeable. The runnable will then be invoked
      *
+     * @param level the level the runnable logs at, nothing is done when the level is disabled
      * @param runnable the runnable to execute
      * @return a generic signal consumer
      */
-    private <T> Consumer<? super Signal<T>> onCompleteLog(final Runnable runnable) {
+    private <T> Consumer<? super Signal<T>> onCompleteLog(final Level level, final Runnable runnable) {
         return signal -> {
-            if (signal.isOnComplete()) {
+            if (signal.isOnComplete() && isEnabled(level)) {
                 Closer closer = registerCloseable(addMdc(signal.getContext()));
                 runnable.run();
                 try {
@@ -546,6 +585,28 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
         };
     }
 
+    /**
+     * Check the level is enabled before building a log message, the level can change at runtime so it is checked
+     * on each signal
+     *
+     * @param level the level to check
+     * @return true when the logger logs at this level
+     */
+    private boolean isEnabled(final Level level) {
+        switch (level) {
+            case TRACE:
+                return logger.isTraceEnabled();
+            case DEBUG:
+                return logger.isDebugEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            case WARN:
+                return logger.isWarnEnabled();
+            default:
+                return logger.isErrorEnabled();
+        }
+    }
+
     /**
      * Put to the MDC each reactive Mdc property found in the context, along with the corresponding value
      *
@@ -581,7 +642,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
      * @return a json string representation of a log message
      */
     private String buildLogMessage(final String message) {
-        return Json.stringify(new LogMessage().setField("content", message));
+        return LogJson.stringify(new LogMessage().setField("content", message));
     }
 
     /**
@@ -593,7 +654,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
      * @return a json string representation of a log message
      */
     private <T> String buildLogMessage(final String message, final T value) {
-        return Json.stringify(new LogMessage()
+        return LogJson.stringify(new LogMessage()
                 .setField("content", message)
                 .setField("value", value));
     }
@@ -609,7 +670,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
      */
     private <T> String buildLogMessage(final String message, final Function<T, Map<String, Object>> function,
                                        final T value) {
-        return Json.stringify(new LogMessage()
+        return LogJson.stringify(new LogMessage()
                 .setFields(function.apply(value))
                 .setField("content", message));
     }
@@ -622,7 +683,7 @@ class MercuryLoggerImpl implements MercuryLogger, Serializable {
      * @return a json string representation of a log message
      */
     private <T> String buildLogMessage(final String message, final Map<String, Object> fields) {
-        return Json.stringify(new LogMessage()
+        return LogJson.stringify(new LogMessage()
                 .setFields(fields)
                 .setField("content", message));
     }
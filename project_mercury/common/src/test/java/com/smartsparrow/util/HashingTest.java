@@ -1,11 +1,14 @@
 package com.smartsparrow.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -45,4 +48,13 @@ class HashingTest {
         Files.delete(tempFilePath);
     }
 
+    @Test
+    void copy() throws IOException {
+        Path tempFilePath = Files.createTempFile(null, null);
+        String hash = Hashing.copy(new ByteArrayInputStream("some content".getBytes(StandardCharsets.UTF_8)), tempFilePath);
+        assertEquals("some content", new String(Files.readAllBytes(tempFilePath), StandardCharsets.UTF_8));
+        assertEquals(Hashing.file(tempFilePath.toFile()), hash);
+        Files.delete(tempFilePath);
+    }
+
 }
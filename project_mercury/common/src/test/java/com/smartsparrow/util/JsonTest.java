@@ -2,12 +2,15 @@ package com.smartsparrow.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
@@ -102,6 +105,50 @@ class JsonTest {
         assertThrows(JSONException.class, () -> Json.query(jsonString, Lists.newArrayList("action", "foo")));
     }
 
+    @Test
+    void query_types() {
+        String json = "{\"int\": 2, \"decimal\": 0.2, \"bool\": true, \"null\": null," +
+                "\"arr\": [1, 2], \"obj\": {\"foo\": \"bar\"}}";
+
+        assertEquals(2, Json.query(json, Lists.newArrayList("int")));
+        assertEquals(new BigDecimal("0.2"), Json.query(json, Lists.newArrayList("decimal")));
+        assertEquals(true, Json.query(json, Lists.newArrayList("bool")));
+        assertEquals(JSONObject.NULL, Json.query(json, Lists.newArrayList("null")));
+        assertTrue(Json.query(json, Lists.newArrayList("arr")) instanceof JSONArray);
+        assertEquals("bar", ((JSONObject) Json.query(json, Lists.newArrayList("obj"))).get("foo"));
+    }
+
+    @Test
+    void query_typed() {
+        String json = "{\"exitAfter\": 2, \"P_S\": 0.2, \"items\": [\"foo\", \"bar\"]}";
+
+        assertEquals(Integer.valueOf(2), Json.query(json, Lists.newArrayList("exitAfter"), Integer.class));
+        assertEquals(0.2, Json.query(json, Lists.newArrayList("P_S"), BigDecimal.class).doubleValue());
+        String[] items = Json.query(json, Lists.newArrayList("items"), String[].class);
+        assertEquals(2, items.length);
+        assertEquals("bar", items[1]);
+    }
+
+    @Test
+    void query_typed_notFoundPath() {
+        JSONException e = assertThrows(JSONException.class,
+                () -> Json.query(jsonString, Lists.newArrayList("context", "foo"), String.class));
+        assertEquals("could not find path [context, foo]", e.getMessage());
+    }
+
+    @Test
+    void query_jsonNode() {
+        JsonNode node = Json.query(Json.toJsonNode(jsonString), Lists.newArrayList("context", "schemaProperty", "type"));
+
+        assertEquals("list", node.asText());
+        assertThrows(JSONException.class, () -> Json.query(Json.toJsonNode(jsonString), Lists.newArrayList("action", "foo")));
+    }
+
+    @Test
+    void readerFor_cached() {
+        assertSame(Json.readerFor(Map.class), Json.readerFor(Map.class));
+    }
+
     @Test
     void unwrapValue_single() {
         Object value = Json.query(jsonString, Lists.newArrayList("action"));
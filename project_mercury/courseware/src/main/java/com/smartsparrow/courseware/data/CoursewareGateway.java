@@ -1,13 +1,17 @@
 package com.smartsparrow.courseware.data;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.asset.data.AssetUrn;
 import com.smartsparrow.asset.service.AssetUtils;
@@ -124,6 +128,43 @@ public class CoursewareGateway {
                         })));
     }
 
+    /**
+     * Persist the associations between a courseware element and multiple assets. The rows of the element and of the
+     * root element partitions are written as grouped batches rather than one request per asset.
+     *
+     * @param element       the courseware element
+     * @param assetUrns     the asset urns to associate to the element
+     * @param rootElementId the root element id
+     */
+    @Trace(async = true)
+    public Flux<Void> persistAssets(final CoursewareElement element, final List<AssetUrn> assetUrns, final UUID rootElementId) {
+        return Mutators.executeGrouped(session, Flux.fromIterable(assetUrns)
+                .flatMapIterable(assetUrn -> {
+                    final CoursewareElementByAssetUrn coursewareElementByAssetUrn = new CoursewareElementByAssetUrn()
+                            .setAssetUrn(assetUrn.toString())
+                            .setCoursewareElement(element);
+
+                    final AssetUrnByRootActivity assetUrnByRootActivity = new AssetUrnByRootActivity()
+                            .setAssetUrn(assetUrn.toString())
+                            .setRootActivityId(rootElementId)
+                            .setCoursewareElement(element);
+
+                    return Arrays.asList(
+                            assetUrnByCoursewareMutator.upsert(coursewareElementByAssetUrn),
+                            coursewareElementByAssetUrnMutator.upsert(coursewareElementByAssetUrn),
+                            assetUrnByRootActivityMutator.upsert(assetUrnByRootActivity));
+                }))
+                .doOnEach(ReactiveTransaction.linkOnNext())
+                .doOnEach(log.reactiveErrorThrowable("error while saving asset details",
+                        throwable -> new HashMap<String, Object>() {
+                            {
+                                put("rootElementId", rootElementId);
+                                put("elementId", element.getElementId());
+                                put("assets", assetUrns.size());
+                            }
+                        }));
+    }
+
     /**
      * Remove association between courseware element and asset
      *
@@ -161,8 +202,9 @@ public class CoursewareGateway {
     @Trace(async = true)
     public Flux<Void> removeAssets(final UUID elementId, final List<String> assetURNs, final UUID rootElementId) {
 
-        return assetURNs.stream()
-                .map(assetURN -> {
+        // the urns are parsed upfront so an invalid urn is thrown to the caller
+        final List<Statement> statements = assetURNs.stream()
+                .flatMap(assetURN -> {
                     AssetUrn assetUrn = AssetUtils.parseURN(assetURN);
                     final CoursewareElementByAssetUrn coursewareElementByAssetUrn = new CoursewareElementByAssetUrn()
                             .setAssetUrn(assetUrn.toString())
@@ -177,13 +219,14 @@ public class CoursewareGateway {
                                                           // it's safe not to set the type since that is not part of the key
                                                           .setElementId(elementId));
 
-                    return Mutators.execute(session, Flux.just(
+                    return Stream.of(
                             assetUrnByCoursewareMutator.delete(coursewareElementByAssetUrn),
                             coursewareElementByAssetUrnMutator.delete(coursewareElementByAssetUrn),
-                            assetUrnByRootActivityMutator.delete(assetUrnByRootActivity)));
+                            assetUrnByRootActivityMutator.delete(assetUrnByRootActivity));
                 })
-                .reduce(Flux::mergeWith)
-                .orElse(Flux.empty())
+                .collect(Collectors.toList());
+
+        return Mutators.executeGrouped(session, Flux.fromIterable(statements))
                 .doOnEach(ReactiveTransaction.linkOnNext());
 
     }
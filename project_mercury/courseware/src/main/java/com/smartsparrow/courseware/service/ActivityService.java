@@ -81,6 +81,7 @@ public class ActivityService {
     private final CoursewareElementDescriptionService coursewareDescriptionService;
     private final ThemeService themeService;
     private final AnnotationService annotationService;
+    private final CoursewareAncestryIndex ancestryIndex;
 
     @Inject
     public ActivityService(final ActivityGateway activityGateway,
@@ -95,7 +96,8 @@ public class ActivityService {
                            final ProjectGateway projectGateway,
                            final CoursewareElementDescriptionService coursewareDescriptionService,
                            final ThemeService themeService,
-                           final AnnotationService annotationService) {
+                           final AnnotationService annotationService,
+                           final CoursewareAncestryIndex ancestryIndex) {
         this.activityGateway = activityGateway;
         this.pluginService = pluginService;
         this.workspaceGateway = workspaceGateway;
@@ -109,6 +111,7 @@ public class ActivityService {
         this.coursewareDescriptionService = coursewareDescriptionService;
         this.themeService = themeService;
         this.annotationService = annotationService;
+        this.ancestryIndex = ancestryIndex;
     }
 
     /**
@@ -203,7 +206,8 @@ public class ActivityService {
         return Flux.merge(
                 activityGateway.persistParent(activityId, parentPathwayId),
                 pathwayGateway.persistChild(activityId, CoursewareElementType.ACTIVITY, parentPathwayId)
-        ).doOnEach(ReactiveTransaction.linkOnNext());
+        ).doFinally(signalType -> ancestryIndex.invalidate(activityId))
+                .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
     /**
@@ -225,6 +229,7 @@ public class ActivityService {
                         .defaultIfEmpty(new WalkablePathwayChildren())
                         .map(children -> children.addWalkable(activityId, CoursewareElementType.ACTIVITY.name(), index))
                         .flatMapMany(pathwayGateway::persist))
+                .doFinally(signalType -> ancestryIndex.invalidate(activityId))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
@@ -368,6 +373,7 @@ public class ActivityService {
         return projectGateway.persist(new ProjectActivity()
                 .setActivityId(activityId)
                 .setProjectId(projectId))
+                .doFinally(signalType -> ancestryIndex.invalidate(activityId))
                 .singleOrEmpty();
     }
 
@@ -390,7 +396,8 @@ public class ActivityService {
                 activityGateway.persist(new DeletedActivity()
                         .setActivityId(activityId)
                         .setAccountId(accountId)
-                        .setDeletedAt(DateFormat.asRFC1123(UUIDs.timeBased()))));
+                        .setDeletedAt(DateFormat.asRFC1123(UUIDs.timeBased()))))
+                .doFinally(signalType -> ancestryIndex.invalidate(activityId));
     }
 
     /**
@@ -544,7 +551,8 @@ public class ActivityService {
         return Flux.merge(
                 activityGateway.removeParent(activityId),
                 pathwayGateway.removeChild(activityId, CoursewareElementType.ACTIVITY, parentPathwayId)
-        ).doOnEach(ReactiveTransaction.linkOnNext());
+        ).doFinally(signalType -> ancestryIndex.invalidate(activityId))
+                .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
     /**
@@ -570,6 +578,7 @@ public class ActivityService {
                         .setAccountId(accountId)
                         .setDeletedAt(DateFormat.asRFC1123(UUIDs.timeBased())))
                 )
+                .doFinally(signalType -> ancestryIndex.invalidate(activityId))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
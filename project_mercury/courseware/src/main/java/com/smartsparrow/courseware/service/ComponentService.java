@@ -52,6 +52,7 @@ public class ComponentService {
     private final CoursewareAssetService coursewareAssetService;
     private final CoursewareElementDescriptionService coursewareDescriptionService;
     private final ManualGradingConfigurationGateway manualGradingConfigurationGateway;
+    private final CoursewareAncestryIndex ancestryIndex;
 
     @Inject
     ComponentService(ComponentGateway componentGateway,
@@ -60,7 +61,8 @@ public class ComponentService {
                      ActivityService activityService,
                      CoursewareAssetService coursewareAssetService,
                      ManualGradingConfigurationGateway manualGradingConfigurationGateway,
-                     CoursewareElementDescriptionService coursewareDescriptionService) {
+                     CoursewareElementDescriptionService coursewareDescriptionService,
+                     CoursewareAncestryIndex ancestryIndex) {
         this.componentGateway = componentGateway;
         this.pluginService = pluginService;
         this.interactiveService = interactiveService;
@@ -68,6 +70,7 @@ public class ComponentService {
         this.coursewareAssetService = coursewareAssetService;
         this.manualGradingConfigurationGateway = manualGradingConfigurationGateway;
         this.coursewareDescriptionService = coursewareDescriptionService;
+        this.ancestryIndex = ancestryIndex;
     }
 
     /**
@@ -493,6 +496,7 @@ public class ComponentService {
     @Trace(async = true)
     public Mono<Void> deleteInteractiveComponent(final UUID componentId, final UUID interactiveId) {
         return componentGateway.deleteInteractiveComponent(componentId, interactiveId)
+                .doFinally(signalType -> ancestryIndex.invalidate(componentId))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
@@ -506,6 +510,7 @@ public class ComponentService {
     @Trace(async = true)
     public Mono<Void> deleteActivityComponent(final UUID componentId, final UUID activityId) {
         return componentGateway.deleteActivityComponent(componentId, activityId)
+                .doFinally(signalType -> ancestryIndex.invalidate(componentId))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
@@ -712,6 +717,7 @@ public class ComponentService {
                 })
                 .reduce(Flux::concatWith)
                 .orElse(Flux.empty())
+                .doFinally(signalType -> ancestryIndex.invalidateAll(componentIds))
                 .doOnEach(ReactiveTransaction.linkOnNext());
 
     }
@@ -735,6 +741,7 @@ public class ComponentService {
                 .flatMap(parentByComponent ->
                         detach(parentByComponent.getComponentId(), parentByComponent.getParentId(), parentByComponent.getParentType())
                         .thenMany(saveRelationship(parentByComponent.getComponentId(), elementId, elementType)))
+                .doFinally(signalType -> ancestryIndex.invalidateAll(componentIds))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
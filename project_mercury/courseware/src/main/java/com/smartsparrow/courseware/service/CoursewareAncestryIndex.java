@@ -0,0 +1,144 @@
+package com.smartsparrow.courseware.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.courseware.data.CoursewareElement;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Node-local index of the courseware ancestry, populated lazily as the paths are walked. Each element is indexed with
+ * its parent, so moving an element only invalidates the moved element, and each root activity with its project.
+ *
+ * The move, delete and detach code paths invalidate the changed elements on this node and broadcast the invalidation
+ * to the other nodes over the cache invalidation topic, see {@link CacheService#registerLocalCache}. Entries also
+ * expire after <code>courseware.ancestry.ttlMinutes</code> (default 5), should a broadcast be lost. The index holds
+ * at most <code>courseware.ancestry.maxSize</code> entries of each kind (default 100000).
+ */
+@Singleton
+public class CoursewareAncestryIndex {
+
+    private static final long MAX_SIZE = Long.getLong("courseware.ancestry.maxSize", 100_000);
+    private static final long TTL_MINUTES = Long.getLong("courseware.ancestry.ttlMinutes", 5);
+    static final String LOCAL_CACHE_NAME = "courseware:ancestry";
+
+    // an empty parent is only indexed for root activities, a missing parent of any other element is not indexed
+    private final Cache<UUID, Optional<CoursewareElement>> parents = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(TTL_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    private final Cache<UUID, UUID> projects = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(TTL_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    private final CacheService cacheService;
+
+    @Inject
+    public CoursewareAncestryIndex(final CacheService cacheService) {
+        this.cacheService = cacheService;
+        cacheService.registerLocalCache(LOCAL_CACHE_NAME, keys -> evict(keys.stream()
+                .map(UUID::fromString)
+                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Find the parent of an element, the parent is loaded and indexed when not indexed
+     *
+     * @param elementId the element to find the parent for
+     * @param loader loads the parent of the element, only called when not indexed
+     * @return a mono of the parent element or an empty mono when not found
+     */
+    public Mono<CoursewareElement> findParent(final UUID elementId, final Supplier<Mono<CoursewareElement>> loader) {
+        final Optional<CoursewareElement> parent = parents.getIfPresent(elementId);
+        if (parent != null) {
+            return Mono.justOrEmpty(parent);
+        }
+        return loader.get().doOnNext(found -> parents.put(elementId, Optional.of(found)));
+    }
+
+    /**
+     * Find the parent of an activity, the parent is loaded and indexed when not indexed. Root activities are indexed
+     * as well, so walking up to the root of an indexed path reads nothing.
+     *
+     * @param activityId the activity to find the parent for
+     * @param loader loads the parent of the activity, empty for a root activity. Only called when not indexed
+     * @return a mono of the parent element or an empty mono for a root activity
+     */
+    public Mono<CoursewareElement> findActivityParent(final UUID activityId, final Supplier<Mono<CoursewareElement>> loader) {
+        final Optional<CoursewareElement> parent = parents.getIfPresent(activityId);
+        if (parent != null) {
+            return Mono.justOrEmpty(parent);
+        }
+        return loader.get().map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(found -> parents.put(activityId, found))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Find the project of a root activity, the project is loaded and indexed when not indexed
+     *
+     * @param rootActivityId the root activity to find the project for
+     * @param loader loads the project id of the root activity, only called when not indexed
+     * @return a mono of the project id or an empty mono when not found
+     */
+    public Mono<UUID> findProjectId(final UUID rootActivityId, final Supplier<Mono<UUID>> loader) {
+        final UUID projectId = projects.getIfPresent(rootActivityId);
+        if (projectId != null) {
+            return Mono.just(projectId);
+        }
+        return loader.get().doOnNext(found -> projects.put(rootActivityId, found));
+    }
+
+    /**
+     * Remove an element from the index of every node, to be called when the element parent or project changed
+     *
+     * @param elementId the element id
+     */
+    public void invalidate(final UUID elementId) {
+        invalidateAll(Collections.singletonList(elementId));
+    }
+
+    /**
+     * Remove elements from the index of every node
+     *
+     * @param elementIds the element ids
+     */
+    public void invalidateAll(final Collection<UUID> elementIds) {
+        if (elementIds.isEmpty()) {
+            return;
+        }
+        evict(elementIds);
+        cacheService.broadcastInvalidation(LOCAL_CACHE_NAME, elementIds.stream()
+                .map(UUID::toString)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Remove elements from the index of this node
+     */
+    private void evict(final Collection<UUID> elementIds) {
+        parents.invalidateAll(elementIds);
+        projects.invalidateAll(elementIds);
+    }
+
+    @VisibleForTesting
+    long size() {
+        return parents.size() + projects.size();
+    }
+}
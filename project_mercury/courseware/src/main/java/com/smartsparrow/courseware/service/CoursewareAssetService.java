@@ -260,11 +260,13 @@ public class CoursewareAssetService {
                     // otherwise, it duplicates associations asset-courseware by asset urn
                     return Mono.just(assetIdByUrn);
                 })
-                // for each asset urn/id persist the association with the duplicated element
-                .flatMap(assetIdByUrn -> coursewareGateway.persist(CoursewareElement.from(newElementId, elementType),
-                                new AssetUrn(assetIdByUrn.getAssetUrn()),
-                                context.getNewRootElementId())
-                        .doOnEach(ReactiveTransaction.linkOnNext()));
+                .map(assetIdByUrn -> new AssetUrn(assetIdByUrn.getAssetUrn()))
+                .collectList()
+                // persist the associations with the duplicated element, grouped by partition
+                .flatMapMany(assetUrns -> coursewareGateway.persistAssets(CoursewareElement.from(newElementId, elementType),
+                                assetUrns,
+                                context.getNewRootElementId()))
+                .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
 
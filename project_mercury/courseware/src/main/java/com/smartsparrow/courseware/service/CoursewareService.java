@@ -87,6 +87,7 @@ public class CoursewareService {
     private final PluginGateway pluginGateway;
     private final PluginService pluginService;
     private final ThemeService themeService;
+    private final CoursewareAncestryIndex ancestryIndex;
 
     @Inject
     public CoursewareService(final ActivityService activityService,
@@ -105,7 +106,8 @@ public class CoursewareService {
                              final ProjectService projectService,
                              final PluginGateway pluginGateway,
                              final PluginService pluginService,
-                             final ThemeService themeService) {
+                             final ThemeService themeService,
+                             final CoursewareAncestryIndex ancestryIndex) {
         this.activityService = activityService;
         this.pathwayService = pathwayService;
         this.interactiveService = interactiveService;
@@ -123,12 +125,14 @@ public class CoursewareService {
         this.pluginGateway = pluginGateway;
         this.pluginService = pluginService;
         this.themeService = themeService;
+        this.ancestryIndex = ancestryIndex;
     }
 
     /**
      * Returns the path from the most top activity to the given element.
      * The path is ordered: first element is the top activity (COURSE or LESSON) and the last element is the given element
      * Supported element types: ACTIVITY, PATHWAY, INTERACTIVE
+     * The parents are looked up in the {@link CoursewareAncestryIndex}, only the parents not indexed yet are read.
      *
      * @param elementId   the element id
      * @param elementType the element type
@@ -194,8 +198,9 @@ public class CoursewareService {
      */
     @Trace(async = true)
     private Mono<List<CoursewareElement>> getPathForActivity(final UUID activityId) {
-        return activityService.findParentPathwayId(activityId)
-                .flatMap(this::getPathForPathway)
+        return ancestryIndex.findActivityParent(activityId, () -> activityService.findParentPathwayId(activityId)
+                        .map(pathwayId -> CoursewareElement.from(pathwayId, CoursewareElementType.PATHWAY)))
+                .flatMap(parent -> getPathForPathway(parent.getElementId()))
                 .defaultIfEmpty(Lists.newArrayList())
                 .map(list -> {
                     list.add(new CoursewareElement(activityId, CoursewareElementType.ACTIVITY));
@@ -212,8 +217,9 @@ public class CoursewareService {
      */
     @Trace(async = true)
     private Mono<List<CoursewareElement>> getPathForPathway(final UUID pathwayId) {
-        return pathwayService.findParentActivityId(pathwayId)
-                .flatMap(this::getPathForActivity)
+        return ancestryIndex.findParent(pathwayId, () -> pathwayService.findParentActivityId(pathwayId)
+                        .map(activityId -> CoursewareElement.from(activityId, CoursewareElementType.ACTIVITY)))
+                .flatMap(parent -> getPathForActivity(parent.getElementId()))
                 .map(list -> {
                     list.add(new CoursewareElement(pathwayId, CoursewareElementType.PATHWAY));
                     return list;
@@ -229,8 +235,9 @@ public class CoursewareService {
      */
     @Trace(async = true)
     private Mono<List<CoursewareElement>> getPathForInteractive(final UUID interactiveId) {
-        return interactiveService.findParentPathwayId(interactiveId)
-                .flatMap(this::getPathForPathway)
+        return ancestryIndex.findParent(interactiveId, () -> interactiveService.findParentPathwayId(interactiveId)
+                        .map(pathwayId -> CoursewareElement.from(pathwayId, CoursewareElementType.PATHWAY)))
+                .flatMap(parent -> getPathForPathway(parent.getElementId()))
                 .map(list -> {
                     list.add(new CoursewareElement(interactiveId, CoursewareElementType.INTERACTIVE));
                     return list;
@@ -246,8 +253,9 @@ public class CoursewareService {
      */
     @Trace(async = true)
     private Mono<List<CoursewareElement>> getPathForFeedback(final UUID feedbackId) {
-        return feedbackService.findParentId(feedbackId)
-                .flatMap(this::getPathForInteractive)
+        return ancestryIndex.findParent(feedbackId, () -> feedbackService.findParentId(feedbackId)
+                        .map(interactiveId -> CoursewareElement.from(interactiveId, CoursewareElementType.INTERACTIVE)))
+                .flatMap(parent -> getPathForInteractive(parent.getElementId()))
                 .map(list -> {
                     list.add(new CoursewareElement(feedbackId, CoursewareElementType.FEEDBACK));
                     return list;
@@ -265,16 +273,18 @@ public class CoursewareService {
     @Trace(async = true)
     private Mono<List<CoursewareElement>> getPathForComponent(final UUID componentId) {
 
-        return componentService.findParentFor(componentId)
-                .flatMap(parentByComponent -> {
-                    switch (parentByComponent.getParentType()) {
+        return ancestryIndex.findParent(componentId, () -> componentService.findParentFor(componentId)
+                        .map(parentByComponent -> CoursewareElement.from(parentByComponent.getParentId(),
+                                                                         parentByComponent.getParentType())))
+                .flatMap(parent -> {
+                    switch (parent.getElementType()) {
                         case INTERACTIVE:
-                            return getPathForInteractive(parentByComponent.getParentId());
+                            return getPathForInteractive(parent.getElementId());
                         case ACTIVITY:
-                            return getPathForActivity(parentByComponent.getParentId());
+                            return getPathForActivity(parent.getElementId());
                         default:
                             throw new UnsupportedOperationException(
-                                    String.format("parentType %s not allowed for component", parentByComponent.getParentType()));
+                                    String.format("parentType %s not allowed for component", parent.getElementType()));
                     }
                 }).map(list -> {
                     list.add(new CoursewareElement(componentId, CoursewareElementType.COMPONENT));
@@ -292,16 +302,18 @@ public class CoursewareService {
      */
     @Trace(async = true)
     private Mono<List<CoursewareElement>> getPathForScenario(final UUID scenarioId) {
-        return scenarioService.findParent(scenarioId)
-                .flatMap(parentByScenario -> {
-                    switch (parentByScenario.getParentType()) {
+        return ancestryIndex.findParent(scenarioId, () -> scenarioService.findParent(scenarioId)
+                        .map(parentByScenario -> CoursewareElement.from(parentByScenario.getParentId(),
+                                                                        parentByScenario.getParentType())))
+                .flatMap(parent -> {
+                    switch (parent.getElementType()) {
                         case INTERACTIVE:
-                            return getPathForInteractive(parentByScenario.getParentId());
+                            return getPathForInteractive(parent.getElementId());
                         case ACTIVITY:
-                            return getPathForActivity(parentByScenario.getParentId());
+                            return getPathForActivity(parent.getElementId());
                         default:
                             throw new UnsupportedOperationException(
-                                    String.format("parentType %s not allowed for scenario", parentByScenario.getParentType()));
+                                    String.format("parentType %s not allowed for scenario", parent.getElementType()));
                     }
                 })
                 .map(list -> {
@@ -775,8 +787,11 @@ public class CoursewareService {
         affirmArgument(elementId != null, "elementId is missing");
         affirmArgument(elementType != null, "elementType is missing");
         return getPath(elementId, elementType)
-                .flatMap(path -> activityService.findProjectIdByActivity(path.get(0).getElementId()))
-                .map(ProjectActivity::getProjectId)
+                .flatMap(path -> {
+                    final UUID rootActivityId = path.get(0).getElementId();
+                    return ancestryIndex.findProjectId(rootActivityId, () -> activityService.findProjectIdByActivity(rootActivityId)
+                            .map(ProjectActivity::getProjectId));
+                })
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
@@ -40,16 +40,19 @@ public class FeedbackService {
     private final PluginService pluginService;
     private final InteractiveService interactiveService;
     private final CoursewareAssetService coursewareAssetService;
+    private final CoursewareAncestryIndex ancestryIndex;
 
     @Inject
     public FeedbackService(FeedbackGateway feedbackGateway,
                            PluginService pluginService,
                            InteractiveService interactiveService,
-                           CoursewareAssetService coursewareAssetService) {
+                           CoursewareAssetService coursewareAssetService,
+                           CoursewareAncestryIndex ancestryIndex) {
         this.feedbackGateway = feedbackGateway;
         this.pluginService = pluginService;
         this.interactiveService = interactiveService;
         this.coursewareAssetService = coursewareAssetService;
+        this.ancestryIndex = ancestryIndex;
     }
 
     /**
@@ -267,6 +270,7 @@ public class FeedbackService {
         checkArgument(interactiveId != null, "interactiveId is required");
 
         return feedbackGateway.deleteRelationship(feedbackId, interactiveId)
+                .doFinally(signalType -> ancestryIndex.invalidate(feedbackId))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
@@ -54,6 +54,7 @@ public class InteractiveService {
     private final PathwayGateway pathwayGateway;
     private final DocumentItemService documentItemService;
     private final CoursewareElementDescriptionService coursewareDescriptionService;
+    private final CoursewareAncestryIndex ancestryIndex;
 
     @Inject
     public InteractiveService(InteractiveGateway interactiveGateway,
@@ -64,7 +65,8 @@ public class InteractiveService {
                               CoursewareAssetService coursewareAssetService,
                               PathwayGateway pathwayGateway,
                               DocumentItemService documentItemService,
-                              CoursewareElementDescriptionService coursewareDescriptionService) {
+                              CoursewareElementDescriptionService coursewareDescriptionService,
+                              CoursewareAncestryIndex ancestryIndex) {
         this.interactiveGateway = interactiveGateway;
         this.pluginService = pluginService;
         this.pathwayService = pathwayService;
@@ -74,6 +76,7 @@ public class InteractiveService {
         this.pathwayGateway = pathwayGateway;
         this.documentItemService = documentItemService;
         this.coursewareDescriptionService = coursewareDescriptionService;
+        this.ancestryIndex = ancestryIndex;
     }
 
     /**
@@ -346,7 +349,8 @@ public class InteractiveService {
 
         return Flux.merge(
                 interactiveGateway.persistParent(interactiveId, parentPathwayId),
-                pathwayGateway.persistChild(interactiveId, CoursewareElementType.INTERACTIVE, parentPathwayId));
+                pathwayGateway.persistChild(interactiveId, CoursewareElementType.INTERACTIVE, parentPathwayId))
+                .doFinally(signalType -> ancestryIndex.invalidate(interactiveId));
     }
 
     /**
@@ -368,6 +372,7 @@ public class InteractiveService {
                         .defaultIfEmpty(new WalkablePathwayChildren())
                         .map(children -> children.addWalkable(interactiveId, CoursewareElementType.INTERACTIVE.name(), index))
                         .flatMapMany(pathwayGateway::persist))
+                .doFinally(signalType -> ancestryIndex.invalidate(interactiveId))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
@@ -388,6 +393,7 @@ public class InteractiveService {
                 interactiveGateway.removeParent(interactiveId),
                 pathwayGateway.removeChild(interactiveId, CoursewareElementType.INTERACTIVE, parentPathwayId))
                 .singleOrEmpty()
+                .doFinally(signalType -> ancestryIndex.invalidate(interactiveId))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
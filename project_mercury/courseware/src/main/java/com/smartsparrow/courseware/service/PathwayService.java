@@ -43,18 +43,21 @@ public class PathwayService {
     private final ActivityService activityService;
     private final CoursewareAssetService coursewareAssetService;
     private final CoursewareElementDescriptionService coursewareDescriptionService;
+    private final CoursewareAncestryIndex ancestryIndex;
 
     @Inject
     public PathwayService(final PathwayGateway pathwayGateway,
                           final PathwayBuilder pathwayBuilder,
                           final ActivityService activityService,
                           final CoursewareAssetService coursewareAssetService,
-                          final CoursewareElementDescriptionService coursewareDescriptionService) {
+                          final CoursewareElementDescriptionService coursewareDescriptionService,
+                          final CoursewareAncestryIndex ancestryIndex) {
         this.pathwayGateway = pathwayGateway;
         this.pathwayBuilder = pathwayBuilder;
         this.activityService = activityService;
         this.coursewareAssetService = coursewareAssetService;
         this.coursewareDescriptionService = coursewareDescriptionService;
+        this.ancestryIndex = ancestryIndex;
     }
 
     /**
@@ -181,6 +184,7 @@ public class PathwayService {
     public Mono<Void> delete(final UUID pathwayId, final UUID activityId) {
         return pathwayGateway.deleteRelationship(pathwayId, activityId)
                 .singleOrEmpty()
+                .doFinally(signalType -> ancestryIndex.invalidate(pathwayId))
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
@@ -25,6 +25,7 @@ import com.smartsparrow.courseware.lang.ScenarioNotFoundException;
 import com.smartsparrow.courseware.lang.ScenarioParentNotFoundException;
 import com.smartsparrow.eval.deserializer.ActionDeserializer;
 import com.smartsparrow.eval.deserializer.ConditionDeserializer;
+import com.smartsparrow.eval.service.CompiledConditionCache;
 import com.smartsparrow.exception.IllegalArgumentFault;
 import com.smartsparrow.util.monitoring.ReactiveTransaction;
 
@@ -40,14 +41,20 @@ public class ScenarioService {
     private final ScenarioGateway scenarioGateway;
     private final ConditionDeserializer conditionDeserializer;
     private final ActionDeserializer actionDeserializer;
+    private final CompiledConditionCache compiledConditionCache;
+    private final CoursewareAncestryIndex ancestryIndex;
 
     @Inject
     public ScenarioService(final ScenarioGateway scenarioGateway,
                            final ConditionDeserializer conditionDeserializer,
-                           final ActionDeserializer actionDeserializer) {
+                           final ActionDeserializer actionDeserializer,
+                           final CompiledConditionCache compiledConditionCache,
+                           final CoursewareAncestryIndex ancestryIndex) {
         this.scenarioGateway = scenarioGateway;
         this.conditionDeserializer = conditionDeserializer;
         this.actionDeserializer = actionDeserializer;
+        this.compiledConditionCache = compiledConditionCache;
+        this.ancestryIndex = ancestryIndex;
     }
 
     /**
@@ -176,6 +183,7 @@ public class ScenarioService {
         return findById(scenarioId)
                 .then(validateScenario(scenario))
                 .then(scenarioGateway.updateScenario(scenario))
+                .doOnSuccess(ignored -> compiledConditionCache.invalidate(scenarioId))
                 .doOnEach(ReactiveTransaction.linkOnNext())
                 .doOnSuccess(s -> log.info("Updated scenario {}", s));
     }
@@ -218,7 +226,10 @@ public class ScenarioService {
         final Scenario scenario = new Scenario()
                 .setId(scenarioId);
 
-        Mono<Scenario> source = scenarioGateway.delete(scenario, parentId, lifecycle, parentType).thenReturn(scenario);
+        Mono<Scenario> source = scenarioGateway.delete(scenario, parentId, lifecycle, parentType)
+                .doOnSuccess(ignored -> compiledConditionCache.invalidate(scenarioId))
+                .doFinally(signalType -> ancestryIndex.invalidate(scenarioId))
+                .thenReturn(scenario);
 
         if (log.isDebugEnabled()) {
             log.info("Deleted scenario {}", scenario);
@@ -0,0 +1,166 @@
+package com.smartsparrow.eval.condition;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.smartsparrow.eval.operator.BinaryOperator;
+import com.smartsparrow.eval.operator.Operator;
+import com.smartsparrow.eval.operator.UnaryOperator;
+import com.smartsparrow.eval.parser.BaseCondition;
+import com.smartsparrow.eval.parser.ChainedCondition;
+import com.smartsparrow.eval.parser.Evaluator;
+
+/**
+ * Immutable predicate tree compiled from a deserialized {@link ChainedCondition} by the {@link ConditionEvaluator}.
+ * The tree mirrors the structure of the condition it was compiled from, operator implementations are resolved
+ * once at compile time and chained conditions short-circuit.
+ *
+ * The compiled tree holds no operand value, it is tested against a resolved copy of its source condition so that it
+ * can be shared across evaluations.
+ */
+public class CompiledCondition {
+
+    private final ChainedCondition source;
+    private final Node root;
+    private final Set<UUID> studentScopeURNs;
+
+    CompiledCondition(final ChainedCondition source, final Node root, final Set<UUID> studentScopeURNs) {
+        this.source = source;
+        this.root = root;
+        this.studentScopeURNs = Collections.unmodifiableSet(studentScopeURNs);
+    }
+
+    /**
+     * @return the deserialized condition this predicate was compiled from. The returned condition is shared and
+     * should only be read
+     */
+    public ChainedCondition getSource() {
+        return source;
+    }
+
+    /**
+     * @return the student scopes referenced by the scope operands of the condition
+     */
+    public Set<UUID> getStudentScopeURNs() {
+        return studentScopeURNs;
+    }
+
+    /**
+     * Test the predicate against the resolved condition
+     *
+     * @param resolvedCondition the source condition with the operand values resolved
+     * @return the evaluation result
+     * @throws UnsupportedOperationException when an operator or condition type in the source is not supported
+     * @throws IllegalStateException when the resolved condition does not have the source condition structure
+     */
+    public boolean test(final ChainedCondition resolvedCondition) {
+        return root.test(resolvedCondition);
+    }
+
+    /**
+     * A node of the compiled predicate tree, tested against the resolved condition at the same position
+     */
+    interface Node {
+
+        boolean test(BaseCondition resolved);
+    }
+
+    /**
+     * AND/OR of the children nodes, stops at the first child that decides the result
+     */
+    static class Chained implements Node {
+
+        private final Operator.Type operator;
+        private final Node[] children;
+
+        Chained(final Operator.Type operator, final List<Node> children) {
+            this.operator = operator;
+            this.children = children.toArray(new Node[0]);
+        }
+
+        @Override
+        public boolean test(final BaseCondition resolved) {
+            if (!(resolved instanceof ChainedCondition)) {
+                throw new IllegalStateException("resolved condition does not match the compiled condition");
+            }
+            List<? extends BaseCondition> conditions = ((ChainedCondition) resolved).getConditions();
+            if (conditions.size() != children.length) {
+                throw new IllegalStateException("resolved condition does not match the compiled condition");
+            }
+            // an empty AND is true and an empty OR is false
+            final boolean decisive = operator == Operator.Type.OR;
+            for (int i = 0; i < children.length; i++) {
+                if (children[i].test(conditions.get(i)) == decisive) {
+                    return decisive;
+                }
+            }
+            return !decisive;
+        }
+    }
+
+    /**
+     * Unary operation on the left hand side operand
+     */
+    static class Unary implements Node {
+
+        private final UnaryOperator operator;
+
+        Unary(final UnaryOperator operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public boolean test(final BaseCondition resolved) {
+            Evaluator evaluator = (Evaluator) resolved;
+            if (evaluator.getLhs().getResolvedValue() == null) {
+                return false;
+            }
+            return operator.test(evaluator.getLhs(), null);
+        }
+    }
+
+    /**
+     * Binary operation on both operands. The operator is <code>null</code> when no implementation was found for the
+     * operator and operand type, a null operand value still evaluates to <code>false</code> in this case
+     */
+    static class Binary implements Node {
+
+        private final BinaryOperator operator;
+
+        Binary(final BinaryOperator operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public boolean test(final BaseCondition resolved) {
+            Evaluator evaluator = (Evaluator) resolved;
+            if (evaluator.getLhs().getResolvedValue() == null || evaluator.getRhs().getResolvedValue() == null) {
+                return false;
+            }
+            if (operator == null) {
+                throw new UnsupportedOperationException("No operator found");
+            }
+            return operator.test(evaluator.getLhs(), evaluator.getRhs(), null);
+        }
+    }
+
+    /**
+     * Condition that could not be compiled, fails when reached so that a short-circuited branch does not fail the
+     * evaluation
+     */
+    static class Unsupported implements Node {
+
+        private final String message;
+
+        Unsupported(final String message) {
+            this.message = message;
+        }
+
+        @Override
+        public boolean test(final BaseCondition resolved) {
+            throw new UnsupportedOperationException(message);
+        }
+    }
+}
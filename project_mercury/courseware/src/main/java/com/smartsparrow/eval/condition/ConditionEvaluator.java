@@ -1,8 +1,12 @@
 package com.smartsparrow.eval.condition;
 
-import java.util.List;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -18,6 +22,7 @@ import com.smartsparrow.eval.parser.BaseCondition;
 import com.smartsparrow.eval.parser.ChainedCondition;
 import com.smartsparrow.eval.parser.Condition;
 import com.smartsparrow.eval.parser.Evaluator;
+import com.smartsparrow.eval.parser.ScopeContext;
 import com.smartsparrow.eval.wiring.EvaluationOperationsModule;
 import com.smartsparrow.util.DataType;
 
@@ -41,7 +46,37 @@ public class ConditionEvaluator {
     }
 
     /**
-     * Recursively evaluate a {@link ChainedCondition}
+     * Compile a deserialized {@link ChainedCondition} into an immutable predicate tree. The operator implementations
+     * are looked up once so the compiled condition can be cached and tested against any resolved copy of the
+     * condition. Unsupported operators or condition types do not fail the compilation, they fail the evaluation
+     * when reached.
+     *
+     * @param chainedCondition the deserialized condition to compile
+     * @return the compiled condition
+     */
+    @Trace(async = true)
+    public CompiledCondition compile(ChainedCondition chainedCondition) {
+        Set<UUID> studentScopeURNs = new HashSet<>();
+        collectStudentScopeURNs(chainedCondition, studentScopeURNs);
+        return new CompiledCondition(chainedCondition, compileNode(chainedCondition), studentScopeURNs);
+    }
+
+    /**
+     * Evaluate a compiled condition against the resolved copy of its source condition
+     *
+     * @param compiledCondition the compiled condition
+     * @param resolvedCondition the resolved condition
+     * @return a boolean representing the result of the evaluated condition
+     * @throws UnsupportedOperationException when an operator or condition type is not supported
+     */
+    @Trace(async = true)
+    public boolean evaluate(CompiledCondition compiledCondition, ChainedCondition resolvedCondition) {
+        return compiledCondition.test(resolvedCondition);
+    }
+
+    /**
+     * Recursively evaluate a {@link ChainedCondition}. The evaluation stops at the first condition deciding the
+     * result of the AND/OR operator
      *
      * @param chainedCondition the condition to evaluate
      * @return a boolean representing the result of the evaluated condition
@@ -50,22 +85,96 @@ public class ConditionEvaluator {
     @Trace(async = true)
     public boolean evaluate(ChainedCondition chainedCondition) {
 
-        List<Boolean> results = chainedCondition.getConditions().stream()
-                .map(this::evaluate)
-                .collect(Collectors.toList());
-
         Operator.Type operatorType = chainedCondition.getOperator();
 
         switch (operatorType) {
             case AND:
-                return results.stream().allMatch(one -> one.equals(Boolean.TRUE));
+                return chainedCondition.getConditions().stream().allMatch(this::evaluate);
             case OR:
-                return results.stream().anyMatch(one -> one.equals(Boolean.TRUE));
+                return chainedCondition.getConditions().stream().anyMatch(this::evaluate);
             default:
                 throw new UnsupportedOperationException("Operator not supported for chained condition");
         }
     }
 
+    /**
+     * Recursively compile a condition node
+     *
+     * @param baseCondition the condition to compile
+     * @return the compiled node
+     */
+    private CompiledCondition.Node compileNode(BaseCondition baseCondition) {
+        Condition.Type type = baseCondition.getType();
+
+        if (type == Condition.Type.CHAINED_CONDITION) {
+            ChainedCondition chainedCondition = (ChainedCondition) baseCondition;
+            Operator.Type operatorType = chainedCondition.getOperator();
+
+            if (operatorType != Operator.Type.AND && operatorType != Operator.Type.OR) {
+                return new CompiledCondition.Unsupported("Operator not supported for chained condition");
+            }
+            return new CompiledCondition.Chained(operatorType, chainedCondition.getConditions().stream()
+                    .map(this::compileNode)
+                    .collect(Collectors.toList()));
+        }
+
+        if (type == Condition.Type.EVALUATOR) {
+            Evaluator evaluator = (Evaluator) baseCondition;
+
+            if (evaluator.getLhs() == null && evaluator.getRhs() == null) {
+                return new CompiledCondition.Unsupported("Both LHS and RHS cannot be null");
+            }
+            if (evaluator.getLhs() != null && evaluator.getRhs() == null) {
+                Provider<UnaryOperator> unaryOperator = unaryEvaluatorByOperator.get(evaluator.getOperator());
+                if (unaryOperator == null) {
+                    return new CompiledCondition.Unsupported("No operator found");
+                }
+                return new CompiledCondition.Unary(unaryOperator.get());
+            }
+            return new CompiledCondition.Binary(findBinaryOperator(evaluator));
+        }
+
+        return new CompiledCondition.Unsupported(String.format("%s type not supported", type));
+    }
+
+    /**
+     * Recursively collect the student scopes referenced by the scope operands of a condition
+     *
+     * @param baseCondition the condition to collect the student scopes for
+     * @param studentScopeURNs the collected student scopes
+     */
+    private void collectStudentScopeURNs(BaseCondition baseCondition, Set<UUID> studentScopeURNs) {
+        if (baseCondition instanceof ChainedCondition && ((ChainedCondition) baseCondition).getConditions() != null) {
+            ((ChainedCondition) baseCondition).getConditions()
+                    .forEach(condition -> collectStudentScopeURNs(condition, studentScopeURNs));
+        } else if (baseCondition instanceof Evaluator) {
+            Evaluator evaluator = (Evaluator) baseCondition;
+            Stream.of(evaluator.getLhs(), evaluator.getRhs())
+                    .filter(operand -> operand != null && operand.getResolver() instanceof ScopeContext)
+                    .map(operand -> ((ScopeContext) operand.getResolver()).getStudentScopeURN())
+                    .filter(Objects::nonNull)
+                    .forEach(studentScopeURNs::add);
+        }
+    }
+
+    /**
+     * Find the specific operator implementation for the operand type or fallback to the generic implementation
+     *
+     * @param evaluator the condition to find the operator for
+     * @return the binary operator or <code>null</code> when not found
+     */
+    private BinaryOperator findBinaryOperator(Evaluator evaluator) {
+        Provider<Map<Operator.Type, BinaryOperator>> specific = specificImplementations.get(evaluator.getOperandType());
+        if (specific != null) {
+            Map<Operator.Type, BinaryOperator> byOperator = specific.get();
+            if (byOperator != null && byOperator.get(evaluator.getOperator()) != null) {
+                return byOperator.get(evaluator.getOperator());
+            }
+        }
+        Provider<BinaryOperator> generic = genericImplementations.get(evaluator.getOperator());
+        return generic != null ? generic.get() : null;
+    }
+
     /**
      * Recursive evaluation of base condition - call appropriate methods based on the condition type
      *
@@ -2,6 +2,9 @@ package com.smartsparrow.eval.resolver;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.util.Set;
+import java.util.UUID;
+
 import javax.inject.Inject;
 
 import com.newrelic.api.agent.Trace;
@@ -44,7 +47,8 @@ public class ConditionResolver {
 
         return Mono.just(chainedCondition)
                 .flatMap(condition -> Flux.just(condition.getConditions().toArray(new BaseCondition[0]))
-                        .flatMap(baseCondition -> resolve(baseCondition, evaluationContext))
+                        // keep the source order so the resolved condition matches the compiled condition
+                        .flatMapSequential(baseCondition -> resolve(baseCondition, evaluationContext))
                         .collectList())
                 .map(resolvedConditions -> new ChainedCondition()
                         .setConditions(resolvedConditions)
@@ -52,6 +56,22 @@ public class ConditionResolver {
                         .setOperator(chainedCondition.getOperator()));
     }
 
+    /**
+     * Read ahead the student scopes referenced by a condition so that its operands resolve from the evaluation
+     * scope snapshot
+     *
+     * @param studentScopeURNs the student scopes referenced by the condition
+     * @param evaluationContext the evaluation context for which the condition will be resolved
+     * @return a mono completing when the student scopes are read
+     */
+    @Trace(async = true)
+    public Mono<Void> prefetch(Set<UUID> studentScopeURNs, EvaluationContext evaluationContext) {
+        if (studentScopeURNs.isEmpty()) {
+            return Mono.empty();
+        }
+        return operandScopeResolver.prefetch(studentScopeURNs, evaluationContext);
+    }
+
     /**
      * Determine if the condition should be resolved as a {@link ChainedCondition} or an {@link Evaluator}
      *
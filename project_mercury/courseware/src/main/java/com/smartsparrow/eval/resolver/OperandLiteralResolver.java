@@ -23,6 +23,10 @@ public class OperandLiteralResolver implements Resolver<Operand, DataType, Evalu
     @Trace(async = true)
     @Override
     public Mono<Operand> resolve(Operand operand, DataType operandType, EvaluationContext evaluationContext) {
-        return Mono.just(operand.setResolvedValue(operand.getValue()));
+        // the operand belongs to a condition shared across evaluations, resolve on a copy
+        return Mono.just(new Operand()
+                .setResolver(operand.getResolver())
+                .setValue(operand.getValue())
+                .setResolvedValue(operand.getValue()));
     }
 }
@@ -1,7 +1,9 @@
 package com.smartsparrow.eval.resolver;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -17,10 +19,12 @@ import com.smartsparrow.eval.parser.ScopeContext;
 import com.smartsparrow.learner.data.EvaluationContext;
 import com.smartsparrow.learner.data.EvaluationLearnerContext;
 import com.smartsparrow.learner.data.EvaluationTestContext;
+import com.smartsparrow.learner.data.StudentScopeSnapshot;
 import com.smartsparrow.learner.service.StudentScopeService;
 import com.smartsparrow.util.DataType;
 import com.smartsparrow.util.Json;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class OperandScopeResolver implements Resolver<Operand, DataType, EvaluationContext> {
@@ -90,7 +94,9 @@ public class OperandScopeResolver implements Resolver<Operand, DataType, Evaluat
     }
 
     /**
-     * Find the student scope entry and return the data at the path specified in the {@link ScopeContext}
+     * Find the student scope entry and return the data at the path specified in the {@link ScopeContext}. The scope
+     * entries are read from the evaluation {@link StudentScopeSnapshot} so each student scope is read and each
+     * entry parsed once per evaluation
      *
      * @param scopeContext the scope context to resolve
      * @param evaluationLearnerContext the learner evaluation context to resolve the operand for
@@ -98,24 +104,62 @@ public class OperandScopeResolver implements Resolver<Operand, DataType, Evaluat
      */
     private Mono<Object> resolve(ScopeContext scopeContext, EvaluationLearnerContext evaluationLearnerContext) {
 
-        final UUID deploymentId = evaluationLearnerContext.getDeploymentId();
-        final UUID studentId = evaluationLearnerContext.getStudentId();
         final UUID sourceId = scopeContext.getSourceId();
         final UUID studentScopeUrn = scopeContext.getStudentScopeURN();
         final List<String> contextPath = scopeContext.getContext();
+        final StudentScopeSnapshot snapshot = evaluationLearnerContext.getStudentScopeSnapshot();
 
-        return studentScopeService.findScopeId(deploymentId, studentId, studentScopeUrn)
-                .single()
-                .doOnError(NoSuchElementException.class, ex -> {
-                    throw new UnableToResolveException(String.format("scope id not found for %s", evaluationLearnerContext.toString()));
-                })
-                .flatMap(scopeId -> studentScopeService.fetchScopeEntry(scopeId, sourceId))
+        return findLatestEntries(studentScopeUrn, evaluationLearnerContext)
+                .flatMap(entries -> Mono.justOrEmpty(entries.get(sourceId)))
                 .single()
                 .doOnError(NoSuchElementException.class, ex -> {
                     throw new UnableToResolveException(String.format("student scope entry not found for %s", evaluationLearnerContext));
                 })
-                .map(scopeEntry -> extract(scopeEntry.getData(), contextPath));
+                .map(data -> extract(snapshot.getParsedEntry(studentScopeUrn, sourceId, data), contextPath));
+
+    }
+
+    /**
+     * Read the latest entries of the student scopes referenced by a condition ahead of the operand resolution,
+     * the reads run in parallel and are shared with the operands through the evaluation {@link StudentScopeSnapshot}.
+     * Failures are not propagated, they are reported by the resolution of the operands referencing the scope.
+     *
+     * @param studentScopeURNs the student scope urns to read
+     * @param evaluationContext the evaluation context to prefetch the scopes for
+     * @return a mono completing when all the scopes are read
+     */
+    @Trace(async = true)
+    public Mono<Void> prefetch(Set<UUID> studentScopeURNs, EvaluationContext evaluationContext) {
+        if (!evaluationContext.getType().equals(EvaluationContext.Type.LEARNER)) {
+            return Mono.empty();
+        }
+        final EvaluationLearnerContext evaluationLearnerContext = (EvaluationLearnerContext) evaluationContext;
+
+        return Flux.fromIterable(studentScopeURNs)
+                .flatMap(studentScopeUrn -> findLatestEntries(studentScopeUrn, evaluationLearnerContext)
+                        .onErrorResume(throwable -> Mono.empty()))
+                .then();
+    }
+
+    /**
+     * Find the latest entries of a student scope through the evaluation snapshot
+     *
+     * @param studentScopeUrn the student scope urn
+     * @param evaluationLearnerContext the learner evaluation context
+     * @return a mono map of source id and scope data
+     * @throws UnableToResolveException when the scope id is not found
+     */
+    private Mono<Map<UUID, String>> findLatestEntries(UUID studentScopeUrn, EvaluationLearnerContext evaluationLearnerContext) {
+        final UUID deploymentId = evaluationLearnerContext.getDeploymentId();
+        final UUID studentId = evaluationLearnerContext.getStudentId();
 
+        return evaluationLearnerContext.getStudentScopeSnapshot()
+                .getEntries(studentScopeUrn, urn -> studentScopeService.findScopeId(deploymentId, studentId, urn)
+                        .single()
+                        .doOnError(NoSuchElementException.class, ex -> {
+                            throw new UnableToResolveException(String.format("scope id not found for %s", evaluationLearnerContext.toString()));
+                        })
+                        .flatMap(studentScopeService::fetchLatestEntries));
     }
 
     /**
@@ -128,8 +172,18 @@ public class OperandScopeResolver implements Resolver<Operand, DataType, Evaluat
      * @throws UnableToResolveException when the jsonPath is <code>null</code>
      */
     private Object extract(String jsonString, List<String> contextPath) {
+        return extract(Json.parse(jsonString), contextPath);
+    }
 
-        JSONObject json = Json.parse(jsonString);
+    /**
+     * Extract the data from the json object for the specified context path
+     *
+     * @param json        the json object to extract the data from
+     * @param contextPath the json path to extract the data at
+     * @return an {@link Object} representing the value
+     * @throws UnableToResolveException when the jsonPath is <code>null</code>
+     */
+    private Object extract(JSONObject json, List<String> contextPath) {
 
         if (Lists.isEmpty(contextPath)) {
             throw new UnableToResolveException("context is not defined");
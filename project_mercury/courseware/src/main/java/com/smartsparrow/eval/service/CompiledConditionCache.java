@@ -0,0 +1,89 @@
+package com.smartsparrow.eval.service;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.newrelic.api.agent.Trace;
+import com.smartsparrow.courseware.data.Scenario;
+import com.smartsparrow.eval.condition.CompiledCondition;
+import com.smartsparrow.eval.condition.ConditionEvaluator;
+import com.smartsparrow.eval.deserializer.ConditionDeserializer;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Node-local cache of the compiled scenario conditions, keyed by scenario id. Scenarios have no version, the
+ * condition json is kept with the compiled condition and a scenario whose condition changed is compiled again.
+ * This keeps the cache correct when the scenario is updated by another node, {@link #invalidate(UUID)} only frees
+ * the entry early.
+ */
+@Singleton
+public class CompiledConditionCache {
+
+    private static final long MAX_SIZE = 50_000;
+
+    private final ConditionDeserializer conditionDeserializer;
+    private final ConditionEvaluator conditionEvaluator;
+    private final Cache<UUID, Entry> compiled = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .build();
+
+    @Inject
+    public CompiledConditionCache(final ConditionDeserializer conditionDeserializer,
+                                  final ConditionEvaluator conditionEvaluator) {
+        this.conditionDeserializer = conditionDeserializer;
+        this.conditionEvaluator = conditionEvaluator;
+    }
+
+    /**
+     * Find the compiled condition of a scenario, deserialize and compile the condition when not cached or when the
+     * cached condition is outdated
+     *
+     * @param scenario the scenario to get the compiled condition for
+     * @return a mono of the compiled condition
+     */
+    @Trace(async = true)
+    public Mono<CompiledCondition> get(final Scenario scenario) {
+        final Entry entry = compiled.getIfPresent(scenario.getId());
+
+        if (entry != null && Objects.equals(entry.condition, scenario.getCondition())) {
+            return Mono.just(entry.compiledCondition);
+        }
+
+        return conditionDeserializer.deserialize(scenario.getCondition())
+                .map(conditionEvaluator::compile)
+                .doOnNext(compiledCondition -> compiled.put(scenario.getId(),
+                        new Entry(scenario.getCondition(), compiledCondition)));
+    }
+
+    /**
+     * Remove the compiled condition of a scenario
+     *
+     * @param scenarioId the scenario id
+     */
+    public void invalidate(final UUID scenarioId) {
+        compiled.invalidate(scenarioId);
+    }
+
+    @VisibleForTesting
+    long size() {
+        return compiled.size();
+    }
+
+    private static class Entry {
+
+        private final String condition;
+        private final CompiledCondition compiledCondition;
+
+        Entry(final String condition, final CompiledCondition compiledCondition) {
+            this.condition = condition;
+            this.compiledCondition = compiledCondition;
+        }
+    }
+}
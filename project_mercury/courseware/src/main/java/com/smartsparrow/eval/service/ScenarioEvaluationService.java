@@ -11,7 +11,6 @@ import com.newrelic.api.agent.Trace;
 import com.smartsparrow.courseware.data.Scenario;
 import com.smartsparrow.eval.condition.ConditionEvaluator;
 import com.smartsparrow.eval.data.ScenarioEvaluationResult;
-import com.smartsparrow.eval.deserializer.ConditionDeserializer;
 import com.smartsparrow.eval.lang.ScenarioEvaluationException;
 import com.smartsparrow.eval.lang.UnableToResolveException;
 import com.smartsparrow.eval.resolver.ConditionResolver;
@@ -25,21 +24,22 @@ public class ScenarioEvaluationService {
 
     private static final Logger log = LoggerFactory.getLogger(ScenarioEvaluationService.class);
 
-    private final ConditionDeserializer conditionDeserializer;
+    private final CompiledConditionCache compiledConditionCache;
     private final ConditionResolver conditionResolver;
     private final ConditionEvaluator conditionEvaluator;
 
     @Inject
-    public ScenarioEvaluationService(ConditionDeserializer conditionDeserializer,
+    public ScenarioEvaluationService(CompiledConditionCache compiledConditionCache,
                                      ConditionResolver conditionResolver,
                                      ConditionEvaluator conditionEvaluator) {
-        this.conditionDeserializer = conditionDeserializer;
+        this.compiledConditionCache = compiledConditionCache;
         this.conditionResolver = conditionResolver;
         this.conditionEvaluator = conditionEvaluator;
     }
 
     /**
-     * Deserialize, resolve and evaluate a condition in a reactive way.
+     * Resolve and evaluate a condition in a reactive way. The condition is deserialized and compiled once per
+     * scenario condition, see {@link CompiledConditionCache}.
      *
      * @param scenario the scenario to evaluate
      * @param evaluationContext the evaluation context to evaluate the scenario for
@@ -48,15 +48,16 @@ public class ScenarioEvaluationService {
      */
     @Trace(async = true)
     public Mono<ScenarioEvaluationResult> evaluateCondition(Scenario scenario, EvaluationContext evaluationContext) {
-        return conditionDeserializer.deserialize(scenario.getCondition())
-                .flatMap(deserializedCondition -> {
-                    if (deserializedCondition.getConditions().isEmpty()) {
+        return compiledConditionCache.get(scenario)
+                .flatMap(compiledCondition -> {
+                    if (compiledCondition.getSource().getConditions().isEmpty()) {
                         return buildScenarioEvaluationResult(scenario, true, null);
                     }
-                    return conditionResolver.resolve(deserializedCondition, evaluationContext)
+                    return conditionResolver.prefetch(compiledCondition.getStudentScopeURNs(), evaluationContext)
+                            .then(Mono.defer(() -> conditionResolver.resolve(compiledCondition.getSource(), evaluationContext)))
                             .map(resolvedCondition -> new ScenarioEvaluationResult()
                                     .setScenarioId(scenario.getId())
-                                    .setEvaluationResult(conditionEvaluator.evaluate(resolvedCondition))
+                                    .setEvaluationResult(conditionEvaluator.evaluate(compiledCondition, resolvedCondition))
                                     .setScenarioCorrectness(scenario.getCorrectness())
                                     .setActions(scenario.getActions()))
                             .onErrorResume(error -> {
@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,6 +16,13 @@ import com.smartsparrow.dse.api.TableMaterializer;
 
 public class ChildComponentByLearnerInteractiveMaterializer implements TableMaterializer {
 
+    private static final String FIND_LATEST_CHANGE_FOR = "SELECT " +
+            "component_ids " +
+            "FROM learner.child_component_by_interactive " +
+            "WHERE interactive_id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -21,15 +30,13 @@ public class ChildComponentByLearnerInteractiveMaterializer implements TableMate
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_LATEST_CHANGE_FOR);
+    }
+
     public Statement findLatestChangeFor(UUID interactiveId, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "component_ids " +
-                "FROM learner.child_component_by_interactive " +
-                "WHERE interactive_id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_LATEST_CHANGE_FOR);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(interactiveId, deploymentId);
         stmt.setIdempotent(true);
@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -13,6 +15,17 @@ import com.smartsparrow.dse.api.TableMaterializer;
 
 public class ChildWalkableByLearnerPathwayMaterializer implements TableMaterializer {
 
+    private static final String FIND_LATEST_BY_DEPLOYMENT = "SELECT " +
+            "pathway_id, " +
+            "deployment_id, " +
+            "change_id, " +
+            "walkable_ids, " +
+            "walkable_types " +
+            "FROM learner.child_walkable_by_pathway " +
+            "WHERE pathway_id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -20,19 +33,13 @@ public class ChildWalkableByLearnerPathwayMaterializer implements TableMateriali
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_LATEST_BY_DEPLOYMENT);
+    }
+
     public Statement findLatestByDeployment(UUID pathwayId, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "pathway_id, " +
-                "deployment_id, " +
-                "change_id, " +
-                "walkable_ids, " +
-                "walkable_types " +
-                "FROM learner.child_walkable_by_pathway " +
-                "WHERE pathway_id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_LATEST_BY_DEPLOYMENT);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(pathwayId, deploymentId);
         stmt.setIdempotent(true);
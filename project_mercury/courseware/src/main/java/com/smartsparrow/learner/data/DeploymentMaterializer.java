@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -13,13 +15,6 @@ import com.smartsparrow.dse.api.TableMaterializer;
 
 public class DeploymentMaterializer implements TableMaterializer {
 
-    private final PreparedStatementCache stmtCache;
-
-    @Inject
-    public DeploymentMaterializer(PreparedStatementCache stmtCache) {
-        this.stmtCache = stmtCache;
-    }
-
     private static final String SELECT = "SELECT " +
             "id, " +
             "activity_id, " +
@@ -28,10 +23,29 @@ public class DeploymentMaterializer implements TableMaterializer {
             "FROM learner.deployment " +
             "WHERE id = ? ";
 
-    public Statement findLatest(UUID id) {
-        final String SELECT_LATEST = SELECT + "LIMIT 1";
+    private static final String FIND_LATEST = SELECT + "LIMIT 1";
+
+    private static final String FIND_LATEST_BY_ACTIVITY = SELECT +
+            "AND activity_id = ? " +
+            "LIMIT 1";
+
+    private static final String FIND_ACTIVITY_BY_DEPLOYMENT = SELECT +
+            "LIMIT 1";
+
+    private final PreparedStatementCache stmtCache;
+
+    @Inject
+    public DeploymentMaterializer(PreparedStatementCache stmtCache) {
+        this.stmtCache = stmtCache;
+    }
 
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT_LATEST);
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_LATEST, FIND_LATEST_BY_ACTIVITY, FIND_ACTIVITY_BY_DEPLOYMENT);
+    }
+
+    public Statement findLatest(UUID id) {
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_LATEST);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(id);
         stmt.setIdempotent(true);
@@ -39,11 +53,7 @@ public class DeploymentMaterializer implements TableMaterializer {
     }
 
     public Statement findLatestByActivity(UUID id, UUID activityId) {
-        final String SELECT_LATEST_BY_ACTIVITY = SELECT +
-                "AND activity_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT_LATEST_BY_ACTIVITY);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_LATEST_BY_ACTIVITY);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(id, activityId);
         stmt.setIdempotent(true);
@@ -61,10 +71,7 @@ public class DeploymentMaterializer implements TableMaterializer {
     }
 
     public Statement findActivityByDeployment(UUID deploymentId) {
-        final String SELECT_LATEST_BY_ACTIVITY = SELECT +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT_LATEST_BY_ACTIVITY);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_ACTIVITY_BY_DEPLOYMENT);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(deploymentId);
         stmt.setIdempotent(true);
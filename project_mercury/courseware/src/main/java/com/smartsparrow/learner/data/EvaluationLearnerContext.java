@@ -7,6 +7,8 @@ public class EvaluationLearnerContext implements EvaluationContext {
 
     private UUID deploymentId;
     private UUID studentId;
+    // scope entries read by this evaluation, not part of the context identity
+    private final StudentScopeSnapshot studentScopeSnapshot = new StudentScopeSnapshot();
 
     public UUID getStudentId() {
         return studentId;
@@ -26,6 +28,10 @@ public class EvaluationLearnerContext implements EvaluationContext {
         return this;
     }
 
+    public StudentScopeSnapshot getStudentScopeSnapshot() {
+        return studentScopeSnapshot;
+    }
+
     @Override
     public Type getType() {
         return Type.LEARNER;
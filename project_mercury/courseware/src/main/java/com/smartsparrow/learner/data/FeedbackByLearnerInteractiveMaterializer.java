@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,6 +16,13 @@ import com.smartsparrow.dse.api.TableMaterializer;
 
 public class FeedbackByLearnerInteractiveMaterializer implements TableMaterializer {
 
+    private static final String FIND_BY_LATEST_DEPLOYMENT = "SELECT " +
+            "feedback_ids " +
+            "FROM learner.feedback_by_interactive " +
+            "WHERE interactive_id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -21,15 +30,13 @@ public class FeedbackByLearnerInteractiveMaterializer implements TableMaterializ
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_BY_LATEST_DEPLOYMENT);
+    }
+
     public Statement findByLatestDeployment(UUID interactiveId, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "feedback_ids " +
-                "FROM learner.feedback_by_interactive " +
-                "WHERE interactive_id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_BY_LATEST_DEPLOYMENT);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(interactiveId, deploymentId);
         stmt.setIdempotent(true);
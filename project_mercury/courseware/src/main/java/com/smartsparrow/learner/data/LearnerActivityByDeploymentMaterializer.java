@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -13,6 +15,22 @@ import com.smartsparrow.dse.api.TableMaterializer;
 
 public class LearnerActivityByDeploymentMaterializer implements TableMaterializer {
 
+    private static final String FIND_BY_DEPLOYMENT = "SELECT " +
+            "id, " +
+            "deployment_id, " +
+            "change_id, " +
+            "plugin_id, " +
+            "plugin_version_expr, " +
+            "config, " +
+            "theme, " +
+            "creator_id, " +
+            "student_scope_urn, " +
+            "evaluation_mode " +
+            "FROM learner.activity_by_deployment " +
+            "WHERE id = ?" +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -20,24 +38,13 @@ public class LearnerActivityByDeploymentMaterializer implements TableMaterialize
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_BY_DEPLOYMENT);
+    }
+
     public Statement findByDeployment(UUID id, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "id, " +
-                "deployment_id, " +
-                "change_id, " +
-                "plugin_id, " +
-                "plugin_version_expr, " +
-                "config, " +
-                "theme, " +
-                "creator_id, " +
-                "student_scope_urn, " +
-                "evaluation_mode " +
-                "FROM learner.activity_by_deployment " +
-                "WHERE id = ?" +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_BY_DEPLOYMENT);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(id, deploymentId);
         stmt.setIdempotent(true);
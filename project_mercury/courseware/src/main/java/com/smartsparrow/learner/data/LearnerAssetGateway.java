@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -164,21 +166,23 @@ public class LearnerAssetGateway {
 
 
     /**
-     * Persist the asset courseware element relationship predicated on the asset urn
+     * Persist the asset courseware element relationships predicated on the asset urns. The rows of the element and
+     * of the deployment partitions are written as grouped batches rather than one request per asset.
      *
-     * @param assetIdByUrn the assetIdByUrn object holding the relationship
-     * @param element the element to associate the asset to
-     * @param deployment the deployment the element and the asset belongs to
+     * @param assetIdByUrns the assetIdByUrn objects holding the relationships
+     * @param element the element to associate the assets to
+     * @param deployment the deployment the element and the assets belong to
      * @return a flux of void
      */
-    public Flux<Void> persist(final AssetIdByUrn assetIdByUrn, final CoursewareElement element, final Deployment deployment) {
-        return Mutators.execute(session, Flux.just(
-                learnerAssetUrnByCoursewareMutator.upsert(element.getElementId(), deployment.getChangeId(), assetIdByUrn.getAssetUrn()),
-                learnerCoursewareByAssetUrnMutator.upsert(element, deployment, assetIdByUrn.getAssetUrn()),
-                learnerAssetUrnByDeploymentMutator.upsert(assetIdByUrn.getAssetUrn(), deployment),
-                deploymentByAssetUrnMutator.upsert(assetIdByUrn.getAssetUrn(), deployment),
-                learnerAssetIdByUrnMutator.upsert(assetIdByUrn.getAssetUrn(), assetIdByUrn.getAssetId())
-        ));
+    public Flux<Void> persistAssets(final List<AssetIdByUrn> assetIdByUrns, final CoursewareElement element, final Deployment deployment) {
+        return Mutators.executeGrouped(session, Flux.fromIterable(assetIdByUrns)
+                .flatMapIterable(assetIdByUrn -> Arrays.asList(
+                        learnerAssetUrnByCoursewareMutator.upsert(element.getElementId(), deployment.getChangeId(), assetIdByUrn.getAssetUrn()),
+                        learnerCoursewareByAssetUrnMutator.upsert(element, deployment, assetIdByUrn.getAssetUrn()),
+                        learnerAssetUrnByDeploymentMutator.upsert(assetIdByUrn.getAssetUrn(), deployment),
+                        deploymentByAssetUrnMutator.upsert(assetIdByUrn.getAssetUrn(), deployment),
+                        learnerAssetIdByUrnMutator.upsert(assetIdByUrn.getAssetUrn(), assetIdByUrn.getAssetId())
+                )));
     }
 
     /**
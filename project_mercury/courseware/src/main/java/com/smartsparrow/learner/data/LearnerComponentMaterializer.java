@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -13,6 +15,18 @@ import com.smartsparrow.dse.api.TableMaterializer;
 
 public class LearnerComponentMaterializer implements TableMaterializer {
 
+    private static final String FIND_LATEST_DEPLOYED = "SELECT " +
+            "id, " +
+            "deployment_id, " +
+            "change_id, " +
+            "plugin_id, " +
+            "plugin_version_expr, " +
+            "config " +
+            "FROM learner.component " +
+            "WHERE id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -20,20 +34,13 @@ public class LearnerComponentMaterializer implements TableMaterializer {
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_LATEST_DEPLOYED);
+    }
+
     public Statement findLatestDeployed(UUID id, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "id, " +
-                "deployment_id, " +
-                "change_id, " +
-                "plugin_id, " +
-                "plugin_version_expr, " +
-                "config " +
-                "FROM learner.component " +
-                "WHERE id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_LATEST_DEPLOYED);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(id, deploymentId);
         stmt.setIdempotent(true);
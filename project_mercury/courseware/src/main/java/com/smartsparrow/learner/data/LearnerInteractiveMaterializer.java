@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -15,6 +17,20 @@ import com.smartsparrow.util.Enums;
 
 public class LearnerInteractiveMaterializer implements TableMaterializer {
 
+    private static final String FIND_BY_LATEST_DEPLOYMENT = "SELECT " +
+            "id, " +
+            "deployment_id, " +
+            "change_id, " +
+            "plugin_id, " +
+            "plugin_version_expr, " +
+            "config, " +
+            "student_scope_urn, " +
+            "evaluation_mode " +
+            "FROM learner.interactive " +
+            "WHERE id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -22,22 +38,13 @@ public class LearnerInteractiveMaterializer implements TableMaterializer {
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_BY_LATEST_DEPLOYMENT);
+    }
+
     public Statement findByLatestDeployment(UUID id, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "id, " +
-                "deployment_id, " +
-                "change_id, " +
-                "plugin_id, " +
-                "plugin_version_expr, " +
-                "config, " +
-                "student_scope_urn, " +
-                "evaluation_mode " +
-                "FROM learner.interactive " +
-                "WHERE id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_BY_LATEST_DEPLOYMENT);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(id, deploymentId);
         stmt.setIdempotent(true);
@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -19,6 +21,29 @@ import com.smartsparrow.util.Enums;
 
 public class LearnerPathwayMaterializer implements TableMaterializer {
 
+    private static final String FIND_LATEST_DEPLOYED = "SELECT " +
+            "id, " +
+            "deployment_id, " +
+            "change_id, " +
+            "config, " +
+            "type, " +
+            "preload_pathway " +
+            "FROM learner.pathway " +
+            "WHERE id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
+    private static final String FIND_PATHWAYS_BY_LATEST_DEPLOYED = "SELECT " +
+            "id, " +
+            "deployment_id, " +
+            "change_id, " +
+            "config, " +
+            "type, " +
+            "preload_pathway " +
+            "FROM learner.pathway " +
+            "WHERE id = ? " +
+            "AND deployment_id = ? ";
+
     private final PreparedStatementCache stmtCache;
     private final Provider<LearnerPathwayBuilder> learnerPathwayBuilderProvider;
 
@@ -28,20 +53,13 @@ public class LearnerPathwayMaterializer implements TableMaterializer {
         this.learnerPathwayBuilderProvider = learnerPathwayBuilderProvider;
     }
 
-    public Statement findLatestDeployed(UUID id, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "id, " +
-                "deployment_id, " +
-                "change_id, " +
-                "config, " +
-                "type, " +
-                "preload_pathway " +
-                "FROM learner.pathway " +
-                "WHERE id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_LATEST_DEPLOYED, FIND_PATHWAYS_BY_LATEST_DEPLOYED);
+    }
 
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+    public Statement findLatestDeployed(UUID id, UUID deploymentId) {
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_LATEST_DEPLOYED);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(id, deploymentId);
         stmt.setIdempotent(true);
@@ -49,18 +67,7 @@ public class LearnerPathwayMaterializer implements TableMaterializer {
     }
 
     public Statement findPathwaysByLatestDeployed(UUID id, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "id, " +
-                "deployment_id, " +
-                "change_id, " +
-                "config, " +
-                "type, " +
-                "preload_pathway " +
-                "FROM learner.pathway " +
-                "WHERE id = ? " +
-                "AND deployment_id = ? ";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_PATHWAYS_BY_LATEST_DEPLOYED);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(id, deploymentId);
         stmt.setIdempotent(true);
@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -27,6 +29,11 @@ public class LearnerScenarioByParentMaterializer implements TableMaterializer {
             "WHERE parent_id = ? " +
             "AND deployment_id = ?";
 
+    private static final String FIND_LATEST_DEPLOYED = SELECT + " LIMIT 1";
+
+    private static final String FIND_BY_LIFECYCLE = SELECT + " AND change_id = ? " +
+            "AND lifecycle = ?";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -34,10 +41,13 @@ public class LearnerScenarioByParentMaterializer implements TableMaterializer {
         this.stmtCache = stmtCache;
     }
 
-    public Statement findLatestDeployed(UUID parentId, UUID deploymentId) {
-        final String LATEST = SELECT + " LIMIT 1";
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_LATEST_DEPLOYED, FIND_BY_LIFECYCLE);
+    }
 
-        BoundStatement stmt = stmtCache.asBoundStatement(LATEST);
+    public Statement findLatestDeployed(UUID parentId, UUID deploymentId) {
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_LATEST_DEPLOYED);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.setIdempotent(true);
         stmt.bind(parentId, deploymentId);
@@ -45,10 +55,7 @@ public class LearnerScenarioByParentMaterializer implements TableMaterializer {
     }
 
     public Statement findByLifecycle(UUID parentId, UUID deploymentId, UUID changeId, ScenarioLifecycle lifecycle) {
-        final String BY_LIFECYCLE = SELECT + " AND change_id = ? " +
-                "AND lifecycle = ?";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(BY_LIFECYCLE);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_BY_LIFECYCLE);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.setIdempotent(true);
         stmt.bind(parentId, deploymentId, changeId, lifecycle.name());
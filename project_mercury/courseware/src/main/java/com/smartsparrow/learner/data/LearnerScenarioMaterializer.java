@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -16,13 +18,6 @@ import com.smartsparrow.util.Enums;
 
 public class LearnerScenarioMaterializer implements TableMaterializer {
 
-    private final PreparedStatementCache stmtCache;
-
-    @Inject
-    public LearnerScenarioMaterializer(PreparedStatementCache stmtCache) {
-        this.stmtCache = stmtCache;
-    }
-
     private static final String SELECT = "SELECT " +
             "id, " +
             "deployment_id, " +
@@ -35,13 +30,34 @@ public class LearnerScenarioMaterializer implements TableMaterializer {
             "description " +
             "FROM learner.scenario ";
 
-    public Statement findById(UUID id, UUID deploymentId, UUID changeId) {
+    private static final String FIND_BY_ID = SELECT +
+            "WHERE id = ? " +
+            "AND deployment_id = ? " +
+            "AND changeId = ?";
+
+    private static final String FIND_ALL_BY_ID = SELECT +
+            "WHERE deployment_id = ? " +
+            "AND change_id = ? ALLOW FILTERING";
+
+    private static final String FIND_LATEST_DEPLOYED = SELECT +
+            "WHERE id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
+    private final PreparedStatementCache stmtCache;
 
-        final String SELECT_BY_ID = SELECT +
-                "WHERE id = ? " +
-                "AND deployment_id = ? " +
-                "AND changeId = ?";
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT_BY_ID);
+    @Inject
+    public LearnerScenarioMaterializer(PreparedStatementCache stmtCache) {
+        this.stmtCache = stmtCache;
+    }
+
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_BY_ID, FIND_ALL_BY_ID, FIND_LATEST_DEPLOYED);
+    }
+
+    public Statement findById(UUID id, UUID deploymentId, UUID changeId) {
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_BY_ID);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.setIdempotent(true);
         stmt.bind(id, deploymentId, changeId);
@@ -49,12 +65,7 @@ public class LearnerScenarioMaterializer implements TableMaterializer {
     }
 
     public Statement findAllById(UUID deploymentId, UUID changeId) {
-
-        final String SELECT_BY_ID = SELECT +
-                "WHERE deployment_id = ? " +
-                "AND change_id = ? ALLOW FILTERING";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT_BY_ID);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_ALL_BY_ID);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.setIdempotent(true);
         stmt.bind(deploymentId, changeId);
@@ -62,13 +73,7 @@ public class LearnerScenarioMaterializer implements TableMaterializer {
     }
 
     public Statement findLatestDeployed(UUID id, UUID deploymentId) {
-
-        final String SELECT_LATEST = SELECT +
-                "WHERE id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT_LATEST);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_LATEST_DEPLOYED);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(id, deploymentId);
         stmt.setIdempotent(true);
@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -13,6 +15,13 @@ import com.smartsparrow.dse.api.TableMaterializer;
 
 public class ParentActivityByLearnerPathwayMaterializer implements TableMaterializer {
 
+    private static final String FIND_BY_LATEST_DEPLOYMENT = "SELECT " +
+            "activity_id " +
+            "FROM learner.parent_activity_by_pathway " +
+            "WHERE pathway_id = ?" +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -20,15 +29,13 @@ public class ParentActivityByLearnerPathwayMaterializer implements TableMaterial
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_BY_LATEST_DEPLOYMENT);
+    }
+
     public Statement findByLatestDeployment(UUID pathwayId, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "activity_id " +
-                "FROM learner.parent_activity_by_pathway " +
-                "WHERE pathway_id = ?" +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_BY_LATEST_DEPLOYMENT);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(pathwayId, deploymentId);
         stmt.setIdempotent(true);
@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -15,6 +17,17 @@ import com.smartsparrow.util.Enums;
 
 public class ParentByLearnerComponentMaterializer implements TableMaterializer {
 
+    private static final String FIND_BY_LATEST_DEPLOYMENT = "SELECT " +
+            "component_id, " +
+            "deployment_id, " +
+            "change_id, " +
+            "parent_id, " +
+            "parent_type " +
+            "FROM learner.parent_by_component " +
+            "WHERE component_id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -22,19 +35,13 @@ public class ParentByLearnerComponentMaterializer implements TableMaterializer {
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_BY_LATEST_DEPLOYMENT);
+    }
+
     public Statement findByLatestDeployment(UUID componentId, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "component_id, " +
-                "deployment_id, " +
-                "change_id, " +
-                "parent_id, " +
-                "parent_type " +
-                "FROM learner.parent_by_component " +
-                "WHERE component_id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_BY_LATEST_DEPLOYMENT);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(componentId, deploymentId);
         stmt.setIdempotent(true);
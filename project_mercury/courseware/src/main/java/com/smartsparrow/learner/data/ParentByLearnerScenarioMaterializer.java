@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -15,6 +17,16 @@ import com.smartsparrow.util.Enums;
 
 public class ParentByLearnerScenarioMaterializer implements TableMaterializer {
 
+    private static final String FETCH_LATEST_DEPLOYED = "SELECT " +
+            "scenario_id, " +
+            "deployment_id, " +
+            "change_id, " +
+            "parent_id, " +
+            "parent_type FROM learner.parent_by_scenario " +
+            "WHERE scenario_id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -22,18 +34,13 @@ public class ParentByLearnerScenarioMaterializer implements TableMaterializer {
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FETCH_LATEST_DEPLOYED);
+    }
+
     public Statement fetchLatestDeployed(UUID scenarioId, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "scenario_id, " +
-                "deployment_id, " +
-                "change_id, " +
-                "parent_id, " +
-                "parent_type FROM learner.parent_by_scenario " +
-                "WHERE scenario_id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FETCH_LATEST_DEPLOYED);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(scenarioId, deploymentId);
         stmt.setIdempotent(true);
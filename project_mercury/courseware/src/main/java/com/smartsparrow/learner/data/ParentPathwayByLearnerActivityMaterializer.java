@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -13,6 +15,13 @@ import com.smartsparrow.dse.api.TableMaterializer;
 
 public class ParentPathwayByLearnerActivityMaterializer implements TableMaterializer {
 
+    private static final String FIND_LATEST_BY_DEPLOYMENT = "SELECT " +
+            "pathway_id " +
+            "FROM learner.parent_pathway_by_activity " +
+            "WHERE activity_id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -20,15 +29,13 @@ public class ParentPathwayByLearnerActivityMaterializer implements TableMaterial
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_LATEST_BY_DEPLOYMENT);
+    }
+
     public Statement findLatestByDeployment(UUID activityId, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "pathway_id " +
-                "FROM learner.parent_pathway_by_activity " +
-                "WHERE activity_id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_LATEST_BY_DEPLOYMENT);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(activityId, deploymentId);
         stmt.setIdempotent(true);
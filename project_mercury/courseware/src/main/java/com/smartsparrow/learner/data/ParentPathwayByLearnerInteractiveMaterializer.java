@@ -1,5 +1,7 @@
 package com.smartsparrow.learner.data;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -13,6 +15,13 @@ import com.smartsparrow.dse.api.TableMaterializer;
 
 public class ParentPathwayByLearnerInteractiveMaterializer implements TableMaterializer {
 
+    private static final String FIND_LATEST_DEPLOYED = "SELECT " +
+            "pathway_id " +
+            "FROM learner.parent_pathway_by_interactive " +
+            "WHERE interactive_id = ? " +
+            "AND deployment_id = ? " +
+            "LIMIT 1";
+
     private final PreparedStatementCache stmtCache;
 
     @Inject
@@ -20,15 +29,13 @@ public class ParentPathwayByLearnerInteractiveMaterializer implements TableMater
         this.stmtCache = stmtCache;
     }
 
+    @Override
+    public Collection<String> declaredQueries() {
+        return Arrays.asList(FIND_LATEST_DEPLOYED);
+    }
+
     public Statement findLatestDeployed(UUID interactiveId, UUID deploymentId) {
-        final String SELECT = "SELECT " +
-                "pathway_id " +
-                "FROM learner.parent_pathway_by_interactive " +
-                "WHERE interactive_id = ? " +
-                "AND deployment_id = ? " +
-                "LIMIT 1";
-
-        BoundStatement stmt = stmtCache.asBoundStatement(SELECT);
+        BoundStatement stmt = stmtCache.asBoundStatement(FIND_LATEST_DEPLOYED);
         stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
         stmt.bind(interactiveId, deploymentId);
         stmt.setIdempotent(true);
@@ -0,0 +1,49 @@
+package com.smartsparrow.learner.data;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.json.JSONObject;
+
+import com.smartsparrow.util.Json;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Student scope entries read during a single learner evaluation. The latest entries of a student scope are read
+ * once for the whole evaluation, no matter how many operands reference the scope, and each entry is parsed once.
+ *
+ * The snapshot is only valid for the evaluation it was created for.
+ */
+public class StudentScopeSnapshot {
+
+    private final Map<UUID, Mono<Map<UUID, String>>> entriesByScopeURN = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<UUID, JSONObject>> parsedByScopeURN = new ConcurrentHashMap<>();
+
+    /**
+     * Get the latest entries of a student scope, the loader is subscribed at most once per student scope
+     *
+     * @param studentScopeURN the student scope urn
+     * @param loader the function reading the latest entries of the student scope, as a map of source id and data
+     * @return a mono map of source id and scope data
+     */
+    public Mono<Map<UUID, String>> getEntries(final UUID studentScopeURN,
+                                              final Function<UUID, Mono<Map<UUID, String>>> loader) {
+        return entriesByScopeURN.computeIfAbsent(studentScopeURN, urn -> loader.apply(urn).cache());
+    }
+
+    /**
+     * Get a parsed scope entry, the entry data is parsed on first access
+     *
+     * @param studentScopeURN the student scope urn
+     * @param sourceId the element that wrote the entry
+     * @param data the entry data
+     * @return the parsed entry
+     */
+    public JSONObject getParsedEntry(final UUID studentScopeURN, final UUID sourceId, final String data) {
+        return parsedByScopeURN.computeIfAbsent(studentScopeURN, urn -> new ConcurrentHashMap<>())
+                .computeIfAbsent(sourceId, id -> Json.parse(data));
+    }
+}
@@ -12,9 +12,12 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import com.datastax.driver.core.utils.UUIDs;
+import com.google.common.collect.ImmutableSet;
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.cache.service.CacheTags;
 import com.smartsparrow.courseware.data.CoursewareElementType;
+import com.smartsparrow.courseware.data.WalkableChild;
 import com.smartsparrow.courseware.lang.ActivityChangeNotFoundException;
 import com.smartsparrow.courseware.pathway.LearnerPathway;
 import com.smartsparrow.courseware.service.ActivityService;
@@ -22,6 +25,7 @@ import com.smartsparrow.courseware.service.PathwayService;
 import com.smartsparrow.exception.NotFoundException;
 import com.smartsparrow.learner.data.DeployedActivity;
 import com.smartsparrow.learner.data.DeploymentGateway;
+import com.smartsparrow.learner.data.LearnerActivity;
 import com.smartsparrow.learner.data.LearnerComponent;
 import com.smartsparrow.learner.data.LearnerFeedback;
 import com.smartsparrow.learner.data.LearnerInteractive;
@@ -40,6 +44,9 @@ import reactor.core.publisher.Mono;
 @Singleton
 public class DeploymentService {
 
+    // maximum number of sibling courseware subtrees published concurrently
+    private static final int PUBLISH_CONCURRENCY = Integer.getInteger("publish.concurrency", 8);
+
     private final DeploymentGateway deploymentGateway;
     private final DeploymentLogService deploymentLogService;
     private final ActivityService activityService;
@@ -126,7 +133,8 @@ public class DeploymentService {
 
         Mono<DeployedActivity> latestDeployment = deploymentGateway.findLatest(deploymentId)
                 .doOnEach(ReactiveTransaction.linkOnNext());
-        return cacheService.computeIfAbsent(cacheName, DeployedActivity.class, latestDeployment, 365, TimeUnit.DAYS)
+        return cacheService.computeIfAbsent(cacheName, DeployedActivity.class, latestDeployment, 365, TimeUnit.DAYS,
+                ImmutableSet.of(CacheTags.deployment(deploymentId)))
                 .single()
                 .doOnError(NoSuchElementException.class, ex -> {
                     throw new DeploymentNotFoundException(null, deploymentId);
@@ -215,6 +223,7 @@ public class DeploymentService {
      */
     private Mono<DeployedActivity> publish(final UUID activityId, UUID cohortId, UUID deploymentId,
                                            boolean lockPluginVersionEnabled) {
+        final long start = System.currentTimeMillis();
         return activityService.fetchLatestChange(activityId)
                 .doOnError(ActivityChangeNotFoundException.class, ex -> {
                     throw new PublishCoursewareException(ex.getMessage());
@@ -229,7 +238,7 @@ public class DeploymentService {
                         .thenReturn(deployment))
                 .flatMap(deployment -> deploymentLogService.logStartedStep(deployment, activityId, CoursewareElementType.ACTIVITY,
                         "[deploymentService] Publishing ROOT activity")
-                        .flatMap(loggedStep -> publishActivity(activityId, deployment, null, lockPluginVersionEnabled))
+                        .flatMap(loggedStep -> publishActivity(activityId, deployment, null, lockPluginVersionEnabled, true))
                         .doOnError(throwable -> {
                             deploymentLogService.logFailedStep(deployment, activityId, CoursewareElementType.ACTIVITY,
                                     "[deploymentService] ROOT activity " + Arrays.toString(throwable.getStackTrace()))
@@ -239,32 +248,45 @@ public class DeploymentService {
                         .flatMap(published -> learnerSearchableDocumentService.pruneIndex(deployment.getId())
                                 .thenReturn(published))
                         .flatMap(published -> deploymentLogService.logCompletedStep(deployment, activityId, CoursewareElementType.ACTIVITY,
-                                "[deploymentService] Finished publishing ROOT activity"))
-                        .flatMap(published -> cacheService.clearIfPresent("*" + deploymentId.toString() + "*"))
+                                String.format("[deploymentService] Finished publishing ROOT activity in %d ms",
+                                              System.currentTimeMillis() - start)))
+                        .flatMap(published -> cacheService.invalidateTag(CacheTags.deployment(deploymentId)))
                         .thenReturn(deployment));
     }
 
     /**
-     * Publish the activity to a deployment.
+     * Publish the activity to a deployment. Once the learner activity is persisted its scenarios, components and
+     * pathways are published concurrently.
      *
      * @param deployment the deployment to deploy the activity to
+     * @param appendToParent whether the activity appends itself to the walkable children of its parent pathway
      * @return a mono of void
      */
     private Mono<DeployedActivity> publishActivity(final UUID activityId,
                                                    final DeployedActivity deployment,
                                                    @Nullable UUID parentPathwayId,
-                                                   boolean lockPluginVersionEnabled) {
-        return learnerActivityService.publish(activityId, deployment, parentPathwayId, lockPluginVersionEnabled)
-                .thenMany(publishScenariosFor(activityId, deployment))
-                .thenMany(publishComponentsFor(activityId, CoursewareElementType.ACTIVITY, deployment, lockPluginVersionEnabled))
-                .thenMany(publishPathwaysFor(activityId, deployment, lockPluginVersionEnabled))
-                .then(Mono.just(deployment))
-                .doOnError(throwable -> {
-                    deploymentLogService.logFailedStep(deployment, activityId, CoursewareElementType.ACTIVITY,
-                                                       "[deploymentService] " + Arrays.toString(throwable.getStackTrace()))
-                            .subscribe();
-                    throw Exceptions.propagate(throwable);
-                });
+                                                   boolean lockPluginVersionEnabled,
+                                                   boolean appendToParent) {
+        return Mono.defer(() -> {
+            final long start = System.currentTimeMillis();
+            Mono<LearnerActivity> learnerActivity = parentPathwayId == null
+                    ? learnerActivityService.publish(activityId, deployment, null, lockPluginVersionEnabled)
+                    : learnerActivityService.publish(activityId, deployment, parentPathwayId, lockPluginVersionEnabled,
+                                                     appendToParent);
+            return learnerActivity
+                    .then(Mono.when(publishScenariosFor(activityId, deployment),
+                                    publishComponentsFor(activityId, CoursewareElementType.ACTIVITY, deployment, lockPluginVersionEnabled),
+                                    publishPathwaysFor(activityId, deployment, lockPluginVersionEnabled)))
+                    .then(deploymentLogService.logProgressStep(deployment, activityId, CoursewareElementType.ACTIVITY,
+                            String.format("[deploymentService] published activity subtree in %d ms",
+                                          System.currentTimeMillis() - start)))
+                    .then(Mono.just(deployment));
+        }).doOnError(throwable -> {
+            deploymentLogService.logFailedStep(deployment, activityId, CoursewareElementType.ACTIVITY,
+                                               "[deploymentService] " + Arrays.toString(throwable.getStackTrace()))
+                    .subscribe();
+            throw Exceptions.propagate(throwable);
+        });
     }
 
     /**
@@ -284,7 +306,10 @@ public class DeploymentService {
     }
 
     /**
-     * Publish the pathways for a parent activity along with each walkable pathway child.
+     * Publish the pathways for a parent activity along with each walkable pathway child. Sibling pathways and the
+     * children of a pathway are published concurrently, up to {@link DeploymentService#PUBLISH_CONCURRENCY} at a
+     * time. The children do not append themselves to the pathway, the ordered children list is persisted once all
+     * the children are published.
      *
      * @param activityId the activity to deploy the pathway for
      * @param deployment the deployment to deploy the pathway to
@@ -295,35 +320,64 @@ public class DeploymentService {
                                                     final DeployedActivity deployment,
                                                     boolean lockPluginVersionEnabled) {
         return learnerPathwayService.publish(activityId, deployment)
-                .concatMap(learnerPathway -> pathwayService.getOrderedWalkableChildren(learnerPathway.getId())
-                        .flatMapIterable(pathway -> pathway)
-                        .concatMap(walkableChild -> {
-                            switch (walkableChild.getElementType()) {
-                                case ACTIVITY:
-                                    return publishActivity(walkableChild.getElementId(),
-                                                           deployment,
-                                                           learnerPathway.getId(),
-                                                           lockPluginVersionEnabled);
-                                case INTERACTIVE:
-                                    return publishInteractiveFor(learnerPathway.getId(),
-                                                                 walkableChild.getElementId(),
-                                                                 deployment,
-                                                                 lockPluginVersionEnabled);
-                                default:
-                                    throw new UnsupportedOperationException(
-                                            String.format("Broken pathway %s. Pathway can not have %s as a child",
-                                                          learnerPathway.getId(), walkableChild));
-                            }
-                        })
-                        .doOnError(throwable -> {
-                            deploymentLogService.logFailedStep(deployment,
-                                                               learnerPathway.getId(),
-                                                               CoursewareElementType.PATHWAY,
-                                                               "[deploymentService] " + Arrays.toString(throwable.getStackTrace()))
-                                    .subscribe();
-                            throw Exceptions.propagate(throwable);
-                        })
-                        .then(Mono.just(learnerPathway)));
+                .flatMapSequential(learnerPathway -> Mono.defer(() -> {
+                    final long start = System.currentTimeMillis();
+                    return pathwayService.getOrderedWalkableChildren(learnerPathway.getId())
+                            .flatMapMany(children -> Flux.fromIterable(children)
+                                    .flatMapSequential(walkableChild -> publishWalkable(learnerPathway.getId(),
+                                                                                        walkableChild,
+                                                                                        deployment,
+                                                                                        lockPluginVersionEnabled),
+                                                       PUBLISH_CONCURRENCY)
+                                    .thenMany(learnerPathwayService.persistWalkableChildren(learnerPathway.getId(),
+                                                                                            deployment,
+                                                                                            children))
+                                    .then(deploymentLogService.logProgressStep(deployment,
+                                            learnerPathway.getId(),
+                                            CoursewareElementType.PATHWAY,
+                                            String.format("[deploymentService] published %d walkable children in %d ms",
+                                                          children.size(), System.currentTimeMillis() - start))))
+                            .doOnError(throwable -> {
+                                deploymentLogService.logFailedStep(deployment,
+                                                                   learnerPathway.getId(),
+                                                                   CoursewareElementType.PATHWAY,
+                                                                   "[deploymentService] " + Arrays.toString(throwable.getStackTrace()))
+                                        .subscribe();
+                                throw Exceptions.propagate(throwable);
+                            })
+                            .then(Mono.just(learnerPathway));
+                }), PUBLISH_CONCURRENCY);
+    }
+
+    /**
+     * Publish a walkable child of a pathway, without appending it to the pathway walkable children
+     *
+     * @param pathwayId the parent pathway id
+     * @param walkableChild the walkable to publish
+     * @param deployment the deployment to deploy the walkable to
+     * @return a mono of the published walkable
+     */
+    private Mono<?> publishWalkable(final UUID pathwayId,
+                                    final WalkableChild walkableChild,
+                                    final DeployedActivity deployment,
+                                    boolean lockPluginVersionEnabled) {
+        switch (walkableChild.getElementType()) {
+            case ACTIVITY:
+                return publishActivity(walkableChild.getElementId(),
+                                       deployment,
+                                       pathwayId,
+                                       lockPluginVersionEnabled,
+                                       false);
+            case INTERACTIVE:
+                return publishInteractiveFor(pathwayId,
+                                             walkableChild.getElementId(),
+                                             deployment,
+                                             lockPluginVersionEnabled);
+            default:
+                throw new UnsupportedOperationException(
+                        String.format("Broken pathway %s. Pathway can not have %s as a child",
+                                      pathwayId, walkableChild));
+        }
     }
 
     /**
@@ -340,7 +394,7 @@ public class DeploymentService {
 
     /**
      * Publish an interactive for a parent pathway. A learner interactive is published as well as all its component/feedback
-     * children.
+     * children, concurrently. The interactive is not appended to the parent pathway walkable children.
      *
      * @param parentPathwayId the interactive parent pathway id
      * @param interactiveId the interactive to deploy
@@ -351,13 +405,13 @@ public class DeploymentService {
                                                            UUID interactiveId,
                                                            DeployedActivity deployment,
                                                            boolean lockPluginVersionEnabled) {
-        return learnerInteractiveService.publish(parentPathwayId, interactiveId, deployment, lockPluginVersionEnabled)
-                .flatMap(learnerInteractive -> publishComponentsFor(learnerInteractive.getId(),
-                                                                    CoursewareElementType.INTERACTIVE,
-                                                                    deployment,
-                                                                    lockPluginVersionEnabled)
-                        .thenMany(publishFeedbacksFor(learnerInteractive.getId(), deployment, lockPluginVersionEnabled))
-                        .thenMany(publishScenariosFor(interactiveId, deployment))
+        return learnerInteractiveService.publish(parentPathwayId, interactiveId, deployment, lockPluginVersionEnabled, false)
+                .flatMap(learnerInteractive -> Mono.when(publishComponentsFor(learnerInteractive.getId(),
+                                                                              CoursewareElementType.INTERACTIVE,
+                                                                              deployment,
+                                                                              lockPluginVersionEnabled),
+                                                         publishFeedbacksFor(learnerInteractive.getId(), deployment, lockPluginVersionEnabled),
+                                                         publishScenariosFor(interactiveId, deployment))
                         .then(Mono.just(learnerInteractive)))
                 .doOnError(throwable -> {
                     deploymentLogService.logFailedStep(deployment, interactiveId, CoursewareElementType.INTERACTIVE,
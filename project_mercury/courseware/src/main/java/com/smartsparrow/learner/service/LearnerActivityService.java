@@ -13,6 +13,7 @@ import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.annotation.service.AnnotationService;
@@ -27,6 +28,7 @@ import com.smartsparrow.courseware.service.CoursewareService;
 import com.smartsparrow.courseware.service.ThemeService;
 import com.smartsparrow.courseware.service.ThemeState;
 import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.cache.service.CacheTags;
 import com.smartsparrow.learner.data.LearnerActivity;
 import com.smartsparrow.learner.data.LearnerActivityGateway;
 import com.smartsparrow.learner.data.LearnerParentElement;
@@ -119,6 +121,20 @@ public class LearnerActivityService {
                                          final DeployedActivity deployment,
                                          @Nullable final UUID parentPathwayId,
                                          final boolean lockPluginVersionEnabled) {
+        return publish(activityId, deployment, parentPathwayId, lockPluginVersionEnabled, true);
+    }
+
+    /**
+     * Publish an activity, see {@link LearnerActivityService#publish(UUID, DeployedActivity, UUID, boolean)}.
+     *
+     * @param appendToParent when <code>false</code> the activity is not appended to the walkable children of the
+     *                       parent pathway, the caller persists the ordered children list instead
+     */
+    Mono<LearnerActivity> publish(final UUID activityId,
+                                  final DeployedActivity deployment,
+                                  @Nullable final UUID parentPathwayId,
+                                  final boolean lockPluginVersionEnabled,
+                                  final boolean appendToParent) {
 
         try {
             checkArgument(activityId != null, "activityId is required");
@@ -161,7 +177,9 @@ public class LearnerActivityService {
                     .flatMap(learnerActivity -> deploymentLogService.logProgressStep(deployment, activityId, CoursewareElementType.ACTIVITY,
                             "[learnerActivityService] persisting parent/child relationship with pathway")
                             .thenMany(learnerActivityGateway.persistParentPathway(buildParent(activityId, deployment, _parentPathwayId)))
-                            .thenMany(learnerPathwayGateway.persistChildWalkable(buildChild(activityId, deployment, _parentPathwayId)))
+                            .thenMany(appendToParent
+                                    ? learnerPathwayGateway.persistChildWalkable(buildChild(activityId, deployment, _parentPathwayId))
+                                    : Flux.<Void>empty())
                             .then(Mono.just(learnerActivity)));
         }
 
@@ -224,9 +242,6 @@ public class LearnerActivityService {
                 .setDeploymentId(deployment.getId())
                 .setStudentScopeURN(activity.getStudentScopeURN());
 
-        //find root element from the path
-        final UUID rootElementId = coursewareService.getRootElementId(learnerActivity.getId(), learnerActivity.getElementType()).block();
-
         return learnerActivityGateway.persist(learnerActivity, deployment)
                 .then(deploymentLogService.logProgressStep(deployment, activity.getId(), CoursewareElementType.ACTIVITY,
                         "[learnerActivityService] finished persisting learner activity"))
@@ -251,7 +266,10 @@ public class LearnerActivityService {
                 .thenMany(learnerSearchableDocumentService.publishSearchableDocuments(learnerActivity, deployment.getCohortId()))
                 .then(deploymentLogService.logProgressStep(deployment, activity.getId(), CoursewareElementType.ACTIVITY,
                         "[learnerActivityService] finished mapping activity searchable fields"))
-                .thenMany(annotationService.publishAnnotationMotivations(rootElementId, learnerActivity.getId(), deployment.getId(), deployment.getChangeId()))
+                //find root element from the path
+                .thenMany(coursewareService.getRootElementId(learnerActivity.getId(), learnerActivity.getElementType())
+                        .flatMapMany(rootElementId -> annotationService.publishAnnotationMotivations(rootElementId,
+                                learnerActivity.getId(), deployment.getId(), deployment.getChangeId())))
                 .then(deploymentLogService.logProgressStep(deployment, activity.getId(), CoursewareElementType.ACTIVITY,
                         "[learnerActivityService] finished publishing annotation motivations"))
                 .then(deploymentLogService.logProgressStep(deployment, activity.getId(), CoursewareElementType.ACTIVITY,
@@ -308,7 +326,8 @@ public class LearnerActivityService {
 
         Mono<LearnerActivity> activity = learnerActivityGateway.findActivityByDeployment(activityId, deploymentId)
                 .doOnEach(ReactiveTransaction.linkOnNext());
-        return cacheService.computeIfAbsent(cacheName, LearnerActivity.class, activity, 365, TimeUnit.DAYS);
+        return cacheService.computeIfAbsent(cacheName, LearnerActivity.class, activity, 365, TimeUnit.DAYS,
+                ImmutableSet.of(CacheTags.deployment(deploymentId)));
     }
 
     /**
@@ -363,7 +382,8 @@ public class LearnerActivityService {
 
         Mono<UUID> parentPathwayId = learnerActivityGateway.findParentPathwayId(activityId, deploymentId)
                 .doOnEach(ReactiveTransaction.linkOnNext());
-        return cacheService.computeIfAbsent(cacheName, UUID.class, parentPathwayId, 365, TimeUnit.DAYS)
+        return cacheService.computeIfAbsent(cacheName, UUID.class, parentPathwayId, 365, TimeUnit.DAYS,
+                ImmutableSet.of(CacheTags.deployment(deploymentId)))
                 .single()
                 .doOnError(NoSuchElementException.class, ex -> {
                     throw new LearnerPathwayNotFoundFault(
@@ -19,9 +19,12 @@ import com.smartsparrow.asset.data.AssetMediaType;
 import com.smartsparrow.asset.data.AssetMetadata;
 import com.smartsparrow.asset.data.AssetProvider;
 import com.smartsparrow.asset.data.AssetSummary;
+import com.smartsparrow.asset.data.AudioSource;
 import com.smartsparrow.asset.data.IconSource;
 import com.smartsparrow.asset.data.ImageSource;
 import com.smartsparrow.asset.data.MathAssetData;
+import com.smartsparrow.asset.data.VideoSource;
+import com.smartsparrow.asset.data.VideoSubtitle;
 import com.smartsparrow.asset.lang.AssetURNParseException;
 import com.smartsparrow.asset.service.AssetPayload;
 import com.smartsparrow.asset.service.AssetService;
@@ -83,29 +86,31 @@ public class LearnerAssetService implements AssetService {
 
         // try publishing persisting the new association predicated on asset urn
         Flux<UUID> publishAssets = coursewareAssetService.getAssetsFor(elementId)
-                // for each asset id/urn
-                .flatMap(assetIdByUrn -> Flux.merge(
-                        // persist the associations
-                        learnerAssetGateway.persist(assetIdByUrn, CoursewareElement.from(elementId, elementType), deployment),
-                        // find the asset summary
-                        bronteAssetService.getAssetSummary(assetIdByUrn.getAssetId())
-                                //change the asset provider to AERO if it's an ALFRESCO as mercury supports only AERO and EXTERNAL
-                                .map(assetSummary ->  {
-                                    if(assetSummary.getProvider().equals(AssetProvider.ALFRESCO)) {
-                                        assetSummary.setProvider(AssetProvider.AERO);
-                                    }
-                                    return assetSummary;
-                                })
-                                .flux()
-                                // persist the asset summary
-                                .flatMap(summary -> learnerAssetGateway.persist(summary)
-                                        // publish the asset source
-                                        .thenMany(publishAssetSource(assetIdByUrn.getAssetId(), summary.getProvider(), summary.getMediaType()))
-                                        // fetch the metadata
-                                        .thenMany(bronteAssetService.getAssetMetadata(assetIdByUrn.getAssetId())
-                                                // publish the metadata
-                                                .flatMap(learnerAssetGateway::persist))))
-                        .then(Mono.just(assetIdByUrn.getAssetId())));
+                .collectList()
+                .flatMapMany(assetIdByUrns -> Flux.merge(
+                        // persist the associations of all the assets, grouped by partition
+                        learnerAssetGateway.persistAssets(assetIdByUrns, CoursewareElement.from(elementId, elementType), deployment)
+                                .then(Mono.<UUID>empty()),
+                        // for each asset id/urn
+                        Flux.fromIterable(assetIdByUrns)
+                                .flatMap(assetIdByUrn -> bronteAssetService.getAssetSummary(assetIdByUrn.getAssetId())
+                                        //change the asset provider to AERO if it's an ALFRESCO as mercury supports only AERO and EXTERNAL
+                                        .map(assetSummary ->  {
+                                            if(assetSummary.getProvider().equals(AssetProvider.ALFRESCO)) {
+                                                assetSummary.setProvider(AssetProvider.AERO);
+                                            }
+                                            return assetSummary;
+                                        })
+                                        .flux()
+                                        // persist the asset summary
+                                        .flatMap(summary -> learnerAssetGateway.persist(summary)
+                                                // publish the asset source
+                                                .thenMany(publishAssetSource(assetIdByUrn.getAssetId(), summary.getProvider(), summary.getMediaType()))
+                                                // fetch the metadata
+                                                .thenMany(bronteAssetService.getAssetMetadata(assetIdByUrn.getAssetId())
+                                                        // publish the metadata
+                                                        .flatMap(learnerAssetGateway::persist)))
+                                        .then(Mono.just(assetIdByUrn.getAssetId())))));
 
         return publishAssets
                 .then()
@@ -368,9 +373,7 @@ public class LearnerAssetService implements AssetService {
     @Trace(async = true)
     Mono<Map<String, Object>> getImageSourcePayload(final UUID assetId) {
         affirmArgument(assetId != null, "assetId is required");
-        return learnerAssetGateway.fetchImageSources(assetId)
-                .flatMap(imageSource -> bronteAssetService.buildPublicUrl(imageSource.getUrl())
-                        .map(signedUrl -> Pair.of(imageSource, signedUrl)))
+        return bronteAssetService.buildPublicUrls(learnerAssetGateway.fetchImageSources(assetId), ImageSource::getUrl)
                 .doOnEach(ReactiveTransaction.linkOnNext())
                 .collectMap(pair -> pair.getLeft().getName().getLabel(), pair -> {
                     HashMap<String, Object> map = new HashMap<>();
@@ -403,9 +406,8 @@ public class LearnerAssetService implements AssetService {
     @Trace(async = true)
     Mono<Map<String, Object>> getVideoSourcePayload(final UUID assetId) {
         affirmArgument(assetId != null, "assetId is required");
-        Mono<Map<String, Object>> sources = learnerAssetGateway.fetchVideoSources(assetId)
-                .flatMap(videoSource -> bronteAssetService.buildPublicUrl(videoSource.getUrl())
-                        .map(signedUrl -> Pair.of(videoSource, signedUrl)))
+        Mono<Map<String, Object>> sources = bronteAssetService
+                .buildPublicUrls(learnerAssetGateway.fetchVideoSources(assetId), VideoSource::getUrl)
                 .doOnEach(ReactiveTransaction.linkOnNext())
                 .collectMap(pair -> pair.getLeft().getName().getLabel(), pair -> {
                     HashMap<String, Object> map = new HashMap<>();
@@ -414,9 +416,8 @@ public class LearnerAssetService implements AssetService {
                     return map;
                 });
 
-        Mono<Map<String, Object>> subtitles = learnerAssetGateway.fetchVideoSubtitles(assetId)
-                .flatMap(videoSubtitle -> bronteAssetService.buildPublicUrl(videoSubtitle.getUrl())
-                        .map(signedUrl -> Pair.of(videoSubtitle, signedUrl)))
+        Mono<Map<String, Object>> subtitles = bronteAssetService
+                .buildPublicUrls(learnerAssetGateway.fetchVideoSubtitles(assetId), VideoSubtitle::getUrl)
                 .collectMap(pair -> pair.getLeft().getLang(), Pair::getRight);
 
         return Mono.zip(sources, subtitles).map(tuple2 -> {
@@ -461,9 +462,7 @@ public class LearnerAssetService implements AssetService {
     @Trace(async = true)
     Mono<Map<String, Object>> getAudioSourcePayload(final UUID assetId) {
         affirmArgument(assetId != null, "assetId is required");
-        return learnerAssetGateway.fetchAudioSources(assetId)
-                .flatMap(audioSource -> bronteAssetService.buildPublicUrl(audioSource.getUrl())
-                        .map(signedUrl -> Pair.of(audioSource, signedUrl)))
+        return bronteAssetService.buildPublicUrls(learnerAssetGateway.fetchAudioSources(assetId), AudioSource::getUrl)
                 .doOnEach(ReactiveTransaction.linkOnNext())
                 .collectMap(pair -> pair.getLeft().getName().getLabel(), pair -> {
                     HashMap<String, Object> map = new HashMap<>();
@@ -494,9 +493,7 @@ public class LearnerAssetService implements AssetService {
     @Trace(async = true)
     Mono<Map<String, Object>> getIconSourcePayload(final UUID assetId) {
         affirmArgument(assetId != null, "assetId is required");
-        return learnerAssetGateway.fetchIconSources(assetId)
-                .flatMap(iconSource -> bronteAssetService.buildPublicUrl(iconSource.getUrl())
-                        .map(signedUrl -> Pair.of(iconSource, signedUrl)))
+        return bronteAssetService.buildPublicUrls(learnerAssetGateway.fetchIconSources(assetId), IconSource::getUrl)
                 .doOnEach(ReactiveTransaction.linkOnNext())
                 .collectMap(pair -> pair.getLeft().getName().getLabel(), pair -> {
                     HashMap<String, Object> map = new HashMap<>();
@@ -184,9 +184,6 @@ public class LearnerComponentService {
                         .publishManualGradingConfiguration(manualGradingConfiguration, deployment, parentId, type)
                         .singleOrEmpty());
 
-        //find root element from the path
-        final UUID rootElementId = coursewareService.getRootElementId(component.getId(), component.getElementType()).block();
-
         return learnerComponentGateway.persist(component)
                 .thenMany(learnerAssetService.publishAssetsFor(deployment, component.getId(), CoursewareElementType.COMPONENT))
                 .then(deploymentLogService.logProgressStep(deployment, component.getId(), CoursewareElementType.COMPONENT,
@@ -214,7 +211,10 @@ public class LearnerComponentService {
                 .thenMany(learnerSearchableDocumentService.publishSearchableDocuments(component, deployment.getCohortId()))
                 .then(deploymentLogService.logProgressStep(deployment, component.getId(), CoursewareElementType.COMPONENT,
                         "[learnerComponentService] finished mapping component searchable fields"))
-                .thenMany(annotationService.publishAnnotationMotivations(rootElementId, component.getId(), deployment.getId(), deployment.getChangeId()))
+                //find root element from the path
+                .thenMany(coursewareService.getRootElementId(component.getId(), component.getElementType())
+                        .flatMapMany(rootElementId -> annotationService.publishAnnotationMotivations(rootElementId,
+                                component.getId(), deployment.getId(), deployment.getChangeId())))
                 .then(deploymentLogService.logProgressStep(deployment, component.getId(), CoursewareElementType.COMPONENT,
                         "[learnerComponentService] finished publishing annotation motivations"))
                 .then(Mono.just(component));
@@ -13,6 +13,7 @@ import javax.inject.Singleton;
 
 import org.apache.commons.lang.StringUtils;
 
+import com.google.common.collect.ImmutableSet;
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.courseware.data.CoursewareElement;
 import com.smartsparrow.courseware.data.CoursewareElementAncestry;
@@ -20,6 +21,7 @@ import com.smartsparrow.courseware.data.CoursewareElementType;
 import com.smartsparrow.courseware.pathway.LearnerPathway;
 import com.smartsparrow.exception.IllegalArgumentFault;
 import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.cache.service.CacheTags;
 import com.smartsparrow.learner.data.LearnerElement;
 import com.smartsparrow.learner.lang.LearnerPathwayNotFoundFault;
 import com.smartsparrow.util.monitoring.ReactiveTransaction;
@@ -86,7 +88,7 @@ public class LearnerCoursewareService {
                 .doOnEach(ReactiveTransaction.linkOnNext());
         //noinspection unchecked
         return cacheService.computeIfAbsent(cacheName, (Class<List<CoursewareElement>>)(Class<?>) List.class, ancestry,
-                                            365, TimeUnit.DAYS);
+                                            365, TimeUnit.DAYS, ImmutableSet.of(CacheTags.deployment(deploymentId)));
     }
 
     @Trace(async = true)
@@ -12,6 +12,7 @@ import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.annotation.service.AnnotationService;
@@ -23,6 +24,7 @@ import com.smartsparrow.courseware.lang.ParentPathwayNotFoundException;
 import com.smartsparrow.courseware.service.CoursewareService;
 import com.smartsparrow.courseware.service.InteractiveService;
 import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.cache.service.CacheTags;
 import com.smartsparrow.learner.data.Deployment;
 import com.smartsparrow.learner.data.DeploymentStepLog;
 import com.smartsparrow.learner.data.LearnerInteractive;
@@ -35,6 +37,7 @@ import com.smartsparrow.learner.lang.PublishInteractiveException;
 import com.smartsparrow.plugin.service.PluginService;
 import com.smartsparrow.util.monitoring.ReactiveTransaction;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Singleton
@@ -105,6 +108,17 @@ public class LearnerInteractiveService {
      */
     public Mono<LearnerInteractive> publish(final UUID parentPathwayId, final UUID interactiveId, final DeployedActivity deployment,
                                             boolean lockPluginVersionEnabled) {
+        return publish(parentPathwayId, interactiveId, deployment, lockPluginVersionEnabled, true);
+    }
+
+    /**
+     * Publish an interactive, see {@link LearnerInteractiveService#publish(UUID, UUID, DeployedActivity, boolean)}.
+     *
+     * @param appendToParent when <code>false</code> the interactive is not appended to the walkable children of the
+     *                       parent pathway, the caller persists the ordered children list instead
+     */
+    Mono<LearnerInteractive> publish(final UUID parentPathwayId, final UUID interactiveId, final DeployedActivity deployment,
+                                     boolean lockPluginVersionEnabled, boolean appendToParent) {
 
         try {
             checkArgument(parentPathwayId != null, "parentPathwayId is required");
@@ -137,7 +151,8 @@ public class LearnerInteractiveService {
                             .setConfig(tuple.getT2().getConfig())
                             .setStudentScopeURN(tuple.getT1().getStudentScopeURN());
 
-                    return publishInteractive(learnerInteractive, parentPathwayId, deployment, lockPluginVersionEnabled);
+                    return publishInteractive(learnerInteractive, parentPathwayId, deployment, lockPluginVersionEnabled,
+                            appendToParent);
                 })
                 .flatMap(one->one);
     }
@@ -151,26 +166,25 @@ public class LearnerInteractiveService {
      * @return a mono of learner interactive
      */
     private Mono<LearnerInteractive> publishInteractive(LearnerInteractive learnerInteractive, UUID parentPathwayId,
-                                                        Deployment deployment, boolean lockPluginVersionEnabled) {
+                                                        Deployment deployment, boolean lockPluginVersionEnabled,
+                                                        boolean appendToParent) {
         final UUID deploymentId = learnerInteractive.getDeploymentId();
         final UUID changeId = learnerInteractive.getChangeId();
         final UUID learnerInteractiveId = learnerInteractive.getId();
 
-        //find root element from the path
-        final UUID rootElementId = coursewareService.getRootElementId(learnerInteractive.getId(), learnerInteractive.getElementType()).block();
-
         return learnerInteractiveGateway.persist(learnerInteractive, deployment)
                 .thenMany(learnerInteractiveGateway.persistParentPathway(new LearnerParentElement()
                         .setElementId(learnerInteractive.getId())
                         .setParentId(parentPathwayId)
                         .setChangeId(changeId)
                         .setDeploymentId(deploymentId)))
-                .thenMany(learnerPathwayGateway.persistChildWalkable(new LearnerWalkablePathwayChildren()
+                .thenMany(appendToParent ? learnerPathwayGateway.persistChildWalkable(new LearnerWalkablePathwayChildren()
                         .setPathwayId(parentPathwayId)
                         .setDeploymentId(deploymentId)
                         .setChangeId(changeId)
                         .setWalkableIds(Lists.newArrayList(learnerInteractiveId))
-                        .setWalkableTypes(new HashMap<UUID, String>() {{put(learnerInteractiveId, CoursewareElementType.INTERACTIVE.name());}})))
+                        .setWalkableTypes(new HashMap<UUID, String>() {{put(learnerInteractiveId, CoursewareElementType.INTERACTIVE.name());}}))
+                        : Flux.<Void>empty())
                 .then(logProgress(deployment, learnerInteractiveId, "finished persisting parent/child relationship"))
                 .thenMany(learnerAssetService.publishAssetsFor(deployment, learnerInteractiveId, CoursewareElementType.INTERACTIVE))
                 .then(logProgress(deployment, learnerInteractiveId, "finished publishing assets"))
@@ -190,7 +204,10 @@ public class LearnerInteractiveService {
                 .then(logProgress(deployment, learnerInteractiveId, "finished publishing meta information"))
                 .thenMany(learnerSearchableDocumentService.publishSearchableDocuments(learnerInteractive, deployment.getCohortId()))
                 .then(logProgress(deployment, learnerInteractiveId, "finished mapping interactive searchable fields"))
-                .thenMany(annotationService.publishAnnotationMotivations(rootElementId, learnerInteractive.getId(), deployment.getId(), deployment.getChangeId()))
+                //find root element from the path
+                .thenMany(coursewareService.getRootElementId(learnerInteractive.getId(), learnerInteractive.getElementType())
+                        .flatMapMany(rootElementId -> annotationService.publishAnnotationMotivations(rootElementId,
+                                learnerInteractive.getId(), deployment.getId(), deployment.getChangeId())))
                 .then(logProgress(deployment, learnerInteractiveId, "finished publishing annotation motivations"))
                 .then(logProgress(deployment, learnerInteractiveId, "finished publishing evaluable"))
                 .then(Mono.just(learnerInteractive));
@@ -214,7 +231,8 @@ public class LearnerInteractiveService {
                 .findLatestDeployed(interactiveId, deploymentId)
                 .doOnEach(ReactiveTransaction.linkOnNext());
 
-        return cacheService.computeIfAbsent(cacheName, LearnerInteractive.class, latestDeployed, 365, TimeUnit.DAYS);
+        return cacheService.computeIfAbsent(cacheName, LearnerInteractive.class, latestDeployed, 365, TimeUnit.DAYS,
+                ImmutableSet.of(CacheTags.deployment(deploymentId)));
     }
 
     @Trace(async = true)
@@ -225,7 +243,8 @@ public class LearnerInteractiveService {
 
         Mono<UUID> parentPathway = learnerInteractiveGateway.findParentPathway(interactiveId, deploymentId)
                 .doOnEach(ReactiveTransaction.linkOnNext());
-        return cacheService.computeIfAbsent(cacheName, UUID.class, parentPathway, 365, TimeUnit.DAYS)
+        return cacheService.computeIfAbsent(cacheName, UUID.class, parentPathway, 365, TimeUnit.DAYS,
+                ImmutableSet.of(CacheTags.deployment(deploymentId)))
                 .single()
                 .doOnError(NoSuchElementException.class, ex -> {
                     throw new ParentPathwayNotFoundException(interactiveId);
@@ -2,8 +2,11 @@ package com.smartsparrow.learner.service;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -12,6 +15,7 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 
+import com.google.common.collect.ImmutableSet;
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.courseware.data.CoursewareElementType;
 import com.smartsparrow.courseware.data.PathwayConfig;
@@ -26,9 +30,11 @@ import com.smartsparrow.courseware.service.ActivityService;
 import com.smartsparrow.courseware.service.PathwayService;
 import com.smartsparrow.exception.IllegalStateFault;
 import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.cache.service.CacheTags;
 import com.smartsparrow.learner.data.LearnerActivityGateway;
 import com.smartsparrow.learner.data.LearnerParentElement;
 import com.smartsparrow.learner.data.LearnerPathwayGateway;
+import com.smartsparrow.learner.data.LearnerWalkablePathwayChildren;
 import com.smartsparrow.learner.data.DeployedActivity;
 import com.smartsparrow.learner.lang.PublishPathwayException;
 import com.smartsparrow.util.Walkables;
@@ -144,6 +150,34 @@ public class LearnerPathwayService {
                 .then(Mono.just(pathway));
     }
 
+    /**
+     * Persist the ordered walkable children of a learner pathway in a single write. Used when the children are
+     * published concurrently and can not append themselves to the pathway in order.
+     *
+     * @param pathwayId the learner pathway id
+     * @param deployment the deployment the pathway is published to
+     * @param children the walkable children, in order
+     * @return a flux of void
+     */
+    public Flux<Void> persistWalkableChildren(final UUID pathwayId, final DeployedActivity deployment,
+                                              final List<WalkableChild> children) {
+        if (children.isEmpty()) {
+            return Flux.empty();
+        }
+        List<UUID> walkableIds = new ArrayList<>(children.size());
+        Map<UUID, String> walkableTypes = new HashMap<>();
+        children.forEach(child -> {
+            walkableIds.add(child.getElementId());
+            walkableTypes.put(child.getElementId(), child.getElementType().name());
+        });
+        return learnerPathwayGateway.persistChildWalkable(new LearnerWalkablePathwayChildren()
+                .setPathwayId(pathwayId)
+                .setDeploymentId(deployment.getId())
+                .setChangeId(deployment.getChangeId())
+                .setWalkableIds(walkableIds)
+                .setWalkableTypes(walkableTypes));
+    }
+
     /**
      * Build a learner pathway given id and deployment. Find the pathway latest config to build the learnerPathway.
      * If no configurations are found then an empty config object is passed down to the learnerBuilder
@@ -222,7 +256,8 @@ public class LearnerPathwayService {
 
         Mono<UUID> parentActivityId = learnerPathwayGateway.findParentActivityId(pathwayId, deploymentId)
                 .doOnEach(ReactiveTransaction.linkOnNext());
-        return cacheService.computeIfAbsent(cacheName, UUID.class, parentActivityId, 365, TimeUnit.DAYS)
+        return cacheService.computeIfAbsent(cacheName, UUID.class, parentActivityId, 365, TimeUnit.DAYS,
+                ImmutableSet.of(CacheTags.deployment(deploymentId)))
                 .single()
                 .doOnError(NoSuchElementException.class, ex -> {
                     throw new ParentActivityNotFoundException(pathwayId);
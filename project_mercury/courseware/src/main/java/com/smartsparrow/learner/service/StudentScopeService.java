@@ -22,6 +22,7 @@ import com.smartsparrow.exception.IllegalStateFault;
 import com.smartsparrow.learner.data.Deployment;
 import com.smartsparrow.learner.data.LearnerScopeReference;
 import com.smartsparrow.learner.data.StudentScope;
+import com.smartsparrow.learner.data.StudentScopeData;
 import com.smartsparrow.learner.data.StudentScopeEntry;
 import com.smartsparrow.learner.data.StudentScopeGateway;
 import com.smartsparrow.learner.data.StudentScopeTrace;
@@ -350,16 +351,22 @@ public class StudentScopeService {
     @Trace(async = true)
     public Mono<Map<UUID, String>> findLatestEntries(UUID deploymentId, UUID studentId, UUID studentScopeURN) {
         return findScopeId(deploymentId, studentId, studentScopeURN)
-                .flux()
-                .flatMap(studentScopeGateway::fetchLatestEntries)
-                .map(studentScopeData -> {
-                    Map<UUID, String> map = new HashMap<>();
-                    map.put(studentScopeData.getSourceId(), studentScopeData.getData());
-                    return map;
-                }).reduce((prevMap, nextMap) -> {
-                    prevMap.putAll(nextMap);
-                    return prevMap;
-                }).defaultIfEmpty(new HashMap<>());
+                .flatMap(this::fetchLatestEntries)
+                .defaultIfEmpty(new HashMap<>());
+    }
+
+    /**
+     * Find all the latest scope entries of a scope in a single read
+     *
+     * @param scopeId the scope id
+     * @return a mono map of source id and scope data, the map is empty when the scope has no entries
+     */
+    @Trace(async = true)
+    public Mono<Map<UUID, String>> fetchLatestEntries(UUID scopeId) {
+        checkArgument(scopeId != null, "scopeId can not be null");
+
+        return studentScopeGateway.fetchLatestEntries(scopeId)
+                .collectMap(StudentScopeData::getSourceId, StudentScopeData::getData, HashMap::new);
     }
 
     /**
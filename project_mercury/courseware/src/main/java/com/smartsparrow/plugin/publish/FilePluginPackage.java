@@ -0,0 +1,66 @@
+package com.smartsparrow.plugin.publish;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A plugin package of already extracted files
+ */
+class FilePluginPackage implements PluginPackage {
+
+    private final Map<String, File> files;
+
+    FilePluginPackage(final Map<String, File> files) {
+        this.files = files;
+    }
+
+    @Override
+    public Set<String> getFileNames() {
+        return files.keySet();
+    }
+
+    @Override
+    public boolean contains(final String fileName) {
+        return files.containsKey(fileName);
+    }
+
+    @Override
+    public InputStream open(final String fileName) throws IOException {
+        File file = files.get(fileName);
+        if (file == null) {
+            throw new IOException(String.format("%s file missing", fileName));
+        }
+        return new FileInputStream(file);
+    }
+
+    @Override
+    public long getSize(final String fileName) {
+        File file = files.get(fileName);
+        return file != null ? file.length() : -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FilePluginPackage that = (FilePluginPackage) o;
+        return Objects.equals(files, that.files);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(files);
+    }
+
+    @Override
+    public String toString() {
+        return "FilePluginPackage{" +
+                "files=" + files +
+                '}';
+    }
+}
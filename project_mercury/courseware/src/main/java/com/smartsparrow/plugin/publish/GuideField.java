@@ -1,7 +1,6 @@
 package com.smartsparrow.plugin.publish;
 
 
-import java.io.File;
 import java.util.Map;
 
 public class GuideField implements PluginField<String, Map<String, Object>> {
@@ -28,12 +27,12 @@ public class GuideField implements PluginField<String, Map<String, Object>> {
      * Validate that the file exists
      *
      * @param filePath the file path to validate
-     * @param files    the unzipped file map
-     * @throws IllegalArgumentException when the file is not found inside the map
+     * @param files    the plugin package files
+     * @throws IllegalArgumentException when the file is not found inside the package
      */
-    private void validateExist(String filePath, Map<String, File> files) {
+    private void validateExist(String filePath, PluginPackage files) {
         if (filePath != null) {
-            if (!files.containsKey(filePath)) {
+            if (!files.contains(filePath)) {
                 throw new IllegalArgumentException("File " + filePath + " not found inside the package");
             }
         }
@@ -0,0 +1,70 @@
+package com.smartsparrow.plugin.publish;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The files of a plugin package, directories excluded. File names are the paths relative to the package root.
+ */
+public interface PluginPackage {
+
+    /**
+     * Create a plugin package from a map of already extracted files
+     *
+     * @param files a map of file names and files
+     * @return the plugin package
+     */
+    static PluginPackage of(final Map<String, File> files) {
+        return new FilePluginPackage(files);
+    }
+
+    /**
+     * @return the names of all the files in the package
+     */
+    Set<String> getFileNames();
+
+    /**
+     * @param fileName the file name
+     * @return {@code true} if the package contains the file
+     */
+    boolean contains(String fileName);
+
+    /**
+     * Open a file of the package for reading, the caller is responsible for closing the stream
+     *
+     * @param fileName the file name
+     * @return the file content stream
+     * @throws IOException when the file can not be read
+     */
+    InputStream open(String fileName) throws IOException;
+
+    /**
+     * @param fileName the file name
+     * @return the file size in bytes or -1 when unknown
+     */
+    long getSize(String fileName);
+
+    /**
+     * Read a text file of the package. The lines are joined without line separators
+     *
+     * @param fileName the file name
+     * @return a {@link String} representation of the file content
+     * @throws IOException when the file reading operation fails
+     * @throws IllegalArgumentException when the file is not in the package
+     */
+    default String getFileContent(final String fileName) throws IOException {
+        checkArgument(contains(fileName), String.format("%s file missing", fileName));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(fileName), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.joining());
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.smartsparrow.plugin.publish;
 
-import java.io.File;
-import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -13,7 +11,7 @@ public class PluginParserContext {
     private String hash;
     private UUID publisherId;
     private String configurationSchema;
-    private Map<String, File> files;
+    private PluginPackage files;
     private PluginType pluginType;
     private String name;
     private String version;
@@ -54,11 +52,11 @@ public class PluginParserContext {
         return this;
     }
 
-    public Map<String, File> getFiles() {
+    public PluginPackage getFiles() {
         return files;
     }
 
-    public PluginParserContext setFiles(Map<String, File> files) {
+    public PluginParserContext setFiles(PluginPackage files) {
         this.files = files;
         return this;
     }
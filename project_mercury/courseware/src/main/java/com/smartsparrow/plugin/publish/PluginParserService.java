@@ -2,22 +2,16 @@ package com.smartsparrow.plugin.publish;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Paths;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.smartsparrow.plugin.lang.PluginPublishException;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-
 @Singleton
 public class PluginParserService {
 
@@ -35,15 +29,15 @@ public class PluginParserService {
     /**
      * Parse the manifest or json file and return the parsed plugin fields
      *
-     * @param files       a map of file from which the manifest or package file get extracted
+     * @param files       the plugin package files from which the manifest or package file get read
      * @param pluginId    the plugin id to override id from manifest file, can be null
      * @param hash        zip hash of the file
      * @param publisherId the publisher account id
      * @throws IOException when the file reading operation fails
      */
-    public PluginParsedFields parse(final Map<String, File> files, final UUID pluginId, final String hash, final UUID publisherId) throws IOException, PluginPublishException {
-        if (files.get(PluginParserConstant.MANIFEST_JSON) != null) {
-            String manifestContent = getFileContent(files, PluginParserConstant.MANIFEST_JSON);
+    public PluginParsedFields parse(final PluginPackage files, final UUID pluginId, final String hash, final UUID publisherId) throws IOException, PluginPublishException {
+        if (files.contains(PluginParserConstant.MANIFEST_JSON)) {
+            String manifestContent = files.getFileContent(PluginParserConstant.MANIFEST_JSON);
             Map<String, Object> manifestJsonObject = om.readValue(manifestContent, Map.class);
 
             PluginParserContext pluginParserContext = new PluginParserContext()
@@ -82,8 +76,8 @@ public class PluginParserService {
             return pluginParser.parse(pluginParserContext, pluginParserBuilder);
 
 
-        } else if (files.get(PluginParserConstant.PACKAGE_JSON) != null) {
-            String manifestContent = getFileContent(files, PluginParserConstant.PACKAGE_JSON);
+        } else if (files.contains(PluginParserConstant.PACKAGE_JSON)) {
+            String manifestContent = files.getFileContent(PluginParserConstant.PACKAGE_JSON);
             Map<String, Object> packageJsonObject = om.readValue(manifestContent, Map.class);
             PluginParserContext pluginParserContext = new PluginParserContext()
                     .setPluginId(pluginId)
@@ -141,22 +135,4 @@ public class PluginParserService {
         String bronteContent = om.writeValueAsString(bronteObject);
         return om.readValue(bronteContent, Map.class);
     }
-
-    /**
-     * Read the file and return its content as a string
-     *
-     * @param files    the map of file from which to read the file
-     * @param fileName the name of the file to read
-     * @return a {@link String} representation of the file content
-     * @throws IOException when the file reading operation fails
-     */
-    @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_WOULD_HAVE_BEEN_A_NPE", justification = "JDK 11 changes broke this rule")
-    private String getFileContent(final Map<String, File> files, final String fileName) throws IOException {
-        File file = files.get(fileName);
-        checkArgument(file != null, String.format("%s file missing", fileName));
-
-        try (Stream<String> lines = java.nio.file.Files.lines(Paths.get(file.getAbsolutePath()))) {
-            return lines.collect(Collectors.joining());
-        }
-    }
 }
@@ -1,6 +1,5 @@
 package com.smartsparrow.plugin.publish;
 
-import java.io.File;
 import java.util.Map;
 
 public class ThumbnailField implements PluginField<String, Map<String, Object>> {
@@ -24,12 +23,12 @@ public class ThumbnailField implements PluginField<String, Map<String, Object>>
      * Validate that the file exists
      *
      * @param filePath the file path to validate
-     * @param files    the unzipped file map
-     * @throws IllegalArgumentException when the file is not found inside the map
+     * @param files    the plugin package files
+     * @throws IllegalArgumentException when the file is not found inside the package
      */
-    private void validateExist(String filePath, Map<String, File> files) {
+    private void validateExist(String filePath, PluginPackage files) {
         if (filePath != null) {
-            if (!files.containsKey(filePath)) {
+            if (!files.contains(filePath)) {
                 throw new IllegalArgumentException("File " + filePath + " not found inside the package");
             }
         }
@@ -0,0 +1,105 @@
+package com.smartsparrow.plugin.publish;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipException;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+/**
+ * A plugin package read in place from a zip archive. The entries are located with the archive central directory and
+ * each file is inflated from the archive channel when opened, so nothing is extracted to disk. Files can be opened
+ * and read concurrently.
+ */
+public class ZipPluginPackage implements PluginPackage, Closeable {
+
+    private final ZipFile zipFile;
+    private final Map<String, ZipArchiveEntry> entries;
+
+    private ZipPluginPackage(final ZipFile zipFile, final Map<String, ZipArchiveEntry> entries) {
+        this.zipFile = zipFile;
+        this.entries = entries;
+    }
+
+    /**
+     * Open a zip archive as a plugin package
+     *
+     * @param zip the zip archive path
+     * @return the plugin package, to be closed by the caller
+     * @throws ZipException when the file is not a zip archive or the archive has no entries
+     * @throws IOException when the archive can not be read
+     */
+    public static ZipPluginPackage open(final Path zip) throws IOException {
+        final FileChannel channel = FileChannel.open(zip, StandardOpenOption.READ);
+        final ZipFile zipFile;
+        try {
+            zipFile = new ZipFile(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        final Map<String, ZipArchiveEntry> entries = new LinkedHashMap<>();
+        boolean hasEntries = false;
+        for (Enumeration<ZipArchiveEntry> it = zipFile.getEntries(); it.hasMoreElements(); ) {
+            ZipArchiveEntry entry = it.nextElement();
+            hasEntries = true;
+            if (!entry.isDirectory()) {
+                entries.put(entry.getName(), entry);
+            }
+        }
+
+        if (!hasEntries) {
+            zipFile.close();
+            throw new ZipException("Archive has no entries");
+        }
+        return new ZipPluginPackage(zipFile, entries);
+    }
+
+    @Override
+    public Set<String> getFileNames() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    @Override
+    public boolean contains(final String fileName) {
+        return entries.containsKey(fileName);
+    }
+
+    @Override
+    public InputStream open(final String fileName) throws IOException {
+        ZipArchiveEntry entry = entries.get(fileName);
+        if (entry == null) {
+            throw new IOException(String.format("%s file missing", fileName));
+        }
+        return zipFile.getInputStream(entry);
+    }
+
+    @Override
+    public long getSize(final String fileName) {
+        ZipArchiveEntry entry = entries.get(fileName);
+        return entry != null ? entry.getSize() : -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipFile.close();
+    }
+
+    @Override
+    public String toString() {
+        return "ZipPluginPackage{" +
+                "files=" + entries.keySet() +
+                '}';
+    }
+}
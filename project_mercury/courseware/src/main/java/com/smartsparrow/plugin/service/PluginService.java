@@ -9,12 +9,9 @@ import static com.smartsparrow.util.Warrants.affirmArgument;
 import static com.smartsparrow.util.Warrants.affirmArgumentNotNullOrEmpty;
 import static com.smartsparrow.util.Warrants.affirmNotNull;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -24,11 +21,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.zip.ZipException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -86,11 +82,12 @@ import com.smartsparrow.plugin.lang.VersionParserFault;
 import com.smartsparrow.plugin.payload.PluginPayload;
 import com.smartsparrow.plugin.payload.PluginSummaryPayload;
 import com.smartsparrow.plugin.publish.PluginParsedFields;
+import com.smartsparrow.plugin.publish.PluginPackage;
 import com.smartsparrow.plugin.publish.PluginParserService;
+import com.smartsparrow.plugin.publish.ZipPluginPackage;
 import com.smartsparrow.plugin.semver.SemVerExpression;
 import com.smartsparrow.plugin.semver.SemVersion;
 import com.smartsparrow.plugin.wiring.PluginConfig;
-import com.smartsparrow.util.Files;
 import com.smartsparrow.util.Hashing;
 import com.smartsparrow.util.Urls;
 import com.smartsparrow.util.log.MercuryLogger;
@@ -123,6 +120,7 @@ public class PluginService {
     private final ActivityGateway activityGateway;
     private final InteractiveGateway interactiveGateway;
     private final ComponentGateway componentGateway;
+    private final PluginVersionIndex pluginVersionIndex;
 
 
     @Inject
@@ -138,7 +136,8 @@ public class PluginService {
                          final PluginParserService pluginParserService,
                          final ActivityGateway activityGateway,
                          final InteractiveGateway interactiveGateway,
-                         final ComponentGateway componentGateway) {
+                         final ComponentGateway componentGateway,
+                         final PluginVersionIndex pluginVersionIndex) {
         this.pluginGateway = pluginGateway;
         this.pluginConfig = pluginConfig;
         this.s3Bucket = s3Bucket;
@@ -152,6 +151,7 @@ public class PluginService {
         this.activityGateway = activityGateway;
         this.interactiveGateway = interactiveGateway;
         this.componentGateway = componentGateway;
+        this.pluginVersionIndex = pluginVersionIndex;
     }
 
     /**
@@ -519,6 +519,7 @@ public class PluginService {
                 pluginGateway.persistView(views),
                 pluginGateway.persistSearchableFieldByPlugin(Flux.fromIterable(searchable))
         )
+                .doFinally(signalType -> pluginVersionIndex.invalidate(pluginId))
                 .then(findPlugin(pluginId, manifest.getVersion()));
 
     }
@@ -569,29 +570,21 @@ public class PluginService {
             throws IllegalArgumentException, PluginPublishException {
 
         Path tmpFilePath = null;
-        File folder = null;
+        ZipPluginPackage files = null;
         try {
-            // save the stream to a temporary file
+            // save the stream to a temporary file, computing the hash of the file while saving
             tmpFilePath = java.nio.file.Files.createTempFile(null, null);
-            File tmpFile = tmpFilePath.toFile();
-            java.nio.file.Files.copy(inputStream, tmpFilePath, StandardCopyOption.REPLACE_EXISTING);
+            String hash = Hashing.copy(inputStream, tmpFilePath);
 
-            //throw exception if it is not a zip format
-            if (!Files.isAZip(tmpFile)) {
+            // read the archive entries in place, nothing is extracted to disk
+            try {
+                files = ZipPluginPackage.open(tmpFilePath);
+            } catch (ZipException e) {
+                //throw exception if it is not a zip format
                 throw new IllegalArgumentException("zip format required");
             }
 
-            // compute the hash of the file
-            String hash = Hashing.file(tmpFile);
-
-            // save the zip file
-            File zippedPlugin = Files.saveZip(tmpFile, hash, fileName);
-            folder = zippedPlugin.getParentFile();
-
-            // unzip the uploaded archive
-            final Map<String, File> files = Files.unzip(zippedPlugin, hash);
-
-            logger.info("Files saved at {} - number of files {}", zippedPlugin.getAbsolutePath(), files.size());
+            logger.info("Plugin package {} saved at {} - number of files {}", fileName, tmpFilePath, files.getFileNames().size());
 
             // parse manifest or package json file
             PluginParsedFields pluginParsedFields = pluginParserService.parse(files, pluginId, hash, publisherId);
@@ -636,7 +629,7 @@ public class PluginService {
             }
 
             //upload to s3 bucket
-            s3Bucket.uploadPlugin(pluginManifest, zippedPlugin, files);
+            s3Bucket.uploadPlugin(pluginManifest, tmpFilePath.toFile(), files);
 
             // update the latest version in the plugin summary if needed
             updateSummaryVersion(pluginManifest, pluginVersion, pluginSummary);
@@ -649,7 +642,8 @@ public class PluginService {
                     pluginGateway.persistVersion(pluginVersion),
                     pluginGateway.persistSummary(pluginSummary),
                     pluginGateway.persistPluginFilters(pluginParsedFields.getPluginFilters())
-            ).blockLast();
+            ).doFinally(signalType -> pluginVersionIndex.invalidate(pluginManifest.getPluginId()))
+                    .blockLast();
 
             // return the published plugin
             return new PublishedPlugin()
@@ -666,23 +660,19 @@ public class PluginService {
             } catch (IOException e) {
                 logger.error(String.format("Error when closing the original input stream for plugin with fileName='%s'", fileName), e);
             }
-            // delete the temp file
-            if (tmpFilePath != null) {
+            if (files != null) {
                 try {
-                    java.nio.file.Files.delete(tmpFilePath);
+                    files.close();
                 } catch (IOException e) {
-                    logger.error(String.format("Error when deleting file '%s'", tmpFilePath), e);
+                    logger.error(String.format("Error when closing the plugin package for fileName='%s'", fileName), e);
                 }
             }
-            // delete all files from the system
-            if (folder != null) {
+            // delete the temp file
+            if (tmpFilePath != null) {
                 try {
-                    Files.deleteAll(folder);
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("`{}` folder removed from the system", folder.getAbsolutePath());
-                    }
+                    java.nio.file.Files.delete(tmpFilePath);
                 } catch (IOException e) {
-                    logger.error(String.format("Error when deleting files from folder '%s'", folder), e);
+                    logger.error(String.format("Error when deleting file '%s'", tmpFilePath), e);
                 }
             }
         }
@@ -732,6 +722,7 @@ public class PluginService {
         Mono<Void> unpublished = pluginGateway.fetchAllPluginVersionByIdMajorMinorPatch(pluginId, major, minor, patch)
                 .flatMap(pluginGateway::unPublishPluginVersion)
                 .singleOrEmpty()
+                .doFinally(signalType -> pluginVersionIndex.invalidate(pluginId))
                 .doOnEach(ReactiveTransaction.linkOnNext());
 
         Mono<PluginSummary> pluginSummaryMono = pluginGateway.fetchPluginSummaryById(pluginId)
@@ -920,17 +911,9 @@ public class PluginService {
                     });
         }
 
-        return pluginGateway.fetchAllPluginVersionsById(pluginId)
-                .map(SemVersion::from)
-                .collectList()
-                .map((List<SemVersion> list) -> {
-                    SemVerExpression expr = SemVerExpression.from(versionExpr);
-                    Optional<SemVersion> first = list.stream().filter(v -> v.satisfies(expr)).findFirst();
-                    return first.orElseThrow(() -> new PluginNotFoundFault(String.format("Version '%s' for plugin_id='%s' does not exist",
-                            versionExpr, pluginId)));
-
-                })
-                .map(SemVersion::toString);
+        return pluginVersionIndex.resolve(pluginId, versionExpr, () -> pluginGateway.fetchAllPluginVersionsById(pluginId))
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new PluginNotFoundFault(String.format("Version '%s' for plugin_id='%s' does not exist",
+                        versionExpr, pluginId)))));
     }
 
     /**
@@ -977,30 +960,35 @@ public class PluginService {
     /**
      * Build the list of manifest view
      *
-     * @param files          a map of file from which the entry point content is extracted
+     * @param files          the plugin package files from which the entry point content is read
      * @param pluginManifest the plugin manifest object
      * @param views          map of distinct entry point views
      * @return a {@link List} of manifest view
      * @throws IOException when any I/O operation fails
      */
-    private List<ManifestView> buildManifestViews(final Map<String, File> files,
+    private List<ManifestView> buildManifestViews(final PluginPackage files,
                                                   final PluginManifest pluginManifest, final Map<String, Object> views) throws IOException {
         // create a list of manifest view objects
         return views.entrySet().stream().map(entry -> {
+            final ManifestView manifestView;
             try {
-                ManifestView manifestView = om.readValue(om.writeValueAsString(entry.getValue()), ManifestView.class)
+                // the view is converted from the parsed manifest, without writing it back to json
+                manifestView = om.convertValue(entry.getValue(), ManifestView.class)
                         .setContext(entry.getKey())
                         .setPluginId(pluginManifest.getPluginId())
                         .setVersion(pluginManifest.getVersion());
-                File entryPoint = files.get(Urls.concat(manifestView.getPublicDir(), manifestView.getEntryPointPath()));
+            } catch (IllegalArgumentException e) {
+                logger.error("Failed to parse the entry point `{}` {}", entry.getKey(), e.getMessage());
+                return null;
+            }
 
-                if (entryPoint == null) {
-                    throw new IllegalArgumentException(String.format("File `%s` not found", manifestView.getEntryPointPath()));
-                }
+            String entryPoint = Urls.concat(manifestView.getPublicDir(), manifestView.getEntryPointPath());
+            if (!files.contains(entryPoint)) {
+                throw new IllegalArgumentException(String.format("File `%s` not found", manifestView.getEntryPointPath()));
+            }
 
-                try (Stream<String> lines = java.nio.file.Files.lines(Paths.get(entryPoint.getAbsolutePath()))) {
-                    return manifestView.setEntryPointData(lines.collect(Collectors.joining()));
-                }
+            try {
+                return manifestView.setEntryPointData(files.getFileContent(entryPoint));
             } catch (IOException e) {
                 logger.error("Failed to parse the entry point `{}` {}", entry.getKey(), e.getMessage());
                 return null;
@@ -1629,7 +1617,8 @@ public class PluginService {
                 .thenMany(pluginVersionByMajorMinorFlux)
                 .thenMany(pluginVersionByMajorFlux)
                 .thenMany(pluginVersionByMajorMinorPatch)
-                .flatMap(pluginGateway::deletePluginVersion);
+                .flatMap(pluginGateway::deletePluginVersion)
+                .doFinally(signalType -> pluginVersionIndex.invalidate(pluginId));
     }
 
     private CoursewareElementType getCoursewareElementFromPluginType(PluginType type) {
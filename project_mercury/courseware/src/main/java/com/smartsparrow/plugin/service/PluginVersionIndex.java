@@ -0,0 +1,244 @@
+package com.smartsparrow.plugin.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.plugin.data.PluginVersion;
+import com.smartsparrow.plugin.lang.VersionParserFault;
+import com.smartsparrow.plugin.semver.SemVerExpression;
+import com.smartsparrow.plugin.semver.SemVersion;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Node-local index of the plugin versions, populated lazily when a version expression is resolved. The versions of
+ * a plugin are indexed sorted by major, minor and patch descending, keeping the storage order (latest release first)
+ * between versions with the same numbers, so a resolution returns the same version as a scan of the stored versions.
+ *
+ * Wildcard expressions (ex. '1.*' or '1.2.*') and exact versions are resolved with a binary search to the matching
+ * version range, any other expression by a scan of the indexed versions. Resolved expressions are memoized with the
+ * indexed versions of the plugin, up to <code>plugin.versionIndex.maxExpressions</code> per plugin (default 256).
+ *
+ * The publish, unpublish and delete code paths invalidate the plugin on this node and broadcast the invalidation to
+ * the other nodes, see {@link CacheService#registerLocalCache}. Entries also expire after
+ * <code>plugin.versionIndex.ttlMinutes</code> (default 5), should a broadcast be lost. The index holds at most
+ * <code>plugin.versionIndex.maxSize</code> plugins (default 10000).
+ */
+@Singleton
+public class PluginVersionIndex {
+
+    private static final long MAX_SIZE = Long.getLong("plugin.versionIndex.maxSize", 10_000);
+    private static final long TTL_MINUTES = Long.getLong("plugin.versionIndex.ttlMinutes", 5);
+    private static final int MAX_EXPRESSIONS = Integer.getInteger("plugin.versionIndex.maxExpressions", 256);
+    static final String LOCAL_CACHE_NAME = "plugin:versions";
+
+    // a version or a wildcard expression, a wildcard or a missing part matches any number
+    private static final Pattern RANGE = Pattern.compile("^(\\d{1,9})(?:\\.(\\d{1,9}|[xX*]))?(?:\\.(\\d{1,9}|[xX*]))?$");
+    // a version with pre-release or build, only matched by full match
+    private static final Pattern EXACT = Pattern.compile("^(\\d{1,9})\\.(\\d{1,9})\\.(\\d{1,9})[-+].*$");
+
+    private static final Comparator<SemVersion> DESCENDING = Comparator.comparingInt(SemVersion::getMajorVersion)
+            .thenComparingInt(SemVersion::getMinorVersion)
+            .thenComparingInt(SemVersion::getPatchVersion)
+            .reversed();
+
+    private final Cache<UUID, Versions> versions = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(TTL_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    // bumped on every invalidation, versions loaded across an invalidation are not indexed
+    private final AtomicLong generation = new AtomicLong();
+
+    private final CacheService cacheService;
+
+    @Inject
+    public PluginVersionIndex(final CacheService cacheService) {
+        this.cacheService = cacheService;
+        cacheService.registerLocalCache(LOCAL_CACHE_NAME, pluginIds -> pluginIds
+                .forEach(pluginId -> evict(UUID.fromString(pluginId))));
+    }
+
+    /**
+     * Resolve a version expression to the latest version of a plugin satisfying it. The versions of the plugin are
+     * loaded and indexed when not indexed.
+     *
+     * @param pluginId the plugin id
+     * @param versionExpr the SemVer version or expression
+     * @param loader loads all the versions of the plugin, only called when not indexed
+     * @return a mono of the latest version satisfying the expression or an empty mono when none does
+     * @throws VersionParserFault when the expression can not be parsed
+     */
+    public Mono<String> resolve(final UUID pluginId, final String versionExpr, final Supplier<Flux<PluginVersion>> loader) {
+        return find(pluginId, loader)
+                .flatMap(indexed -> Mono.justOrEmpty(indexed.resolve(versionExpr)));
+    }
+
+    /**
+     * Remove a plugin from the index of every node, to be called when a version of the plugin is published,
+     * unpublished or deleted
+     *
+     * @param pluginId the plugin id
+     */
+    public void invalidate(final UUID pluginId) {
+        evict(pluginId);
+        cacheService.broadcastInvalidation(LOCAL_CACHE_NAME, Collections.singletonList(pluginId.toString()));
+    }
+
+    /**
+     * Remove a plugin from the index of this node
+     */
+    private void evict(final UUID pluginId) {
+        generation.incrementAndGet();
+        versions.invalidate(pluginId);
+    }
+
+    @VisibleForTesting
+    long size() {
+        return versions.size();
+    }
+
+    private Mono<Versions> find(final UUID pluginId, final Supplier<Flux<PluginVersion>> loader) {
+        return Mono.defer(() -> {
+            final Versions indexed = versions.getIfPresent(pluginId);
+            if (indexed != null) {
+                return Mono.just(indexed);
+            }
+            final long loadedAt = generation.get();
+            return loader.get()
+                    .map(SemVersion::from)
+                    .collectList()
+                    .map(Versions::new)
+                    .doOnNext(loaded -> {
+                        if (generation.get() == loadedAt) {
+                            versions.put(pluginId, loaded);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * The sorted versions of a plugin and the expressions resolved against them
+     */
+    private static class Versions {
+
+        private final List<SemVersion> sorted;
+        private final Map<String, Optional<String>> resolved = new ConcurrentHashMap<>();
+
+        private Versions(final List<SemVersion> loaded) {
+            // the sort is stable, versions with the same numbers keep the storage order
+            sorted = new ArrayList<>(loaded);
+            sorted.sort(DESCENDING);
+        }
+
+        private Optional<String> resolve(final String versionExpr) {
+            final Optional<String> memo = resolved.get(versionExpr);
+            if (memo != null) {
+                return memo;
+            }
+            final Optional<String> found = search(SemVerExpression.from(versionExpr), versionExpr);
+            if (resolved.size() < MAX_EXPRESSIONS) {
+                resolved.put(versionExpr, found);
+            }
+            return found;
+        }
+
+        private Optional<String> search(final SemVerExpression expr, final String versionExpr) {
+            int from = 0;
+            int to = sorted.size();
+            final Matcher range = (expr.isSearchByEquals() ? EXACT : RANGE).matcher(versionExpr.trim());
+            if (range.matches()) {
+                final int major = Integer.parseInt(range.group(1));
+                final Integer minor = number(range.group(2));
+                final Integer patch = minor == null ? null : number(range.group(3));
+                // only the versions between the highest and the lowest version of the range can satisfy the expression
+                from = firstAtOrBelow(major,
+                        minor == null ? Integer.MAX_VALUE : minor,
+                        patch == null ? Integer.MAX_VALUE : patch);
+                to = firstBelow(major,
+                        minor == null ? 0 : minor,
+                        patch == null ? 0 : patch);
+            }
+            for (int i = from; i < to; i++) {
+                if (sorted.get(i).satisfies(expr)) {
+                    return Optional.of(sorted.get(i).toString());
+                }
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Binary search the first version lower than or equal to the given numbers
+         */
+        private int firstAtOrBelow(final int major, final int minor, final int patch) {
+            int low = 0;
+            int high = sorted.size();
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (compare(sorted.get(mid), major, minor, patch) > 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Binary search the first version lower than the given numbers
+         */
+        private int firstBelow(final int major, final int minor, final int patch) {
+            int low = 0;
+            int high = sorted.size();
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (compare(sorted.get(mid), major, minor, patch) >= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int compare(final SemVersion version, final int major, final int minor, final int patch) {
+            int result = Integer.compare(version.getMajorVersion(), major);
+            if (result == 0) {
+                result = Integer.compare(version.getMinorVersion(), minor);
+            }
+            if (result == 0) {
+                result = Integer.compare(version.getPatchVersion(), patch);
+            }
+            return result;
+        }
+
+        /**
+         * @return the number of a version part or null for a wildcard or a missing part
+         */
+        private static Integer number(final String part) {
+            if (part == null || !Character.isDigit(part.charAt(0))) {
+                return null;
+            }
+            return Integer.parseInt(part);
+        }
+    }
+}
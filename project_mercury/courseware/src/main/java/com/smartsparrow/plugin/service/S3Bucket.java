@@ -11,6 +11,7 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -29,16 +30,24 @@ import com.google.inject.Provider;
 import com.smartsparrow.plugin.data.PluginManifest;
 import com.smartsparrow.plugin.lang.S3BucketLoadFileException;
 import com.smartsparrow.plugin.lang.S3BucketUploadException;
+import com.smartsparrow.plugin.publish.PluginPackage;
 import com.smartsparrow.plugin.wiring.PluginConfig;
 import com.smartsparrow.plugin.wiring.SchemaConfig;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 public class S3Bucket {
 
     private static final Logger logger = LoggerFactory.getLogger(S3Bucket.class);
     // This is 1 year in seconds.
     private static final long PLUGIN_TTL = 31536000;
+    // the number of plugin package files uploaded at the same time
+    private static final int UPLOAD_CONCURRENCY = Integer.getInteger("plugin.upload.concurrency", 8);
+    private static final Tika tika = new Tika();
 
     private final PluginConfig pluginConfig;
     private final SchemaConfig schemaConfig;
@@ -79,6 +88,46 @@ public class S3Bucket {
         }
     }
 
+    /**
+     * Uploads plugin package files to S3 buckets. The zip file and the package files are uploaded in parallel, up to
+     * <code>plugin.upload.concurrency</code> files at the same time (default 8). Each package file is streamed from
+     * the package, nothing is extracted to disk.
+     *
+     * @param pluginManifest the plugin manifest
+     * @param zip zip file
+     * @param pluginPackage the plugin package files
+     * @throws S3BucketUploadException if plugin config is undefined, or exceptions occur during uploading
+     * @throws NullPointerException if plugin manifest is null
+     */
+    public void uploadPlugin(PluginManifest pluginManifest, File zip, PluginPackage pluginPackage)
+            throws S3BucketUploadException {
+        checkNotNull(pluginManifest);
+        if (pluginConfig == null) {
+            throw new S3BucketUploadException("Plugin configuration is empty");
+        }
+
+        String zipPath = pluginManifest.getBuildZipPath(pluginManifest);
+        // the content type is detected with the zip path, the zip file can be a temporary file
+        Mono<Void> zipUpload = uploadAsync(() -> upload(pluginConfig.getRepositoryBucketName(), zipPath, zip, tika.detect(zipPath)));
+
+        Flux<Void> fileUploads = Flux.fromIterable(pluginPackage.getFileNames())
+                .map(fileName -> uploadAsync(() -> uploadWithTTL(pluginConfig.getDistributionBucketName(),
+                                                                 pluginManifest.getBuildFilePath(pluginManifest, fileName),
+                                                                 pluginPackage,
+                                                                 fileName)))
+                .flatMap(upload -> upload, UPLOAD_CONCURRENCY);
+
+        try {
+            Flux.merge(zipUpload, fileUploads).blockLast();
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof S3BucketUploadException) {
+                throw (S3BucketUploadException) cause;
+            }
+            throw e;
+        }
+    }
+
     /**
      * Load the file content from the s3 schema bucket
      *
@@ -119,9 +168,12 @@ public class S3Bucket {
     }
 
     private void upload(String bucketName, String filePath, File file) throws S3BucketUploadException {
+        upload(bucketName, filePath, file, new Tika().detect(file.getPath()));
+    }
+
+    private void upload(String bucketName, String filePath, File file, String contentType) throws S3BucketUploadException {
         try {
             ObjectMetadata metadata = new ObjectMetadata();
-            String contentType = new Tika().detect(file.getPath());
             metadata.setContentType(contentType);
             PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, filePath, file);
             putObjectRequest.setMetadata(metadata);
@@ -155,6 +207,46 @@ public class S3Bucket {
         }
     }
 
+    private void uploadWithTTL(String bucketName, String filePath, PluginPackage pluginPackage, String fileName)
+            throws S3BucketUploadException {
+        try (InputStream inputStream = pluginPackage.open(fileName)) {
+            ObjectMetadata metadata = new ObjectMetadata();
+            String contentType = tika.detect(fileName);
+            metadata.setContentType(contentType);
+            metadata.setCacheControl("max-age=" + PLUGIN_TTL);
+            long size = pluginPackage.getSize(fileName);
+            if (size >= 0) {
+                metadata.setContentLength(size);
+            }
+            s3client.putObject(new PutObjectRequest(bucketName, filePath, inputStream, metadata));
+            logger.debug("File is uploaded to bucket='{}' with key='{}', with content type='{}'",
+                         bucketName,
+                         filePath,
+                         contentType);
+        } catch (AmazonClientException | IOException e) {
+            throw new S3BucketUploadException(String.format("Error when uploading file '%s' to bucket '%s': %s",
+                                                            filePath, bucketName, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Run a blocking upload on the elastic scheduler
+     *
+     * @param upload the upload to run
+     * @return a mono completing when the upload is done
+     */
+    private Mono<Void> uploadAsync(Upload upload) {
+        return Mono.fromCallable((Callable<Void>) () -> {
+            upload.run();
+            return null;
+        }).subscribeOn(Schedulers.elastic());
+    }
+
+    @FunctionalInterface
+    private interface Upload {
+        void run() throws S3BucketUploadException;
+    }
+
     /**
      * Retrieves text file contents from file in s3
      *
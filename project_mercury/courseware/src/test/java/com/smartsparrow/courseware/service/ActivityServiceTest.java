@@ -103,6 +103,8 @@ class ActivityServiceTest {
     @InjectMocks
     private ActivityService activityService;
     @Mock
+    private CoursewareAncestryIndex ancestryIndex;
+    @Mock
     private ActivityGateway activityGateway;
     @Mock
     private PluginService pluginService;
@@ -73,6 +73,8 @@ public class ComponentServiceTest {
     @InjectMocks
     ComponentService componentService;
     @Mock
+    private CoursewareAncestryIndex ancestryIndex;
+    @Mock
     ComponentGateway componentGateway;
     @Mock
     PluginService pluginService;
@@ -0,0 +1,133 @@
+package com.smartsparrow.courseware.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.courseware.data.CoursewareElement;
+import com.smartsparrow.courseware.data.CoursewareElementType;
+
+import reactor.core.publisher.Mono;
+
+class CoursewareAncestryIndexTest {
+
+    private CoursewareAncestryIndex ancestryIndex;
+    private CacheService cacheService;
+    private AtomicInteger loaded;
+
+    private static final UUID elementId = UUID.randomUUID();
+    private static final UUID projectId = UUID.randomUUID();
+    private static final CoursewareElement parent = CoursewareElement.from(UUID.randomUUID(), CoursewareElementType.ACTIVITY);
+
+    @BeforeEach
+    void setUp() {
+        cacheService = mock(CacheService.class);
+        ancestryIndex = new CoursewareAncestryIndex(cacheService);
+        loaded = new AtomicInteger();
+    }
+
+    @Test
+    void findParent_indexed() {
+        assertEquals(parent, ancestryIndex.findParent(elementId, () -> load(Mono.just(parent))).block());
+        assertEquals(parent, ancestryIndex.findParent(elementId, () -> load(Mono.just(parent))).block());
+
+        assertEquals(1, loaded.get());
+        assertEquals(1, ancestryIndex.size());
+    }
+
+    @Test
+    void findParent_notFoundNotIndexed() {
+        assertNull(ancestryIndex.findParent(elementId, () -> load(Mono.empty())).block());
+        assertNull(ancestryIndex.findParent(elementId, () -> load(Mono.empty())).block());
+
+        assertEquals(2, loaded.get());
+        assertEquals(0, ancestryIndex.size());
+    }
+
+    @Test
+    void findParent_errorNotIndexed() {
+        ancestryIndex.findParent(elementId, () -> load(Mono.error(new IllegalStateException())))
+                .onErrorResume(IllegalStateException.class, ex -> Mono.empty())
+                .block();
+
+        assertEquals(0, ancestryIndex.size());
+    }
+
+    @Test
+    void findActivityParent_rootIndexed() {
+        assertNull(ancestryIndex.findActivityParent(elementId, () -> load(Mono.empty())).block());
+        assertNull(ancestryIndex.findActivityParent(elementId, () -> load(Mono.empty())).block());
+
+        assertEquals(1, loaded.get());
+        assertEquals(1, ancestryIndex.size());
+    }
+
+    @Test
+    void findProjectId_indexed() {
+        assertEquals(projectId, ancestryIndex.findProjectId(elementId, () -> load(Mono.just(projectId))).block());
+        assertEquals(projectId, ancestryIndex.findProjectId(elementId, () -> load(Mono.just(projectId))).block());
+
+        assertEquals(1, loaded.get());
+    }
+
+    @Test
+    void invalidate() {
+        ancestryIndex.findParent(elementId, () -> load(Mono.just(parent))).block();
+        ancestryIndex.findProjectId(elementId, () -> load(Mono.just(projectId))).block();
+
+        ancestryIndex.invalidate(elementId);
+
+        assertEquals(0, ancestryIndex.size());
+        ancestryIndex.findParent(elementId, () -> load(Mono.just(parent))).block();
+        assertEquals(3, loaded.get());
+        verify(cacheService).broadcastInvalidation(CoursewareAncestryIndex.LOCAL_CACHE_NAME,
+                Collections.singletonList(elementId.toString()));
+    }
+
+    @Test
+    void invalidateAll() {
+        ancestryIndex.findParent(elementId, () -> load(Mono.just(parent))).block();
+
+        ancestryIndex.invalidateAll(Collections.singletonList(elementId));
+
+        assertEquals(0, ancestryIndex.size());
+        verify(cacheService).broadcastInvalidation(CoursewareAncestryIndex.LOCAL_CACHE_NAME,
+                Collections.singletonList(elementId.toString()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void invalidate_fromOtherNode() {
+        ArgumentCaptor<Consumer<List<String>>> invalidator = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheService).registerLocalCache(eq(CoursewareAncestryIndex.LOCAL_CACHE_NAME), invalidator.capture());
+        ancestryIndex.findParent(elementId, () -> load(Mono.just(parent))).block();
+        ancestryIndex.findProjectId(elementId, () -> load(Mono.just(projectId))).block();
+
+        invalidator.getValue().accept(Collections.singletonList(elementId.toString()));
+
+        assertEquals(0, ancestryIndex.size());
+        verify(cacheService, never()).broadcastInvalidation(any(), any());
+    }
+
+    private <T> Mono<T> load(final Mono<T> loader) {
+        return Mono.defer(() -> {
+            loaded.incrementAndGet();
+            return loader;
+        });
+    }
+}
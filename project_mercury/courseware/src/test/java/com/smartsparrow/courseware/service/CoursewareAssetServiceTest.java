@@ -4,12 +4,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -180,14 +183,18 @@ class CoursewareAssetServiceTest {
                 .setProvider(AssetProvider.EXTERNAL)
                 .setId(asset2)));
 
-        when(coursewareGateway.persist(any(CoursewareElement.class),
-                any(AssetUrn.class),
+        when(coursewareGateway.persistAssets(any(CoursewareElement.class),
+                anyList(),
                 any(UUID.class))).thenReturn(Flux.just(new Void[]{}));
 
         coursewareAssetService.duplicateAssets(oldElementId, newElementId, type, context).collectList().block();
 
-        verify(coursewareGateway).persist(new CoursewareElement(newElementId, type), new AssetUrn(assetUrn1), newRootElementId);
-        verify(coursewareGateway).persist(new CoursewareElement(newElementId, type), new AssetUrn(assetUrn2), newRootElementId);
+        // the associations are persisted in a single grouped write
+        verify(coursewareGateway).persistAssets(eq(new CoursewareElement(newElementId, type)),
+                argThat(assetUrns -> assetUrns.size() == 2
+                        && assetUrns.containsAll(Arrays.asList(new AssetUrn(assetUrn1), new AssetUrn(assetUrn2)))),
+                eq(newRootElementId));
+        verify(coursewareGateway, never()).persist(any(CoursewareElement.class), any(AssetUrn.class), any(UUID.class));
         verify(bronteAssetService, never()).getAssetSummary(asset1);
         verify(bronteAssetService, never()).getAssetSummary(asset2);
     }
@@ -18,6 +18,7 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -35,6 +36,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.stubbing.Answer;
 
 import com.google.common.collect.Lists;
@@ -134,6 +136,8 @@ class CoursewareServiceTest {
     private PluginGateway pluginGateway;
     @Mock
     private ThemeService themeService;
+    @Spy
+    private CoursewareAncestryIndex ancestryIndex = new CoursewareAncestryIndex(mock(CacheService.class));
 
     private static final UUID creatorId = UUID.randomUUID();
     private static final UUID activityId = UUID.randomUUID();
@@ -249,6 +253,23 @@ class CoursewareServiceTest {
         assertEquals(interactiveId, result.get(2).getElementId());
     }
 
+    @Test
+    void getPath_interactiveInLesson_indexed() {
+        when(interactiveService.findParentPathwayId(interactiveId)).thenReturn(Mono.just(pathwayId));
+        when(pathwayService.findParentActivityId(pathwayId)).thenReturn(Mono.just(activityId));
+        when(activityService.findParentPathwayId(activityId)).thenReturn(Mono.empty());
+
+        List<CoursewareElement> first = coursewareService.getPath(interactiveId,
+                                                                  CoursewareElementType.INTERACTIVE).block();
+        List<CoursewareElement> second = coursewareService.getPath(interactiveId,
+                                                                   CoursewareElementType.INTERACTIVE).block();
+
+        assertEquals(first, second);
+        verify(interactiveService, times(1)).findParentPathwayId(interactiveId);
+        verify(pathwayService, times(1)).findParentActivityId(pathwayId);
+        verify(activityService, times(1)).findParentPathwayId(activityId);
+    }
+
     @Test
     void getPath_forPathway() {
         when(pathwayService.findParentActivityId(pathwayId)).thenReturn(Mono.just(activityId));
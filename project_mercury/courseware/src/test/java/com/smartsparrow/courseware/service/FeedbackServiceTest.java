@@ -51,6 +51,8 @@ public class FeedbackServiceTest {
 
     @InjectMocks
     private FeedbackService feedbackService;
+    @Mock
+    private CoursewareAncestryIndex ancestryIndex;
 
     @Mock
     private FeedbackGateway feedbackGateway;
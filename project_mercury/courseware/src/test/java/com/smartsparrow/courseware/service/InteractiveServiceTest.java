@@ -64,6 +64,8 @@ class InteractiveServiceTest {
     @InjectMocks
     private InteractiveService interactiveService;
     @Mock
+    private CoursewareAncestryIndex ancestryIndex;
+    @Mock
     private InteractiveGateway interactiveGateway;
     @Mock
     private PluginService pluginService;
@@ -61,6 +61,8 @@ class PathwayServiceTest {
     @InjectMocks
     private PathwayService pathwayService;
     @Mock
+    private CoursewareAncestryIndex ancestryIndex;
+    @Mock
     private PathwayGateway pathwayGateway;
     @Mock
     private PathwayBuilder pathwayBuilder;
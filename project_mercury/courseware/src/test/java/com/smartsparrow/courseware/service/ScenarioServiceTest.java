@@ -39,6 +39,7 @@ import com.smartsparrow.courseware.lang.ScenarioNotFoundException;
 import com.smartsparrow.courseware.lang.ScenarioParentNotFoundException;
 import com.smartsparrow.eval.deserializer.ActionDeserializer;
 import com.smartsparrow.eval.deserializer.ConditionDeserializer;
+import com.smartsparrow.eval.service.CompiledConditionCache;
 import com.smartsparrow.exception.IllegalArgumentFault;
 
 import reactor.core.publisher.Flux;
@@ -57,6 +58,12 @@ public class ScenarioServiceTest {
 
     private ActionDeserializer actionDeserializer;
 
+    @Mock
+    CompiledConditionCache compiledConditionCache;
+
+    @Mock
+    CoursewareAncestryIndex ancestryIndex;
+
     private static final UUID scenarioId = UUID.randomUUID();
     private static final UUID parentId = UUID.randomUUID();
     private static final CoursewareElementType parentType = CoursewareElementType.ACTIVITY;
@@ -79,7 +86,8 @@ public class ScenarioServiceTest {
 
         actionDeserializer = new ActionDeserializer();
 
-        scenarioService = new ScenarioService(scenarioGateway, conditionDeserializer, actionDeserializer);
+        scenarioService = new ScenarioService(scenarioGateway, conditionDeserializer, actionDeserializer,
+                compiledConditionCache, ancestryIndex);
     }
 
     @Test
@@ -196,6 +204,7 @@ public class ScenarioServiceTest {
         assertEquals(scenarioId, scenario.getId());
         assertEquals(condition, scenario.getCondition());
         assertEquals(action, scenario.getActions());
+        verify(compiledConditionCache).invalidate(scenarioId);
     }
 
     @Test
@@ -0,0 +1,169 @@
+package com.smartsparrow.eval.condition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.inject.Provider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.smartsparrow.eval.operator.BinaryOperator;
+import com.smartsparrow.eval.operator.Operator;
+import com.smartsparrow.eval.operator.UnaryOperator;
+import com.smartsparrow.eval.parser.ChainedCondition;
+import com.smartsparrow.eval.parser.Condition;
+import com.smartsparrow.eval.parser.Evaluator;
+import com.smartsparrow.eval.parser.LiteralContext;
+import com.smartsparrow.eval.parser.Operand;
+import com.smartsparrow.eval.parser.ScopeContext;
+import com.smartsparrow.util.DataType;
+
+class ConditionEvaluatorTest {
+
+    private ConditionEvaluator conditionEvaluator;
+
+    private BinaryOperator isOperator;
+    private Provider<BinaryOperator> isOperatorProvider;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        isOperator = mock(BinaryOperator.class);
+        isOperatorProvider = mock(Provider.class);
+        when(isOperatorProvider.get()).thenReturn(isOperator);
+        // the operator holds when both operands resolved to the same value
+        when(isOperator.test(any(Operand.class), any(Operand.class), any()))
+                .thenAnswer(invocation -> ((Operand) invocation.getArgument(0)).getResolvedValue()
+                        .equals(((Operand) invocation.getArgument(1)).getResolvedValue()));
+
+        Map<Operator.Type, Provider<BinaryOperator>> generic = new HashMap<>();
+        generic.put(Operator.Type.IS, isOperatorProvider);
+        Map<DataType, Provider<Map<Operator.Type, BinaryOperator>>> specific = new HashMap<>();
+        Map<Operator.Type, Provider<UnaryOperator>> unary = new HashMap<>();
+
+        conditionEvaluator = new ConditionEvaluator(generic, specific, unary);
+    }
+
+    @Test
+    void compile_resolvesOperatorOnce() {
+        ChainedCondition condition = chained(Operator.Type.AND, is(), is());
+        CompiledCondition compiled = conditionEvaluator.compile(condition);
+
+        conditionEvaluator.evaluate(compiled, chained(Operator.Type.AND, is(1, 1), is(2, 2)));
+        conditionEvaluator.evaluate(compiled, chained(Operator.Type.AND, is(1, 1), is(2, 2)));
+
+        verify(isOperatorProvider, times(2)).get();
+        verify(isOperator, times(4)).test(any(Operand.class), any(Operand.class), any());
+    }
+
+    @Test
+    void evaluate_compiled_andShortCircuits() {
+        CompiledCondition compiled = conditionEvaluator.compile(chained(Operator.Type.AND, is(), is()));
+
+        assertFalse(conditionEvaluator.evaluate(compiled, chained(Operator.Type.AND, is(1, 2), is(1, 1))));
+        verify(isOperator, times(1)).test(any(Operand.class), any(Operand.class), any());
+
+        assertTrue(conditionEvaluator.evaluate(compiled, chained(Operator.Type.AND, is(1, 1), is(2, 2))));
+    }
+
+    @Test
+    void evaluate_compiled_orShortCircuits() {
+        CompiledCondition compiled = conditionEvaluator.compile(chained(Operator.Type.OR, is(), is()));
+
+        assertTrue(conditionEvaluator.evaluate(compiled, chained(Operator.Type.OR, is(1, 1), is(1, 2))));
+        verify(isOperator, times(1)).test(any(Operand.class), any(Operand.class), any());
+
+        assertFalse(conditionEvaluator.evaluate(compiled, chained(Operator.Type.OR, is(1, 2), is(2, 1))));
+    }
+
+    @Test
+    void evaluate_compiled_nullOperandValue() {
+        CompiledCondition compiled = conditionEvaluator.compile(chained(Operator.Type.AND, is()));
+
+        assertFalse(conditionEvaluator.evaluate(compiled, chained(Operator.Type.AND, is(null, 1))));
+        verify(isOperator, never()).test(any(Operand.class), any(Operand.class), any());
+    }
+
+    @Test
+    void evaluate_compiled_noOperatorFound() {
+        ChainedCondition condition = chained(Operator.Type.AND, is().setOperator(Operator.Type.CONTAINS));
+        CompiledCondition compiled = conditionEvaluator.compile(condition);
+
+        UnsupportedOperationException e = assertThrows(UnsupportedOperationException.class,
+                () -> conditionEvaluator.evaluate(compiled, chained(Operator.Type.AND,
+                        is(1, 1).setOperator(Operator.Type.CONTAINS))));
+        assertEquals("No operator found", e.getMessage());
+    }
+
+    @Test
+    void evaluate_compiled_unsupportedBranchNotReached() {
+        ChainedCondition condition = chained(Operator.Type.OR, is(), is().setOperator(Operator.Type.CONTAINS));
+        CompiledCondition compiled = conditionEvaluator.compile(condition);
+
+        assertTrue(conditionEvaluator.evaluate(compiled, chained(Operator.Type.OR, is(1, 1),
+                is(1, 1).setOperator(Operator.Type.CONTAINS))));
+    }
+
+    @Test
+    void evaluate_compiled_unsupportedChainedOperator() {
+        CompiledCondition compiled = conditionEvaluator.compile(chained(Operator.Type.IS, is()));
+
+        UnsupportedOperationException e = assertThrows(UnsupportedOperationException.class,
+                () -> conditionEvaluator.evaluate(compiled, chained(Operator.Type.IS, is(1, 1))));
+        assertEquals("Operator not supported for chained condition", e.getMessage());
+    }
+
+    @Test
+    void evaluate_chainedCondition_shortCircuits() {
+        assertFalse(conditionEvaluator.evaluate(chained(Operator.Type.AND, is(1, 2), is(1, 1))));
+        verify(isOperator, times(1)).test(any(Operand.class), any(Operand.class), any());
+    }
+
+    @Test
+    void compile_collectsStudentScopes() {
+        UUID studentScopeURN = UUID.randomUUID();
+        Evaluator scoped = is();
+        scoped.getLhs().setResolver(new ScopeContext().setStudentScopeURN(studentScopeURN));
+        Evaluator literal = is();
+        literal.getRhs().setResolver(new LiteralContext());
+
+        CompiledCondition compiled = conditionEvaluator.compile(chained(Operator.Type.AND, scoped, literal));
+
+        assertEquals(Sets.newHashSet(studentScopeURN), compiled.getStudentScopeURNs());
+    }
+
+    private static ChainedCondition chained(Operator.Type operator, Evaluator... evaluators) {
+        return new ChainedCondition()
+                .setType(Condition.Type.CHAINED_CONDITION)
+                .setOperator(operator)
+                .setConditions(Lists.newArrayList(evaluators));
+    }
+
+    private static Evaluator is() {
+        return is(null, null);
+    }
+
+    private static Evaluator is(Object lhs, Object rhs) {
+        return new Evaluator()
+                .setLhs(new Operand().setResolvedValue(lhs))
+                .setRhs(new Operand().setResolvedValue(rhs))
+                .setOperandType(DataType.NUMBER)
+                .setType(Condition.Type.EVALUATOR)
+                .setOperator(Operator.Type.IS);
+    }
+}
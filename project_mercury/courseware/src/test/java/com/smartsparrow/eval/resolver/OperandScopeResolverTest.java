@@ -7,9 +7,13 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.json.JSONArray;
@@ -22,13 +26,13 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.smartsparrow.eval.lang.UnableToResolveException;
 import com.smartsparrow.eval.parser.Operand;
 import com.smartsparrow.eval.parser.ScopeContext;
 import com.smartsparrow.learner.data.Deployment;
 import com.smartsparrow.learner.data.EvaluationLearnerContext;
 import com.smartsparrow.learner.data.EvaluationTestContext;
-import com.smartsparrow.learner.data.StudentScopeEntry;
 import com.smartsparrow.learner.service.StudentScopeService;
 import com.smartsparrow.util.DataType;
 
@@ -45,7 +49,7 @@ class OperandScopeResolverTest {
     private Operand operand;
     private EvaluationLearnerContext evaluationLearnerContext;
     private ScopeContext scopeContext;
-    private StudentScopeEntry studentScopeEntry;
+    private Map<UUID, String> entries;
     private static final UUID studentId = UUID.randomUUID();
     private static final UUID deploymentId = UUID.randomUUID();
     private static final UUID studentScopeURN = UUID.randomUUID();
@@ -57,7 +61,7 @@ class OperandScopeResolverTest {
         MockitoAnnotations.initMocks(this);
 
         scopeContext = mock(ScopeContext.class);
-        studentScopeEntry = mock(StudentScopeEntry.class);
+        entries = new HashMap<>();
         operand = new Operand()
                 .setResolver(scopeContext);
 
@@ -70,7 +74,7 @@ class OperandScopeResolverTest {
 
         when(studentScopeService.findScopeId(deploymentId, studentId, studentScopeURN))
                 .thenReturn(Mono.just(scopeId));
-        when(studentScopeService.fetchScopeEntry(scopeId, sourceId)).thenReturn(Mono.just(studentScopeEntry));
+        when(studentScopeService.fetchLatestEntries(scopeId)).thenAnswer(invocation -> Mono.just(entries));
     }
 
     @Test
@@ -84,7 +88,6 @@ class OperandScopeResolverTest {
 
     @Test
     void resolve_studentScopeEntryNotFound() {
-        when(studentScopeService.fetchScopeEntry(scopeId, sourceId)).thenReturn(Mono.empty());
         UnableToResolveException e = assertThrows(UnableToResolveException.class,
                 () -> operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block());
 
@@ -93,14 +96,14 @@ class OperandScopeResolverTest {
 
     @Test
     void resolve_invalidData() {
-        when(studentScopeEntry.getData()).thenReturn("{\"invalid\"json}");
+        entries.put(sourceId, "{\"invalid\"json}");
         assertThrows(JSONException.class, () -> operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block());
     }
 
     @Test
     void resolve_invalidJsonPath() {
         when(scopeContext.getContext()).thenReturn(Lists.newArrayList());
-        when(studentScopeEntry.getData()).thenReturn("{\"valid\":\"json\"}");
+        entries.put(sourceId, "{\"valid\":\"json\"}");
         UnableToResolveException e = assertThrows(UnableToResolveException.class,
                 () -> operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block());
 
@@ -110,7 +113,7 @@ class OperandScopeResolverTest {
     @Test
     void resolve_success() {
         when(scopeContext.getContext()).thenReturn(Lists.newArrayList("valid"));
-        when(studentScopeEntry.getData()).thenReturn("{\"valid\":\"json\"}");
+        entries.put(sourceId, "{\"valid\":\"json\"}");
 
         Operand resolved = operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block();
 
@@ -123,7 +126,7 @@ class OperandScopeResolverTest {
         String json = "{\"selection\": {\"foo\":\"bar\"}}";
 
         when(scopeContext.getContext()).thenReturn(Lists.newArrayList("selection", "foo"));
-        when(studentScopeEntry.getData()).thenReturn(json);
+        entries.put(sourceId, json);
 
         Operand resolved = operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block();
 
@@ -136,7 +139,7 @@ class OperandScopeResolverTest {
         String json = "{\"selection\":[\"foo\",\"bar\"]}";
 
         when(scopeContext.getContext()).thenReturn(Lists.newArrayList("selection", "0"));
-        when(studentScopeEntry.getData()).thenReturn(json);
+        entries.put(sourceId, json);
 
         Operand resolved = operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block();
 
@@ -149,7 +152,7 @@ class OperandScopeResolverTest {
         String json = "{\"selection\":[\"foo\",\"bar\"]}";
 
         when(scopeContext.getContext()).thenReturn(Lists.newArrayList("selection"));
-        when(studentScopeEntry.getData()).thenReturn(json);
+        entries.put(sourceId, json);
 
         Operand resolved = operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block();
 
@@ -163,7 +166,7 @@ class OperandScopeResolverTest {
         String json = "{\"selection\": {\"foo\":\"bar\"}}";
 
         when(scopeContext.getContext()).thenReturn(Lists.newArrayList("selection"));
-        when(studentScopeEntry.getData()).thenReturn(json);
+        entries.put(sourceId, json);
 
         Operand resolved = operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block();
 
@@ -177,7 +180,7 @@ class OperandScopeResolverTest {
         String json = "{\"selection\":null}";
 
         when(scopeContext.getContext()).thenReturn(Lists.newArrayList("selection"));
-        when(studentScopeEntry.getData()).thenReturn(json);
+        entries.put(sourceId, json);
 
         Operand resolved = operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block();
 
@@ -190,11 +193,62 @@ class OperandScopeResolverTest {
         String json = "{\"selection\":null}";
 
         when(scopeContext.getContext()).thenReturn(Lists.newArrayList("anotherField"));
-        when(studentScopeEntry.getData()).thenReturn(json);
+        entries.put(sourceId, json);
 
         assertThrows(UnableToResolveException.class, () -> operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block());
     }
 
+    @Test
+    void resolve_sameScopeReadOnce() {
+        UUID otherSourceId = UUID.randomUUID();
+        ScopeContext otherScopeContext = mock(ScopeContext.class);
+        when(otherScopeContext.getStudentScopeURN()).thenReturn(studentScopeURN);
+        when(otherScopeContext.getSourceId()).thenReturn(otherSourceId);
+        when(otherScopeContext.getContext()).thenReturn(Lists.newArrayList("selection"));
+        when(scopeContext.getContext()).thenReturn(Lists.newArrayList("valid"));
+        entries.put(sourceId, "{\"valid\":\"json\"}");
+        entries.put(otherSourceId, "{\"selection\":\"foo\"}");
+
+        Operand first = operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block();
+        Operand second = operandScopeResolver.resolve(new Operand().setResolver(otherScopeContext), DataType.STRING,
+                evaluationLearnerContext).block();
+        Operand again = operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block();
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotNull(again);
+        assertEquals("json", first.getResolvedValue());
+        assertEquals("foo", second.getResolvedValue());
+        assertEquals("json", again.getResolvedValue());
+        verify(studentScopeService, times(1)).findScopeId(deploymentId, studentId, studentScopeURN);
+        verify(studentScopeService, times(1)).fetchLatestEntries(scopeId);
+    }
+
+    @Test
+    void prefetch() {
+        when(scopeContext.getContext()).thenReturn(Lists.newArrayList("valid"));
+        entries.put(sourceId, "{\"valid\":\"json\"}");
+
+        operandScopeResolver.prefetch(Sets.newHashSet(studentScopeURN), evaluationLearnerContext).block();
+        Operand resolved = operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block();
+
+        assertNotNull(resolved);
+        assertEquals("json", resolved.getResolvedValue());
+        verify(studentScopeService, times(1)).fetchLatestEntries(scopeId);
+    }
+
+    @Test
+    void prefetch_scopeIdNotFound() {
+        when(studentScopeService.findScopeId(deploymentId, studentId, studentScopeURN)).thenReturn(Mono.empty());
+
+        // the failure is reported by the operand resolution
+        operandScopeResolver.prefetch(Sets.newHashSet(studentScopeURN), evaluationLearnerContext).block();
+        UnableToResolveException e = assertThrows(UnableToResolveException.class,
+                () -> operandScopeResolver.resolve(operand, DataType.STRING, evaluationLearnerContext).block());
+
+        assertTrue(e.getMessage().contains("scope id not found"));
+    }
+
     @Test
     void resolve_testContext_scopeEntryNotFound() {
         EvaluationTestContext evaluationTestContext = new EvaluationTestContext("{\"foo\":\"bar\"}");
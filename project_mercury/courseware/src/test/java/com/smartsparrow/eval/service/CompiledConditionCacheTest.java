@@ -0,0 +1,102 @@
+package com.smartsparrow.eval.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.smartsparrow.courseware.data.Scenario;
+import com.smartsparrow.courseware.lang.ScenarioConditionParserFault;
+import com.smartsparrow.eval.condition.CompiledCondition;
+import com.smartsparrow.eval.condition.ConditionEvaluator;
+import com.smartsparrow.eval.deserializer.ConditionDeserializer;
+import com.smartsparrow.eval.parser.ChainedCondition;
+
+import reactor.core.publisher.Mono;
+
+class CompiledConditionCacheTest {
+
+    @InjectMocks
+    private CompiledConditionCache compiledConditionCache;
+
+    @Mock
+    private ConditionDeserializer conditionDeserializer;
+
+    @Mock
+    private ConditionEvaluator conditionEvaluator;
+
+    private static final UUID scenarioId = UUID.randomUUID();
+    private static final String condition = "condition";
+    private static final String updatedCondition = "updated condition";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(conditionDeserializer.deserialize(any(String.class)))
+                .thenAnswer(invocation -> Mono.just(new ChainedCondition()));
+        when(conditionEvaluator.compile(any(ChainedCondition.class)))
+                .thenAnswer(invocation -> mock(CompiledCondition.class));
+    }
+
+    @Test
+    void get_compilesOnce() {
+        Scenario scenario = new Scenario().setId(scenarioId).setCondition(condition);
+
+        CompiledCondition first = compiledConditionCache.get(scenario).block();
+        CompiledCondition second = compiledConditionCache.get(scenario).block();
+
+        assertSame(first, second);
+        verify(conditionDeserializer, times(1)).deserialize(condition);
+        verify(conditionEvaluator, times(1)).compile(any(ChainedCondition.class));
+    }
+
+    @Test
+    void get_conditionChanged() {
+        CompiledCondition first = compiledConditionCache.get(new Scenario()
+                .setId(scenarioId)
+                .setCondition(condition)).block();
+        CompiledCondition second = compiledConditionCache.get(new Scenario()
+                .setId(scenarioId)
+                .setCondition(updatedCondition)).block();
+
+        assertNotSame(first, second);
+        verify(conditionDeserializer).deserialize(updatedCondition);
+        assertEquals(1, compiledConditionCache.size());
+    }
+
+    @Test
+    void invalidate() {
+        Scenario scenario = new Scenario().setId(scenarioId).setCondition(condition);
+        compiledConditionCache.get(scenario).block();
+
+        compiledConditionCache.invalidate(scenarioId);
+        assertEquals(0, compiledConditionCache.size());
+
+        compiledConditionCache.get(scenario).block();
+        verify(conditionDeserializer, times(2)).deserialize(condition);
+    }
+
+    @Test
+    void get_deserializationFails() {
+        when(conditionDeserializer.deserialize(condition))
+                .thenReturn(Mono.error(new ScenarioConditionParserFault(new IllegalArgumentException())));
+        Scenario scenario = new Scenario().setId(scenarioId).setCondition(condition);
+
+        assertThrows(ScenarioConditionParserFault.class, () -> compiledConditionCache.get(scenario).block());
+        assertEquals(0, compiledConditionCache.size());
+    }
+}
@@ -4,7 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -19,10 +19,11 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import com.google.common.collect.Lists;
+import com.smartsparrow.courseware.data.Scenario;
 import com.smartsparrow.courseware.lang.ScenarioConditionParserFault;
+import com.smartsparrow.eval.condition.CompiledCondition;
 import com.smartsparrow.eval.condition.ConditionEvaluator;
 import com.smartsparrow.eval.data.ScenarioEvaluationResult;
-import com.smartsparrow.eval.deserializer.ConditionDeserializer;
 import com.smartsparrow.eval.lang.ScenarioEvaluationException;
 import com.smartsparrow.eval.lang.UnableToResolveException;
 import com.smartsparrow.eval.parser.ChainedCondition;
@@ -42,12 +43,13 @@ public class ScenarioEvaluationRequestServiceTest {
     private LearnerScenario learnerScenario;
     private ChainedCondition deserializedCondition;
     private ChainedCondition resolvedCondition;
+    private CompiledCondition compiledCondition;
 
     @InjectMocks
     ScenarioEvaluationService scenarioEvaluationService;
 
     @Mock
-    ConditionDeserializer conditionDeserializer;
+    CompiledConditionCache compiledConditionCache;
 
     @Mock
     ConditionResolver conditionResolver;
@@ -70,18 +72,21 @@ public class ScenarioEvaluationRequestServiceTest {
         deserializedCondition = new ChainedCondition()
                 .setConditions(Lists.newArrayList(evaluator));
         resolvedCondition = mock(ChainedCondition.class);
+        compiledCondition = mock(CompiledCondition.class);
 
-        when(conditionDeserializer.deserialize(condition)).thenReturn(Mono.just(deserializedCondition));
+        when(compiledCondition.getSource()).thenReturn(deserializedCondition);
+        when(compiledConditionCache.get(learnerScenario)).thenReturn(Mono.just(compiledCondition));
+        when(conditionResolver.prefetch(any(), any())).thenReturn(Mono.empty());
         when(conditionResolver.resolve(deserializedCondition, evaluationLearnerContext)).thenReturn(Mono.just(resolvedCondition));
-        when(conditionEvaluator.evaluate(resolvedCondition)).thenReturn(true);
+        when(conditionEvaluator.evaluate(compiledCondition, resolvedCondition)).thenReturn(true);
 
     }
 
     @Test
     void evaluateCondition_deserializerFails() {
-        TestPublisher<ChainedCondition> publisher = TestPublisher.create();
+        TestPublisher<CompiledCondition> publisher = TestPublisher.create();
         publisher.error(new ScenarioConditionParserFault(new IllegalArgumentException()));
-        when(conditionDeserializer.deserialize(condition)).thenReturn(publisher.mono());
+        when(compiledConditionCache.get(learnerScenario)).thenReturn(publisher.mono());
 
         assertThrows(ScenarioEvaluationException.class,
                 () -> scenarioEvaluationService.evaluateCondition(learnerScenario, evaluationLearnerContext).block());
@@ -104,7 +109,7 @@ public class ScenarioEvaluationRequestServiceTest {
     @Test
     void evaluateCondition_evaluationFails() {
         doThrow(new UnsupportedOperationException("IS Operation not supported for supplied operand types"))
-                .when(conditionEvaluator).evaluate(resolvedCondition);
+                .when(conditionEvaluator).evaluate(compiledCondition, resolvedCondition);
 
         ScenarioEvaluationResult scenarioEvaluationResult = scenarioEvaluationService
                 .evaluateCondition(learnerScenario, evaluationLearnerContext).block();
@@ -116,11 +121,11 @@ public class ScenarioEvaluationRequestServiceTest {
 
     @Test
     void evaluateCondition_ConditionTypeNotFound() {
-        TestPublisher<ChainedCondition> publisher = TestPublisher.create();
+        TestPublisher<CompiledCondition> publisher = TestPublisher.create();
         publisher.error(new ScenarioConditionParserFault(new IllegalArgumentException()));
-        when(conditionDeserializer.deserialize(anyString())).thenReturn(publisher.mono());
+        when(compiledConditionCache.get(any(Scenario.class))).thenReturn(publisher.mono());
         doThrow(new RuntimeException())
-                .when(conditionEvaluator).evaluate(resolvedCondition);
+                .when(conditionEvaluator).evaluate(compiledCondition, resolvedCondition);
 
         assertThrows(ScenarioEvaluationException.class,
                 () -> scenarioEvaluationService.evaluateCondition(learnerScenario, evaluationLearnerContext).block());
@@ -137,7 +142,7 @@ public class ScenarioEvaluationRequestServiceTest {
 
     @Test
     void evaluateCondition_emptyConditions() {
-        when(conditionDeserializer.deserialize(anyString())).thenReturn(Mono.just(new ChainedCondition().setConditions(new ArrayList<>())));
+        when(compiledCondition.getSource()).thenReturn(new ChainedCondition().setConditions(new ArrayList<>()));
 
         ScenarioEvaluationResult result = scenarioEvaluationService.evaluateCondition(learnerScenario, evaluationLearnerContext)
                 .block();
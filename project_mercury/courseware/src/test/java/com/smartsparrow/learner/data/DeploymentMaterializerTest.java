@@ -0,0 +1,61 @@
+package com.smartsparrow.learner.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.datastax.driver.core.BoundStatement;
+import com.smartsparrow.dse.api.PreparedStatementCache;
+
+class DeploymentMaterializerTest {
+
+    private PreparedStatementCache stmtCache;
+    private DeploymentMaterializer deploymentMaterializer;
+
+    @BeforeEach
+    void setUp() {
+        stmtCache = mock(PreparedStatementCache.class);
+        when(stmtCache.asBoundStatement(anyString())).thenAnswer(invocation -> mock(BoundStatement.class));
+        deploymentMaterializer = new DeploymentMaterializer(stmtCache);
+    }
+
+    @Test
+    void declaredQueries_coverFixedQueries() {
+        UUID id = UUID.randomUUID();
+
+        deploymentMaterializer.findLatest(id);
+        deploymentMaterializer.findLatestByActivity(id, UUID.randomUUID());
+        deploymentMaterializer.findActivityByDeployment(id);
+
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(stmtCache, atLeastOnce()).asBoundStatement(captor.capture());
+        List<String> used = captor.getAllValues();
+
+        Collection<String> declared = deploymentMaterializer.declaredQueries();
+        assertEquals(3, declared.size());
+        assertTrue(declared.containsAll(used));
+    }
+
+    @Test
+    void declaredQueries_skipDynamicLimit() {
+        deploymentMaterializer.findLatestChangeIds(UUID.randomUUID(), 5);
+
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(stmtCache).asBoundStatement(captor.capture());
+
+        assertFalse(deploymentMaterializer.declaredQueries().contains(captor.getValue()));
+    }
+}
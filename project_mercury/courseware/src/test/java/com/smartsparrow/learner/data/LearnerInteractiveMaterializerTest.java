@@ -0,0 +1,41 @@
+package com.smartsparrow.learner.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.datastax.driver.core.BoundStatement;
+import com.smartsparrow.dse.api.PreparedStatementCache;
+
+class LearnerInteractiveMaterializerTest {
+
+    private PreparedStatementCache stmtCache;
+    private LearnerInteractiveMaterializer learnerInteractiveMaterializer;
+
+    @BeforeEach
+    void setUp() {
+        stmtCache = mock(PreparedStatementCache.class);
+        when(stmtCache.asBoundStatement(anyString())).thenReturn(mock(BoundStatement.class));
+        learnerInteractiveMaterializer = new LearnerInteractiveMaterializer(stmtCache);
+    }
+
+    @Test
+    void declaredQueries() {
+        learnerInteractiveMaterializer.findByLatestDeployment(UUID.randomUUID(), UUID.randomUUID());
+
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(stmtCache).asBoundStatement(captor.capture());
+
+        assertEquals(Collections.singletonList(captor.getValue()),
+                     learnerInteractiveMaterializer.declaredQueries());
+    }
+}
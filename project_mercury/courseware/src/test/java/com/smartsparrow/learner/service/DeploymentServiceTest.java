@@ -128,7 +128,9 @@ class DeploymentServiceTest {
                 .thenReturn(Flux.empty());
         when(learnerSearchableDocumentService.pruneIndex(any(UUID.class)))
                 .thenReturn(Mono.empty());
-        when(cacheService.clearIfPresent(any())).thenReturn(Mono.just(true));
+        when(cacheService.invalidateTag(any())).thenReturn(Mono.just(0L));
+        when(learnerPathwayService.persistWalkableChildren(any(UUID.class), any(DeployedActivity.class), any()))
+                .thenReturn(Flux.empty());
 
         mockLogMethods(deploymentLogService);
     }
@@ -259,7 +261,7 @@ class DeploymentServiceTest {
         publisher.error(new PublishInteractiveException(interactiveId, "fubar"));
 
         when(learnerInteractiveService.publish(eq(pathwayId), eq(interactiveId), any(DeployedActivity.class),
-                                               anyBoolean())).thenReturn(publisher.mono());
+                                               anyBoolean(), eq(false))).thenReturn(publisher.mono());
 
         PublishCoursewareException e = assertThrows(PublishCoursewareException.class,
                 () -> deploymentService.deploy(activityId, cohortId,null, lockPluginVersionEnabled).block());
@@ -284,7 +286,7 @@ class DeploymentServiceTest {
 
         when(pathwayService.getOrderedWalkableChildren(pathwayId)).thenReturn(Mono.just(Lists.newArrayList(child)));
 
-        when(learnerInteractiveService.publish(eq(pathwayId), eq(interactiveId), any(DeployedActivity.class), anyBoolean()))
+        when(learnerInteractiveService.publish(eq(pathwayId), eq(interactiveId), any(DeployedActivity.class), anyBoolean(), eq(false)))
                 .thenReturn(Mono.just(new LearnerInteractive().setId(interactiveId)));
 
         TestPublisher<LearnerFeedback> publisher = TestPublisher.create();
@@ -295,6 +297,9 @@ class DeploymentServiceTest {
         when(learnerComponentService.publish(eq(interactiveId), any(DeployedActivity.class), eq(CoursewareElementType.INTERACTIVE),
                                              anyBoolean())).thenReturn(Flux.empty());
 
+        when(learnerScenarioService.publish(eq(interactiveId), any(DeployedActivity.class)))
+                .thenReturn(Flux.empty());
+
         PublishCoursewareException e = assertThrows(PublishCoursewareException.class,
                 () -> deploymentService.deploy(activityId, cohortId,null, false).block());
 
@@ -317,7 +322,7 @@ class DeploymentServiceTest {
 
         when(pathwayService.getOrderedWalkableChildren(pathwayId)).thenReturn(Mono.just(Lists.newArrayList(child)));
 
-        when(learnerActivityService.publish(eq(activityId), any(DeployedActivity.class), eq(pathwayId), anyBoolean()))
+        when(learnerActivityService.publish(eq(activityId), any(DeployedActivity.class), eq(pathwayId), anyBoolean(), eq(false)))
                 .thenReturn(Mono.empty());
 
         assertThrows(StackOverflowError.class, () -> deploymentService.deploy(activityId, cohortId, null, false).block());
@@ -338,7 +343,7 @@ class DeploymentServiceTest {
 
         when(pathwayService.getOrderedWalkableChildren(pathwayId)).thenReturn(Mono.just(Lists.newArrayList(child)));
 
-        when(learnerInteractiveService.publish(eq(pathwayId), eq(interactiveId), any(DeployedActivity.class), anyBoolean()))
+        when(learnerInteractiveService.publish(eq(pathwayId), eq(interactiveId), any(DeployedActivity.class), anyBoolean(), eq(false)))
                 .thenReturn(Mono.just(new LearnerInteractive().setId(interactiveId)));
 
         when(learnerFeedbackService.publish(eq(interactiveId), any(DeployedActivity.class), anyBoolean())).thenReturn(Flux.empty());
@@ -354,6 +359,8 @@ class DeploymentServiceTest {
         assertNotNull(deployment);
         assertEquals(activityId, deployment.getActivityId());
         assertEquals(changeId, deployment.getChangeId());
+        verify(learnerPathwayService).persistWalkableChildren(eq(pathwayId), any(DeployedActivity.class),
+                                                              eq(Lists.newArrayList(child)));
 
         verify(deploymentLogService, times(1))
                 .logStartedStep(any(Deployment.class), eq(activityId), eq(CoursewareElementType.ACTIVITY), anyString());
@@ -376,7 +383,7 @@ class DeploymentServiceTest {
 
         when(pathwayService.getOrderedWalkableChildren(pathwayId)).thenReturn(Mono.just(Lists.newArrayList(child)));
 
-        when(learnerInteractiveService.publish(eq(pathwayId), eq(interactiveId), any(DeployedActivity.class), anyBoolean()))
+        when(learnerInteractiveService.publish(eq(pathwayId), eq(interactiveId), any(DeployedActivity.class), anyBoolean(), eq(false)))
                 .thenReturn(Mono.just(new LearnerInteractive().setId(interactiveId)));
 
         when(learnerFeedbackService.publish(eq(interactiveId), any(DeployedActivity.class), anyBoolean())).thenReturn(Flux.empty());
@@ -4,13 +4,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -125,13 +129,16 @@ public class LearnerAssetServiceTest {
 
         when(learnerAssetGateway.fetchMetadata(assetId1)).thenReturn(Flux.empty());
 
+        final ImageSource imageSource = new ImageSource()
+                .setName(ImageSourceName.ORIGINAL)
+                .setUrl("aurl");
+        final Flux<ImageSource> imageSources = Flux.just(imageSource);
+
         when(learnerAssetGateway.fetchImageSources(assetId1))
-                .thenReturn(Flux.just(new ImageSource()
-                        .setName(ImageSourceName.ORIGINAL)
-                        .setUrl("aurl")));
+                .thenReturn(imageSources);
 
-        when(bronteAssetService.buildPublicUrl("aurl"))
-                .thenReturn(Mono.just("aresolvedUrl"));
+        when(bronteAssetService.buildPublicUrls(eq(imageSources), any()))
+                .thenReturn(Flux.just(Pair.of(imageSource, "aresolvedUrl")));
 
         List<AssetPayload> assetPayloads = learnerAssetService
                 .fetchAssetsForElementAndChangeId(elementId, changeId)
@@ -160,7 +167,7 @@ public class LearnerAssetServiceTest {
         when(coursewareAssetService.getAssetsFor(elementId))
                 .thenReturn(Flux.just(one, two));
 
-        when(learnerAssetGateway.persist(any(AssetIdByUrn.class), eq(CoursewareElement.from(elementId, type)), eq(deployment)))
+        when(learnerAssetGateway.persistAssets(anyList(), eq(CoursewareElement.from(elementId, type)), eq(deployment)))
                 .thenReturn(Flux.just(new Void[]{}));
 
         when(bronteAssetService.getAssetSummary(assetId1))
@@ -184,8 +191,8 @@ public class LearnerAssetServiceTest {
         learnerAssetService.publishAssetsFor(deployment, elementId, type)
                 .blockFirst();
 
-        verify(learnerAssetGateway).persist(eq(one), eq(CoursewareElement.from(elementId, type)), eq(deployment));
-        verify(learnerAssetGateway).persist(eq(two), eq(CoursewareElement.from(elementId, type)), eq(deployment));
+        // the associations of both assets are persisted in a single grouped write
+        verify(learnerAssetGateway).persistAssets(eq(Arrays.asList(one, two)), eq(CoursewareElement.from(elementId, type)), eq(deployment));
 
     }
 
@@ -206,7 +213,7 @@ public class LearnerAssetServiceTest {
         when(coursewareAssetService.getAssetsFor(elementId))
                 .thenReturn(Flux.just(one));
 
-        when(learnerAssetGateway.persist(any(AssetIdByUrn.class), eq(CoursewareElement.from(elementId, type)), eq(deployment)))
+        when(learnerAssetGateway.persistAssets(anyList(), eq(CoursewareElement.from(elementId, type)), eq(deployment)))
                 .thenReturn(Flux.just(new Void[]{}));
 
         when(bronteAssetService.getAssetSummary(assetId1))
@@ -222,7 +229,7 @@ public class LearnerAssetServiceTest {
 
         assertEquals(AssetProvider.AERO,assetSummary1.getProvider());
 
-        verify(learnerAssetGateway).persist(eq(one), eq(CoursewareElement.from(elementId, type)), eq(deployment));
+        verify(learnerAssetGateway).persistAssets(eq(Collections.singletonList(one)), eq(CoursewareElement.from(elementId, type)), eq(deployment));
     }
 
     @Test
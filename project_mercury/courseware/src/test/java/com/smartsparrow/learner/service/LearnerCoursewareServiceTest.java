@@ -98,7 +98,7 @@ class LearnerCoursewareServiceTest {
                 .thenReturn(rootElementParentPathwayPublisher.mono());
 
         when(changeIdCache.get(eq(deploymentId))).thenReturn(changeId);
-        when(cacheService.computeIfAbsent(any(), any(), any(), eq(365L), eq(TimeUnit.DAYS))).thenAnswer(invocation -> invocation.getArgument(2));
+        when(cacheService.computeIfAbsent(any(), any(), any(), eq(365L), eq(TimeUnit.DAYS), any())).thenAnswer(invocation -> invocation.getArgument(2));
     }
 
     @Test
@@ -117,6 +117,33 @@ class LearnerPathwayServiceTest {
         when(cacheService.computeIfAbsent(any(), any(), any())).thenAnswer(invocation -> invocation.getArgument(2));
     }
 
+    @Test
+    void persistWalkableChildren() {
+        UUID activityId = UUID.randomUUID();
+        UUID interactiveId = UUID.randomUUID();
+        ArgumentCaptor<LearnerWalkablePathwayChildren> captor = ArgumentCaptor.forClass(LearnerWalkablePathwayChildren.class);
+        when(learnerPathwayGateway.persistChildWalkable(captor.capture())).thenReturn(Flux.empty());
+
+        learnerPathwayService.persistWalkableChildren(pathwayId, deployment, Lists.newArrayList(
+                new WalkableChild().setElementId(activityId).setElementType(CoursewareElementType.ACTIVITY),
+                new WalkableChild().setElementId(interactiveId).setElementType(CoursewareElementType.INTERACTIVE)))
+                .blockLast();
+
+        LearnerWalkablePathwayChildren children = captor.getValue();
+        assertEquals(pathwayId, children.getPathwayId());
+        assertEquals(deploymentId, children.getDeploymentId());
+        assertEquals(changeId, children.getChangeId());
+        assertEquals(Lists.newArrayList(activityId, interactiveId), children.getWalkableIds());
+        assertEquals(CoursewareElementType.INTERACTIVE.name(), children.getWalkableTypes().get(interactiveId));
+    }
+
+    @Test
+    void persistWalkableChildren_noChildren() {
+        learnerPathwayService.persistWalkableChildren(pathwayId, deployment, Lists.newArrayList()).blockLast();
+
+        verify(learnerPathwayGateway, never()).persistChildWalkable(any());
+    }
+
     @Test
     void publish_nullParentActivityId() {
         PublishPathwayException e = assertThrows(PublishPathwayException.class,
@@ -47,7 +47,7 @@ public class ConfigurationSchemaFieldTest {
         files.put("configSchema.json", configSchemaFile);
 
         PluginParserContext pluginParserContext = new PluginParserContext()
-                .setFiles(files)
+                .setFiles(PluginPackage.of(files))
                 .setPluginType(PluginType.COMPONENT);
         Map<String, Object> jsonObject = new HashMap<>();
         jsonObject.put(PluginParserConstant.CONFIG_SCHEMA, "configSchema.json");
@@ -78,7 +78,7 @@ public class ConfigurationSchemaFieldTest {
     void parse_Error_missingConfigSchemaFile() {
         Map<String, File> files = new HashMap<>();
         PluginParserContext pluginParserContext = new PluginParserContext()
-                .setFiles(files)
+                .setFiles(PluginPackage.of(files))
                 .setPluginType(PluginType.COMPONENT);
         Map<String, Object> jsonObject = new HashMap<>();
         jsonObject.put(PluginParserConstant.CONFIG_SCHEMA, "config.schema.json");
@@ -29,7 +29,7 @@ public class GuideFieldTest {
         Map<String, File> files = new HashMap<>();
         files.put("guide.md", new File(""));
         PluginParserContext pluginParserContext = new PluginParserContext()
-                .setFiles(files);
+                .setFiles(PluginPackage.of(files));
         Map<String, Object> jsonObject = new HashMap<>();
         jsonObject.put(PluginParserConstant.GUIDE, "guide.md");
         guideField = new GuideField(PluginParserConstant.GUIDE, jsonObject);
@@ -49,7 +49,7 @@ public class GuideFieldTest {
     void parse_missingGuildeFile() {
         Map<String, File> files = new HashMap<>();
         PluginParserContext pluginParserContext = new PluginParserContext()
-                .setFiles(files);
+                .setFiles(PluginPackage.of(files));
         Map<String, Object> jsonObject = new HashMap<>();
         jsonObject.put(PluginParserConstant.GUIDE, "guide.md");
         guideField = new GuideField(PluginParserConstant.GUIDE, jsonObject);
@@ -29,7 +29,7 @@ public class PluginNameFallbackTest {
         Map<String, File> files = new HashMap<>();
         files.put("package.json",packageFile );
         PluginParserContext pluginParserContext = new PluginParserContext()
-                .setFiles(files);
+                .setFiles(PluginPackage.of(files));
         String pluginName = nameFallback.apply(pluginParserContext);
         assertNotNull(pluginName);
     }
@@ -77,7 +77,7 @@ public class PluginParserServiceTest {
                 .setViews(new HashMap<>());
 
         when(pluginParser.parse(Mockito.any(), Mockito.any())).thenReturn(pluginParsedFields);
-        PluginParsedFields pluginPublishFields = pluginParserService.parse(files, PLUGIN_ID, ZIP_HASH, publisherId);
+        PluginParsedFields pluginPublishFields = pluginParserService.parse(PluginPackage.of(files), PLUGIN_ID, ZIP_HASH, publisherId);
         assertNotNull(pluginPublishFields);
         assertNotNull(pluginPublishFields.getPluginManifest());
         assertNotNull(pluginPublishFields.getSearchableFields());
@@ -96,7 +96,7 @@ public class PluginParserServiceTest {
                 .setViews(new HashMap<>());
 
         when(pluginParser.parse(Mockito.any(), Mockito.any())).thenReturn(pluginParsedFields);
-        PluginParsedFields pluginPublishFields = pluginParserService.parse(files, PLUGIN_ID, ZIP_HASH, publisherId);
+        PluginParsedFields pluginPublishFields = pluginParserService.parse(PluginPackage.of(files), PLUGIN_ID, ZIP_HASH, publisherId);
         assertNotNull(pluginPublishFields);
         assertNotNull(pluginPublishFields.getPluginManifest());
         assertNotNull(pluginPublishFields.getSearchableFields());
@@ -112,7 +112,7 @@ public class PluginParserServiceTest {
         files.put(PluginParserConstant.PACKAGE_JSON, plugin);
 
         Throwable t = assertThrows(IllegalArgumentException.class, () -> {
-            pluginParserService.parse(files, PLUGIN_ID, ZIP_HASH, publisherId);
+            pluginParserService.parse(PluginPackage.of(files), PLUGIN_ID, ZIP_HASH, publisherId);
         });
         assertTrue(t.getMessage().contains("bronte is missing in package.json"));
     }
@@ -121,7 +121,7 @@ public class PluginParserServiceTest {
     void parse_ERROR_manifestPackageMissing() {
         Map<String, File> files = new HashMap<>();
         Throwable t = assertThrows(IllegalArgumentException.class, () -> {
-            pluginParserService.parse(files, PLUGIN_ID, ZIP_HASH, publisherId);
+            pluginParserService.parse(PluginPackage.of(files), PLUGIN_ID, ZIP_HASH, publisherId);
         });
         assertTrue(t.getMessage().contains("file missing"));
     }
@@ -36,7 +36,7 @@ public class ScreenshotFieldTest {
         files.put("img/mercury.jpg", screenshot);
 
         PluginParserContext pluginParserContext = new PluginParserContext()
-                .setFiles(files);
+                .setFiles(PluginPackage.of(files));
         Map<String, Object> jsonObject = new HashMap<>();
         List<String> screenShots = new ArrayList<>();
         screenShots.add("img/mercury.jpg");
@@ -50,7 +50,7 @@ public class ScreenshotFieldTest {
     void parse_ERROR() {
         Map<String, File> files = new HashMap<>();
         PluginParserContext pluginParserContext = new PluginParserContext()
-                .setFiles(files);
+                .setFiles(PluginPackage.of(files));
         Map<String, Object> jsonObject = new HashMap<>();
         List<String> screenShots = new ArrayList<>();
         screenShots.add("img/mercury.jpg");
@@ -33,7 +33,7 @@ public class ThumbnailFieldTest {
         files.put("img/thumbnail.png", thumbnail);
 
         PluginParserContext pluginParserContext = new PluginParserContext()
-                .setFiles(files);
+                .setFiles(PluginPackage.of(files));
         Map<String, Object> jsonObject = new HashMap<>();
         jsonObject.put(PluginParserConstant.THUMBNAIL, "img/thumbnail.png");
         thumbnailField = new ThumbnailField(PluginParserConstant.THUMBNAIL, jsonObject);
@@ -45,7 +45,7 @@ public class ThumbnailFieldTest {
     void parse_ERROR_missingThumbNailFile() {
         Map<String, File> files = new HashMap<>();
         PluginParserContext pluginParserContext = new PluginParserContext()
-                .setFiles(files);
+                .setFiles(PluginPackage.of(files));
         Map<String, Object> jsonObject = new HashMap<>();
         jsonObject.put(PluginParserConstant.THUMBNAIL, "img/thumbnail.png");
         thumbnailField = new ThumbnailField(PluginParserConstant.THUMBNAIL, jsonObject);
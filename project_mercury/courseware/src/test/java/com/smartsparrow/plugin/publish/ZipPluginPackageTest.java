@@ -0,0 +1,66 @@
+package com.smartsparrow.plugin.publish;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipException;
+
+import org.junit.jupiter.api.Test;
+
+class ZipPluginPackageTest {
+
+    @Test
+    void open() throws IOException, URISyntaxException {
+        try (ZipPluginPackage pluginPackage = ZipPluginPackage.open(load("plugin_package.zip"))) {
+            assertTrue(pluginPackage.contains("package.json"));
+            assertTrue(pluginPackage.contains("img/thumbnail.png"));
+            // directories are not files of the package
+            assertFalse(pluginPackage.contains("img/"));
+            assertEquals(23784, pluginPackage.getSize("img/thumbnail.png"));
+            assertEquals(-1, pluginPackage.getSize("missing.png"));
+
+            try (InputStream inputStream = pluginPackage.open("img/thumbnail.png")) {
+                assertEquals(23784, inputStream.readAllBytes().length);
+            }
+        }
+    }
+
+    @Test
+    void getFileContent() throws IOException, URISyntaxException {
+        try (ZipPluginPackage pluginPackage = ZipPluginPackage.open(load("plugin_package.zip"))) {
+            String content = pluginPackage.getFileContent("package.json");
+            assertNotNull(content);
+            assertTrue(content.startsWith("{"));
+            assertFalse(content.contains("\n"));
+        }
+    }
+
+    @Test
+    void getFileContent_missing() throws IOException, URISyntaxException {
+        try (ZipPluginPackage pluginPackage = ZipPluginPackage.open(load("plugin_package.zip"))) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> pluginPackage.getFileContent("manifest.json"));
+            assertEquals("manifest.json file missing", e.getMessage());
+        }
+    }
+
+    @Test
+    void open_notAZip() {
+        assertThrows(ZipException.class, () -> ZipPluginPackage.open(load("plugin_not_a_zip.zip")));
+    }
+
+    private Path load(String name) throws URISyntaxException {
+        URL url = getClass().getClassLoader().getResource(name);
+        assertNotNull(url);
+        return Paths.get(url.toURI());
+    }
+}
@@ -45,6 +45,7 @@ import org.mockito.MockitoAnnotations;
 import com.datastax.driver.core.utils.UUIDs;
 import com.google.common.collect.Sets;
 import com.google.inject.Provider;
+import com.smartsparrow.cache.service.CacheService;
 import com.smartsparrow.courseware.data.ActivityGateway;
 import com.smartsparrow.courseware.data.ComponentGateway;
 import com.smartsparrow.courseware.data.InteractiveGateway;
@@ -82,6 +83,7 @@ import com.smartsparrow.plugin.lang.S3BucketUploadException;
 import com.smartsparrow.plugin.lang.VersionParserFault;
 import com.smartsparrow.plugin.payload.PluginPayload;
 import com.smartsparrow.plugin.payload.PluginSummaryPayload;
+import com.smartsparrow.plugin.publish.PluginPackage;
 import com.smartsparrow.plugin.publish.PluginParsedFields;
 import com.smartsparrow.plugin.publish.PluginParserService;
 import com.smartsparrow.plugin.wiring.PluginConfig;
@@ -371,7 +373,7 @@ class PluginServiceTest {
         pluginService = new PluginService(pluginGateway, pluginConfigProvider, s3Bucket, pluginAccessGateway,
                                           accountService, pluginPermissionService, teamService, schemaValidationService,
                                           pluginSchemaParser, pluginParserService, activityGateway, interactiveGateway,
-                                          componentGateway);
+                                          componentGateway, new PluginVersionIndex(mock(CacheService.class)));
 
         account = mock(Account.class);
         name = "plugin name";
@@ -1073,7 +1075,7 @@ class PluginServiceTest {
         when(pluginGateway.fetchPluginManifestByIdVersion(any(), anyString())).thenReturn(Mono.just(new PluginManifest()));
         when(pluginParserService.parse(any(),any(),anyString(),any())).thenReturn(getPluginPublishFields());
 
-        doThrow(S3BucketUploadException.class).when(s3Bucket).uploadPlugin(any(PluginManifest.class), any(File.class), any());
+        doThrow(S3BucketUploadException.class).when(s3Bucket).uploadPlugin(any(PluginManifest.class), any(File.class), any(PluginPackage.class));
 
         assertNotNull(plugin);
         assertThrows(PluginPublishException.class, () -> {
@@ -1262,7 +1264,7 @@ class PluginServiceTest {
         try (FileInputStream fileInputStream = new FileInputStream(plugin)) {
             PublishedPlugin publishedPlugin = pluginService.publish(fileInputStream, pluginFileName, publisherId, pluginId);
             assertNotNull(publishedPlugin);
-            verify(s3Bucket, atLeastOnce()).uploadPlugin(any(PluginManifest.class), any(File.class), any());
+            verify(s3Bucket, atLeastOnce()).uploadPlugin(any(PluginManifest.class), any(File.class), any(PluginPackage.class));
             verify(pluginGateway, atLeastOnce()).persistSummary(any(PluginSummary.class));
             return publishedPlugin;
         }
@@ -0,0 +1,134 @@
+package com.smartsparrow.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.plugin.data.PluginVersion;
+import com.smartsparrow.plugin.lang.VersionParserFault;
+
+import reactor.core.publisher.Flux;
+
+class PluginVersionIndexTest {
+
+    private PluginVersionIndex pluginVersionIndex;
+    private CacheService cacheService;
+    private AtomicInteger loaded;
+
+    private static final UUID pluginId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        cacheService = mock(CacheService.class);
+        pluginVersionIndex = new PluginVersionIndex(cacheService);
+        loaded = new AtomicInteger();
+    }
+
+    @Test
+    void resolve_indexed() {
+        assertEquals("1.2.0", resolve("1.2.0"));
+        assertEquals("2.0.0", resolve("*"));
+
+        assertEquals(1, loaded.get());
+        assertEquals(1, pluginVersionIndex.size());
+    }
+
+    @Test
+    void resolve_wildcard() {
+        assertEquals("1.10.3", resolve("1.*"));
+        assertEquals("1.2.1", resolve("1.2.*"));
+        assertEquals("1.2.1", resolve("1.2.x"));
+        assertEquals("2.0.0", resolve("2.*"));
+        assertNull(resolve("1.3.*"));
+        assertNull(resolve("3.*"));
+        assertNull(resolve("0.*"));
+    }
+
+    @Test
+    void resolve_exact() {
+        assertEquals("1.10.3", resolve("1.10.3"));
+        assertEquals("2.1.0-beta", resolve("2.1.0-beta"));
+        assertEquals("1.2.1+001", resolve("1.2.1+001"));
+        assertNull(resolve("2.1.0"));
+        assertNull(resolve("1.2.2"));
+    }
+
+    @Test
+    void resolve_expression() {
+        assertEquals("1.2.1", resolve(">=1.2.0 & <1.3.0"));
+        assertEquals("2.0.0", resolve(">1.10.3"));
+    }
+
+    @Test
+    void resolve_invalidExpression() {
+        assertThrows(VersionParserFault.class, () -> resolve("*2.0.0"));
+    }
+
+    @Test
+    void invalidate() {
+        resolve("1.*");
+
+        pluginVersionIndex.invalidate(pluginId);
+
+        assertEquals(0, pluginVersionIndex.size());
+        resolve("1.*");
+        assertEquals(2, loaded.get());
+        verify(cacheService).broadcastInvalidation(PluginVersionIndex.LOCAL_CACHE_NAME,
+                Collections.singletonList(pluginId.toString()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void invalidate_fromOtherNode() {
+        ArgumentCaptor<Consumer<List<String>>> invalidator = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheService).registerLocalCache(eq(PluginVersionIndex.LOCAL_CACHE_NAME), invalidator.capture());
+        resolve("1.*");
+
+        invalidator.getValue().accept(Collections.singletonList(pluginId.toString()));
+
+        assertEquals(0, pluginVersionIndex.size());
+        resolve("1.*");
+        assertEquals(2, loaded.get());
+        verify(cacheService, never()).broadcastInvalidation(any(), any());
+    }
+
+    private String resolve(final String versionExpr) {
+        return pluginVersionIndex.resolve(pluginId, versionExpr, () -> Flux.defer(() -> {
+            loaded.incrementAndGet();
+            // unordered, as returned by the storage within the same major, minor and patch
+            return Flux.just(
+                    version(1, 2, 0),
+                    version(2, 1, 0).setPreRelease("beta"),
+                    version(1, 2, 1).setBuild("001"),
+                    version(1, 2, 1),
+                    version(1, 10, 3),
+                    version(2, 0, 0),
+                    version(1, 1, 9));
+        })).block();
+    }
+
+    private static PluginVersion version(final int major, final int minor, final int patch) {
+        return new PluginVersion()
+                .setPluginId(pluginId)
+                .setMajor(major)
+                .setMinor(minor)
+                .setPatch(patch)
+                .setReleaseDate(System.currentTimeMillis());
+    }
+}
@@ -9,12 +9,18 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -25,6 +31,7 @@ import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.google.inject.Provider;
 import com.smartsparrow.plugin.data.PluginManifest;
 import com.smartsparrow.plugin.lang.S3BucketUploadException;
+import com.smartsparrow.plugin.publish.PluginPackage;
 import com.smartsparrow.plugin.wiring.PluginConfig;
 import com.smartsparrow.plugin.wiring.SchemaConfig;
 
@@ -124,4 +131,56 @@ class S3BucketTest {
         }
     }
 
+    @Test
+    void uploadPlugin_package(@TempDir Path directory) throws S3BucketUploadException, IOException {
+        PluginConfig config = new PluginConfig();
+        config.setDistributionBucketName(DISTRIBUTION_BUCKET);
+        config.setRepositoryBucketName(REPOSITORY_BUCKET);
+        setUp(config);
+
+        Map<String, File> files = new HashMap<>(2);
+        files.put("index.js", Files.write(directory.resolve("index.js"), "content".getBytes(StandardCharsets.UTF_8)).toFile());
+        files.put("img/thumbnail.png", Files.write(directory.resolve("thumbnail.png"), new byte[16]).toFile());
+
+        PluginManifest manifest = new PluginManifest().setPluginId(pluginId).setVersion(version).setZipHash(zipHash);
+
+        s3bucket.uploadPlugin(manifest, zip, PluginPackage.of(files));
+
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client, times(3)).putObject(captor.capture());
+
+        // the uploads run in parallel, the requests can be in any order
+        Map<String, PutObjectRequest> reqs = captor.getAllValues().stream()
+                .collect(Collectors.toMap(PutObjectRequest::getKey, req -> req));
+
+        PutObjectRequest zipReq = reqs.get(pluginId + "/" + version + "/" + zipHash + ".zip");
+        assertEquals(REPOSITORY_BUCKET, zipReq.getBucketName());
+        assertEquals(zip, zipReq.getFile());
+        assertEquals("application/zip", zipReq.getMetadata().getContentType());
+
+        PutObjectRequest indexReq = reqs.get(pluginId + "/" + zipHash + "/index.js");
+        assertEquals(DISTRIBUTION_BUCKET, indexReq.getBucketName());
+        assertEquals(7, indexReq.getMetadata().getContentLength());
+        assertEquals("max-age=31536000", indexReq.getMetadata().getCacheControl());
+
+        PutObjectRequest thumbnailReq = reqs.get(pluginId + "/" + zipHash + "/img/thumbnail.png");
+        assertEquals(DISTRIBUTION_BUCKET, thumbnailReq.getBucketName());
+        assertEquals(16, thumbnailReq.getMetadata().getContentLength());
+        assertEquals("image/png", thumbnailReq.getMetadata().getContentType());
+    }
+
+    @Test
+    void uploadPlugin_packageUploadException() {
+        PluginConfig config = new PluginConfig();
+        config.setDistributionBucketName(DISTRIBUTION_BUCKET);
+        config.setRepositoryBucketName(REPOSITORY_BUCKET);
+        setUp(config);
+
+        PluginManifest manifest = new PluginManifest().setPluginId(pluginId).setVersion(version).setZipHash(zipHash);
+
+        when(s3Client.putObject(any())).thenThrow(AmazonClientException.class);
+
+        assertThrows(S3BucketUploadException.class, () -> s3bucket.uploadPlugin(manifest, zip, PluginPackage.of(new HashMap<>())));
+    }
+
 }
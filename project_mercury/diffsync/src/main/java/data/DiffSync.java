@@ -28,7 +28,7 @@ public class DiffSync {
     private final ServerBackup serverBackup;
     private final Channel channel;
     private List<Patch> editPatchList;
-    private DiffSyncGateway diffSyncGateway;
+    private final DiffSyncWriteBehind diffSyncWriteBehind;
 
     @Inject
     public DiffSync(final ServerShadow serverShadow,
@@ -36,14 +36,14 @@ public class DiffSync {
                     final Channel channel,
                     final DiffSyncEntity diffSyncEntity,
                     final DiffSyncIdentifier diffSyncIdentifier,
-                    final DiffSyncGateway diffSyncGateway) {
+                    final DiffSyncWriteBehind diffSyncWriteBehind) {
         this.serverShadow = serverShadow;
         this.serverBackup = serverBackup;
         this.channel = channel;
         this.diffSyncEntity = diffSyncEntity;
         editPatchList = new ArrayList<>();
         this.diffSyncIdentifier = diffSyncIdentifier;
-        this.diffSyncGateway = diffSyncGateway;
+        this.diffSyncWriteBehind = diffSyncWriteBehind;
     }
 
     /**
@@ -53,16 +53,26 @@ public class DiffSync {
      * @param ack the client or server acknowledgment message
      */
     public Mono<Ack> handleAck(Ack ack) {
+        return Mono.just(applyAck(ack));
+    }
+
+    /**
+     * Clear the edits up to the acknowledged server version, see {@link #handleAck(Ack)}
+     *
+     * @param ack the client or server acknowledgment message
+     * @return the handled ack
+     */
+    Ack applyAck(Ack ack) {
         editPatchList = editPatchList.stream()
                 .filter(patch -> patch.getM().compareTo(ack.getM()) <= 0)
                 .collect(Collectors.toList());
         log.info("Ack has been handled to clear the edits up to the server version");
-        return Mono.just(ack);
+        return ack;
     }
 
     /**
      * This method handles list of patches and based on version apply the patches on server shadow, backup and server text
-     * and send the message through channel
+     * and send a single ack for the applied patches through channel
      * Also create diff between the server shadow and server text and send the diff patch to the channel.
      * If version doesn't match then rollback or throw exception
      *
@@ -70,6 +80,7 @@ public class DiffSync {
      * @param serverText the server text document
      */
     public Patch handlePatch(List<Patch> patches, ServerText serverText) {
+        boolean applied = false;
         // first check server is matching
         for (int i = 0; i < patches.size(); i++) {
             Patch patch = patches.get(i);
@@ -84,20 +95,12 @@ public class DiffSync {
                     serverText.apply(patch);
                     //update server backup from server shadow
                     getServerBackup().copyPatch(getServerShadow().getContent());
-                    //send ack to the client or server after patch done
-                    channel.send(Message.build(new Ack()
-                                                       .setClientId(getServerShadow().getDiffSyncIdentifier().getClientId())
-                                                       .setId(UUIDs.timeBased())
-                                                       .setM(getServerShadow().getM())
-                                                       .setN(getServerShadow().getN())));
-                    log.info("Ack has been sent to client/server");
-
-                    //persist each patch object to the patch summary table
-                    diffSyncGateway.savePatch(new PatchSummary(diffSyncEntity.getEntityId(),
-                                                               diffSyncEntity.getEntity(),
-                                                               patch))
-                            .doOnEach(log.reactiveInfo("Patch summary has been saved to diffsync.patch_summary table"))
-                            .subscribe();
+                    applied = true;
+
+                    //buffer each patch object, the patch summary rows are saved in groups
+                    diffSyncWriteBehind.writePatch(diffSyncEntity, new PatchSummary(diffSyncEntity.getEntityId(),
+                                                                                    diffSyncEntity.getEntity(),
+                                                                                    patch));
                     continue;
                 }
                 // otherwise, nothing to do
@@ -126,16 +129,21 @@ public class DiffSync {
                 serverText.apply(patch);
                 //update server backup from server shadow
                 getServerBackup().copyPatch(getServerShadow().getContent());
-                //send ack to the client or server after patch done
-                channel.send(Message.build(new Ack()
-                                                   .setClientId(getServerShadow().getDiffSyncIdentifier().getClientId())
-                                                   .setId(UUIDs.timeBased())
-                                                   .setM(getServerShadow().getM())
-                                                   .setN(getServerShadow().getN())));
+                applied = true;
             }
             // otherwise nothing to do
         }
 
+        if (applied) {
+            //send a single ack to the client or server once the patches are done, acknowledging the latest versions
+            channel.send(Message.build(new Ack()
+                                               .setClientId(getServerShadow().getDiffSyncIdentifier().getClientId())
+                                               .setId(UUIDs.timeBased())
+                                               .setM(new Version().setValue(getServerShadow().getM().getValue()))
+                                               .setN(new Version().setValue(getServerShadow().getN().getValue()))));
+            log.info("Ack has been sent to client/server");
+        }
+
         // diff between server shadow and server text
         Patch diffPatch = getServerShadow().diff(serverText);
         //increment server version m for server shadow after diff
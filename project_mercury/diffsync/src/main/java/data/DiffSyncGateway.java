@@ -1,5 +1,7 @@
 package data;
 
+import java.util.List;
+
 import com.datastax.driver.core.Session;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -42,4 +44,20 @@ public class DiffSyncGateway {
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
+    /**
+     * Save a group of patch summaries. The patch summaries are expected to be of different rows, statements of the
+     * same row would not be applied in order.
+     *
+     * @param patchSummaries the patch summaries to save
+     */
+    @Trace(async = true)
+    public Flux<Void> savePatches(final List<PatchSummary> patchSummaries) {
+        return Mutators.execute(session, Flux.fromIterable(patchSummaries).map(patchSummaryMutator::upsert))
+                .doOnError(throwable -> {
+                    log.error(String.format("error while saving %s patches", patchSummaries.size()), throwable);
+                    throw Exceptions.propagate(throwable);
+                })
+                .doOnEach(ReactiveTransaction.linkOnNext());
+    }
+
 }
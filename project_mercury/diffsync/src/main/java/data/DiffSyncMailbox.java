@@ -0,0 +1,144 @@
+package data;
+
+import java.util.HashMap;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.newrelic.api.agent.NewRelic;
+import com.smartsparrow.util.log.MercuryLogger;
+import com.smartsparrow.util.log.MercuryLoggerFactory;
+
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Single consumer mailbox owning the sync state of an entity. The patches and acks of all the clients editing the
+ * entity are enqueued without locking and applied in order by a single drainer, so they never interleave on the
+ * server text or on a diff sync stack.
+ *
+ * The drainer runs on the parallel scheduler and applies up to <code>diffsync.mailbox.batchSize</code> actions
+ * (default 64) before yielding the thread. The server text content is written once per batch when the batch
+ * changed it.
+ */
+public class DiffSyncMailbox {
+
+    private static final MercuryLogger log = MercuryLoggerFactory.getLogger(DiffSyncMailbox.class);
+
+    private static final int BATCH_SIZE = Integer.getInteger("diffsync.mailbox.batchSize", 64);
+
+    private final DiffSyncEntity diffSyncEntity;
+    private final ServerText serverText;
+    private final Consumer<String> contentWriter;
+    private final Queue<Action<?>> actions = new ConcurrentLinkedQueue<>();
+    // number of enqueued actions not yet applied, the enqueuer moving it from 0 schedules the drainer
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * @param diffSyncEntity the entity owning the mailbox
+     * @param serverText the server text document of the entity
+     * @param contentWriter writes the server text content after a batch changed it
+     */
+    public DiffSyncMailbox(final DiffSyncEntity diffSyncEntity,
+                           final ServerText serverText,
+                           final Consumer<String> contentWriter) {
+        this.diffSyncEntity = diffSyncEntity;
+        this.serverText = serverText;
+        this.contentWriter = contentWriter;
+    }
+
+    /**
+     * Enqueue an action on the sync state of the entity
+     *
+     * @param action the action applied to the server text of the entity by the drainer
+     * @param <T> the type of result
+     * @return a future completing with the action result once applied
+     */
+    public <T> CompletableFuture<T> submit(final Function<ServerText, T> action) {
+        Action<T> enqueued = new Action<>(action);
+        actions.offer(enqueued);
+        if (pending.getAndIncrement() == 0) {
+            Schedulers.parallel().schedule(this::drain);
+        }
+        return enqueued.result;
+    }
+
+    /**
+     * @return the server text document of the entity, only the drainer mutates it
+     */
+    public ServerText getServerText() {
+        return serverText;
+    }
+
+    /**
+     * @return the number of actions waiting to be applied
+     */
+    public int getDepth() {
+        return Math.max(pending.get(), 0);
+    }
+
+    private void drain() {
+        int depth = getDepth();
+        String content = serverText.getContent();
+
+        int applied = 0;
+        Action<?> action;
+        while (applied < BATCH_SIZE && (action = actions.poll()) != null) {
+            action.apply(serverText);
+            applied++;
+        }
+
+        // reference comparison, applying a patch always produces a new content
+        if (serverText.getContent() != content) {
+            try {
+                contentWriter.accept(serverText.getContent());
+            } catch (Throwable throwable) {
+                // the drainer must keep going, the next batch writes the content again
+                log.error("error writing the diff sync content", throwable);
+            }
+        }
+
+        NewRelic.recordMetric(metricName("Depth"), depth);
+        final int drained = applied;
+        log.jsonDebug("Diff sync mailbox drained", () -> new HashMap<String, Object>() {
+            {
+                put("entity", diffSyncEntity.getEntity());
+                put("depth", depth);
+                put("applied", drained);
+            }
+        });
+
+        // actions enqueued meanwhile are drained on a new task rather than holding on to the thread
+        if (pending.addAndGet(-applied) > 0) {
+            Schedulers.parallel().schedule(this::drain);
+        }
+    }
+
+    private String metricName(final String name) {
+        return "Custom/DiffSync/Mailbox/" + diffSyncEntity.getEntityType() + "/" + name;
+    }
+
+    private class Action<T> {
+
+        private final Function<ServerText, T> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long enqueuedNanos = System.nanoTime();
+
+        private Action(final Function<ServerText, T> action) {
+            this.action = action;
+        }
+
+        private void apply(final ServerText serverText) {
+            try {
+                result.complete(action.apply(serverText));
+            } catch (Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - enqueuedNanos);
+            NewRelic.recordResponseTimeMetric(metricName("Latency"), latencyMillis);
+        }
+    }
+}
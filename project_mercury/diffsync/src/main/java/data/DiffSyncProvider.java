@@ -1,7 +1,9 @@
 package data;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -11,10 +13,13 @@ public class DiffSyncProvider {
 
     // First key is entityTypeAndEntityId and second key is DIffSyncIdentifier urn
     private ConcurrentHashMap<String, ConcurrentHashMap<String, DiffSync>> diffSyncProviders;
+    // keyed by entityTypeAndEntityId
+    private final ConcurrentHashMap<String, DiffSyncMailbox> mailboxes;
 
     @Inject
     public DiffSyncProvider() {
         this.diffSyncProviders = new ConcurrentHashMap<>();
+        this.mailboxes = new ConcurrentHashMap<>();
     }
 
 
@@ -26,17 +31,27 @@ public class DiffSyncProvider {
      * @param diffSync the diff sync instance
      */
     public void add(final String entity, final String urn, DiffSync diffSync) {
-        ConcurrentHashMap<String, DiffSync> newDiffSync = new ConcurrentHashMap<>();
-        newDiffSync.put(urn, diffSync);
+        diffSyncProviders.computeIfAbsent(entity, key -> new ConcurrentHashMap<>())
+                .put(urn, diffSync);
+    }
 
-        if (diffSyncProviders.get(entity) != null) {
+    /**
+     * Get the mailbox of an entity, creating it when the entity has none
+     *
+     * @param entity the entity(entityType and entityId)
+     * @param mailboxSupplier supplies the mailbox of the entity when missing
+     * @return the mailbox of the entity
+     */
+    public DiffSyncMailbox addMailbox(final String entity, final Supplier<DiffSyncMailbox> mailboxSupplier) {
+        return mailboxes.computeIfAbsent(entity, key -> mailboxSupplier.get());
+    }
 
-            ConcurrentHashMap<String, DiffSync> diffSyncs = diffSyncProviders.get(entity);
-            diffSyncs.putAll(newDiffSync);
-            diffSyncProviders.put(entity, diffSyncs);
-        } else {
-            diffSyncProviders.put(entity, newDiffSync);
-        }
+    /**
+     * @param entity the entity(entityType and entityId)
+     * @return the mailbox of the entity or <code>null</code> when the diff sync of the entity is not started
+     */
+    public DiffSyncMailbox getMailbox(final String entity) {
+        return mailboxes.get(entity);
     }
 
     /**
@@ -45,7 +60,8 @@ public class DiffSyncProvider {
      * @return collection of diff sync
      */
     public Collection<DiffSync> getDiffSyncByEntity(final String entity) {
-        return diffSyncProviders.get(entity).values();
+        ConcurrentHashMap<String, DiffSync> diffSyncs = diffSyncProviders.get(entity);
+        return diffSyncs == null ? Collections.emptyList() : diffSyncs.values();
     }
 
     /**
@@ -55,18 +71,18 @@ public class DiffSyncProvider {
      * @return boolean
      */
     public boolean isDiffSyncPresent(final String entity, final String urn) {
-        return diffSyncProviders.get(entity).containsKey(urn);
+        ConcurrentHashMap<String, DiffSync> diffSyncs = diffSyncProviders.get(entity);
+        return diffSyncs != null && diffSyncs.containsKey(urn);
     }
 
     /**
-     * This method remove diff sync instance by entity
+     * This method remove diff sync instances and the mailbox by entity
      *
      * @param entity the entity info(entity type and entity id)
      */
     public void remove(String entity) {
-        if (diffSyncProviders.get(entity) != null) {
-            diffSyncProviders.remove(entity);
-        }
+        diffSyncProviders.remove(entity);
+        mailboxes.remove(entity);
     }
 
     /**
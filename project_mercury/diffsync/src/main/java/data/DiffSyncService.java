@@ -17,67 +17,57 @@ public class DiffSyncService {
 
     private static final MercuryLogger log = MercuryLoggerFactory.getLogger(DiffSyncService.class);
 
-    private final ServerText serverText;
     private final DiffSyncProvider diffSyncProvider;
     private final Map<EntityType, Provider<SynchronizableService>> synchronizableServiceProviders;
-    private final DiffSyncGateway diffSyncGateway;
+    private final DiffSyncWriteBehind diffSyncWriteBehind;
 
     @Inject
-    public DiffSyncService(final ServerText serverText,
-                           final DiffSyncProvider diffSyncProvider,
+    public DiffSyncService(final DiffSyncProvider diffSyncProvider,
                            final Map<EntityType, Provider<SynchronizableService>> synchronizableServiceProviders,
-                           final DiffSyncGateway diffSyncGateway) {
-        this.serverText = serverText;
+                           final DiffSyncWriteBehind diffSyncWriteBehind) {
         this.diffSyncProvider = diffSyncProvider;
         this.synchronizableServiceProviders = synchronizableServiceProviders;
-        this.diffSyncGateway = diffSyncGateway;
+        this.diffSyncWriteBehind = diffSyncWriteBehind;
     }
 
     /**
-     * Sync Patch request
+     * Sync Patch request. The patches are enqueued on the entity mailbox straight away and applied in order with the
+     * patches of the other clients of the entity, the updated content is persisted by the write-behind buffer.
      *
      * @param diffSyncEntity the entity info
      * @param diffSyncIdentifier the diff sync identifier
      * @param patches the list of patch request
      * @return mono of diff patch
+     * @throws DiffSyncProviderFault when the diff sync is not started for the entity and identifier
      */
     public Mono<Patch> syncPatch(final DiffSyncEntity diffSyncEntity,
                                  final List<Patch> patches,
                                  final DiffSyncIdentifier diffSyncIdentifier) {
-        ConcurrentHashMap<String, DiffSync> diffSyncMap = diffSyncProvider.getDiffSyncs().get(diffSyncEntity.getEntity());
-        DiffSync diffSync = diffSyncMap.get(diffSyncIdentifier.getUrn());
-        Patch diffPatch = diffSync.handlePatch(patches, serverText);
-        //fetch server text content and persist the updated content into DB
-        if(synchronizableServiceProviders.get(diffSyncEntity.getEntityType()) != null) {
-            SynchronizableService synchronizableService = synchronizableServiceProviders.get(diffSyncEntity.getEntityType()).get();
-            synchronizableService.persist(diffSyncEntity, serverText.getContent())
-                    .doOnEach(log.reactiveInfo("Updated server content has been saved as config"))
-                    .subscribe();
-        } else {
-            throw new DiffSyncProviderFault(String.format("Diff Sync service provider is not initialized with entity %s",
-                                                         diffSyncEntity.getEntityType()));
-        }
-        return Mono.just(diffPatch);
+        DiffSync diffSync = getDiffSync(diffSyncEntity, diffSyncIdentifier);
+        DiffSyncMailbox mailbox = getMailbox(diffSyncEntity);
+        return Mono.fromFuture(mailbox.submit(serverText -> diffSync.handlePatch(patches, serverText)));
     }
 
     /**
-     * Diff sync ack
+     * Diff sync ack, enqueued on the entity mailbox straight away
      *
      * @param diffSyncEntity the entity info
      * @param diffSyncIdentifier the diff sync identifier
      * @param ack the ack object
+     * @throws DiffSyncProviderFault when the diff sync is not started for the entity and identifier
      */
     public Mono<Ack> syncAck(final DiffSyncEntity diffSyncEntity,
                              final DiffSyncIdentifier diffSyncIdentifier,
                              final Ack ack) {
-        ConcurrentHashMap<String, DiffSync> diffSyncMap = diffSyncProvider.getDiffSyncs().get(diffSyncEntity.getEntity());
-        DiffSync diffSync = diffSyncMap.get(diffSyncIdentifier.getUrn());
-        return diffSync.handleAck(ack);
+        DiffSync diffSync = getDiffSync(diffSyncEntity, diffSyncIdentifier);
+        DiffSyncMailbox mailbox = getMailbox(diffSyncEntity);
+        return Mono.fromFuture(mailbox.submit(serverText -> diffSync.applyAck(ack)));
     }
 
     /**
      * Start the diff sync
-     * Diff sync can be started by client or server
+     * Diff sync can be started by client or server. The first diff sync of an entity creates the entity mailbox with
+     * the persisted content, the following ones start from the content of the server text.
      *
      * @param diffSyncEntity the diff sync entity info
      * @param channel the channel info. either rtm or redis
@@ -91,7 +81,13 @@ public class DiffSyncService {
         // first validate the binding exists, throw otherwise
         if(synchronizableServiceProviders.get(diffSyncEntity.getEntityType()) != null) {
             SynchronizableService synchronizableService = synchronizableServiceProviders.get(diffSyncEntity.getEntityType()).get();
-            return synchronizableService.getEntity(diffSyncEntity)
+            DiffSyncMailbox started = diffSyncProvider.getMailbox(diffSyncEntity.getEntity());
+            // the persisted content can be behind the server text while writes are buffered
+            Mono<String> content = started != null
+                    ? Mono.just(started.getServerText().getContent())
+                    : synchronizableService.getEntity(diffSyncEntity);
+
+            return content
                     //create diff sync stack
                     .map(config -> new DiffSync(
                             new ServerShadow(diffSyncIdentifier, config, new Version(), new Version()),
@@ -99,12 +95,15 @@ public class DiffSyncService {
                             channel,
                             diffSyncEntity,
                             diffSyncIdentifier,
-                            diffSyncGateway))
-                    //save the new diff sync stack to the provider
+                            diffSyncWriteBehind))
+                    //save the new diff sync stack and the entity mailbox to the provider
                     .map(diffSync -> {
+                        diffSyncProvider.addMailbox(diffSyncEntity.getEntity(), () -> new DiffSyncMailbox(
+                                diffSyncEntity,
+                                //copy latest config to server text content
+                                new ServerText(diffSyncIdentifier, diffSync.getServerBackup().getContent()),
+                                updated -> diffSyncWriteBehind.writeContent(diffSyncEntity, synchronizableService, updated)));
                         diffSyncProvider.add(diffSyncEntity.getEntity(), diffSyncIdentifier.getUrn(), diffSync);
-                        //copy latest config to server text content
-                        serverText.copyPatch(diffSync.getServerBackup().getContent());
                         return diffSync;
                     });
         } else {
@@ -114,13 +113,32 @@ public class DiffSyncService {
     }
 
     /**
-     * End the diff Sync
+     * End the diff Sync, the buffered writes of the entity are flushed
      *
      * @param diffSyncEntity the entity info
      * @return mono of void
      */
     public Mono<Void> end(final DiffSyncEntity diffSyncEntity) {
         diffSyncProvider.remove(diffSyncEntity.getEntity());
-        return Mono.empty();
+        return diffSyncWriteBehind.close(diffSyncEntity);
+    }
+
+    private DiffSync getDiffSync(final DiffSyncEntity diffSyncEntity, final DiffSyncIdentifier diffSyncIdentifier) {
+        ConcurrentHashMap<String, DiffSync> diffSyncMap = diffSyncProvider.getDiffSyncs().get(diffSyncEntity.getEntity());
+        DiffSync diffSync = diffSyncMap == null ? null : diffSyncMap.get(diffSyncIdentifier.getUrn());
+        if (diffSync == null) {
+            throw new DiffSyncProviderFault(String.format("Diff Sync is not started for entity %s and identifier %s",
+                                                          diffSyncEntity.getEntity(), diffSyncIdentifier.getUrn()));
+        }
+        return diffSync;
+    }
+
+    private DiffSyncMailbox getMailbox(final DiffSyncEntity diffSyncEntity) {
+        DiffSyncMailbox mailbox = diffSyncProvider.getMailbox(diffSyncEntity.getEntity());
+        if (mailbox == null) {
+            throw new DiffSyncProviderFault(String.format("Diff Sync is not started for entity %s",
+                                                          diffSyncEntity.getEntity()));
+        }
+        return mailbox;
     }
 }
@@ -0,0 +1,228 @@
+package data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.newrelic.api.agent.NewRelic;
+import com.smartsparrow.util.log.MercuryLogger;
+import com.smartsparrow.util.log.MercuryLoggerFactory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * Write-behind buffer of the diff sync writes. The content of an entity is persisted once per flush with the latest
+ * server text rather than after every patch batch. A patch summary row is kept per entity, so only the last patch
+ * summary buffered in between is saved. The flushes of an entity are executed one after the other.
+ *
+ * A buffer is flushed <code>diffsync.writeBehind.delay</code> milliseconds after its first write (default 500) or as
+ * soon as it holds <code>diffsync.writeBehind.maxPending</code> writes (default 50), whichever comes first. Buffers
+ * are also flushed when the diff sync of the entity ends and on shutdown.
+ */
+@Singleton
+public class DiffSyncWriteBehind {
+
+    private static final MercuryLogger log = MercuryLoggerFactory.getLogger(DiffSyncWriteBehind.class);
+
+    private static final long FLUSH_DELAY_MILLIS = Long.getLong("diffsync.writeBehind.delay", 500);
+    private static final int MAX_PENDING = Integer.getInteger("diffsync.writeBehind.maxPending", 50);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final DiffSyncGateway diffSyncGateway;
+    // keyed by DiffSyncEntity#getEntity
+    private final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+
+    @Inject
+    public DiffSyncWriteBehind(final DiffSyncGateway diffSyncGateway) {
+        this.diffSyncGateway = diffSyncGateway;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushOnShutdown, "diffsync-write-behind"));
+    }
+
+    /**
+     * Buffer the latest content of an entity, replacing the content buffered since the last flush
+     *
+     * @param diffSyncEntity the entity info
+     * @param synchronizableService the service persisting the entity content
+     * @param content the server text content
+     */
+    public void writeContent(final DiffSyncEntity diffSyncEntity,
+                             final SynchronizableService synchronizableService,
+                             final String content) {
+        Buffer buffer = buffer(diffSyncEntity);
+        Mono<Void> flush;
+        synchronized (buffer) {
+            buffer.content = content;
+            buffer.synchronizableService = synchronizableService;
+            flush = added(buffer);
+        }
+        subscribe(flush);
+    }
+
+    /**
+     * Buffer a patch summary of an entity, replacing the patch summary of the same row buffered since the last flush
+     *
+     * @param diffSyncEntity the entity info
+     * @param patchSummary the patch summary to save
+     */
+    public void writePatch(final DiffSyncEntity diffSyncEntity, final PatchSummary patchSummary) {
+        Buffer buffer = buffer(diffSyncEntity);
+        Mono<Void> flush;
+        synchronized (buffer) {
+            buffer.patchSummaries.put(patchSummary.getEntityId() + ":" + patchSummary.getEntityName(), patchSummary);
+            flush = added(buffer);
+        }
+        subscribe(flush);
+    }
+
+    /**
+     * Flush and release the buffer of an entity, writes buffered afterwards start a new buffer
+     *
+     * @param diffSyncEntity the entity info
+     * @return a mono completing once the buffered writes are persisted
+     */
+    public Mono<Void> close(final DiffSyncEntity diffSyncEntity) {
+        Buffer buffer = buffers.remove(diffSyncEntity.getEntity());
+        if (buffer == null) {
+            return Mono.empty();
+        }
+        return flush(buffer);
+    }
+
+    /**
+     * Flush the buffers of all the entities
+     *
+     * @return a mono completing once the buffered writes are persisted
+     */
+    public Mono<Void> flushAll() {
+        return Flux.fromIterable(buffers.values())
+                .flatMap(this::flush)
+                .then();
+    }
+
+    /**
+     * Persist the writes buffered so far. The writes are taken and chained after the previous flush of the buffer
+     * while holding it, so consecutive flushes are persisted in order.
+     */
+    private Mono<Void> flush(final Buffer buffer) {
+        return Mono.defer(() -> {
+            Mono<Void> content = Mono.empty();
+            List<PatchSummary> patchSummaries;
+            int pending;
+            long firstWriteNanos;
+            Mono<Void> previous;
+            MonoProcessor<Void> flushed = MonoProcessor.create();
+
+            synchronized (buffer) {
+                if (buffer.pending == 0) {
+                    return Mono.empty();
+                }
+                if (buffer.content != null) {
+                    content = buffer.synchronizableService.persist(buffer.entity, buffer.content);
+                }
+                patchSummaries = new ArrayList<>(buffer.patchSummaries.values());
+                pending = buffer.pending;
+                firstWriteNanos = buffer.firstWriteNanos;
+                previous = buffer.flushed;
+
+                buffer.content = null;
+                buffer.patchSummaries = new LinkedHashMap<>();
+                buffer.pending = 0;
+                buffer.scheduled = false;
+                buffer.flushed = flushed;
+            }
+
+            Mono<Void> patches = patchSummaries.isEmpty() ? Mono.empty() : diffSyncGateway.savePatches(patchSummaries).then();
+
+            return previous
+                    .then(Mono.when(content, patches))
+                    // the next flush starts once this one is done, whatever its outcome
+                    .doFinally(signalType -> flushed.onComplete())
+                    .doOnSuccess(ignored -> {
+                        long lagMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstWriteNanos);
+                        NewRelic.recordResponseTimeMetric("Custom/DiffSync/WriteBehind/Lag", lagMillis);
+                        NewRelic.recordMetric("Custom/DiffSync/WriteBehind/Coalesced", pending);
+                        log.jsonDebug("Diff sync writes have been flushed", () -> new HashMap<String, Object>() {
+                            {
+                                put("entity", buffer.entity.getEntity());
+                                put("writes", pending);
+                                put("patches", patchSummaries.size());
+                                put("lagMillis", lagMillis);
+                            }
+                        });
+                    });
+        });
+    }
+
+    /**
+     * Count a buffered write, called while holding the buffer
+     *
+     * @return the flush to subscribe to, an immediate flush once the buffer is full, a delayed flush on the first
+     * write since the last flush or <code>null</code> when a flush is already scheduled
+     */
+    private Mono<Void> added(final Buffer buffer) {
+        if (buffer.pending++ == 0) {
+            buffer.firstWriteNanos = System.nanoTime();
+        }
+
+        if (buffer.pending >= MAX_PENDING) {
+            return flush(buffer);
+        }
+        if (!buffer.scheduled) {
+            buffer.scheduled = true;
+            return Mono.delay(Duration.ofMillis(FLUSH_DELAY_MILLIS)).then(flush(buffer));
+        }
+        return null;
+    }
+
+    private void subscribe(final Mono<Void> flush) {
+        if (flush == null) {
+            return;
+        }
+        flush.subscribe(ignored -> {
+            // nothing here, never executed
+        }, throwable -> log.error("error flushing the diff sync writes", throwable));
+    }
+
+    private Buffer buffer(final DiffSyncEntity diffSyncEntity) {
+        return buffers.computeIfAbsent(diffSyncEntity.getEntity(), key -> new Buffer(diffSyncEntity));
+    }
+
+    private void flushOnShutdown() {
+        try {
+            flushAll().block(SHUTDOWN_TIMEOUT);
+        } catch (Exception e) {
+            log.error("error flushing the diff sync writes on shutdown", e);
+        }
+    }
+
+    /**
+     * The writes of an entity buffered since the last flush, guarded by the buffer monitor
+     */
+    private static class Buffer {
+
+        private final DiffSyncEntity entity;
+        private String content;
+        private SynchronizableService synchronizableService;
+        // keyed by patch_summary row
+        private Map<String, PatchSummary> patchSummaries = new LinkedHashMap<>();
+        private int pending;
+        private long firstWriteNanos;
+        private boolean scheduled;
+        // completes once the last flush is done
+        private Mono<Void> flushed = Mono.empty();
+
+        private Buffer(final DiffSyncEntity entity) {
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DiffSyncMailboxTest {
+
+    private DiffSyncMailbox mailbox;
+    private List<String> written;
+
+    @BeforeEach
+    void setUp() {
+        DiffSyncEntity diffSyncEntity = new DiffSyncEntity()
+                .setEntityType(EntityType.ACTIVITY_CONFIG)
+                .setEntityId(UUID.randomUUID());
+        DiffSyncIdentifier diffSyncIdentifier = new DiffSyncIdentifier()
+                .setType(DiffSyncIdentifierType.CLIENT)
+                .setClientId("client1")
+                .setServerId("server1");
+
+        written = new CopyOnWriteArrayList<>();
+        mailbox = new DiffSyncMailbox(diffSyncEntity, new ServerText(diffSyncIdentifier, ""), written::add);
+    }
+
+    @Test
+    void submit_appliedInOrder() throws Exception {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final String character = String.valueOf(i % 10);
+            results.add(mailbox.submit(serverText -> {
+                serverText.copyPatch(serverText.getContent() + character);
+                return serverText.getContent();
+            }));
+        }
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        String content = mailbox.getServerText().getContent();
+        assertEquals(500, content.length());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(String.valueOf(i % 10), content.substring(i, i + 1));
+            assertEquals(i + 1, results.get(i).get().length());
+        }
+        // the drainer writes the content of its last batch before releasing the mailbox
+        long deadline = System.currentTimeMillis() + 5000;
+        while (mailbox.getDepth() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, mailbox.getDepth());
+        // the content is written at most once per batch, always the latest content last
+        assertTrue(written.size() <= results.size());
+        assertEquals(content, written.get(written.size() - 1));
+    }
+
+    @Test
+    void submit_failedAction() throws Exception {
+        CompletableFuture<String> failed = mailbox.submit(serverText -> {
+            throw new DiffSyncRollbackFault("cannot rollback this far back");
+        });
+        CompletableFuture<String> next = mailbox.submit(serverText -> "next");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof DiffSyncRollbackFault);
+        assertEquals("next", next.get(5, TimeUnit.SECONDS));
+        assertTrue(written.isEmpty());
+    }
+}
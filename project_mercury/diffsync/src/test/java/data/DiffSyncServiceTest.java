@@ -1,7 +1,11 @@
 package data;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -25,8 +29,6 @@ public class DiffSyncServiceTest {
     @InjectMocks
     DiffSyncService diffSyncService;
     @Mock
-    ServerText serverText;
-    @Mock
     DiffSyncProvider diffSyncProvider;
     @Mock
     ServerBackup serverBackup;
@@ -37,7 +39,7 @@ public class DiffSyncServiceTest {
     @Mock
     private DiffSyncEntity diffSyncEntity;
     @Mock
-    private DiffSyncGateway diffSyncGateway;
+    private DiffSyncWriteBehind diffSyncWriteBehind;
 
     private DiffSyncIdentifier diffSyncIdentifier;
     @Mock
@@ -52,6 +54,7 @@ public class DiffSyncServiceTest {
     private static final String serverId = "aa-1234-de-34556";
     private List<Patch> patches;
     private Version mVersion;
+    private DiffSyncMailbox mailbox;
 
     @BeforeEach
     void setUp() {
@@ -68,22 +71,47 @@ public class DiffSyncServiceTest {
 
         ConcurrentHashMap<String, ConcurrentHashMap<String, DiffSync>> diffSyncEntityMap= new ConcurrentHashMap<>();
         ConcurrentHashMap<String, DiffSync> diffSyncMap = new ConcurrentHashMap<>();
-        DiffSync diffSync1 = new DiffSync(serverShadow,serverBackup,channel, diffSyncEntity, diffSyncIdentifier, diffSyncGateway);
+        DiffSync diffSync1 = new DiffSync(serverShadow,serverBackup,channel, diffSyncEntity, diffSyncIdentifier, diffSyncWriteBehind);
         diffSyncMap.put(diffSyncIdentifier.getUrn(), diffSync1);
         diffSyncEntityMap.put(diffSyncEntity.getEntity(), diffSyncMap);
         when(diffSyncProvider.getDiffSyncs()).thenReturn(diffSyncEntityMap);
         when(synchronizableServiceProviders.get(any(EntityType.class))).thenReturn(provider);
         when(provider.get()).thenReturn(synchronizableService);
 
-        diffSyncService = new DiffSyncService(serverText, diffSyncProvider, synchronizableServiceProviders, diffSyncGateway);
+        mailbox = new DiffSyncMailbox(diffSyncEntity, new ServerText(diffSyncIdentifier, "cats"), content -> {});
+        when(diffSyncProvider.getMailbox(diffSyncEntity.getEntity())).thenReturn(mailbox);
+
+        diffSyncService = new DiffSyncService(diffSyncProvider, synchronizableServiceProviders, diffSyncWriteBehind);
     }
 
     @Test
     public void testSyncPatch(){
-        when(synchronizableService.persist(diffSyncEntity, serverText.getContent())).thenReturn(Mono.empty());
         when(serverShadow.diff(any(Patchable.class))).thenReturn(new Patch());
         Patch patch = diffSyncService.syncPatch(diffSyncEntity, patches, diffSyncIdentifier).block();
         assertNotNull(patch);
+        verify(serverShadow).diff(mailbox.getServerText());
+        verify(synchronizableService, never()).persist(any(DiffSyncEntity.class), any(String.class));
+    }
+
+    @Test
+    public void testSyncPatch_notStarted() {
+        when(diffSyncProvider.getMailbox(diffSyncEntity.getEntity())).thenReturn(null);
+
+        assertThrows(DiffSyncProviderFault.class,
+                     () -> diffSyncService.syncPatch(diffSyncEntity, patches, diffSyncIdentifier));
+    }
+
+    @Test
+    public void testStart_startedEntity() {
+        when(diffSyncProvider.getMailbox(diffSyncEntity.getEntity())).thenReturn(mailbox);
+
+        DiffSync diffSync = diffSyncService.start(diffSyncEntity, channel, diffSyncIdentifier).block();
+
+        assertNotNull(diffSync);
+        // starts from the server text rather than the persisted content
+        assertEquals("cats", diffSync.getServerShadow().getContent());
+        verify(synchronizableService, never()).getEntity(any(DiffSyncEntity.class));
+        verify(diffSyncProvider).add(diffSyncEntity.getEntity(), diffSyncIdentifier.getUrn(), diffSync);
     }
 
     @Test
@@ -94,4 +122,14 @@ public class DiffSyncServiceTest {
         assertNotNull(ack);
     }
 
+    @Test
+    public void testEnd_flushes() {
+        when(diffSyncWriteBehind.close(diffSyncEntity)).thenReturn(Mono.empty());
+
+        diffSyncService.end(diffSyncEntity).block();
+
+        verify(diffSyncProvider).remove(diffSyncEntity.getEntity());
+        verify(diffSyncWriteBehind).close(diffSyncEntity);
+    }
+
 }
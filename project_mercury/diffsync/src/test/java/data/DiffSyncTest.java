@@ -3,6 +3,7 @@ package data;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,7 +20,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import reactor.core.publisher.Flux;
 
 public class DiffSyncTest {
 
@@ -38,7 +38,7 @@ public class DiffSyncTest {
     @Mock
     DiffSyncEntity diffSyncEntity;
     @Mock
-    DiffSyncGateway diffSyncGateway;
+    DiffSyncWriteBehind diffSyncWriteBehind;
 
     DiffMatchPatchCustom dmp;
 
@@ -67,10 +67,8 @@ public class DiffSyncTest {
                                             "cats",
                                             new Version().setValue(Long.valueOf(1)),
                                             new Version().setValue(Long.valueOf(0))));
-        when(diffSyncGateway.savePatch(any(PatchSummary.class))).thenReturn(Flux.empty());
 
-
-        diffSync = new DiffSync(serverShadow, serverBackup, channel, diffSyncEntity, diffSyncIdentifier, diffSyncGateway);
+        diffSync = new DiffSync(serverShadow, serverBackup, channel, diffSyncEntity, diffSyncIdentifier, diffSyncWriteBehind);
 
         List<Patch> patches = new ArrayList<>();
 
@@ -92,6 +90,7 @@ public class DiffSyncTest {
 
         diffSync.handlePatch(patches, serverText);
         verify(serverShadow, times(1)).apply(requestPatch_one);
+        verify(diffSyncWriteBehind).writePatch(eq(diffSyncEntity), any(PatchSummary.class));
 
     }
 
@@ -106,7 +105,7 @@ public class DiffSyncTest {
                                             new Version().setValue(Long.valueOf(0))));
 
 
-        diffSync = new DiffSync(serverShadow, serverBackup, channel, diffSyncEntity, diffSyncIdentifier, diffSyncGateway);
+        diffSync = new DiffSync(serverShadow, serverBackup, channel, diffSyncEntity, diffSyncIdentifier, diffSyncWriteBehind);
 
         List<Patch> patches = new ArrayList<>();
 
@@ -0,0 +1,168 @@
+package data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.publisher.TestPublisher;
+
+class DiffSyncWriteBehindTest {
+
+    @Mock
+    private DiffSyncGateway diffSyncGateway;
+    @Mock
+    private SynchronizableService synchronizableService;
+
+    private DiffSyncWriteBehind diffSyncWriteBehind;
+    private DiffSyncEntity diffSyncEntity;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        diffSyncEntity = new DiffSyncEntity().setEntityType(EntityType.ACTIVITY_CONFIG).setEntityId(UUID.randomUUID());
+        when(synchronizableService.persist(any(DiffSyncEntity.class), anyString())).thenReturn(Mono.empty());
+        when(diffSyncGateway.savePatches(anyList())).thenReturn(Flux.empty());
+
+        diffSyncWriteBehind = new DiffSyncWriteBehind(diffSyncGateway);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void close_coalescesWrites() {
+        PatchSummary first = patchSummary(entityId(), 1L);
+        PatchSummary last = patchSummary(entityId(), 2L);
+        diffSyncWriteBehind.writePatch(diffSyncEntity, first);
+        diffSyncWriteBehind.writeContent(diffSyncEntity, synchronizableService, "cat");
+        diffSyncWriteBehind.writePatch(diffSyncEntity, last);
+        diffSyncWriteBehind.writeContent(diffSyncEntity, synchronizableService, "cats");
+
+        diffSyncWriteBehind.close(diffSyncEntity).block();
+
+        verify(synchronizableService, times(1)).persist(any(DiffSyncEntity.class), anyString());
+        verify(synchronizableService).persist(diffSyncEntity, "cats");
+
+        ArgumentCaptor<List<PatchSummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(diffSyncGateway, times(1)).savePatches(captor.capture());
+        assertEquals(Collections.singletonList(last), captor.getValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void close_savesLastPatchOfEachRow() {
+        UUID otherEntityId = UUID.randomUUID();
+        PatchSummary[] patchSummaries = {
+                patchSummary(entityId(), 1L),
+                patchSummary(otherEntityId, 1L),
+                patchSummary(entityId(), 2L),
+                patchSummary(entityId(), 3L),
+                patchSummary(otherEntityId, 2L)
+        };
+        for (PatchSummary patchSummary : patchSummaries) {
+            diffSyncWriteBehind.writePatch(diffSyncEntity, patchSummary);
+        }
+
+        diffSyncWriteBehind.close(diffSyncEntity).block();
+
+        ArgumentCaptor<List<PatchSummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(diffSyncGateway).savePatches(captor.capture());
+        // a single write per patch_summary row, holding the id, patches and versions of its last patch
+        assertEquals(2, captor.getValue().size());
+        PatchSummary persisted = captor.getValue().get(0);
+        assertSame(patchSummaries[3], persisted);
+        assertEquals(3L, persisted.getN().getValue());
+        assertEquals(patchSummaries[3].getPatchId(), persisted.getPatchId());
+        assertSame(patchSummaries[4], captor.getValue().get(1));
+    }
+
+    @Test
+    void flush_inOrder() {
+        TestPublisher<Void> firstPersist = TestPublisher.create();
+        TestPublisher<Void> secondPersist = TestPublisher.create();
+        when(synchronizableService.persist(diffSyncEntity, "first")).thenReturn(firstPersist.mono());
+        when(synchronizableService.persist(diffSyncEntity, "second")).thenReturn(secondPersist.mono());
+
+        // a full buffer is flushed right away
+        for (int i = 0; i < 50; i++) {
+            diffSyncWriteBehind.writeContent(diffSyncEntity, synchronizableService, "first");
+        }
+        firstPersist.assertWasSubscribed();
+
+        diffSyncWriteBehind.writeContent(diffSyncEntity, synchronizableService, "second");
+        Mono<Void> close = diffSyncWriteBehind.close(diffSyncEntity).cache();
+        close.subscribe();
+
+        // the second flush waits for the first one
+        secondPersist.assertWasNotSubscribed();
+        firstPersist.complete();
+        secondPersist.assertWasSubscribed();
+        secondPersist.complete();
+        close.block();
+    }
+
+    @Test
+    void close_nothingBuffered() {
+        diffSyncWriteBehind.close(diffSyncEntity).block();
+
+        verify(synchronizableService, never()).persist(any(DiffSyncEntity.class), anyString());
+        verify(diffSyncGateway, never()).savePatches(anyList());
+    }
+
+    @Test
+    void close_contentOnly() {
+        diffSyncWriteBehind.writeContent(diffSyncEntity, synchronizableService, "cat");
+
+        diffSyncWriteBehind.close(diffSyncEntity).block();
+
+        verify(synchronizableService).persist(diffSyncEntity, "cat");
+        verify(diffSyncGateway, never()).savePatches(anyList());
+    }
+
+    @Test
+    void flushAll() {
+        DiffSyncEntity other = new DiffSyncEntity().setEntityType(EntityType.INTERACTIVE_CONFIG).setEntityId(UUID.randomUUID());
+        diffSyncWriteBehind.writeContent(diffSyncEntity, synchronizableService, "cat");
+        diffSyncWriteBehind.writeContent(other, synchronizableService, "dog");
+
+        diffSyncWriteBehind.flushAll().block();
+
+        verify(synchronizableService).persist(diffSyncEntity, "cat");
+        verify(synchronizableService).persist(other, "dog");
+
+        // nothing left to flush
+        diffSyncWriteBehind.close(diffSyncEntity).block();
+        verify(synchronizableService, times(2)).persist(any(DiffSyncEntity.class), anyString());
+    }
+
+    private UUID entityId() {
+        return diffSyncEntity.getEntityId();
+    }
+
+    private static PatchSummary patchSummary(final UUID entityId, final long n) {
+        return new PatchSummary(entityId, "entity", new Patch()
+                .setId(UUID.randomUUID())
+                .setClientId("client1")
+                .setPatches(new LinkedList<>())
+                .setM(new Version().setValue(0L))
+                .setN(new Version().setValue(n)));
+    }
+}
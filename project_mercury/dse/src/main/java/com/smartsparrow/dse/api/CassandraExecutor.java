@@ -1,13 +1,114 @@
 package com.smartsparrow.dse.api;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.newrelic.api.agent.NewRelic;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Executes the Cassandra statements and completes their results on an elastic pool of callback threads.
+ *
+ * Results are not completed on the driver I/O threads because downstream operators may block, for example when
+ * paging through a {@link ResultSet}, waiting on a statement being prepared or blocking on a nested query. The pool
+ * grows with the number of blocked callbacks so a callback waiting on a nested query never starves the callback
+ * completing it, idle threads are reclaimed after a minute. The number of statements in flight on a session is
+ * limited instead, statements over the limit wait for a running statement to complete.
+ *
+ * The in flight limit is configured with the <code>cassandra.maxInFlight</code> system property.
+ */
 public class CassandraExecutor {
 
-    private static final ExecutorService executorService = Executors.newCachedThreadPool();
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("cassandra.maxInFlight", 1024);
+    private static final long REPORT_INTERVAL_SECONDS = 60;
+
+    private static final ThreadPoolExecutor executorService = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+            60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cassandra-callback-%d").build());
+
+    private static final Map<Session, InFlightLimiter> limiters = new ConcurrentHashMap<>();
+    private static final QueryMetrics queryMetrics = new QueryMetrics();
+
+    static {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cassandra-metrics-%d").build());
+        reporter.scheduleAtFixedRate(CassandraExecutor::report, REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
 
     public static ExecutorService getExecutorService() {
         return executorService;
     }
+
+    public static QueryMetrics getQueryMetrics() {
+        return queryMetrics;
+    }
+
+    /**
+     * Execute a statement within the in flight limit of the session. The statement is executed on subscription,
+     * a statement still waiting for a permit when the subscription is cancelled is not executed.
+     *
+     * @param session the session to execute the statement on
+     * @param statement the statement to execute
+     * @return a mono of the statement result set, completed on the callback pool
+     */
+    public static Mono<ResultSet> execute(final Session session, final Statement statement) {
+        return Mono.create(sink -> {
+            InFlightLimiter limiter = limiters.computeIfAbsent(session, s -> new InFlightLimiter(MAX_IN_FLIGHT));
+            AtomicBoolean cancelled = new AtomicBoolean();
+            sink.onCancel(() -> cancelled.set(true));
+
+            limiter.submit(() -> {
+                if (cancelled.get()) {
+                    limiter.release();
+                    return;
+                }
+                long start = System.nanoTime();
+                try {
+                    Futures.addCallback(session.executeAsync(statement), new FutureCallback<ResultSet>() {
+                        @Override
+                        public void onSuccess(ResultSet result) {
+                            queryMetrics.record(statement, System.nanoTime() - start);
+                            limiter.release();
+                            sink.success(result);
+                        }
+
+                        @Override
+                        public void onFailure(Throwable t) {
+                            queryMetrics.record(statement, System.nanoTime() - start);
+                            limiter.release();
+                            sink.error(t);
+                        }
+                    }, executorService);
+                } catch (RuntimeException e) {
+                    limiter.release();
+                    sink.error(e);
+                }
+            });
+        });
+    }
+
+    private static void report() {
+        queryMetrics.report();
+        NewRelic.recordMetric("Custom/Cassandra/Executor/Active", executorService.getActiveCount());
+        NewRelic.recordMetric("Custom/Cassandra/Executor/PoolSize", executorService.getPoolSize());
+        limiters.values().forEach(limiter -> {
+            NewRelic.recordMetric("Custom/Cassandra/InFlight", limiter.getInFlight());
+            NewRelic.recordMetric("Custom/Cassandra/Waiting", limiter.getWaiting());
+        });
+    }
 }
@@ -0,0 +1,66 @@
+package com.smartsparrow.dse.api;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non blocking limit of the number of requests in flight on a session. Requests over the limit wait in a queue
+ * and are started, on the thread releasing a permit, as soon as a request in flight completes.
+ */
+class InFlightLimiter {
+
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    InFlightLimiter(final int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Run the request now when a permit is available, queue it otherwise. The request must call {@link #release()}
+     * once completed.
+     *
+     * @param request the request to run
+     */
+    void submit(final Runnable request) {
+        waiting.add(request);
+        drain();
+    }
+
+    /**
+     * Release the permit of a completed request and start the next waiting request
+     */
+    void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable request = waiting.poll();
+            if (request == null) {
+                // another thread started the request
+                inFlight.decrementAndGet();
+                continue;
+            }
+            request.run();
+        }
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    int getWaiting() {
+        return waiting.size();
+    }
+}
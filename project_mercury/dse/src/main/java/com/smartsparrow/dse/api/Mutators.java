@@ -19,12 +19,10 @@ import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.FutureCallback;
-import com.google.common.util.concurrent.Futures;
+import com.newrelic.api.agent.NewRelic;
 import com.smartsparrow.util.Enums;
 
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
@@ -39,6 +37,11 @@ public class Mutators {
     //
     private static Scheduler mutatorScheduler =  Schedulers.newElastic("mutators");
 
+    // maximum number of statements in a same partition batch
+    private static final int MAX_BATCH_SIZE = Integer.getInteger("cassandra.batch.maxStatements", 20);
+    // maximum number of grouped write requests in flight per call
+    private static final int WRITE_CONCURRENCY = Integer.getInteger("cassandra.write.concurrency", 32);
+
     /**
      * Helper to enumerate a series of mutators and build upsert queries.
      * <br>
@@ -352,23 +355,33 @@ public class Mutators {
      * @return Flux of {@link Void}
      */
     public static Flux<Void> execute(Session session, Flux<? extends Statement> statements) {
+        // results are completed on the callback pool, no scheduler hop is required
+        return statements.flatMap(statement -> CassandraExecutor.execute(session, statement).then());
+    }
+
+    /**
+     * Takes in a {@link Flux} of {@link Statement} and executes them grouped by partition, returning a Flux of
+     * {@link Void}.
+     * <p>
+     * Statements writing to the same partition of a table are executed as token aware unlogged batches, the other
+     * statements, including the statements marked as not idempotent, are executed on their own. Requests are run in
+     * parallel up to the <code>cassandra.write.concurrency</code> limit. Statements within a batch share the same
+     * write timestamp, so this should only be used for statements that do not depend on each other's order.
+     *
+     * @param session    Cassandra cluster {@link Session}
+     * @param statements Flux of {@link Statement} to be run
+     * @return Flux of {@link Void}
+     */
+    public static Flux<Void> executeGrouped(Session session, Flux<? extends Statement> statements) {
         return statements
-                // Switch to elastic scheduler for DB call
-                .publishOn(Schedulers.elastic())
-                // ResultSet is a Guava ListenableFuture, Reactor supports natively Java8 CompletableFuture, so we need
-                // to manually create our publisher
-                .flatMap(statement -> Mono.create(sink -> Futures
-                        .addCallback(session.executeAsync(statement), new FutureCallback<ResultSet>() {
-                            @Override
-                            public void onSuccess(ResultSet result) {
-                                sink.success();
-                            }
-
-                            @Override
-                            public void onFailure(Throwable t) {
-                                sink.error(t);
-                            }
-                        }, CassandraExecutor.getExecutorService())));
+                .collectList()
+                .flatMapMany(list -> {
+                    List<Statement> requests = StatementGroups.group(session, list, MAX_BATCH_SIZE);
+                    NewRelic.recordMetric("Custom/Cassandra/Batch/RoundTripsSaved", list.size() - requests.size());
+                    return Flux.fromIterable(requests)
+                            .flatMap(statement -> CassandraExecutor.execute(session, statement).then(),
+                                    WRITE_CONCURRENCY);
+                });
     }
 
     /**
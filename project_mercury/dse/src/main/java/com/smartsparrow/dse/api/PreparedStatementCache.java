@@ -2,8 +2,7 @@ package com.smartsparrow.dse.api;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ExecutionException;
 
 import javax.inject.Inject;
 
@@ -11,22 +10,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.DriverThrowables;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 /**
  * A utility class to facilitate usage of cassandra prepared statements.
  *
+ * Statements are keyed by their full query string. Each query is prepared once, asynchronously, and every caller
+ * asking for the same query while it is being prepared shares the same future. A failed preparation is not cached.
  */
 public class PreparedStatementCache {
 
     private final Logger log = LoggerFactory.getLogger(PreparedStatementCache.class);
 
-    // a lock.
-    private Lock lock = new ReentrantLock();
-
-    // Query string hashcode to prepared statement
-    private Map<Integer, PreparedStatement> cache = new ConcurrentHashMap<>();
+    // Query string to prepared statement
+    private final Map<String, ListenableFuture<PreparedStatement>> cache = new ConcurrentHashMap<>();
 
     // Reference to the session to build queries against.
     private final Session session;
@@ -37,41 +42,54 @@ public class PreparedStatementCache {
     }
 
     /**
-     * Fetch or prepare the given query.
+     * Fetch or prepare the given query asynchronously.
      *
-     * @param query
-     * @return
+     * @param query the query to prepare
+     * @return a future of the prepared statement, shared by all the callers of the same query
      */
-    public PreparedStatement resolve(String query) {
+    public ListenableFuture<PreparedStatement> prepareAsync(String query) {
+        ListenableFuture<PreparedStatement> cached = cache.get(query);
+        if (cached != null) {
+            return cached;
+        }
 
-        // let's not keep re-calculating the hashCode.
-        int hashCode = query.hashCode();
+        // only the caller registering the future prepares the query
+        SettableFuture<PreparedStatement> future = SettableFuture.create();
+        cached = cache.putIfAbsent(query, future);
+        if (cached != null) {
+            return cached;
+        }
 
-        // is it cached already?
-        if (cache.containsKey(hashCode)) {
-            PreparedStatement stmt = cache.get(hashCode);
-            if (log.isDebugEnabled()) {
-                log.debug("reuse previously prepared statement: hashCode={} statement.preparedId={}", hashCode,
-                        stmt.getPreparedId());
+        log.info("preparing query: {}", query);
+        ListenableFuture<PreparedStatement> prepared = session.prepareAsync(query);
+        future.setFuture(prepared);
+        Futures.addCallback(prepared, new FutureCallback<PreparedStatement>() {
+            @Override
+            public void onSuccess(PreparedStatement statement) {
+                // nothing to do, the statement is cached
             }
-            return stmt;
-        }
 
-        // avoid simultaneous building of statements
-        // Future improvement: the lock would be based on the hashCode to allow higher concurrency
-        lock.lock();
-        try {
-            // double check in case was waiting on another and already built.
-            if (cache.containsKey(hashCode)) {
-                return cache.get(hashCode);
+            @Override
+            public void onFailure(Throwable throwable) {
+                // let the next caller try again
+                cache.remove(query, future);
+                log.error("error preparing query: {}", query, throwable);
             }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
 
-            log.info("preparing query: {}", query);
-            PreparedStatement statement = session.prepare(query);
-            cache.put(hashCode, statement);
-            return statement;
-        } finally {
-            lock.unlock();
+    /**
+     * Fetch or prepare the given query. Only the first callers of a query wait for the preparation.
+     *
+     * @param query the query to prepare
+     * @return the prepared statement
+     */
+    public PreparedStatement resolve(String query) {
+        try {
+            return Uninterruptibles.getUninterruptibly(prepareAsync(query));
+        } catch (ExecutionException e) {
+            throw DriverThrowables.propagateCause(e);
         }
     }
 
@@ -85,4 +103,11 @@ public class PreparedStatementCache {
         PreparedStatement preparedStatement = resolve(query);
         return new BoundStatement(preparedStatement);
     }
+
+    /**
+     * @return the number of prepared or being prepared statements
+     */
+    public int size() {
+        return cache.size();
+    }
 }
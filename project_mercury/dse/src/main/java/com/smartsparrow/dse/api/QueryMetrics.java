@@ -0,0 +1,173 @@
+package com.smartsparrow.dse.api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Statement;
+import com.newrelic.api.agent.NewRelic;
+
+/**
+ * Latency histograms of the Cassandra queries, grouped by query name. The name of a query is its operation and
+ * table, for example <code>select/learner.student_scope</code>.
+ */
+public class QueryMetrics {
+
+    private static final Pattern OPERATION = Pattern.compile("^\\s*(\\w+)");
+    private static final Pattern TABLE = Pattern.compile("\\b(?:FROM|INTO|UPDATE)\\s+([\\w.\"]+)",
+            Pattern.CASE_INSENSITIVE);
+
+    // upper bounds of the latency buckets in milliseconds, the last bucket holds everything above
+    private static final long[] BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000};
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    // prepared query string to query name
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * Record the latency of an executed statement
+     *
+     * @param statement the executed statement
+     * @param elapsedNanos the statement latency
+     */
+    void record(final Statement statement, final long elapsedNanos) {
+        String name = nameOf(statement);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        histograms.computeIfAbsent(name, n -> new Histogram()).record(elapsedMillis);
+        NewRelic.recordResponseTimeMetric("Custom/Cassandra/Query/" + name, elapsedMillis);
+    }
+
+    /**
+     * @param queryName the query name
+     * @return the latency histogram of the query or <code>null</code> when the query was never executed
+     */
+    public Histogram getHistogram(final String queryName) {
+        return histograms.get(queryName);
+    }
+
+    /**
+     * Report the latency percentiles of the queries executed since the last report
+     */
+    void report() {
+        histograms.forEach((name, histogram) -> {
+            long[] counts = histogram.snapshotAndReset();
+            if (Histogram.total(counts) > 0) {
+                NewRelic.recordMetric("Custom/Cassandra/Query/" + name + "/p50", Histogram.percentile(counts, 0.50));
+                NewRelic.recordMetric("Custom/Cassandra/Query/" + name + "/p99", Histogram.percentile(counts, 0.99));
+            }
+        });
+    }
+
+    String nameOf(final Statement statement) {
+        if (statement instanceof BoundStatement) {
+            // prepared queries are a bounded set, their name is cached
+            String query = ((BoundStatement) statement).preparedStatement().getQueryString();
+            return names.computeIfAbsent(query, QueryMetrics::parseName);
+        }
+        if (statement instanceof BatchStatement) {
+            return "batch";
+        }
+        if (statement instanceof RegularStatement) {
+            return parseName(((RegularStatement) statement).getQueryString());
+        }
+        return "other";
+    }
+
+    private static String parseName(final String query) {
+        Matcher operation = OPERATION.matcher(query);
+        Matcher table = TABLE.matcher(query);
+        if (!operation.find() || !table.find()) {
+            return "other";
+        }
+        return operation.group(1).toLowerCase() + "/" + table.group(1).replace("\"", "").toLowerCase();
+    }
+
+    /**
+     * Fixed buckets latency histogram
+     */
+    public static class Histogram {
+
+        private final LongAdder[] counts = new LongAdder[BUCKETS.length + 1];
+        private final LongAdder[] reported = new LongAdder[BUCKETS.length + 1];
+
+        Histogram() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+                reported[i] = new LongAdder();
+            }
+        }
+
+        void record(final long elapsedMillis) {
+            int bucket = 0;
+            while (bucket < BUCKETS.length && elapsedMillis > BUCKETS[bucket]) {
+                bucket++;
+            }
+            counts[bucket].increment();
+        }
+
+        /**
+         * @return the number of queries recorded
+         */
+        public long getCount() {
+            long count = 0;
+            for (LongAdder adder : counts) {
+                count += adder.sum();
+            }
+            return count;
+        }
+
+        /**
+         * Estimate a latency percentile over all the recorded queries
+         *
+         * @param percentile the percentile between 0 and 1
+         * @return the upper bound in milliseconds of the bucket holding the percentile, the last bucket bound when
+         * the percentile is above it
+         */
+        public long getPercentile(final double percentile) {
+            long[] snapshot = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                snapshot[i] = counts[i].sum();
+            }
+            return percentile(snapshot, percentile);
+        }
+
+        /**
+         * @return the bucket counts since the previous call
+         */
+        long[] snapshotAndReset() {
+            long[] snapshot = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                long total = counts[i].sum();
+                snapshot[i] = total - reported[i].sum();
+                reported[i].add(snapshot[i]);
+            }
+            return snapshot;
+        }
+
+        static long total(final long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+
+        static long percentile(final long[] counts, final double percentile) {
+            long threshold = (long) Math.ceil(total(counts) * percentile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= threshold && seen > 0) {
+                    return BUCKETS[Math.min(i, BUCKETS.length - 1)];
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -1,20 +1,14 @@
 package com.smartsparrow.dse.api;
 
 import java.util.Set;
-import java.util.function.Function;
 
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
-import com.google.common.util.concurrent.FutureCallback;
-import com.google.common.util.concurrent.Futures;
 import com.smartsparrow.util.Enums;
 
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
-import reactor.core.scheduler.Schedulers;
 
 /**
  * 
@@ -36,15 +30,8 @@ public class ResultSets {
      * @return {@link Flux}&lt{@link ResultSet}&gt
      */
     static Flux<ResultSet> query(Session session, Flux<Statement> statements){
-        return statements
-        //
-        .publishOn(Schedulers.elastic()).flatMap(statement ->
-                        //
-                        Mono.create(sink -> Futures.addCallback(session.executeAsync(statement),
-                                //
-                                resultSetCallback(sink),
-                                //
-                                CassandraExecutor.getExecutorService())));
+        // results are completed on the callback pool, no scheduler hop is required
+        return statements.flatMap(statement -> CassandraExecutor.execute(session, statement));
     }
 
     /**
@@ -59,21 +46,6 @@ public class ResultSets {
         return query(session, Flux.just(statements));
     }
 
-    // Callback that handles the completion of ResultSetFuture result by supplying the Mono .onNext() emitted value
-    private static FutureCallback<ResultSet> resultSetCallback(MonoSink<ResultSet> sink) {
-        return new FutureCallback<ResultSet>() {
-            @Override
-            public void onSuccess(ResultSet result) {
-                sink.success(result);
-            }
-
-            @Override
-            public void onFailure(Throwable t) {
-                sink.error(t);
-            }
-        };
-    }
-
     /**
      * Get a Boolean value from the row by column name
      *
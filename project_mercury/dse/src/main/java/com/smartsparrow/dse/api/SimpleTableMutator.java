@@ -1,5 +1,10 @@
 package com.smartsparrow.dse.api;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
 import javax.inject.Inject;
 
 import org.slf4j.Logger;
@@ -149,6 +154,33 @@ public abstract class SimpleTableMutator<T> implements TableMutator<T> {
         return true;
     }
 
+    /**
+     * Declare the upsert and delete queries when they do not depend on the mutation
+     *
+     * @return the declared queries
+     */
+    @Override
+    public Collection<String> declaredQueries() {
+        List<String> queries = new ArrayList<>(2);
+        declareQuery(queries, () -> getUpsertQuery(null));
+        declareQuery(queries, () -> getDeleteQuery(null));
+        return queries;
+    }
+
+    private void declareQuery(List<String> queries, Supplier<String> query) {
+        try {
+            String declared = query.get();
+            if (declared != null) {
+                queries.add(declared);
+            }
+        } catch (RuntimeException e) {
+            // the operation is not supported or the query is built from the mutation
+            if (log.isDebugEnabled()) {
+                log.debug("query not declared by {}: {}", getClass().getName(), e.getMessage());
+            }
+        }
+    }
+
     /**
      * Bind a non <code>null</code> value to the desired position in the statement
      *
@@ -0,0 +1,141 @@
+package com.smartsparrow.dse.api;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+
+/**
+ * Groups the statements writing to the same partition of a table into unlogged batches. A batch holding statements
+ * of a single partition is routed to the replicas of that partition and executed as one request.
+ *
+ * Only bound statements with a routing key are grouped, the table is read from the metadata of their bound
+ * variables. Statements marked as not idempotent (conditional updates, collection appends) and counter updates are
+ * always executed on their own.
+ */
+class StatementGroups {
+
+    private StatementGroups() {
+    }
+
+    /**
+     * Group the statements by partition
+     *
+     * @param session the session the statements are executed on
+     * @param statements the statements to group
+     * @param maxBatchSize the maximum number of statements in a batch
+     * @return the statements to execute, single statements and unlogged batches
+     */
+    static List<Statement> group(final Session session, final List<? extends Statement> statements,
+                                 final int maxBatchSize) {
+        ProtocolVersion protocolVersion = session.getCluster().getConfiguration().getProtocolOptions()
+                .getProtocolVersion();
+        CodecRegistry codecRegistry = session.getCluster().getConfiguration().getCodecRegistry();
+
+        List<Statement> requests = new ArrayList<>(statements.size());
+        Map<PartitionKey, List<Statement>> partitions = new LinkedHashMap<>();
+
+        for (Statement statement : statements) {
+            PartitionKey key = partitionKey(statement, protocolVersion, codecRegistry);
+            if (key == null) {
+                requests.add(statement);
+            } else {
+                partitions.computeIfAbsent(key, k -> new ArrayList<>()).add(statement);
+            }
+        }
+
+        partitions.values().forEach(partition -> {
+            for (int from = 0; from < partition.size(); from += maxBatchSize) {
+                List<Statement> chunk = partition.subList(from, Math.min(from + maxBatchSize, partition.size()));
+                requests.add(chunk.size() == 1 ? chunk.get(0) : batch(chunk));
+            }
+        });
+        return requests;
+    }
+
+    private static BatchStatement batch(final List<Statement> statements) {
+        BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+        batch.addAll(statements);
+        Statement first = statements.get(0);
+        if (first.getConsistencyLevel() != null) {
+            batch.setConsistencyLevel(first.getConsistencyLevel());
+        }
+        if (first.isIdempotent() != null) {
+            batch.setIdempotent(first.isIdempotent());
+        }
+        return batch;
+    }
+
+    private static PartitionKey partitionKey(final Statement statement, final ProtocolVersion protocolVersion,
+                                             final CodecRegistry codecRegistry) {
+        if (!(statement instanceof BoundStatement)) {
+            return null;
+        }
+        BoundStatement bound = (BoundStatement) statement;
+        if (Boolean.FALSE.equals(bound.isIdempotent())) {
+            return null;
+        }
+        ColumnDefinitions variables = bound.preparedStatement().getVariables();
+        if (variables == null || variables.size() == 0) {
+            return null;
+        }
+        String keyspace = variables.getKeyspace(0);
+        String table = variables.getTable(0);
+        for (int i = 0; i < variables.size(); i++) {
+            if (DataType.counter().equals(variables.getType(i))
+                    || !Objects.equals(keyspace, variables.getKeyspace(i))
+                    || !Objects.equals(table, variables.getTable(i))) {
+                return null;
+            }
+        }
+        ByteBuffer routingKey = bound.getRoutingKey(protocolVersion, codecRegistry);
+        if (routingKey == null || keyspace == null || table == null) {
+            return null;
+        }
+        return new PartitionKey(keyspace, table, routingKey, bound.getConsistencyLevel());
+    }
+
+    private static class PartitionKey {
+
+        private final String keyspace;
+        private final String table;
+        private final ByteBuffer routingKey;
+        private final ConsistencyLevel consistencyLevel;
+
+        PartitionKey(final String keyspace, final String table, final ByteBuffer routingKey,
+                     final ConsistencyLevel consistencyLevel) {
+            this.keyspace = keyspace;
+            this.table = table;
+            this.routingKey = routingKey;
+            this.consistencyLevel = consistencyLevel;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PartitionKey that = (PartitionKey) o;
+            return Objects.equals(keyspace, that.keyspace) &&
+                    Objects.equals(table, that.table) &&
+                    Objects.equals(routingKey, that.routingKey) &&
+                    consistencyLevel == that.consistencyLevel;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyspace, table, routingKey, consistencyLevel);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.smartsparrow.dse.api;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * Marker interface for concrete classes which essentially perform select statements. 
  * 
@@ -12,4 +15,15 @@ public interface TableMaterializer {
     default boolean isForceLocalCL() {
         return "1".equals(System.getProperty("forceLocalCL", "0"));
     }
+
+    /**
+     * The queries this materializer always prepares, used to warm up the {@link PreparedStatementCache} when the
+     * materializer is created. Queries built from the arguments of a statement can not be declared.
+     *
+     * @return the declared queries, none by default
+     */
+    default Collection<String> declaredQueries() {
+        return Collections.emptyList();
+    }
+
 }
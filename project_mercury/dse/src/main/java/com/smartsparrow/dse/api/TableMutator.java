@@ -1,5 +1,8 @@
 package com.smartsparrow.dse.api;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import com.datastax.driver.core.Statement;
 
 /**
@@ -32,4 +35,14 @@ public interface TableMutator<T> {
         return "1".equals(System.getProperty("forceLocalCL", "0"));
     }
 
+    /**
+     * The queries this mutator always prepares, used to warm up the {@link PreparedStatementCache} when the mutator
+     * is created. Queries built from the arguments of a statement can not be declared.
+     *
+     * @return the declared queries, none by default
+     */
+    default Collection<String> declaredQueries() {
+        return Collections.emptyList();
+    }
+
 }
@@ -36,6 +36,12 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  *  <li>cassandra.authentication.password - the password to connect with.</li>
  * </ul>
  *
+ * Optional system properties:
+ * <ul>
+ *  <li>cassandra.warmUp - set to 1 to prepare the queries declared by the table mutators and materializers as soon as
+ *                         they are created, see {@link PreparedStatementWarmUp}</li>
+ * </ul>
+ *
  */
 public class CassandraModule extends AbstractModule {
 
@@ -43,7 +49,11 @@ public class CassandraModule extends AbstractModule {
 
     @Override
     protected void configure() {
-        // nothing to do here, module acts solely as a provider of Sessions.
+        // module acts solely as a provider of Sessions, optionally warming up the prepared statements.
+        if ("1".equals(System.getProperty("cassandra.warmUp", "0"))) {
+            bindListener(PreparedStatementWarmUp.TABLE_TYPES,
+                    new PreparedStatementWarmUp(getProvider(PreparedStatementCache.class)));
+        }
     }
 
     /**
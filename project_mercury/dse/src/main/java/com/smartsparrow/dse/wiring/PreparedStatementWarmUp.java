@@ -0,0 +1,68 @@
+package com.smartsparrow.dse.wiring;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Provider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.TypeLiteral;
+import com.google.inject.matcher.AbstractMatcher;
+import com.google.inject.spi.InjectionListener;
+import com.google.inject.spi.TypeEncounter;
+import com.google.inject.spi.TypeListener;
+import com.smartsparrow.dse.api.PreparedStatementCache;
+import com.smartsparrow.dse.api.TableMaterializer;
+import com.smartsparrow.dse.api.TableMutator;
+
+/**
+ * Prepare the queries declared by the {@link TableMutator} and {@link TableMaterializer} implementations as soon
+ * as Guice creates them, so the statements are ready when the application starts serving requests. Queries are
+ * prepared asynchronously and once per implementation type, failures are logged and the query is prepared again on
+ * first use.
+ */
+class PreparedStatementWarmUp implements TypeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PreparedStatementWarmUp.class);
+
+    /**
+     * Matches the {@link TableMutator} and {@link TableMaterializer} implementations
+     */
+    static final AbstractMatcher<TypeLiteral<?>> TABLE_TYPES = new AbstractMatcher<TypeLiteral<?>>() {
+        @Override
+        public boolean matches(TypeLiteral<?> typeLiteral) {
+            Class<?> type = typeLiteral.getRawType();
+            return TableMutator.class.isAssignableFrom(type) || TableMaterializer.class.isAssignableFrom(type);
+        }
+    };
+
+    private final Provider<PreparedStatementCache> stmtCache;
+    private final Set<Class<?>> warmedUp = ConcurrentHashMap.newKeySet();
+
+    PreparedStatementWarmUp(Provider<PreparedStatementCache> stmtCache) {
+        this.stmtCache = stmtCache;
+    }
+
+    @Override
+    public <I> void hear(TypeLiteral<I> type, TypeEncounter<I> encounter) {
+        encounter.register((InjectionListener<I>) this::warmUp);
+    }
+
+    private void warmUp(Object injectee) {
+        if (!warmedUp.add(injectee.getClass())) {
+            return;
+        }
+        try {
+            Collection<String> queries = injectee instanceof TableMutator
+                    ? ((TableMutator<?>) injectee).declaredQueries()
+                    : ((TableMaterializer) injectee).declaredQueries();
+            queries.forEach(query -> stmtCache.get().prepareAsync(query));
+        } catch (RuntimeException e) {
+            // warm up is best effort
+            log.warn("error warming up the statements of {}", injectee.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.smartsparrow.dse.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class CassandraExecutorTest {
+
+    private Session session;
+    private ResultSet resultSet;
+    private Statement statement;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(Session.class);
+        resultSet = mock(ResultSet.class);
+        statement = new SimpleStatement("SELECT id FROM test.table WHERE id = ?");
+    }
+
+    @Test
+    void execute_success() throws Exception {
+        when(session.executeAsync(statement)).thenReturn(completed(resultSet));
+
+        StepVerifier.create(CassandraExecutor.execute(session, statement))
+                .expectNext(resultSet)
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_completesOnCallbackPool() throws Exception {
+        when(session.executeAsync(statement)).thenReturn(completed(resultSet));
+
+        String thread = CassandraExecutor.execute(session, statement)
+                .map(rs -> Thread.currentThread().getName())
+                .block();
+
+        assertTrue(thread.startsWith("cassandra-callback-"));
+    }
+
+    @Test
+    void execute_failure() throws Exception {
+        IllegalStateException failure = new IllegalStateException("write timeout");
+        when(session.executeAsync(statement)).thenReturn(failed(failure));
+
+        StepVerifier.create(CassandraExecutor.execute(session, statement))
+                .expectErrorMatches(t -> t == failure)
+                .verify();
+    }
+
+    @Test
+    void execute_driverThrows() {
+        IllegalStateException failure = new IllegalStateException("no host available");
+        when(session.executeAsync(statement)).thenThrow(failure);
+
+        StepVerifier.create(CassandraExecutor.execute(session, statement))
+                .expectErrorMatches(t -> t == failure)
+                .verify();
+    }
+
+    @Test
+    void execute_lazy() {
+        CassandraExecutor.execute(session, statement);
+
+        verify(session, never()).executeAsync(any(Statement.class));
+    }
+
+    @Test
+    void execute_nestedBlockingCallbacks() throws Exception {
+        when(session.executeAsync(any(Statement.class))).thenAnswer(invocation -> completed(resultSet));
+        int callbacks = Runtime.getRuntime().availableProcessors() * 8;
+
+        // every callback blocks on a nested query, completed by another callback thread
+        List<ResultSet> results = Flux.range(0, callbacks)
+                .flatMap(i -> CassandraExecutor.execute(session, statement)
+                        .map(rs -> CassandraExecutor.execute(session, statement).block())
+                        .subscribeOn(Schedulers.parallel()))
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertEquals(callbacks, results.size());
+        results.forEach(rs -> assertSame(resultSet, rs));
+    }
+
+    private static ResultSetFuture completed(ResultSet resultSet) throws Exception {
+        ResultSetFuture future = mock(ResultSetFuture.class);
+        when(future.isDone()).thenReturn(true);
+        when(future.get()).thenReturn(resultSet);
+        completeListeners(future);
+        return future;
+    }
+
+    private static ResultSetFuture failed(Throwable t) throws Exception {
+        ResultSetFuture future = mock(ResultSetFuture.class);
+        when(future.isDone()).thenReturn(true);
+        when(future.get()).thenThrow(new ExecutionException(t));
+        completeListeners(future);
+        return future;
+    }
+
+    private static void completeListeners(ResultSetFuture future) {
+        doAnswer(invocation -> {
+            Runnable listener = invocation.getArgument(0);
+            Executor executor = invocation.getArgument(1);
+            executor.execute(listener);
+            return null;
+        }).when(future).addListener(any(Runnable.class), any(Executor.class));
+    }
+}
@@ -0,0 +1,76 @@
+package com.smartsparrow.dse.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InFlightLimiterTest {
+
+    private InFlightLimiter limiter;
+    private List<Integer> started;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new InFlightLimiter(2);
+        started = new ArrayList<>();
+    }
+
+    @Test
+    void submit_underLimit() {
+        limiter.submit(() -> started.add(1));
+        limiter.submit(() -> started.add(2));
+
+        assertEquals(2, started.size());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    @Test
+    void submit_overLimitWaits() {
+        limiter.submit(() -> started.add(1));
+        limiter.submit(() -> started.add(2));
+        limiter.submit(() -> started.add(3));
+
+        assertEquals(2, started.size());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getWaiting());
+    }
+
+    @Test
+    void release_startsWaitingInOrder() {
+        for (int i = 1; i <= 4; i++) {
+            final int request = i;
+            limiter.submit(() -> started.add(request));
+        }
+
+        limiter.release();
+        assertEquals(3, started.size());
+        assertEquals(Integer.valueOf(3), started.get(2));
+
+        limiter.release();
+        assertEquals(4, started.size());
+        assertEquals(Integer.valueOf(4), started.get(3));
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    @Test
+    void release_requestReleasingSynchronously() {
+        // a request failing before going async releases its permit while being started
+        for (int i = 1; i <= 5; i++) {
+            final int request = i;
+            limiter.submit(() -> {
+                started.add(request);
+                limiter.release();
+            });
+        }
+
+        assertEquals(5, started.size());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getWaiting());
+    }
+}
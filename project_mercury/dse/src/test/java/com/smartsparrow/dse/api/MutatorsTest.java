@@ -0,0 +1,63 @@
+package com.smartsparrow.dse.api;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class MutatorsTest {
+
+    private Session session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        session = mock(Session.class, RETURNS_DEEP_STUBS);
+        ResultSetFuture future = mock(ResultSetFuture.class);
+        when(future.isDone()).thenReturn(true);
+        when(future.get()).thenReturn(mock(ResultSet.class));
+        doAnswer(invocation -> {
+            ((Executor) invocation.getArgument(1)).execute(invocation.getArgument(0));
+            return null;
+        }).when(future).addListener(any(Runnable.class), any(Executor.class));
+        when(session.executeAsync(any(Statement.class))).thenReturn(future);
+    }
+
+    @Test
+    void executeGrouped_ungroupedStatements() {
+        Statement first = new SimpleStatement("UPDATE learner.scope SET data = 'a' WHERE id = 1");
+        Statement second = new SimpleStatement("UPDATE learner.scope SET data = 'b' WHERE id = 2");
+
+        StepVerifier.create(Mutators.executeGrouped(session, Flux.just(first, second)))
+                .verifyComplete();
+
+        verify(session).executeAsync(first);
+        verify(session).executeAsync(second);
+        verify(session, times(2)).executeAsync(any(Statement.class));
+    }
+
+    @Test
+    void executeGrouped_empty() {
+        StepVerifier.create(Mutators.executeGrouped(session, Flux.empty()))
+                .verifyComplete();
+
+        verify(session, never()).executeAsync(any(Statement.class));
+    }
+}
@@ -0,0 +1,208 @@
+package com.smartsparrow.dse.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Configuration;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ProtocolOptions;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+
+class StatementGroupsTest {
+
+    private static final String KEYSPACE = "learner";
+    private static final int MAX_BATCH_SIZE = 3;
+
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(Session.class);
+        Cluster cluster = mock(Cluster.class);
+        Configuration configuration = mock(Configuration.class);
+        ProtocolOptions protocolOptions = mock(ProtocolOptions.class);
+        when(session.getCluster()).thenReturn(cluster);
+        when(cluster.getConfiguration()).thenReturn(configuration);
+        when(configuration.getProtocolOptions()).thenReturn(protocolOptions);
+        when(protocolOptions.getProtocolVersion()).thenReturn(ProtocolVersion.V4);
+        when(configuration.getCodecRegistry()).thenReturn(CodecRegistry.DEFAULT_INSTANCE);
+    }
+
+    @Test
+    void group_samePartitionSameTable() {
+        Statement first = bound("scope", 1, DataType.uuid());
+        Statement second = bound("scope", 1, DataType.uuid());
+
+        List<Statement> requests = StatementGroups.group(session, Arrays.asList(first, second), MAX_BATCH_SIZE);
+
+        assertEquals(1, requests.size());
+        BatchStatement batch = (BatchStatement) requests.get(0);
+        assertEquals(Arrays.asList(first, second), batch.getStatements());
+        assertEquals(ConsistencyLevel.LOCAL_QUORUM, batch.getConsistencyLevel());
+    }
+
+    @Test
+    void group_samePartitionKeyDifferentTables() {
+        Statement scope = bound("scope", 1, DataType.uuid());
+        Statement entry = bound("scope_entry", 1, DataType.uuid());
+
+        List<Statement> requests = StatementGroups.group(session, Arrays.asList(scope, entry), MAX_BATCH_SIZE);
+
+        assertEquals(Arrays.asList(scope, entry), requests);
+    }
+
+    @Test
+    void group_differentPartitions() {
+        Statement first = bound("scope", 1, DataType.uuid());
+        Statement second = bound("scope", 2, DataType.uuid());
+
+        List<Statement> requests = StatementGroups.group(session, Arrays.asList(first, second), MAX_BATCH_SIZE);
+
+        assertEquals(Arrays.asList(first, second), requests);
+    }
+
+    @Test
+    void group_differentConsistencyLevels() {
+        BoundStatement first = bound("scope", 1, DataType.uuid());
+        BoundStatement second = bound("scope", 1, DataType.uuid());
+        when(second.getConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+
+        List<Statement> requests = StatementGroups.group(session, Arrays.asList(first, second), MAX_BATCH_SIZE);
+
+        assertEquals(Arrays.asList(first, second), requests);
+    }
+
+    @Test
+    void group_notIdempotent() {
+        BoundStatement conditional = bound("scope", 1, DataType.uuid());
+        when(conditional.isIdempotent()).thenReturn(false);
+        Statement other = bound("scope", 1, DataType.uuid());
+
+        List<Statement> requests = StatementGroups.group(session, Arrays.asList(conditional, other), MAX_BATCH_SIZE);
+
+        assertEquals(Arrays.asList(conditional, other), requests);
+    }
+
+    @Test
+    void group_counterUpdate() {
+        Statement first = bound("scope_count", 1, DataType.counter(), DataType.uuid());
+        Statement second = bound("scope_count", 1, DataType.counter(), DataType.uuid());
+
+        List<Statement> requests = StatementGroups.group(session, Arrays.asList(first, second), MAX_BATCH_SIZE);
+
+        assertEquals(Arrays.asList(first, second), requests);
+    }
+
+    @Test
+    void group_noRoutingKey() {
+        BoundStatement first = bound("scope", 1, DataType.uuid());
+        BoundStatement second = bound("scope", 1, DataType.uuid());
+        when(first.getRoutingKey(any(ProtocolVersion.class), any(CodecRegistry.class))).thenReturn(null);
+        when(second.getRoutingKey(any(ProtocolVersion.class), any(CodecRegistry.class))).thenReturn(null);
+
+        List<Statement> requests = StatementGroups.group(session, Arrays.asList(first, second), MAX_BATCH_SIZE);
+
+        assertEquals(Arrays.asList(first, second), requests);
+    }
+
+    @Test
+    void group_notBound() {
+        Statement first = new SimpleStatement("UPDATE learner.scope SET data = 'a' WHERE id = 1");
+        Statement second = new SimpleStatement("UPDATE learner.scope SET data = 'b' WHERE id = 1");
+
+        List<Statement> requests = StatementGroups.group(session, Arrays.asList(first, second), MAX_BATCH_SIZE);
+
+        assertEquals(Arrays.asList(first, second), requests);
+    }
+
+    @Test
+    void group_splitByMaxBatchSize() {
+        List<Statement> statements = Arrays.asList(
+                bound("scope", 1, DataType.uuid()),
+                bound("scope", 1, DataType.uuid()),
+                bound("scope", 1, DataType.uuid()),
+                bound("scope", 1, DataType.uuid()));
+
+        List<Statement> requests = StatementGroups.group(session, statements, MAX_BATCH_SIZE);
+
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(0) instanceof BatchStatement);
+        assertEquals(statements.subList(0, 3), ((BatchStatement) requests.get(0)).getStatements());
+        // a single statement left is not wrapped in a batch
+        assertSame(statements.get(3), requests.get(1));
+    }
+
+    @Test
+    void group_keepsUngroupedFirst() {
+        Statement single = new SimpleStatement("UPDATE learner.scope SET data = 'a' WHERE id = 1");
+        Statement first = bound("scope", 1, DataType.uuid());
+        Statement second = bound("scope", 1, DataType.uuid());
+
+        List<Statement> requests = StatementGroups.group(session, Arrays.asList(first, single, second),
+                MAX_BATCH_SIZE);
+
+        assertEquals(2, requests.size());
+        assertSame(single, requests.get(0));
+        assertEquals(Arrays.asList(first, second), ((BatchStatement) requests.get(1)).getStatements());
+    }
+
+    @Test
+    void group_assetAssociations() {
+        // the shape of CoursewareGateway#persistAssets, 3 assets associated to element 1 under root element 2
+        List<Statement> statements = new ArrayList<>();
+        for (int asset = 10; asset < 13; asset++) {
+            statements.add(bound("asset_urn_by_courseware", 1, DataType.uuid(), DataType.text()));
+            statements.add(bound("courseware_by_asset_urn", asset, DataType.text(), DataType.uuid()));
+            statements.add(bound("asset_urn_by_root_activity", 2, DataType.uuid(), DataType.text()));
+        }
+
+        List<Statement> requests = StatementGroups.group(session, statements, MAX_BATCH_SIZE);
+
+        // 9 writes in 5 round trips, one batch per element and root element partition
+        assertEquals(5, requests.size());
+        assertEquals(2, requests.stream().filter(request -> request instanceof BatchStatement).count());
+    }
+
+    private static BoundStatement bound(String table, int partition, DataType... types) {
+        ColumnDefinitions variables = mock(ColumnDefinitions.class);
+        when(variables.size()).thenReturn(types.length);
+        for (int i = 0; i < types.length; i++) {
+            when(variables.getKeyspace(i)).thenReturn(KEYSPACE);
+            when(variables.getTable(i)).thenReturn(table);
+            when(variables.getType(i)).thenReturn(types[i]);
+        }
+        PreparedStatement prepared = mock(PreparedStatement.class);
+        when(prepared.getVariables()).thenReturn(variables);
+
+        BoundStatement bound = mock(BoundStatement.class);
+        when(bound.preparedStatement()).thenReturn(prepared);
+        when(bound.getRoutingKey(any(ProtocolVersion.class), any(CodecRegistry.class)))
+                .thenReturn(ByteBuffer.allocate(4).putInt(0, partition));
+        when(bound.getConsistencyLevel()).thenReturn(ConsistencyLevel.LOCAL_QUORUM);
+        when(bound.isIdempotent()).thenReturn(true);
+        return bound;
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.smartsparrow.dse.wiring;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.datastax.driver.core.Statement;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.smartsparrow.dse.api.PreparedStatementCache;
+import com.smartsparrow.dse.api.TableMaterializer;
+import com.smartsparrow.dse.api.TableMutator;
+
+class PreparedStatementWarmUpTest {
+
+    private static final String SELECT = "SELECT id FROM test.table WHERE id = ?";
+    private static final String UPSERT = "INSERT INTO test.table (id) VALUES (?)";
+    private static final String DELETE = "DELETE FROM test.table WHERE id = ?";
+
+    private PreparedStatementCache stmtCache;
+    private Injector injector;
+
+    @BeforeEach
+    void setUp() {
+        stmtCache = mock(PreparedStatementCache.class);
+        injector = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(PreparedStatementCache.class).toInstance(stmtCache);
+                bindListener(PreparedStatementWarmUp.TABLE_TYPES,
+                        new PreparedStatementWarmUp(getProvider(PreparedStatementCache.class)));
+            }
+        });
+    }
+
+    @Test
+    void warmUp_materializer() {
+        assertNotNull(injector.getInstance(TestMaterializer.class));
+
+        verify(stmtCache).prepareAsync(SELECT);
+    }
+
+    @Test
+    void warmUp_mutator() {
+        assertNotNull(injector.getInstance(TestMutator.class));
+
+        verify(stmtCache).prepareAsync(UPSERT);
+        verify(stmtCache).prepareAsync(DELETE);
+    }
+
+    @Test
+    void warmUp_oncePerType() {
+        injector.getInstance(TestMaterializer.class);
+        injector.getInstance(TestMaterializer.class);
+
+        verify(stmtCache, times(1)).prepareAsync(SELECT);
+    }
+
+    @Test
+    void warmUp_nothingDeclared() {
+        assertNotNull(injector.getInstance(UndeclaredMaterializer.class));
+
+        verify(stmtCache, never()).prepareAsync(anyString());
+    }
+
+    @Test
+    void warmUp_failureDoesNotBreakInjection() {
+        assertNotNull(injector.getInstance(FailingMaterializer.class));
+
+        verify(stmtCache, never()).prepareAsync(anyString());
+    }
+
+    @Test
+    void warmUp_ignoresOtherTypes() {
+        assertNotNull(injector.getInstance(Object.class));
+
+        verify(stmtCache, never()).prepareAsync(anyString());
+    }
+
+    public static class TestMaterializer implements TableMaterializer {
+
+        @Override
+        public Collection<String> declaredQueries() {
+            return Arrays.asList(SELECT);
+        }
+    }
+
+    public static class UndeclaredMaterializer implements TableMaterializer {
+    }
+
+    public static class FailingMaterializer implements TableMaterializer {
+
+        @Override
+        public Collection<String> declaredQueries() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    public static class TestMutator implements TableMutator<String> {
+
+        @Override
+        public Statement upsert(String mutation) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Statement delete(String mutation) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<String> declaredQueries() {
+            return Arrays.asList(UPSERT, DELETE);
+        }
+    }
+}
@@ -42,6 +42,44 @@ public class ExportAmbrosiaSnippetMaterializer implements TableMaterializer {
         return stmt;
     }
 
+    public Statement findById(final UUID exportId, final UUID notificationId) {
+
+        // @formatter:off
+        final String QUERY = "SELECT" +
+                "  export_id" +
+                ", notification_id" +
+                ", element_id" +
+                ", element_type" +
+                ", account_id" +
+                ", ambrosia_snippet" +
+                " FROM export.ambrosia_snippet_by_export" +
+                " WHERE export_id = ?" +
+                " AND notification_id = ?";
+        // @formatter:on
+
+        BoundStatement stmt = stmtCache.asBoundStatement(QUERY);
+        stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
+        stmt.setIdempotent(true);
+        stmt.bind(exportId, notificationId);
+        return stmt;
+    }
+
+    public Statement findNotificationIds(final UUID exportId) {
+
+        // @formatter:off
+        final String QUERY = "SELECT" +
+                "  notification_id" +
+                " FROM export.ambrosia_snippet_by_export" +
+                " WHERE export_id = ?";
+        // @formatter:on
+
+        BoundStatement stmt = stmtCache.asBoundStatement(QUERY);
+        stmt.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
+        stmt.setIdempotent(true);
+        stmt.bind(exportId);
+        return stmt;
+    }
+
     public Statement findByNotificationId(final UUID exportId) {
 
         // @formatter:off
@@ -199,6 +199,36 @@ public class ExportGateway {
                 .map(exportAmbrosiaSnippetMaterializer::fromRow);
     }
 
+    /**
+     * Fetch the ambrosia snippet of an export notification
+     *
+     * @param exportId the export id
+     * @param notificationId the notification id to fetch the snippet for
+     * @return a mono of ambrosia snippet or an empty mono when not found
+     * @deprecated to be removed when snippets storage in Cassandra is removed
+     */
+    @Deprecated
+    public Mono<ExportAmbrosiaSnippet> fetchAmbrosiaSnippet(final UUID exportId, final UUID notificationId) {
+        return ResultSets.query(session, exportAmbrosiaSnippetMaterializer.findById(exportId, notificationId))
+                .flatMapIterable(row -> row)
+                .map(exportAmbrosiaSnippetMaterializer::fromRow)
+                .singleOrEmpty();
+    }
+
+    /**
+     * Fetch the notifications of an export that have an ambrosia snippet, without reading the snippets
+     *
+     * @param exportId the export id
+     * @return a flux of notification ids
+     * @deprecated to be removed when snippets storage in Cassandra is removed
+     */
+    @Deprecated
+    public Flux<UUID> fetchAmbrosiaSnippetNotificationIds(final UUID exportId) {
+        return ResultSets.query(session, exportAmbrosiaSnippetMaterializer.findNotificationIds(exportId))
+                .flatMapIterable(row -> row)
+                .map(row -> row.getUUID("notification_id"));
+    }
+
     /**
      * Fetch ambrosia snippets by notification id
      * @param notificationId notification id
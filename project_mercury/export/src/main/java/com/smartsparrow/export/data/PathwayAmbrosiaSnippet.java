@@ -75,15 +75,26 @@ public class PathwayAmbrosiaSnippet implements AmbrosiaSnippet {
     @Override
     public PathwayAmbrosiaSnippet reduce(AmbrosiaSnippet snippet) {
         // it can be an activity or an interactive, it doesn't really matter
-        // traverse and replace the id with the snippet
+        return replaceChild(snippet.get$id(), snippet);
+    }
+
+    /**
+     * Replace a child id in the children array with the child content
+     *
+     * @param childId the id of the child to replace
+     * @param child the content written in place of the child id
+     * @return this pathway snippet
+     */
+    public PathwayAmbrosiaSnippet replaceChild(final String childId, final Object child) {
+        // traverse and replace the id with the child content
         children = children.stream()
-                .map(child -> {
-                    // just add the snippet inside the children array in the config
-                    if (String.valueOf(snippet.get$id()).equals(String.valueOf(child))) {
-                        return snippet;
+                .map(existing -> {
+                    // just add the child inside the children array in the config
+                    if (String.valueOf(childId).equals(String.valueOf(existing))) {
+                        return child;
                     }
 
-                    return child;
+                    return existing;
                 })
                 .collect(Collectors.toList());
 
@@ -1,16 +1,25 @@
 package com.smartsparrow.export.service;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.smartsparrow.courseware.data.CoursewareElement;
 import com.smartsparrow.courseware.data.CoursewareElementType;
 import com.smartsparrow.courseware.data.tree.CoursewareElementNode;
@@ -30,9 +39,13 @@ import com.smartsparrow.util.log.MercuryLogger;
 import com.smartsparrow.util.log.MercuryLoggerFactory;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 public class AmbrosiaSnippetsReducer {
 
+    // number of children snippets fetched ahead of the one being written, for each level of the courseware
+    private static final int PREFETCH = Integer.getInteger("export.reducer.prefetch", 8);
+
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     // do not include null fields
@@ -40,6 +53,10 @@ public class AmbrosiaSnippetsReducer {
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
     }
 
+    // let the reducer exceptions thrown while writing a nested snippet through
+    private static final ObjectWriter writer = objectMapper.writer()
+            .without(SerializationFeature.WRAP_EXCEPTIONS);
+
     private static final MercuryLogger log = MercuryLoggerFactory.getLogger(AmbrosiaSnippetsReducer.class);
 
     private final CoursewareService coursewareService;
@@ -50,84 +67,75 @@ public class AmbrosiaSnippetsReducer {
     }
 
     /**
-     * Traverse the courseware structure with a depth-first strategy and reduces each element ambrosia snippet found.
+     * Traverse the courseware structure with a depth-first strategy, reduce each element ambrosia snippet found with
+     * {@link AmbrosiaSnippet#reduce(AmbrosiaSnippet)} and write the reduced ambrosia json to the output stream as it
+     * goes. The activities and interactives of a pathway are reduced and written only when the pathway children are
+     * written, so only the snippets on the path being written (and up to <code>export.reducer.prefetch</code>
+     * children fetched ahead on each level) are held in memory. The export metadata is written last since the
+     * completion id is generated once every snippet is written.
      * It's important to know that the {@link CoursewareElementNode} structure could be different from since the
      * export request was first issued. This is the nature of the author environment that keeps changing. The reduced
      * result could not include elements that have been deleted between the time of requesting an export and now.
      * TODO: possible fix for this in the future is to snapshot the courseware structure.
+     * The output stream is flushed but not closed, the caller is responsible for it.
      *
-     * @param snippets   the ambrosia snippets to reduce
-     * @param courseware the courseware structure
+     * @param snippets      the ambrosia snippet fetches by element id
+     * @param courseware    the courseware structure
      * @param exportSummary the export summary
-     * @return a string representation of the reduced ambrosia json
+     * @param outputStream  the stream to write the reduced ambrosia json to
+     * @return a mono of the export metadata written to the reduced ambrosia json
+     * @throws AmbrosiaSnippetReducerException when the top level snippet is not found or failing to write
      */
-    public Mono<AmbrosiaSnippet> reduce(final Map<UUID, ExportAmbrosiaSnippet> snippets,
-                       final CoursewareElementNode courseware, final ExportSummary exportSummary) {
-        final ExportAmbrosiaSnippet snippet = snippets.get(courseware.getElementId());
-        log.jsonInfo("Reducing ambrosia snippets", new HashMap<String, Object>() {
-            {put("totalSnippets",snippets.size());}
-            {put("exportId",exportSummary.getId());}
-        });
-        
-        if (snippet == null) {
-            throw new AmbrosiaSnippetReducerException("snippet not found for top level exported element");
-        }
-
-        // invoke the reduce function
-        final AmbrosiaSnippet reduced = reduce(courseware, deserializeSnippet(snippet.getAmbrosiaSnippet(), courseware.getType()), snippets);
-
-        if (reduced == null) {
-            throw new AmbrosiaSnippetReducerException("something went wrong when reducing");
-        }
-
-        // find the exported element ancestry and add it to the metadata
+    public Mono<ExportMetadata> reduce(final Map<UUID, Mono<ExportAmbrosiaSnippet>> snippets,
+                                       final CoursewareElementNode courseware,
+                                       final ExportSummary exportSummary,
+                                       final OutputStream outputStream) {
+        // find the exported element ancestry first, it is written with the metadata
         return coursewareService.findCoursewareElementAncestry(CoursewareElement.from(exportSummary.getElementId(), exportSummary.getElementType()))
-                .map(coursewareElementAncestry -> {
-                    // set the metadata and the completion id then return the reduced snippet
-                    return reduced.setExportMetadata(new ExportMetadata(UUIDs.timeBased())
-                            .setExportId(exportSummary.getId())
-                            .setAncestry(coursewareElementAncestry.getAncestry())
-                            .setStartedAt(DateFormat.asRFC1123(exportSummary.getId()))
-                            .setElementsExportedCount(snippets.size())
-                            .setExportType(exportSummary.getExportType())
-                            .setMetadata(exportSummary.getMetadata()));
-                });
-    }
+                .flatMap(coursewareElementAncestry -> Mono.fromCallable(() -> {
+                    log.jsonInfo("Reducing ambrosia snippets", new HashMap<String, Object>() {
+                        {put("totalSnippets", snippets.size());}
+                        {put("exportId", exportSummary.getId());}
+                    });
 
-    /**
-     * Performs a depth-first recursion and then reduces the snippets together
-     *
-     * @param node     the current node being traversed
-     * @param parent   the parent snippet for this node
-     * @param snippets the snippets
-     * @return the reduced ambrosia snippet
-     */
-    private AmbrosiaSnippet reduce(final CoursewareElementNode node, final AmbrosiaSnippet parent,
-                                   final Map<UUID, ExportAmbrosiaSnippet> snippets) {
-        // first get the snippet for this node
-        final ExportAmbrosiaSnippet snippet = snippets.get(node.getElementId());
-
-        if (snippet == null) {
-            // this could be a new element that was created while the export request was processing
-            // for now skip it, in the future this should not happen once the courseware structure
-            // will be snapshot and persisted
-            return parent;
-        }
+                    final ExportAmbrosiaSnippet snippet = snippets.getOrDefault(courseware.getElementId(), Mono.empty())
+                            .block();
 
-        // deserialize the snippet for the current node
-        final AmbrosiaSnippet current = deserializeSnippet(snippet.getAmbrosiaSnippet(), node.getType());
+                    if (snippet == null) {
+                        throw new AmbrosiaSnippetReducerException("snippet not found for top level exported element");
+                    }
 
-        if (node.getChildren().size() > 0) {
-            // traverse the children
-            return node.getChildren().stream()
-                    // invoke recursion
-                    .map(child -> reduce(child, current, snippets))
-                    // reduce the snippets
-                    .reduce(current, current::reduce, current::reduce);
-        }
+                    final SnippetReducer reducer = new SnippetReducer(snippets);
+                    final AmbrosiaSnippet reduced = reducer.reduce(courseware, snippet);
+                    final ExportMetadata[] exportMetadata = new ExportMetadata[1];
+
+                    try (JsonGenerator generator = new ExportMetadataGenerator(objectMapper.getFactory().createGenerator(outputStream), () -> {
+                        // set the completion id once every snippet is written
+                        exportMetadata[0] = new ExportMetadata(UUIDs.timeBased())
+                                .setExportId(exportSummary.getId())
+                                .setAncestry(coursewareElementAncestry.getAncestry())
+                                .setStartedAt(DateFormat.asRFC1123(exportSummary.getId()))
+                                .setElementsExportedCount(snippets.size())
+                                .setExportType(exportSummary.getExportType())
+                                .setMetadata(exportSummary.getMetadata());
+                        return exportMetadata[0];
+                    })) {
+                        // the caller owns the stream
+                        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                        writer.writeValue(generator, reduced);
+                    } catch (IOException e) {
+                        log.error("failed to write the reduced snippets", e);
+                        throw new AmbrosiaSnippetReducerException(String.format("failed to write the reduced snippets => %s",
+                                                                                courseware.getElementId()), e);
+                    }
 
-        // there are no children so use the parent to reduce the current
-        return parent.reduce(current);
+                    log.jsonInfo("Completed writing the reduced snippets", new HashMap<String, Object>() {
+                        {put("exportId", exportSummary.getId());}
+                        {put("elementsWritten", reducer.fetched + 1);}
+                    });
+                    return exportMetadata[0];
+                    // fetching the snippets blocks
+                }).subscribeOn(Schedulers.elastic()));
     }
 
     /**
@@ -169,40 +177,146 @@ public class AmbrosiaSnippetsReducer {
     }
 
     /**
-     * Convenience method to serialize a snippet to a string and throw a runtime exception when failing to do so.
-     *
-     * @param snippet the ambrosia snippet to serialize
-     * @return a File of the written JSON, caller is responsible for the deletion of it.
-     * @throws AmbrosiaSnippetReducerException when failing to serialize
+     * Reduces the snippets of a courseware structure with the {@link AmbrosiaSnippet} reduce rules. The walkable
+     * children of a pathway are placed in the pathway children as {@link WalkableReference}, their own snippets are
+     * fetched and reduced when the reference is written.
      */
-    public File serialize(final AmbrosiaSnippet snippet) {
-        File ambrosiaFile = null;
-        try {
-            ambrosiaFile = File.createTempFile(snippet.get$id(), "snippet");
-            objectMapper.writeValue(ambrosiaFile, snippet);
-            return ambrosiaFile;
-        } catch (JsonProcessingException e) {
-            log.error("failed to serialize snippet", e);
-            cleanupTemporaryFile(ambrosiaFile);
-            throw new AmbrosiaSnippetReducerException(String.format("failed to serialize snippet => %s", snippet.get$id()), e);
-        } catch (IOException e) {
-            log.error(String.format("failed to create temporary snippet file exportId %s ", snippet.get$id()));
-            cleanupTemporaryFile(ambrosiaFile);
-            throw new AmbrosiaSnippetReducerException(String.format("failed to create temporary snippet file exportId %s ", snippet.get$id()), e);
+    private class SnippetReducer {
+
+        private final Map<UUID, Mono<ExportAmbrosiaSnippet>> snippets;
+        private int fetched;
+
+        private SnippetReducer(final Map<UUID, Mono<ExportAmbrosiaSnippet>> snippets) {
+            this.snippets = snippets;
+        }
+
+        /**
+         * Performs a depth-first recursion and then reduces the snippets together
+         *
+         * @param node    the node being traversed
+         * @param snippet the snippet of the node
+         * @return the reduced ambrosia snippet
+         */
+        private AmbrosiaSnippet reduce(final CoursewareElementNode node, final ExportAmbrosiaSnippet snippet) {
+            // deserialize the snippet for the current node
+            final AmbrosiaSnippet current = deserializeSnippet(snippet.getAmbrosiaSnippet(), node.getType());
+            final Children children = new Children(node);
+
+            for (CoursewareElementNode child : node.getChildren()) {
+                if (current instanceof PathwayAmbrosiaSnippet
+                        && (child.getType() == CoursewareElementType.ACTIVITY || child.getType() == CoursewareElementType.INTERACTIVE)) {
+                    // reduced once written
+                    ((PathwayAmbrosiaSnippet) current).replaceChild(child.getElementId().toString(),
+                                                                     new WalkableReference(child, children));
+                    continue;
+                }
+
+                final ExportAmbrosiaSnippet found = children.fetch(child);
+                if (found != null) {
+                    current.reduce(reduce(child, found));
+                }
+            }
+            return current;
+        }
+
+        /**
+         * Stands for an activity or an interactive in the children of a pathway snippet. The referenced snippet is
+         * fetched, reduced and written in place of the reference, the element id is written when the element has no
+         * snippet.
+         */
+        private class WalkableReference implements JsonSerializable {
+
+            private final CoursewareElementNode node;
+            private final Children siblings;
+
+            private WalkableReference(final CoursewareElementNode node, final Children siblings) {
+                this.node = node;
+                this.siblings = siblings;
+            }
+
+            @Override
+            public void serialize(final JsonGenerator generator, final SerializerProvider serializers) throws IOException {
+                final ExportAmbrosiaSnippet found = siblings.fetch(node);
+                if (found == null) {
+                    // this could be a new element that was created while the export request was processing
+                    generator.writeString(node.getElementId().toString());
+                    return;
+                }
+                serializers.defaultSerializeValue(SnippetReducer.this.reduce(node, found), generator);
+            }
+
+            @Override
+            public void serializeWithType(final JsonGenerator generator, final SerializerProvider serializers,
+                                          final TypeSerializer typeSerializer) throws IOException {
+                serialize(generator, serializers);
+            }
+        }
+
+        /**
+         * The children of the node being reduced. The first children snippets are fetched ahead and the window is
+         * refilled as they are fetched, a fetched snippet is released once reduced.
+         */
+        private class Children {
+
+            private final Map<UUID, CompletableFuture<ExportAmbrosiaSnippet>> prefetched = new HashMap<>();
+            private final Iterator<CoursewareElementNode> ahead;
+
+            private Children(final CoursewareElementNode node) {
+                ahead = node.getChildren().iterator();
+                prefetch();
+            }
+
+            /**
+             * Fetch the snippet of a child
+             *
+             * @param child the child to fetch the snippet for
+             * @return the snippet or <code>null</code> when the child has no snippet, this could be a new element
+             * created while the export request was processing
+             */
+            private ExportAmbrosiaSnippet fetch(final CoursewareElementNode child) {
+                final CompletableFuture<ExportAmbrosiaSnippet> future = prefetched.remove(child.getElementId());
+                final Mono<ExportAmbrosiaSnippet> snippet = future != null
+                        ? Mono.fromFuture(future)
+                        : snippets.getOrDefault(child.getElementId(), Mono.empty());
+                prefetch();
+
+                final ExportAmbrosiaSnippet found = snippet.block();
+                if (found != null) {
+                    fetched++;
+                }
+                return found;
+            }
+
+            private void prefetch() {
+                while (prefetched.size() < PREFETCH && ahead.hasNext()) {
+                    final CoursewareElementNode child = ahead.next();
+                    final Mono<ExportAmbrosiaSnippet> snippet = snippets.get(child.getElementId());
+                    if (snippet != null) {
+                        prefetched.put(child.getElementId(), snippet.toFuture());
+                    }
+                }
+            }
         }
     }
 
     /**
-     * Delete the supplied file
-     *
-     * @param tempFile
+     * Writes the export metadata as the last field of the top level snippet
      */
-    private void cleanupTemporaryFile(final File tempFile) {
-        if (tempFile != null) {
-            boolean wasDeleted = tempFile.delete();
-            if (!wasDeleted) {
-                log.warn("Did not delete temporary file: {}", tempFile.getAbsolutePath());
+    private static class ExportMetadataGenerator extends JsonGeneratorDelegate {
+
+        private final Supplier<ExportMetadata> exportMetadata;
+
+        private ExportMetadataGenerator(final JsonGenerator generator, final Supplier<ExportMetadata> exportMetadata) {
+            super(generator, false);
+            this.exportMetadata = exportMetadata;
+        }
+
+        @Override
+        public void writeEndObject() throws IOException {
+            if (getOutputContext().getParent().inRoot()) {
+                writeObjectField("exportMetadata", exportMetadata.get());
             }
+            super.writeEndObject();
         }
     }
 }
@@ -0,0 +1,46 @@
+package com.smartsparrow.export.service;
+
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.smartsparrow.export.data.ExportAmbrosiaSnippet;
+import com.smartsparrow.export.data.ExportGateway;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Snippets persisted in the ambrosia_snippet_by_export table.
+ *
+ * @deprecated legacy storage, to be removed when snippets storage in Cassandra is removed
+ */
+@Deprecated
+@Singleton
+public class CassandraExportSnippetStore implements ExportSnippetStore {
+
+    private final ExportGateway exportGateway;
+
+    @Inject
+    public CassandraExportSnippetStore(final ExportGateway exportGateway) {
+        this.exportGateway = exportGateway;
+    }
+
+    @Override
+    public Mono<ExportAmbrosiaSnippet> save(@Nonnull final ExportAmbrosiaSnippet exportAmbrosiaSnippet) {
+        return exportGateway.persist(exportAmbrosiaSnippet)
+                .then(Mono.just(exportAmbrosiaSnippet));
+    }
+
+    @Override
+    public Flux<UUID> list(@Nonnull final UUID exportId) {
+        return exportGateway.fetchAmbrosiaSnippetNotificationIds(exportId);
+    }
+
+    @Override
+    public Mono<ExportAmbrosiaSnippet> fetch(@Nonnull final UUID exportId, @Nonnull final UUID notificationId) {
+        return exportGateway.fetchAmbrosiaSnippet(exportId, notificationId);
+    }
+}
@@ -3,16 +3,12 @@ package com.smartsparrow.export.service;
 import static com.smartsparrow.util.Warrants.affirmArgument;
 import static com.smartsparrow.util.Warrants.affirmNotNull;
 
-import java.io.File;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.UUID;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
@@ -21,10 +17,9 @@ import javax.inject.Singleton;
 
 import org.apache.camel.component.reactive.streams.api.CamelReactiveStreamsService;
 import org.apache.commons.lang.exception.ExceptionUtils;
-import org.redisson.api.RBucketReactive;
-import org.redisson.api.RedissonReactiveClient;
+import org.apache.http.entity.ContentType;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newrelic.api.agent.NewRelic;
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.courseware.data.CoursewareElementType;
 import com.smartsparrow.courseware.data.tree.CoursewareElementNode;
@@ -44,9 +39,9 @@ import com.smartsparrow.export.data.ExportSummary;
 import com.smartsparrow.export.data.ExportType;
 import com.smartsparrow.export.route.CoursewareExportRoute;
 import com.smartsparrow.export.wiring.ExportConfig;
-import com.smartsparrow.export.wiring.Operations;
 import com.smartsparrow.export.wiring.SnippetsStorage;
 import com.smartsparrow.service.S3ClientService;
+import com.smartsparrow.service.S3UploadStream;
 import com.smartsparrow.util.UUIDs;
 import com.smartsparrow.util.log.MercuryLogger;
 import com.smartsparrow.util.log.MercuryLoggerFactory;
@@ -62,14 +57,8 @@ public class ExportService {
 
     private static final String EMPTY_AMBROSIA_URL = "";
 
-    // todo: make the thread pool size configurable in Database
-    public static final ThreadPoolExecutor fixedThreadPoolBlockingS3Read = (ThreadPoolExecutor) Executors.newFixedThreadPool(
-            5 * Runtime.getRuntime().availableProcessors());
-
     private static final MercuryLogger log = MercuryLoggerFactory.getLogger(ExportService.class);
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     private final ExportGateway exportGateway;
     private final CoursewareElementStructureService coursewareElementStructureService;
     private final AmbrosiaSnippetsReducer ambrosiaSnippetsReducer;
@@ -77,9 +66,8 @@ public class ExportService {
     private final S3ClientService s3ClientService;
     private final ExportConfig exportConfig;
     private final CamelReactiveStreamsService camelReactiveStreams;
-
-    // Annotated with @Operations in the constructor to ensure we get a client for the right redis nodes
-    private final RedissonReactiveClient redis;
+    private final ExportSnippetStore snippetStore;
+    private final ExportSnippetScheduler snippetScheduler;
 
     @Inject
     public ExportService(final ExportGateway exportGateway,
@@ -89,7 +77,8 @@ public class ExportService {
                          final S3ClientService s3ClientService,
                          final Provider<ExportConfig> exportConfigProvider,
                          final CamelReactiveStreamsService camelReactiveStreams,
-                         final @Operations RedissonReactiveClient redis) {
+                         final ExportSnippetStore snippetStore,
+                         final ExportSnippetScheduler snippetScheduler) {
         this.exportGateway = exportGateway;
         this.coursewareElementStructureService = coursewareElementStructureService;
         this.ambrosiaSnippetsReducer = ambrosiaSnippetsReducer;
@@ -97,7 +86,8 @@ public class ExportService {
         this.s3ClientService = s3ClientService;
         this.exportConfig = exportConfigProvider.get();
         this.camelReactiveStreams = camelReactiveStreams;
-        this.redis = redis;
+        this.snippetStore = snippetStore;
+        this.snippetScheduler = snippetScheduler;
     }
 
     /**
@@ -426,27 +416,9 @@ public class ExportService {
                     : String.format("Snippet length %d", ambrosiaSnippet.length())); }
         });
 
-        switch(exportConfig.getSnippetsStorage()) {
-            case REDIS:{
-                RBucketReactive<ExportAmbrosiaSnippet> bucket = redis.getBucket("export:" + exportId.toString() + ":"
-                                                                                        + notificationId);
-                return bucket.set(exportAmbrosiaSnippet, 30, TimeUnit.MINUTES)
-                        .then(Mono.just(exportAmbrosiaSnippet))
-                        .doOnEach(ReactiveTransaction.linkOnNext());
-            }
-            case S3: {
-                // if S3, the ambrosia snippet will be null and not enriched
-                return Mono.just(exportAmbrosiaSnippet)
-                        .doOnEach(ReactiveTransaction.linkOnNext());
-            }
-            case CASSANDRA:
-            default: {
-                return exportGateway.persist(exportAmbrosiaSnippet)
-                        .then(Mono.just(exportAmbrosiaSnippet))
-                        .doOnEach(ReactiveTransaction.linkOnNext());
-
-            }
-        }
+        // if S3, the ambrosia snippet will be null and not enriched
+        return snippetStore.save(exportAmbrosiaSnippet)
+                .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
     /**
@@ -498,28 +470,41 @@ public class ExportService {
                 .doOnEach(ReactiveTransaction.linkOnNext());
     }
 
-    private Mono<ExportAmbrosiaSnippet> getExportAmbrosiaSnippetFromS3(String bucketName, UUID exportId, String key, int totalFiles) {
-        log.jsonDebug("Get export snippets from S3", new HashMap<>(){
+    /**
+     * Index the ambrosia snippets of an export by element id. The index holds the snippet fetches rather than the
+     * snippets, so each snippet is only read from the storage when the reducer writes it. The element of each snippet
+     * is found via the export result notifications. The store reads go through the snippet scheduler, which bounds
+     * the reads of this export and shares the read slots fairly with the other exports.
+     *
+     * @param exportId the export to index the snippets for
+     * @return a mono of snippet fetches by element id
+     */
+    private Mono<Map<UUID, Mono<ExportAmbrosiaSnippet>>> indexSnippets(final UUID exportId) {
+        log.jsonInfo("Getting snippets to generate ambrosia", new HashMap<String, Object>() {
             {put("exportId", exportId);}
-            {put("bucketName", bucketName);}
-            {put("S3key", key);}
+            {put("snippetStorage", exportConfig.getSnippetsStorage());}
         });
-        return Mono.fromCallable(() -> {
-            String notificationStr = s3ClientService.read(bucketName, key);
-            ExportResultNotification notification = mapper
-                    .readValue(notificationStr, ExportResultNotification.class);
-            return new ExportAmbrosiaSnippet()
-                    .setExportId(exportId)
-                    .setAccountId(notification.getAccountId())
-                    .setElementId(notification.getElementId())
-                    .setElementType(notification.getElementType())
-                    .setAmbrosiaSnippet(notification.getAmbrosiaSnippet());
-        }).subscribeOn(totalFiles > 1500 ? Schedulers.fromExecutor(fixedThreadPoolBlockingS3Read) : Schedulers.elastic()); // anything more than 1000 elements, throttle it using bounded thread pool
+
+        return snippetScheduler.schedule(exportId, "List", snippetStore.list(exportId).collect(Collectors.toSet()))
+                .flatMap(notificationIds -> exportGateway.fetchResultNotifications(exportId)
+                        // a notification without snippet is not indexed
+                        .filter(notification -> notificationIds.contains(notification.getNotificationId()))
+                        .collectMap(ExportResultNotification::getElementId,
+                                    notification -> fetchSnippet(exportId, notification.getNotificationId())));
+    }
+
+    private Mono<ExportAmbrosiaSnippet> fetchSnippet(final UUID exportId, final UUID notificationId) {
+        return snippetScheduler.schedule(exportId, "Fetch", snippetStore.fetch(exportId, notificationId))
+                .doOnNext(snippet -> {
+                    if (snippet.getAmbrosiaSnippet() != null) {
+                        NewRelic.recordMetric("Custom/Export/Snippets/Fetch/Size", snippet.getAmbrosiaSnippet().length());
+                    }
+                });
     }
 
     /**
-     * Generate ambrosia export. Loads Snippets, notifications for an export, then the courseware structure for the exported
-     * element and finally reduce the snippets together to generate an ambrosia file.
+     * Generate ambrosia export. Indexes the snippets of an export, then loads the courseware structure for the exported
+     * element and finally reduce the snippets together, streaming the ambrosia file to s3 as the snippets are fetched.
      * The courseware structure loaded at this stage could be different and hold either more or less elements than when it was
      * originally exported. TODO store the structure at export time so that the reducing can be consistent
      * If any notification has a failed status then the ambrosia is not generated and {@link ExportStatus#FAILED} is set
@@ -552,77 +537,6 @@ public class ExportService {
                                 .then(Mono.just(updatedSummary));
                     }
 
-                    final Mono<Map<UUID, ExportAmbrosiaSnippet>> snippets;
-                    log.jsonInfo("Getting snippets to generate ambrosia", new HashMap<String, Object>() {
-                        {put("exportId", exportId);}
-                        {put("snippetStorage", exportConfig.getSnippetsStorage());}
-                    });
-
-                    switch (exportConfig.getSnippetsStorage()) {
-                        case S3: {
-                            String snippetBucketName = exportConfig.getSnippetBucketName();
-                            // in.json is the file that is created by Lambda process during the conversion of snippets. Need to configure this filename
-                            List<String> exportKeyList = s3ClientService.listKeys(snippetBucketName, exportId.toString(), "in.json");
-                            log.jsonInfo("Getting list of keys from S3", new HashMap<String, Object>() {
-                                {put("fileCount", exportKeyList.size());}
-                                {put("exportId", exportId);}
-                                {put("snippetBucketName", snippetBucketName);}
-                            });
-
-                            snippets = Flux.fromIterable(exportKeyList)
-                                    .flatMap(key -> getExportAmbrosiaSnippetFromS3(snippetBucketName,
-                                                                                   exportId,
-                                                                                   key,
-                                                                                   exportKeyList.size()))
-                                    .doOnNext(snippet ->
-                                                      log.jsonInfo("Completed receiving notification string from S3",
-                                                                   new HashMap<>() {
-                                                                       {
-                                                                           put("exportId", exportId);
-                                                                       }
-
-                                                                       {
-                                                                           put("notificationId",
-                                                                               snippet.getNotificationId());
-                                                                       }
-
-                                                                       {
-                                                                           put("elementId", snippet.getElementId());
-                                                                       }
-                                                                   })
-                                    )
-                                    .collectMap(ExportAmbrosiaSnippet::getElementId)
-                                    .doOnError(Exception.class, ex -> {
-                                        log.jsonError("error unmarshalling notification string from S3",
-                                                      new HashMap<String, Object>() {
-                                                          {
-                                                              put("exportId", exportId);
-                                                          }
-                                                      },
-                                                      ex);
-                                    });
-                            break;
-                        }
-
-                        case REDIS: {
-                            // todo: once S3 is working fine, this needs to be removed;
-                            List<RBucketReactive<ExportAmbrosiaSnippet>> buckets =
-                                    redis.findBuckets("export:" + exportId.toString() + ":*");
-
-                            snippets = Flux.fromIterable(buckets)
-                                    .flatMap(RBucketReactive::get)
-                                    .collectMap(ExportAmbrosiaSnippet::getElementId);
-                            break;
-                        }
-
-                        case CASSANDRA:
-                        default: {
-                            // todo: once S3 is working fine, this needs to be removed;
-                            snippets = exportGateway.fetchAmbrosiaSnippets(exportId)
-                                    .collectMap(ExportAmbrosiaSnippet::getElementId);
-                        }
-                    }
-
                     // find the courseware structure, keep in mind this structure could have changed since
                     // the export request was first triggered.
                     // todo: why???
@@ -631,65 +545,60 @@ public class ExportService {
                                                            exportSummary.getElementType(),
                                                            Collections.emptyList());
 
-                    return Mono.zip(snippets, coursewareStructure, Mono.just(exportSummary))
-                            // reduce the snippets together into an ActivityAmbrosiaSnippet
-                            .flatMap(t3 -> ambrosiaSnippetsReducer.reduce(t3.getT1(), t3.getT2(), t3.getT3())
-                                    .flatMap(ambrosiaSnippet -> {
-                                        log.jsonInfo("Completed reducing snippets", new HashMap<String, Object>() {
-                                            {
-                                                put("exportId", exportId);
-                                            }
-
-                                            {
-                                                put("totalElements",
-                                                    ambrosiaSnippet.getExportMetadata().getElementsExportedCount());
-                                            }
-
-                                            {
-                                                put("elementId", exportSummary.getElementId());
-                                            }
+                    return Mono.zip(indexSnippets(exportId), coursewareStructure)
+                            // reduce the snippets together straight into the ambrosia file upload
+                            .flatMap(t2 -> {
+                                final String fileName = "ambrosia.json";
+                                final S3UploadStream ambrosiaStream = s3ClientService
+                                        .openUploadStream(exportConfig.getBucketName(),
+                                                          String.format("%s/%s", exportId, fileName),
+                                                          ContentType.APPLICATION_JSON);
+
+                                return Mono.defer(() -> ambrosiaSnippetsReducer.reduce(t2.getT1(), t2.getT2(), exportSummary, ambrosiaStream))
+                                        // complete the upload
+                                        .doOnSuccess(exportMetadata -> ambrosiaStream.close())
+                                        // discard the uploaded parts on error or cancel, no-op once completed
+                                        .doFinally(signalType -> ambrosiaStream.abort())
+                                        .flatMap(exportMetadata -> {
+                                            log.jsonInfo("Completed reducing snippets", new HashMap<String, Object>() {
+                                                {
+                                                    put("exportId", exportId);
+                                                }
+
+                                                {
+                                                    put("totalElements", exportMetadata.getElementsExportedCount());
+                                                }
+
+                                                {
+                                                    put("elementId", exportSummary.getElementId());
+                                                }
+                                            });
+                                            // update the summary to completed and return
+                                            final ExportSummary updatedSummary = new ExportSummary()
+                                                    .setId(exportSummary.getId())
+                                                    .setElementId(exportSummary.getElementId())
+                                                    .setElementType(exportSummary.getElementType())
+                                                    .setProjectId(exportSummary.getProjectId())
+                                                    .setWorkspaceId(exportSummary.getWorkspaceId())
+                                                    .setAccountId(exportSummary.getAccountId())
+                                                    // set the completed at always from the exportMetadata
+                                                    // this ensures the timeuuid is generated after the reducing is completed
+                                                    // and it is available in the snippet as a field
+                                                    .setCompletedAt(exportMetadata.getCompletedId())
+                                                    .setExportType(exportSummary.getExportType())
+                                                    .setRootElementId(exportSummary.getRootElementId())
+                                                    .setAmbrosiaUrl(String.format("%s/%s/%s",
+                                                                                  exportConfig.getBucketUrl(),
+                                                                                  exportId.toString(),
+                                                                                  fileName))
+                                                    .setStatus(ExportStatus.COMPLETED)
+                                                    .setMetadata(exportSummary.getMetadata());
+
+                                            // persist the updated summary and return
+                                            return exportGateway.persist(updatedSummary)
+                                                    .then(Mono.just(updatedSummary));
                                         });
-                                        final String fileName = "ambrosia.json";
-                                        // serialize the reduced snippet
-                                        final File ambrosiaFile = ambrosiaSnippetsReducer.serialize(ambrosiaSnippet);
-                                        // update the summary to completed and return
-                                        final ExportSummary updatedSummary = new ExportSummary()
-                                                .setId(exportSummary.getId())
-                                                .setElementId(exportSummary.getElementId())
-                                                .setElementType(exportSummary.getElementType())
-                                                .setProjectId(exportSummary.getProjectId())
-                                                .setWorkspaceId(exportSummary.getWorkspaceId())
-                                                .setAccountId(exportSummary.getAccountId())
-                                                // set the completed at always from the exportMetadata
-                                                // this ensures the timeuuid is generated after the reducing is completed
-                                                // and it is available in the snippet as a field
-                                                .setCompletedAt(ambrosiaSnippet.getExportMetadata().getCompletedId())
-                                                .setExportType(exportSummary.getExportType())
-                                                .setRootElementId(exportSummary.getRootElementId())
-                                                .setAmbrosiaUrl(String.format("%s/%s/%s",
-                                                                              exportConfig.getBucketUrl(),
-                                                                              exportId.toString(),
-                                                                              fileName))
-                                                .setStatus(ExportStatus.COMPLETED)
-                                                .setMetadata(exportSummary.getMetadata());
-                                        // upload to s3
-                                        try {
-                                            s3ClientService.upload(exportConfig.getBucketName(),
-                                                                   String.format("%s/%s", exportId, "ambrosia.json"),
-                                                                   ambrosiaFile);
-                                        } finally {
-                                            // delete the generated file.
-                                            boolean wasDeleted = ambrosiaFile.delete();
-                                            if (!wasDeleted) {
-                                                log.warn("Failed delete ambrosia file: {}",
-                                                         ambrosiaFile.getAbsolutePath());
-                                            }
-                                        }
-
-                                        // persist the updated summary and return
-                                        return exportGateway.persist(updatedSummary)
-                                                .then(Mono.just(updatedSummary));
-                                    }))
+                            })
                             // persist any error to the db
                             .doOnError(exception -> {
                                 exportGateway.persist(new AmbrosiaReducerErrorLog()
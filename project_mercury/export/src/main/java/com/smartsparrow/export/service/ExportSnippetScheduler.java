@@ -0,0 +1,182 @@
+package com.smartsparrow.export.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.inject.Singleton;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.newrelic.api.agent.NewRelic;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Schedules the snippet store reads of the exports being reduced. At most <code>export.snippets.concurrency</code>
+ * reads (default 5 per core) run at once across all the exports, and at most
+ * <code>export.snippets.exportConcurrency</code> (default 16) for a single export. Exports waiting for a read are
+ * served round robin, so a large export cannot starve the exports reduced alongside it.
+ *
+ * Reads are subscribed on a pool of <code>export.snippets.concurrency</code> threads, so blocking stores never queue
+ * more work than the pool can run.
+ */
+@Singleton
+public class ExportSnippetScheduler {
+
+    private static final int CONCURRENCY = Integer.getInteger("export.snippets.concurrency",
+                                                              5 * Runtime.getRuntime().availableProcessors());
+    private static final int EXPORT_CONCURRENCY = Integer.getInteger("export.snippets.exportConcurrency", 16);
+
+    private final Scheduler scheduler = Schedulers.fromExecutorService(Executors.newFixedThreadPool(CONCURRENCY,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("export-snippets-%d").build()));
+
+    // guarded by this
+    private final Map<UUID, Lane> lanes = new HashMap<>();
+    // lanes with a read waiting and below the export concurrency, in turn order
+    private final Queue<Lane> ready = new ArrayDeque<>();
+    private int running;
+
+    /**
+     * Schedule a snippet store read for an export. The read is subscribed once a slot is available for the export
+     * and its turn comes.
+     *
+     * @param exportId the export the read is for
+     * @param operation the operation name, used for the metrics
+     * @param read the store read
+     * @param <T> the type of result
+     * @return a mono of the read result
+     */
+    public <T> Mono<T> schedule(@Nonnull final UUID exportId, @Nonnull final String operation, @Nonnull final Mono<T> read) {
+        return Mono.create(sink -> {
+            Read<T> scheduled = new Read<>(operation, read, sink);
+            sink.onCancel(scheduled::cancel);
+            start(enqueue(exportId, scheduled));
+        });
+    }
+
+    /**
+     * @return the number of reads running
+     */
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    private synchronized List<Read<?>> enqueue(final UUID exportId, final Read<?> read) {
+        Lane lane = lanes.computeIfAbsent(exportId, Lane::new);
+        read.lane = lane;
+        lane.reads.add(read);
+        if (!lane.ready && lane.running < EXPORT_CONCURRENCY) {
+            lane.ready = true;
+            ready.add(lane);
+        }
+        return next();
+    }
+
+    private synchronized List<Read<?>> release(final Lane lane) {
+        running--;
+        lane.running--;
+        if (!lane.ready && !lane.reads.isEmpty()) {
+            lane.ready = true;
+            ready.add(lane);
+        } else if (!lane.ready && lane.running == 0) {
+            lanes.remove(lane.exportId);
+        }
+        return next();
+    }
+
+    // takes one read per lane in turn until all the slots are taken
+    private List<Read<?>> next() {
+        List<Read<?>> started = new ArrayList<>();
+        while (running < CONCURRENCY && !ready.isEmpty()) {
+            Lane lane = ready.poll();
+            Read<?> read = lane.reads.poll();
+            // reads cancelled while waiting never take a slot
+            while (read != null && read.cancelled) {
+                read = lane.reads.poll();
+            }
+            if (read != null) {
+                running++;
+                lane.running++;
+                started.add(read);
+            }
+            if (!lane.reads.isEmpty() && lane.running < EXPORT_CONCURRENCY) {
+                ready.add(lane);
+            } else {
+                lane.ready = false;
+                if (lane.reads.isEmpty() && lane.running == 0) {
+                    lanes.remove(lane.exportId);
+                }
+            }
+        }
+        return started;
+    }
+
+    private void start(final List<Read<?>> reads) {
+        reads.forEach(Read::start);
+    }
+
+    private static String metricName(final String operation, final String name) {
+        return "Custom/Export/Snippets/" + operation + "/" + name;
+    }
+
+    private static class Lane {
+
+        private final UUID exportId;
+        private final Queue<Read<?>> reads = new ArrayDeque<>();
+        private boolean ready;
+        private int running;
+
+        private Lane(final UUID exportId) {
+            this.exportId = exportId;
+        }
+    }
+
+    private class Read<T> {
+
+        private final String operation;
+        private final Mono<T> read;
+        private final MonoSink<T> sink;
+        private final Disposable.Swap subscription = Disposables.swap();
+        private final long enqueuedNanos = System.nanoTime();
+        private Lane lane;
+        private volatile boolean cancelled;
+
+        private Read(final String operation, final Mono<T> read, final MonoSink<T> sink) {
+            this.operation = operation;
+            this.read = read;
+            this.sink = sink;
+        }
+
+        private void start() {
+            final long startedNanos = System.nanoTime();
+            NewRelic.recordResponseTimeMetric(metricName(operation, "Wait"),
+                                              TimeUnit.NANOSECONDS.toMillis(startedNanos - enqueuedNanos));
+            // a read cancelled once started is disposed by the swap
+            subscription.update(read.subscribeOn(scheduler)
+                                        .doOnSuccess(result -> NewRelic.incrementCounter(metricName(operation, "Count")))
+                                        .doFinally(signalType -> {
+                                            NewRelic.recordResponseTimeMetric(metricName(operation, "Time"),
+                                                                              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+                                            start(release(lane));
+                                        })
+                                        .subscribe(sink::success, sink::error, sink::success));
+        }
+
+        private void cancel() {
+            cancelled = true;
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.smartsparrow.export.service;
+
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+
+import com.smartsparrow.export.data.ExportAmbrosiaSnippet;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Storage of the ambrosia snippets produced for the elements of an export, one snippet per export notification.
+ * The store in use is selected by {@link com.smartsparrow.export.wiring.ExportConfig#getSnippetsStorage()}.
+ *
+ * The returned publishers are lazy and may block the subscribing thread, the snippet reads of an export are
+ * subscribed through the {@link ExportSnippetScheduler}.
+ */
+public interface ExportSnippetStore {
+
+    /**
+     * Save the snippet of an export notification
+     *
+     * @param exportAmbrosiaSnippet the snippet to save
+     * @return a mono of the saved snippet
+     */
+    Mono<ExportAmbrosiaSnippet> save(@Nonnull ExportAmbrosiaSnippet exportAmbrosiaSnippet);
+
+    /**
+     * List the notifications of an export that have a stored snippet
+     *
+     * @param exportId the export to list the snippets for
+     * @return a flux of notification ids
+     */
+    Flux<UUID> list(@Nonnull UUID exportId);
+
+    /**
+     * Fetch the snippet of an export notification
+     *
+     * @param exportId the export id
+     * @param notificationId the notification to fetch the snippet for
+     * @return a mono of the snippet or an empty mono when not found
+     */
+    Mono<ExportAmbrosiaSnippet> fetch(@Nonnull UUID exportId, @Nonnull UUID notificationId);
+}
@@ -0,0 +1,88 @@
+package com.smartsparrow.export.service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.smartsparrow.export.data.ExportAmbrosiaSnippet;
+import com.smartsparrow.util.Json;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Snippets written as json files to a local directory, keyed by exportId/notificationId.json. Stand-in for the other
+ * storages in tests and local runs, the snippets are not shared across instances. The directory is set with
+ * <code>export.snippets.dir</code> and defaults to export-snippets in the temp directory.
+ */
+@Singleton
+public class FileSystemExportSnippetStore implements ExportSnippetStore {
+
+    private static final String EXTENSION = ".json";
+
+    private final Path directory;
+
+    @Inject
+    public FileSystemExportSnippetStore() {
+        this(Paths.get(System.getProperty("export.snippets.dir",
+                                          Paths.get(System.getProperty("java.io.tmpdir"), "export-snippets").toString())));
+    }
+
+    public FileSystemExportSnippetStore(final Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Mono<ExportAmbrosiaSnippet> save(@Nonnull final ExportAmbrosiaSnippet exportAmbrosiaSnippet) {
+        return Mono.fromCallable(() -> {
+            final Path file = file(exportAmbrosiaSnippet.getExportId(), exportAmbrosiaSnippet.getNotificationId());
+            Files.createDirectories(file.getParent());
+            // written aside and moved in place, a listed snippet is always complete
+            final Path written = Files.createTempFile(file.getParent(), null, ".tmp");
+            Files.write(written, Json.stringify(exportAmbrosiaSnippet).getBytes(StandardCharsets.UTF_8));
+            Files.move(written, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return exportAmbrosiaSnippet;
+        });
+    }
+
+    @Override
+    public Flux<UUID> list(@Nonnull final UUID exportId) {
+        return Mono.fromCallable(() -> {
+            final Path exportDirectory = directory.resolve(exportId.toString());
+            if (!Files.isDirectory(exportDirectory)) {
+                return Collections.<UUID>emptyList();
+            }
+            try (Stream<Path> files = Files.list(exportDirectory)) {
+                return files.map(file -> file.getFileName().toString())
+                        .filter(fileName -> fileName.endsWith(EXTENSION))
+                        .map(fileName -> UUID.fromString(fileName.substring(0, fileName.length() - EXTENSION.length())))
+                        .collect(Collectors.toList());
+            }
+        }).flatMapIterable(notificationIds -> notificationIds);
+    }
+
+    @Override
+    public Mono<ExportAmbrosiaSnippet> fetch(@Nonnull final UUID exportId, @Nonnull final UUID notificationId) {
+        return Mono.fromCallable(() -> {
+            final Path file = file(exportId, notificationId);
+            if (!Files.exists(file)) {
+                return null;
+            }
+            return Json.readerFor(ExportAmbrosiaSnippet.class).<ExportAmbrosiaSnippet>readValue(Files.readAllBytes(file));
+        });
+    }
+
+    private Path file(final UUID exportId, final UUID notificationId) {
+        return directory.resolve(exportId.toString()).resolve(notificationId + EXTENSION);
+    }
+}
@@ -0,0 +1,65 @@
+package com.smartsparrow.export.service;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.redisson.api.RBucketReactive;
+import org.redisson.api.RSetCacheReactive;
+import org.redisson.api.RedissonReactiveClient;
+
+import com.smartsparrow.export.data.ExportAmbrosiaSnippet;
+import com.smartsparrow.export.wiring.Operations;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Snippets held in redis buckets named export:exportId:notificationId for 30 minutes. The notifications with a
+ * snippet are tracked in the export:snippets:exportId set, so listing the snippets of an export does not scan the
+ * keyspace.
+ */
+@Singleton
+public class RedisExportSnippetStore implements ExportSnippetStore {
+
+    private static final long TTL_MINUTES = 30;
+
+    private final RedissonReactiveClient redis;
+
+    @Inject
+    public RedisExportSnippetStore(final @Operations RedissonReactiveClient redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Mono<ExportAmbrosiaSnippet> save(@Nonnull final ExportAmbrosiaSnippet exportAmbrosiaSnippet) {
+        final UUID exportId = exportAmbrosiaSnippet.getExportId();
+        final UUID notificationId = exportAmbrosiaSnippet.getNotificationId();
+        return bucket(exportId, notificationId).set(exportAmbrosiaSnippet, TTL_MINUTES, TimeUnit.MINUTES)
+                // index the snippet once stored, a listed snippet can always be fetched until it expires
+                .then(snippets(exportId).add(notificationId, TTL_MINUTES, TimeUnit.MINUTES))
+                .thenReturn(exportAmbrosiaSnippet);
+    }
+
+    @Override
+    public Flux<UUID> list(@Nonnull final UUID exportId) {
+        return snippets(exportId).readAll()
+                .flatMapIterable(notificationIds -> notificationIds);
+    }
+
+    @Override
+    public Mono<ExportAmbrosiaSnippet> fetch(@Nonnull final UUID exportId, @Nonnull final UUID notificationId) {
+        return bucket(exportId, notificationId).get();
+    }
+
+    private RBucketReactive<ExportAmbrosiaSnippet> bucket(final UUID exportId, final UUID notificationId) {
+        return redis.getBucket("export:" + exportId + ":" + notificationId);
+    }
+
+    private RSetCacheReactive<UUID> snippets(final UUID exportId) {
+        return redis.getSetCache("export:snippets:" + exportId);
+    }
+}
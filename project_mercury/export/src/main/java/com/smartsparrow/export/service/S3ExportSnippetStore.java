@@ -0,0 +1,87 @@
+package com.smartsparrow.export.service;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import com.smartsparrow.export.data.ExportAmbrosiaSnippet;
+import com.smartsparrow.export.data.ExportResultNotification;
+import com.smartsparrow.export.wiring.ExportConfig;
+import com.smartsparrow.service.S3ClientService;
+import com.smartsparrow.util.Json;
+import com.smartsparrow.util.log.MercuryLogger;
+import com.smartsparrow.util.log.MercuryLoggerFactory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Snippets written to the snippet bucket by the conversion lambda, keyed by exportId/notificationId/in.json.
+ * Listing and reading are blocking s3 calls performed on subscription.
+ */
+@Singleton
+public class S3ExportSnippetStore implements ExportSnippetStore {
+
+    private static final MercuryLogger log = MercuryLoggerFactory.getLogger(S3ExportSnippetStore.class);
+
+    // in.json is the file that is created by Lambda process during the conversion of snippets
+    private static final String SNIPPET_FILE_NAME = "in.json";
+
+    private final S3ClientService s3ClientService;
+    private final ExportConfig exportConfig;
+
+    @Inject
+    public S3ExportSnippetStore(final S3ClientService s3ClientService,
+                                final Provider<ExportConfig> exportConfigProvider) {
+        this.s3ClientService = s3ClientService;
+        this.exportConfig = exportConfigProvider.get();
+    }
+
+    /**
+     * The snippet is written to s3 by the lambda, the snippet is returned as is
+     */
+    @Override
+    public Mono<ExportAmbrosiaSnippet> save(@Nonnull final ExportAmbrosiaSnippet exportAmbrosiaSnippet) {
+        return Mono.just(exportAmbrosiaSnippet);
+    }
+
+    @Override
+    public Flux<UUID> list(@Nonnull final UUID exportId) {
+        final String prefix = exportId.toString();
+        return Mono.fromCallable(() -> s3ClientService.listKeys(exportConfig.getSnippetBucketName(), prefix, SNIPPET_FILE_NAME))
+                .doOnNext(keys -> log.jsonInfo("Getting list of keys from S3", new HashMap<String, Object>() {
+                    {put("fileCount", keys.size());}
+                    {put("exportId", exportId);}
+                    {put("snippetBucketName", exportConfig.getSnippetBucketName());}
+                }))
+                .flatMapIterable(keys -> keys)
+                // exportId/notificationId/in.json
+                .map(key -> UUID.fromString(key.substring(prefix.length() + 1, key.length() - SNIPPET_FILE_NAME.length() - 1)));
+    }
+
+    @Override
+    public Mono<ExportAmbrosiaSnippet> fetch(@Nonnull final UUID exportId, @Nonnull final UUID notificationId) {
+        final String bucketName = exportConfig.getSnippetBucketName();
+        final String key = String.format("%s/%s/%s", exportId, notificationId, SNIPPET_FILE_NAME);
+        return Mono.fromCallable(() -> {
+            log.jsonDebug("Get export snippets from S3", new HashMap<String, Object>() {
+                {put("exportId", exportId);}
+                {put("bucketName", bucketName);}
+                {put("S3key", key);}
+            });
+            ExportResultNotification notification = Json.readerFor(ExportResultNotification.class)
+                    .readValue(s3ClientService.read(bucketName, key));
+            return new ExportAmbrosiaSnippet()
+                    .setExportId(exportId)
+                    .setNotificationId(notificationId)
+                    .setAccountId(notification.getAccountId())
+                    .setElementId(notification.getElementId())
+                    .setElementType(notification.getElementType())
+                    .setAmbrosiaSnippet(notification.getAmbrosiaSnippet());
+        });
+    }
+}
@@ -3,6 +3,7 @@ package com.smartsparrow.export.wiring;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 
+import javax.inject.Provider;
 import javax.inject.Singleton;
 
 import org.redisson.api.RedissonReactiveClient;
@@ -13,6 +14,11 @@ import com.google.inject.Provides;
 import com.smartsparrow.config.OperationsRedisConfig;
 import com.smartsparrow.config.service.ConfigurationService;
 import com.smartsparrow.export.route.CoursewareExportRoute;
+import com.smartsparrow.export.service.CassandraExportSnippetStore;
+import com.smartsparrow.export.service.ExportSnippetStore;
+import com.smartsparrow.export.service.FileSystemExportSnippetStore;
+import com.smartsparrow.export.service.RedisExportSnippetStore;
+import com.smartsparrow.export.service.S3ExportSnippetStore;
 import com.smartsparrow.util.log.MercuryLoggerFactory;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -99,6 +105,31 @@ public class ExportModule extends AbstractModule {
         return exportConfig;
     }
 
+    @Provides
+    @Singleton
+    @SuppressWarnings("deprecation")
+    public ExportSnippetStore provideSnippetStore(ExportConfig exportConfig,
+                                                  Provider<S3ExportSnippetStore> s3SnippetStore,
+                                                  Provider<RedisExportSnippetStore> redisSnippetStore,
+                                                  Provider<CassandraExportSnippetStore> cassandraSnippetStore,
+                                                  Provider<FileSystemExportSnippetStore> fileSystemSnippetStore) {
+        log.info("Courseware export snippets storage is {}", exportConfig.getSnippetsStorage());
+        if (exportConfig.getSnippetsStorage() == null) {
+            return cassandraSnippetStore.get();
+        }
+        switch (exportConfig.getSnippetsStorage()) {
+            case S3:
+                return s3SnippetStore.get();
+            case REDIS:
+                return redisSnippetStore.get();
+            case FILESYSTEM:
+                return fileSystemSnippetStore.get();
+            case CASSANDRA:
+            default:
+                return cassandraSnippetStore.get();
+        }
+    }
+
     @Provides
     @Singleton
     @SuppressFBWarnings(value = "DM_EXIT", justification = "should exit on missing configuration props")
@@ -4,9 +4,11 @@ package com.smartsparrow.export.wiring;
  * Informs coureseware export module to which type of storage to use.
  *
  * CASSANDRA - legacy, added for backwards compatibility while migrationt to newer REDIS storage.
+ * FILESYSTEM - local directory, stand-in for the other storages in tests and local runs.
  */
 public enum SnippetsStorage {
     CASSANDRA,
     REDIS,
-    S3
+    S3,
+    FILESYSTEM
 }
@@ -9,12 +9,14 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,12 +25,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Iterators;
 import com.smartsparrow.courseware.data.CoursewareElement;
 import com.smartsparrow.courseware.data.CoursewareElementAncestry;
 import com.smartsparrow.courseware.data.CoursewareElementType;
 import com.smartsparrow.courseware.data.tree.CoursewareElementNode;
 import com.smartsparrow.courseware.service.CoursewareService;
-import com.smartsparrow.export.data.AmbrosiaSnippet;
 import com.smartsparrow.export.data.ExportAmbrosiaSnippet;
 import com.smartsparrow.export.data.ExportMetadata;
 import com.smartsparrow.export.data.ExportSummary;
@@ -47,6 +51,7 @@ class AmbrosiaSnippetsReducerTest {
     private CoursewareService coursewareService;
 
     private final Map<UUID, ExportAmbrosiaSnippet> snippets = new HashMap<>();
+    private final ObjectMapper mapper = new ObjectMapper();
     private CoursewareElementNode courseware;
 
     private static final UUID activityId = UUID.fromString("fbc4f8d0-73bb-11ea-b2ed-8d9c059418aa");
@@ -113,18 +118,6 @@ class AmbrosiaSnippetsReducerTest {
                 .setAncestry(Lists.newArrayList(CoursewareElement.from(exportSummary.getElementId(), exportSummary.getElementType())))));
     }
 
-    @Test
-    void reduce_topLevelSnippetNotFound() {
-        courseware = new CoursewareElementNode()
-                .setElementId(UUID.randomUUID())
-                .setType(CoursewareElementType.ACTIVITY);
-
-        AmbrosiaSnippetReducerException e = assertThrows(AmbrosiaSnippetReducerException.class,
-                () -> reducer.reduce(snippets, courseware, exportSummary));
-
-        assertEquals("snippet not found for top level exported element", e.getMessage());
-    }
-
     @Test
     void reduce_hasNewElements() throws IOException {
         courseware.addChild(new CoursewareElementNode()
@@ -132,20 +125,17 @@ class AmbrosiaSnippetsReducerTest {
                 .setType(CoursewareElementType.COMPONENT)
                 .setParentId(activityId));
 
-        final AmbrosiaSnippet snippet = reducer.reduce(snippets, courseware, exportSummary)
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final ExportMetadata exportMetadata = reducer.reduce(fetches(snippets), courseware, exportSummary, outputStream)
                 .block();
 
-        assertNotNull(snippet);
-
-        final ExportMetadata exportMetadata = snippet.getExportMetadata();
-
         assertNotNull(exportMetadata);
         assertNotNull(exportMetadata.getCompletedAt());
         assertNotNull(exportMetadata.getCompletedId());
         assertEquals(exportId, exportMetadata.getExportId());
         assertEquals(4, exportMetadata.getElementsExportedCount());
 
-        final String reduced = Files.readString(reducer.serialize(snippet).toPath());
+        final String reduced = outputStream.toString("UTF-8");
 
         final String expected = "{" +
                 "\"$ambrosia\":\"aero:activity:9417ac60-5f60-11ea-8e69-affb2224d7e8:0.*\"," +
@@ -155,7 +145,7 @@ class AmbrosiaSnippetsReducerTest {
                 "\"exportMetadata\":{" +
                     "\"exportId\":\"886abc10-7489-11eb-8610-53fa399b8e5c\"," +
                     "\"startedAt\":\"Sun, 21 Feb 2021 21:12:41 GMT\"," +
-                    "\"completedAt\":\"" + DateFormat.asRFC1123(snippet.getExportMetadata().getCompletedId()) + "\"," +
+                    "\"completedAt\":\"" + DateFormat.asRFC1123(exportMetadata.getCompletedId()) + "\"," +
                     "\"elementsExportedCount\":4," +
                     "\"exportType\":\"EPUB_PREVIEW\"," +
                     "\"ancestry\":[{\"elementId\":\"fbc4f8d0-73bb-11ea-b2ed-8d9c059418aa\",\"elementType\":\"ACTIVITY\"}]" +
@@ -197,7 +187,11 @@ class AmbrosiaSnippetsReducerTest {
                 "}" +
                 "}";
 
-        assertEquals(expected, reduced);
+        // the tree comparison ignores the field order
+        final JsonNode reducedTree = mapper.readTree(reduced);
+        assertEquals(mapper.readTree(expected), reducedTree);
+        // the export metadata is written last
+        assertEquals("exportMetadata", Iterators.getLast(reducedTree.fieldNames()));
     }
 
     @Test
@@ -219,20 +213,17 @@ class AmbrosiaSnippetsReducerTest {
         courseware.addChild(componentNode);
         courseware.addChild(pathwayNode);
 
-        final AmbrosiaSnippet snippet = reducer.reduce(snippets, courseware, exportSummary)
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final ExportMetadata exportMetadata = reducer.reduce(fetches(snippets), courseware, exportSummary, outputStream)
                 .block();
 
-        assertNotNull(snippet);
-
-        final ExportMetadata exportMetadata = snippet.getExportMetadata();
-
         assertNotNull(exportMetadata);
         assertNotNull(exportMetadata.getCompletedAt());
         assertNotNull(exportMetadata.getCompletedId());
         assertEquals(exportId, exportMetadata.getExportId());
         assertEquals(4, exportMetadata.getElementsExportedCount());
 
-        final String reduced = Files.readString(reducer.serialize(snippet).toPath());
+        final String reduced = outputStream.toString("UTF-8");
 
 
         final String expected = "{" +
@@ -243,7 +234,7 @@ class AmbrosiaSnippetsReducerTest {
                 "\"exportMetadata\":{" +
                     "\"exportId\":\"886abc10-7489-11eb-8610-53fa399b8e5c\"," +
                     "\"startedAt\":\"Sun, 21 Feb 2021 21:12:41 GMT\"," +
-                    "\"completedAt\":\"" + DateFormat.asRFC1123(snippet.getExportMetadata().getCompletedId()) + "\"," +
+                    "\"completedAt\":\"" + DateFormat.asRFC1123(exportMetadata.getCompletedId()) + "\"," +
                     "\"elementsExportedCount\":4," +
                     "\"exportType\":\"EPUB_PREVIEW\"," +
                     "\"ancestry\":[{\"elementId\":\"fbc4f8d0-73bb-11ea-b2ed-8d9c059418aa\",\"elementType\":\"ACTIVITY\"}]" +
@@ -277,7 +268,11 @@ class AmbrosiaSnippetsReducerTest {
                 "}" +
                 "}";
 
-        assertEquals(expected, reduced);
+        // the tree comparison ignores the field order
+        final JsonNode reducedTree = mapper.readTree(reduced);
+        assertEquals(mapper.readTree(expected), reducedTree);
+        // the export metadata is written last
+        assertEquals("exportMetadata", Iterators.getLast(reducedTree.fieldNames()));
     }
 
     @Test
@@ -467,20 +462,17 @@ class AmbrosiaSnippetsReducerTest {
                         .setType(exportSummary.getElementType())
                         .setAncestry(new ArrayList<>())));
 
-        final AmbrosiaSnippet snippet = reducer.reduce(snippets, courseware, exportSummary)
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final ExportMetadata exportMetadata = reducer.reduce(fetches(snippets), courseware, exportSummary, outputStream)
                 .block();
 
-        assertNotNull(snippet);
-
-        final ExportMetadata exportMetadata = snippet.getExportMetadata();
-
         assertNotNull(exportMetadata);
         assertNotNull(exportMetadata.getCompletedAt());
         assertNotNull(exportMetadata.getCompletedId());
         assertEquals(exportId, exportMetadata.getExportId());
         assertEquals(10, exportMetadata.getElementsExportedCount());
 
-        final String reduced = Files.readString(reducer.serialize(snippet).toPath());
+        final String reduced = outputStream.toString("UTF-8");
 
 
         final String expected = "{" +
@@ -491,7 +483,7 @@ class AmbrosiaSnippetsReducerTest {
                 "\"exportMetadata\":{" +
                     "\"exportId\":\"886abc10-7489-11eb-8610-53fa399b8e5c\"," +
                     "\"startedAt\":\"Sun, 21 Feb 2021 21:12:41 GMT\"," +
-                    "\"completedAt\":\"" + DateFormat.asRFC1123(snippet.getExportMetadata().getCompletedId()) + "\"," +
+                    "\"completedAt\":\"" + DateFormat.asRFC1123(exportMetadata.getCompletedId()) + "\"," +
                     "\"elementsExportedCount\":10," +
                     "\"exportType\":\"EPUB_PREVIEW\"," +
                     "\"ancestry\":[]" +
@@ -590,7 +582,11 @@ class AmbrosiaSnippetsReducerTest {
                 "}" +
                 "}";
 
-        assertEquals(expected, reduced);
+        // the tree comparison ignores the field order
+        final JsonNode reducedTree = mapper.readTree(reduced);
+        assertEquals(mapper.readTree(expected), reducedTree);
+        // the export metadata is written last
+        assertEquals("exportMetadata", Iterators.getLast(reducedTree.fieldNames()));
     }
 
     @Test
@@ -660,20 +656,17 @@ class AmbrosiaSnippetsReducerTest {
         courseware.addChild(componentOne)
                 .addChild(componentTwo);
 
-        final AmbrosiaSnippet snippet = reducer.reduce(snippetsMap, courseware, exportSummary)
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final ExportMetadata interactiveExportMetadata = reducer.reduce(fetches(snippetsMap), courseware, exportSummary, outputStream)
                 .block();
 
-        assertNotNull(snippet);
-
-        final ExportMetadata interactiveExportMetadata = snippet.getExportMetadata();
-
         assertNotNull(interactiveExportMetadata);
         assertNotNull(interactiveExportMetadata.getCompletedAt());
         assertNotNull(interactiveExportMetadata.getCompletedId());
         assertEquals(exportId, interactiveExportMetadata.getExportId());
         assertEquals(3, interactiveExportMetadata.getElementsExportedCount());
 
-        final String reduced = Files.readString(reducer.serialize(snippet).toPath());
+        final String reduced = outputStream.toString("UTF-8");
 
 
         final String expected = "{" +
@@ -684,7 +677,7 @@ class AmbrosiaSnippetsReducerTest {
                 "\"exportMetadata\":{" +
                     "\"exportId\":\"886abc10-7489-11eb-8610-53fa399b8e5c\"," +
                     "\"startedAt\":\"Sun, 21 Feb 2021 21:12:41 GMT\"," +
-                    "\"completedAt\":\"" + DateFormat.asRFC1123(snippet.getExportMetadata().getCompletedId()) + "\"," +
+                    "\"completedAt\":\"" + DateFormat.asRFC1123(interactiveExportMetadata.getCompletedId()) + "\"," +
                     "\"elementsExportedCount\":3," +
                     "\"exportType\":\"EPUB_PREVIEW\"," +
                     "\"ancestry\":[{\"elementId\":\"fbc4f8d0-73bb-11ea-b2ed-8d9c059418aa\",\"elementType\":\"ACTIVITY\"}]" +
@@ -718,6 +711,77 @@ class AmbrosiaSnippetsReducerTest {
                     "}]" +
                 "}}";
 
-        assertEquals(expected, reduced);
+        // the tree comparison ignores the field order
+        final JsonNode reducedTree = mapper.readTree(reduced);
+        assertEquals(mapper.readTree(expected), reducedTree);
+        // the export metadata is written last
+        assertEquals("exportMetadata", Iterators.getLast(reducedTree.fieldNames()));
+    }
+    @Test
+    void reduce_topLevelSnippetNotFound() {
+        courseware = new CoursewareElementNode()
+                .setElementId(UUID.randomUUID())
+                .setType(CoursewareElementType.ACTIVITY);
+
+        AmbrosiaSnippetReducerException e = assertThrows(AmbrosiaSnippetReducerException.class,
+                () -> reducer.reduce(fetches(snippets), courseware, exportSummary, new ByteArrayOutputStream()).block());
+
+        assertEquals("snippet not found for top level exported element", e.getMessage());
+    }
+
+    @Test
+    void reduce_fetchesReachedSnippetsOnly() throws IOException {
+        final UUID deletedId = UUID.randomUUID();
+        final Map<UUID, AtomicInteger> fetched = new HashMap<>();
+        final Map<UUID, Mono<ExportAmbrosiaSnippet>> fetches = new HashMap<>();
+        // a snippet of an element no longer in the courseware structure
+        snippets.put(deletedId, new ExportAmbrosiaSnippet()
+                .setAmbrosiaSnippet(COMPONENT_SNIPPET));
+        snippets.forEach((elementId, snippet) -> {
+            fetched.put(elementId, new AtomicInteger());
+            fetches.put(elementId, Mono.fromCallable(() -> {
+                fetched.get(elementId).incrementAndGet();
+                return snippet;
+            }));
+        });
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final ExportMetadata exportMetadata = reducer.reduce(fetches, courseware, exportSummary, outputStream)
+                .block();
+
+        assertNotNull(exportMetadata);
+        assertNotNull(exportMetadata.getCompletedId());
+        assertEquals(exportId, exportMetadata.getExportId());
+        assertEquals(5, exportMetadata.getElementsExportedCount());
+        assertEquals(0, fetched.get(deletedId).get());
+        assertEquals(1, fetched.get(activityId).get());
+        assertEquals(1, fetched.get(componentId).get());
+        assertEquals(1, fetched.get(pathwayId).get());
+        assertEquals(1, fetched.get(interactiveId).get());
+        final JsonNode reduced = mapper.readTree(outputStream.toByteArray());
+        assertEquals(exportMetadata.getCompletedAt(), reduced.get("exportMetadata").get("completedAt").asText());
+        // the completion id is generated once every snippet is written
+        assertEquals("exportMetadata", Iterators.getLast(reduced.fieldNames()));
+    }
+
+    @Test
+    void reduce_walkableWithoutSnippet() throws IOException {
+        // the interactive was created while the export request was processing
+        snippets.remove(interactiveId);
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final ExportMetadata exportMetadata = reducer.reduce(fetches(snippets), courseware, exportSummary, outputStream)
+                .block();
+
+        assertNotNull(exportMetadata);
+        final JsonNode chapters = mapper.readTree(outputStream.toByteArray()).get("config").get("chapters");
+        assertEquals(pathwayId.toString(), chapters.get("id").asText());
+        assertEquals(1, chapters.get("children").size());
+        assertEquals(interactiveId.toString(), chapters.get("children").get(0).asText());
+    }
+
+    private static Map<UUID, Mono<ExportAmbrosiaSnippet>> fetches(final Map<UUID, ExportAmbrosiaSnippet> snippets) {
+        return snippets.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> Mono.just(entry.getValue())));
     }
 }
@@ -5,7 +5,6 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atMost;
@@ -15,14 +14,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 import javax.inject.Provider;
 
@@ -33,21 +30,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.redisson.api.RBucketReactive;
-import org.redisson.api.RedissonReactiveClient;
 
 import com.amazonaws.services.s3.model.PutObjectResult;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.collect.Lists;
 import com.smartsparrow.annotation.service.CoursewareAnnotation;
 import com.smartsparrow.courseware.data.CoursewareElement;
 import com.smartsparrow.courseware.data.CoursewareElementType;
 import com.smartsparrow.courseware.data.tree.CoursewareElementNode;
 import com.smartsparrow.courseware.service.CoursewareElementStructureService;
 import com.smartsparrow.exception.IllegalArgumentFault;
-import com.smartsparrow.export.data.ActivityAmbrosiaSnippet;
 import com.smartsparrow.export.data.AmbrosiaReducerErrorLog;
-import com.smartsparrow.export.data.AmbrosiaSnippet;
 import com.smartsparrow.export.data.ExportAmbrosiaSnippet;
 import com.smartsparrow.export.data.ExportErrorNotification;
 import com.smartsparrow.export.data.ExportErrorPayload;
@@ -64,6 +55,7 @@ import com.smartsparrow.export.route.CoursewareExportRoute;
 import com.smartsparrow.export.wiring.ExportConfig;
 import com.smartsparrow.export.wiring.SnippetsStorage;
 import com.smartsparrow.service.S3ClientService;
+import com.smartsparrow.service.S3UploadStream;
 import com.smartsparrow.util.UUIDs;
 import com.smartsparrow.util.Warrants;
 
@@ -97,10 +89,7 @@ class ExportServiceTest {
     private S3ClientService s3ClientService;
 
     @Mock
-    RedissonReactiveClient redisClient;
-
-    @Mock
-    RBucketReactive<Object> bucket;
+    private ExportSnippetStore snippetStore;
 
     @Mock
     private CamelReactiveStreamsService camelReactiveStreamsService;
@@ -152,7 +141,8 @@ class ExportServiceTest {
                 s3ClientService,
                 exportConfigProvider,
                 camelReactiveStreamsService,
-                redisClient);
+                snippetStore,
+                new ExportSnippetScheduler());
     }
 
     @Test
@@ -433,9 +423,7 @@ class ExportServiceTest {
 
     @Test
     void create_ambrosiaSnippetSuccess() {
-        when(redisClient.getBucket("export:" + exportId.toString() + ":"
-                + notificationId)).thenReturn(bucket);
-        when(bucket.set(any(ExportAmbrosiaSnippet.class), anyLong(), any(TimeUnit.class))).thenReturn(Mono.empty());
+        when(snippetStore.save(any(ExportAmbrosiaSnippet.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
         ArgumentCaptor<ExportAmbrosiaSnippet> captor = ArgumentCaptor.forClass(ExportAmbrosiaSnippet.class);
 
         final String ambrosiaSnippet = "{\"foo\":\"bar\"}";
@@ -443,35 +431,13 @@ class ExportServiceTest {
 
         assertNotNull(exportAmbrosiaSnippet);
 
-        verify(bucket).set(captor.capture(),eq(30L), eq(TimeUnit.MINUTES));
-        verify(exportGateway, never()).persist(captor.capture());
-        assertNotNull(captor.getValue());
-
-        assertEquals(exportId, captor.getValue().getExportId());
-        assertEquals(notificationId, captor.getValue().getNotificationId());
-        assertEquals(elementId, captor.getValue().getElementId());
-
-    }
-
-    @Test
-    void create_ambrosiaSnippetSuccessWithCassandraStorage() {
-        when(exportConfig.getSnippetsStorage()).thenReturn(SnippetsStorage.CASSANDRA);
-        when(exportGateway.persist(any(ExportAmbrosiaSnippet.class))).thenReturn(Flux.just(new Void[]{}));
-        ArgumentCaptor<ExportAmbrosiaSnippet> captor = ArgumentCaptor.forClass(ExportAmbrosiaSnippet.class);
-
-        final String ambrosiaSnippet = "{\"foo\":\"bar\"}";
-        final ExportAmbrosiaSnippet exportAmbrosiaSnippet = exportService
-                .create(exportId, notificationId, elementId, elementType, accountId, ambrosiaSnippet).block();
-
-        assertNotNull(exportAmbrosiaSnippet);
-
-        verify(exportGateway).persist(captor.capture());
-        verify(redisClient, never()).getBucket(anyString());
+        verify(snippetStore).save(captor.capture());
         assertNotNull(captor.getValue());
 
         assertEquals(exportId, captor.getValue().getExportId());
         assertEquals(notificationId, captor.getValue().getNotificationId());
         assertEquals(elementId, captor.getValue().getElementId());
+        assertEquals(ambrosiaSnippet, captor.getValue().getAmbrosiaSnippet());
     }
 
     @Test
@@ -495,16 +461,17 @@ class ExportServiceTest {
     @Test
     void create_ambrosiaSnippetSuccessWithS3Storage() {
         when(exportConfig.getSnippetsStorage()).thenReturn(SnippetsStorage.S3);
+        when(snippetStore.save(any(ExportAmbrosiaSnippet.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
         final ExportAmbrosiaSnippet exportAmbrosiaSnippet = exportService
                 .create(exportId, notificationId, elementId, elementType, accountId, null).block();
 
         assertNotNull(exportAmbrosiaSnippet);
-        verify(exportGateway, never()).persist(any(ExportAmbrosiaSnippet.class));
-        verify(redisClient, never()).getBucket(anyString());
+        verify(snippetStore).save(any(ExportAmbrosiaSnippet.class));
 
         assertEquals(exportId, exportAmbrosiaSnippet.getExportId());
         assertEquals(notificationId, exportAmbrosiaSnippet.getNotificationId());
         assertEquals(elementId, exportAmbrosiaSnippet.getElementId());
+        assertNull(exportAmbrosiaSnippet.getAmbrosiaSnippet());
     }
 
     @Test
@@ -610,52 +577,39 @@ class ExportServiceTest {
 
     @Test
     @SuppressWarnings("unchecked")
-    void generateAmbrosia_success_redis() throws IOException {
-        RBucketReactive<Object> bucket = mock(RBucketReactive.class);
-        when(exportConfig.getSnippetsStorage()).thenReturn(SnippetsStorage.REDIS);
-        List<RBucketReactive<Object>> buckets = Lists.newArrayList(bucket);
-        when(redisClient.findBuckets(eq("export:" + exportId.toString() + ":*"))).thenReturn(buckets);
-        when(bucket.get()).thenReturn(Mono.just(new ExportAmbrosiaSnippet()
-                .setElementId(elementId)));
+    void generateAmbrosia_success() throws IOException {
+        // a stored snippet without notification is not indexed
+        when(snippetStore.list(exportId)).thenReturn(Flux.just(notificationId, UUID.randomUUID()));
+        when(snippetStore.fetch(exportId, notificationId)).thenReturn(Mono.just(new ExportAmbrosiaSnippet()
+                .setElementId(elementId)
+                .setAmbrosiaSnippet("{}")));
 
         reduceTestHelper();
     }
 
-    @Test
     @SuppressWarnings("unchecked")
-    void generateAmbrosia_success_cassandra() throws IOException {
-        when(exportConfig.getSnippetsStorage()).thenReturn(SnippetsStorage.CASSANDRA);
-        when(exportGateway.fetchAmbrosiaSnippets(exportId)).thenReturn(Flux.just(new ExportAmbrosiaSnippet()
-                .setElementId(elementId)));
-
-        reduceTestHelper();
-    }
-
-    @Test
-    @SuppressWarnings("unchecked")
-    void generateAmbrosia_success_S3() throws IOException {
-        when(exportConfig.getSnippetsStorage()).thenReturn(SnippetsStorage.S3);
-
-        List<String> keyListMock = Lists.newArrayList("key1");
-        when(s3ClientService.listKeys(any(), eq(exportId.toString()), any())).thenReturn(keyListMock);
-
-        ExportResultNotification mockResult = new ExportResultNotification();
-        mockResult.setExportId(exportId).setElementId(elementId);
-        when(s3ClientService.read(any(), anyString())).thenReturn((new ObjectMapper()).writeValueAsString(mockResult));
-
-        reduceTestHelper();
-    }
-
     private void reduceTestHelper() throws IOException {
         when(exportGateway.hasNotificationError(exportId)).thenReturn(Mono.just(false));
+        // the element of the snippet is found via the notification, a notification without snippet is not indexed
+        when(exportGateway.fetchResultNotifications(exportId)).thenReturn(Flux.just(
+                new ExportResultNotification()
+                        .setExportId(exportId)
+                        .setNotificationId(notificationId)
+                        .setElementId(elementId)
+                        .setStatus(ExportStatus.COMPLETED),
+                new ExportResultNotification()
+                        .setExportId(exportId)
+                        .setNotificationId(UUID.randomUUID())
+                        .setElementId(UUID.randomUUID())
+                        .setStatus(ExportStatus.FAILED)));
 
         when(coursewareElementStructureService.getCoursewareElementStructure(elementId, elementType, configFields))
                 .thenReturn(Mono.just(new CoursewareElementNode()));
-        when(ambrosiaSnippetsReducer.reduce(any(Map.class), any(CoursewareElementNode.class), any(ExportSummary.class)))
-                .thenReturn(Mono.just(new ActivityAmbrosiaSnippet()
-                        .setExportMetadata(new ExportMetadata(UUIDs.timeBased()))));
-        when(ambrosiaSnippetsReducer.serialize(any(AmbrosiaSnippet.class)))
-                .thenReturn(Files.createTempFile("test", "json").toFile());
+        S3UploadStream ambrosiaStream = mock(S3UploadStream.class);
+        when(s3ClientService.openUploadStream(anyString(), anyString(), any(ContentType.class))).thenReturn(ambrosiaStream);
+        when(ambrosiaSnippetsReducer.reduce(any(Map.class), any(CoursewareElementNode.class), any(ExportSummary.class),
+                                            any(OutputStream.class)))
+                .thenReturn(Mono.just(new ExportMetadata(UUIDs.timeBased())));
 
         when(exportGateway.persist(any(ExportSummary.class))).thenReturn(Flux.just(new Void[]{}));
         ArgumentCaptor<ExportSummary> captor = ArgumentCaptor.forClass(ExportSummary.class);
@@ -685,19 +639,24 @@ class ExportServiceTest {
         assertNotNull(updated.getCompletedAt());
 
         verify(exportGateway).persist(captor.capture());
-        verify(ambrosiaSnippetsReducer).reduce(snippetCaptor.capture(), nodeCaptor.capture(), eq(summary));
-        verify(s3ClientService).upload(eq(exportConfig.getBucketName()), eq(String.format("%s/%s", exportId, "ambrosia.json")),
-                any(File.class));
+        verify(ambrosiaSnippetsReducer).reduce(snippetCaptor.capture(), nodeCaptor.capture(), eq(summary), eq(ambrosiaStream));
+        verify(s3ClientService).openUploadStream(eq(exportConfig.getBucketName()), eq(String.format("%s/%s", exportId, "ambrosia.json")),
+                eq(ContentType.APPLICATION_JSON));
+        verify(ambrosiaStream).close();
         final ExportSummary persisted = captor.getValue();
 
         assertNotNull(persisted);
         assertEquals(updated, persisted);
 
-        final Map<UUID, ExportAmbrosiaSnippet> snippets = snippetCaptor.getValue();
+        final Map<UUID, Mono<ExportAmbrosiaSnippet>> snippets = snippetCaptor.getValue();
         final CoursewareElementNode node = nodeCaptor.getValue();
 
         assertNotNull(snippets);
         assertEquals(1, snippets.size());
+        // the snippet is fetched when the reducer needs it
+        final ExportAmbrosiaSnippet snippet = snippets.get(elementId).block();
+        assertNotNull(snippet);
+        assertEquals(elementId, snippet.getElementId());
         assertNotNull(node);
     }
 
@@ -706,11 +665,20 @@ class ExportServiceTest {
     @SuppressWarnings("unchecked")
     void generateAmbrosia_reducer_error() {
         when(exportGateway.hasNotificationError(exportId)).thenReturn(Mono.just(false));
-        when(exportGateway.fetchAmbrosiaSnippets(exportId)).thenReturn(Flux.just(new ExportAmbrosiaSnippet()
-                                                                                         .setElementId(elementId)));
+        when(snippetStore.list(exportId)).thenReturn(Flux.just(notificationId));
+        when(exportGateway.fetchResultNotifications(exportId)).thenReturn(Flux.just(new ExportResultNotification()
+                                                                                            .setExportId(exportId)
+                                                                                            .setNotificationId(notificationId)
+                                                                                            .setElementId(elementId)
+                                                                                            .setStatus(ExportStatus.COMPLETED)));
+        when(snippetStore.fetch(exportId, notificationId)).thenReturn(Mono.just(new ExportAmbrosiaSnippet()
+                                                                                        .setElementId(elementId)));
         when(coursewareElementStructureService.getCoursewareElementStructure(elementId, elementType, configFields))
                 .thenReturn(Mono.just(new CoursewareElementNode()));
-        when(ambrosiaSnippetsReducer.reduce(any(Map.class), any(CoursewareElementNode.class), any(ExportSummary.class)))
+        S3UploadStream ambrosiaStream = mock(S3UploadStream.class);
+        when(s3ClientService.openUploadStream(anyString(), anyString(), any(ContentType.class))).thenReturn(ambrosiaStream);
+        when(ambrosiaSnippetsReducer.reduce(any(Map.class), any(CoursewareElementNode.class), any(ExportSummary.class),
+                                            any(OutputStream.class)))
                 .thenThrow(new AmbrosiaSnippetReducerException(String.format("error reducing activity [%s]",
                                                                              elementId)));
         when(exportGateway.persist(any(AmbrosiaReducerErrorLog.class))).thenReturn(Flux.just(new Void[]{}));
@@ -729,6 +697,9 @@ class ExportServiceTest {
         assertNotNull(exception);
         assertEquals(String.format("error reducing activity [%s]", elementId), exception.getMessage());
         verify(exportGateway).persist(any(AmbrosiaReducerErrorLog.class));
+        // the partial upload is discarded
+        verify(ambrosiaStream, never()).close();
+        verify(ambrosiaStream).abort();
     }
 
 }
@@ -0,0 +1,121 @@
+package com.smartsparrow.export.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class ExportSnippetSchedulerTest {
+
+    private static final int EXPORT_CONCURRENCY = Integer.getInteger("export.snippets.exportConcurrency", 16);
+    private static final int CONCURRENCY = Integer.getInteger("export.snippets.concurrency",
+                                                              5 * Runtime.getRuntime().availableProcessors());
+
+    private ExportSnippetScheduler scheduler;
+    private AtomicInteger subscribed;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ExportSnippetScheduler();
+        subscribed = new AtomicInteger();
+    }
+
+    @Test
+    void schedule_boundsExportConcurrency() throws InterruptedException {
+        final UUID exportId = UUID.randomUUID();
+        final int expected = Math.min(EXPORT_CONCURRENCY, CONCURRENCY);
+        List<MonoProcessor<String>> reads = new ArrayList<>();
+        List<MonoProcessor<String>> results = new ArrayList<>();
+        for (int i = 0; i < expected * 3; i++) {
+            MonoProcessor<String> read = MonoProcessor.create();
+            reads.add(read);
+            results.add(scheduler.schedule(exportId, "Test", track(read)).toProcessor());
+        }
+
+        await(() -> subscribed.get() == expected);
+        assertEquals(expected, scheduler.getRunning());
+
+        // each completed read lets a waiting read of the export start
+        for (int i = 0; i < reads.size(); i++) {
+            reads.get(i).onNext("read" + i);
+            assertTrue(scheduler.getRunning() <= expected);
+        }
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("read" + i, results.get(i).block(Duration.ofSeconds(5)));
+        }
+        await(() -> scheduler.getRunning() == 0);
+        assertEquals(reads.size(), subscribed.get());
+    }
+
+    @Test
+    void schedule_fairAcrossExports() throws InterruptedException {
+        final UUID largeExportId = UUID.randomUUID();
+        final UUID smallExportId = UUID.randomUUID();
+        final int expected = Math.min(EXPORT_CONCURRENCY, CONCURRENCY);
+        List<MonoProcessor<String>> largeReads = new ArrayList<>();
+        for (int i = 0; i < expected * 10; i++) {
+            MonoProcessor<String> read = MonoProcessor.create();
+            largeReads.add(read);
+            scheduler.schedule(largeExportId, "Test", track(read)).subscribe();
+        }
+        await(() -> subscribed.get() == expected);
+
+        MonoProcessor<String> smallRead = MonoProcessor.create();
+        MonoProcessor<String> smallResult = scheduler.schedule(smallExportId, "Test", smallRead).toProcessor();
+
+        // the small export gets its turn within a round, not after the reads queued by the large export
+        largeReads.get(0).onNext("read");
+        largeReads.get(1).onNext("read");
+        smallRead.onNext("small");
+        assertEquals("small", smallResult.block(Duration.ofSeconds(5)));
+        assertTrue(subscribed.get() < largeReads.size());
+    }
+
+    @Test
+    void schedule_cancelledBeforeStart() throws InterruptedException {
+        final UUID exportId = UUID.randomUUID();
+        final int expected = Math.min(EXPORT_CONCURRENCY, CONCURRENCY);
+        List<MonoProcessor<String>> reads = new ArrayList<>();
+        for (int i = 0; i < expected; i++) {
+            MonoProcessor<String> read = MonoProcessor.create();
+            reads.add(read);
+            scheduler.schedule(exportId, "Test", track(read)).subscribe();
+        }
+        await(() -> subscribed.get() == expected);
+
+        Disposable cancelled = scheduler.schedule(exportId, "Test", track(Mono.just("cancelled"))).subscribe();
+        cancelled.dispose();
+
+        reads.forEach(read -> read.onNext("read"));
+        await(() -> scheduler.getRunning() == 0);
+        // the cancelled read never started
+        assertEquals(expected, subscribed.get());
+    }
+
+    private <T> Mono<T> track(final Mono<T> read) {
+        return Mono.defer(() -> {
+            subscribed.incrementAndGet();
+            return read;
+        });
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
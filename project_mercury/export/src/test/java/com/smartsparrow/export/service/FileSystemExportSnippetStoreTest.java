@@ -0,0 +1,66 @@
+package com.smartsparrow.export.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.smartsparrow.courseware.data.CoursewareElementType;
+import com.smartsparrow.export.data.ExportAmbrosiaSnippet;
+
+class FileSystemExportSnippetStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private FileSystemExportSnippetStore snippetStore;
+
+    private static final UUID exportId = UUID.randomUUID();
+    private static final UUID notificationId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        snippetStore = new FileSystemExportSnippetStore(directory);
+    }
+
+    @Test
+    void save_listAndFetch() {
+        final ExportAmbrosiaSnippet saved = new ExportAmbrosiaSnippet()
+                .setExportId(exportId)
+                .setNotificationId(notificationId)
+                .setElementId(UUID.randomUUID())
+                .setElementType(CoursewareElementType.ACTIVITY)
+                .setAccountId(UUID.randomUUID())
+                .setAmbrosiaSnippet("{\"foo\":\"bar\"}");
+
+        assertEquals(saved, snippetStore.save(saved).block());
+
+        final List<UUID> listed = snippetStore.list(exportId).collectList().block();
+        assertNotNull(listed);
+        assertEquals(1, listed.size());
+        assertEquals(notificationId, listed.get(0));
+
+        final ExportAmbrosiaSnippet fetched = snippetStore.fetch(exportId, notificationId).block();
+        assertEquals(saved, fetched);
+    }
+
+    @Test
+    void list_noSnippets() {
+        final List<UUID> listed = snippetStore.list(exportId).collectList().block();
+        assertNotNull(listed);
+        assertTrue(listed.isEmpty());
+    }
+
+    @Test
+    void fetch_notFound() {
+        assertNull(snippetStore.fetch(exportId, UUID.randomUUID()).block());
+    }
+}
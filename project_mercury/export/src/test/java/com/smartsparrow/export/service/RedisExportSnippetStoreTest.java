@@ -0,0 +1,91 @@
+package com.smartsparrow.export.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.redisson.api.RBucketReactive;
+import org.redisson.api.RSetCacheReactive;
+import org.redisson.api.RedissonReactiveClient;
+
+import com.google.common.collect.Sets;
+import com.smartsparrow.export.data.ExportAmbrosiaSnippet;
+
+import reactor.core.publisher.Mono;
+
+class RedisExportSnippetStoreTest {
+
+    private RedisExportSnippetStore snippetStore;
+
+    @Mock
+    private RedissonReactiveClient redis;
+
+    @Mock
+    private RBucketReactive<Object> bucket;
+
+    @Mock
+    private RSetCacheReactive<Object> snippets;
+
+    private static final UUID exportId = UUID.randomUUID();
+    private static final UUID notificationId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redis.getBucket("export:" + exportId + ":" + notificationId)).thenReturn(bucket);
+        when(redis.getSetCache("export:snippets:" + exportId)).thenReturn(snippets);
+
+        snippetStore = new RedisExportSnippetStore(redis);
+    }
+
+    @Test
+    void save() {
+        when(bucket.set(any(ExportAmbrosiaSnippet.class), eq(30L), eq(TimeUnit.MINUTES))).thenReturn(Mono.empty());
+        when(snippets.add(notificationId, 30L, TimeUnit.MINUTES)).thenReturn(Mono.just(true));
+        final ExportAmbrosiaSnippet snippet = new ExportAmbrosiaSnippet()
+                .setExportId(exportId)
+                .setNotificationId(notificationId)
+                .setAmbrosiaSnippet("{\"foo\":\"bar\"}");
+
+        assertEquals(snippet, snippetStore.save(snippet).block());
+
+        verify(bucket).set(snippet, 30L, TimeUnit.MINUTES);
+        verify(snippets).add(notificationId, 30L, TimeUnit.MINUTES);
+    }
+
+    @Test
+    void list() {
+        when(snippets.readAll()).thenReturn(Mono.just(Sets.newHashSet(notificationId)));
+
+        final List<UUID> listed = snippetStore.list(exportId).collectList().block();
+
+        assertNotNull(listed);
+        assertEquals(1, listed.size());
+        assertEquals(notificationId, listed.get(0));
+        // the snippets are listed from the index, never by scanning the keys
+        verify(redis, never()).findBuckets(anyString());
+    }
+
+    @Test
+    void fetch() {
+        final ExportAmbrosiaSnippet snippet = new ExportAmbrosiaSnippet()
+                .setExportId(exportId)
+                .setNotificationId(notificationId);
+        when(bucket.get()).thenReturn(Mono.just(snippet));
+
+        assertEquals(snippet, snippetStore.fetch(exportId, notificationId).block());
+    }
+}
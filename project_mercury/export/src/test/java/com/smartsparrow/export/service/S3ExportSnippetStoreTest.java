@@ -0,0 +1,109 @@
+package com.smartsparrow.export.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import javax.inject.Provider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.collect.Lists;
+import com.smartsparrow.courseware.data.CoursewareElementType;
+import com.smartsparrow.export.data.ExportAmbrosiaSnippet;
+import com.smartsparrow.export.data.ExportResultNotification;
+import com.smartsparrow.export.wiring.ExportConfig;
+import com.smartsparrow.lang.S3ReadFault;
+import com.smartsparrow.service.S3ClientService;
+import com.smartsparrow.util.Json;
+
+class S3ExportSnippetStoreTest {
+
+    private S3ExportSnippetStore snippetStore;
+
+    @Mock
+    private S3ClientService s3ClientService;
+
+    @Mock
+    private Provider<ExportConfig> exportConfigProvider;
+
+    private static final String bucketName = "snippetBucketName";
+    private static final UUID exportId = UUID.randomUUID();
+    private static final UUID notificationId = UUID.randomUUID();
+    private static final UUID elementId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(exportConfigProvider.get()).thenReturn(new ExportConfig().setSnippetBucketName(bucketName));
+
+        snippetStore = new S3ExportSnippetStore(s3ClientService, exportConfigProvider);
+    }
+
+    @Test
+    void save_writtenByLambda() {
+        final ExportAmbrosiaSnippet snippet = new ExportAmbrosiaSnippet()
+                .setExportId(exportId)
+                .setNotificationId(notificationId);
+
+        assertEquals(snippet, snippetStore.save(snippet).block());
+        verifyNoInteractions(s3ClientService);
+    }
+
+    @Test
+    void list() {
+        final UUID otherNotificationId = UUID.randomUUID();
+        when(s3ClientService.listKeys(bucketName, exportId.toString(), "in.json"))
+                .thenReturn(Lists.newArrayList(String.format("%s/%s/in.json", exportId, notificationId),
+                                               String.format("%s/%s/in.json", exportId, otherNotificationId)));
+
+        final List<UUID> listed = snippetStore.list(exportId).collectList().block();
+
+        assertNotNull(listed);
+        assertEquals(Lists.newArrayList(notificationId, otherNotificationId), listed);
+    }
+
+    @Test
+    void list_isLazy() {
+        snippetStore.list(exportId);
+        verifyNoInteractions(s3ClientService);
+    }
+
+    @Test
+    void fetch() {
+        final String key = String.format("%s/%s/in.json", exportId, notificationId);
+        when(s3ClientService.read(bucketName, key)).thenReturn(Json.stringify(new ExportResultNotification()
+                .setExportId(exportId)
+                .setNotificationId(notificationId)
+                .setElementId(elementId)
+                .setElementType(CoursewareElementType.ACTIVITY)
+                .setAmbrosiaSnippet("{\"foo\":\"bar\"}")));
+
+        final ExportAmbrosiaSnippet snippet = snippetStore.fetch(exportId, notificationId).block();
+
+        assertNotNull(snippet);
+        assertEquals(exportId, snippet.getExportId());
+        assertEquals(notificationId, snippet.getNotificationId());
+        assertEquals(elementId, snippet.getElementId());
+        assertEquals(CoursewareElementType.ACTIVITY, snippet.getElementType());
+        assertEquals("{\"foo\":\"bar\"}", snippet.getAmbrosiaSnippet());
+        verify(s3ClientService).read(bucketName, key);
+    }
+
+    @Test
+    void fetch_readError() {
+        final String key = String.format("%s/%s/in.json", exportId, notificationId);
+        when(s3ClientService.read(bucketName, key)).thenThrow(new S3ReadFault("error reading the s3 object"));
+
+        assertThrows(S3ReadFault.class, () -> snippetStore.fetch(exportId, notificationId).block());
+    }
+}
@@ -2,6 +2,12 @@ package com.smartsparrow.graphql;
 
 import java.util.Objects;
 
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.MappedBatchLoader;
+import org.dataloader.Try;
+
 import com.smartsparrow.iam.service.AuthenticationContext;
 import com.smartsparrow.iam.service.MutableAuthenticationContext;
 
@@ -11,6 +17,7 @@ import com.smartsparrow.iam.service.MutableAuthenticationContext;
 public class BronteGQLContext {
     private MutableAuthenticationContext mutableAuthenticationContext;
     private AuthenticationContext authenticationContext;
+    private DataLoaderRegistry dataLoaderRegistry;
 
     public MutableAuthenticationContext getMutableAuthenticationContext() {
         return mutableAuthenticationContext;
@@ -30,6 +37,40 @@ public class BronteGQLContext {
         return this;
     }
 
+    public DataLoaderRegistry getDataLoaderRegistry() {
+        return dataLoaderRegistry;
+    }
+
+    /**
+     * Set the registry of the execution this context is passed to. The same registry must be set on the
+     * {@link graphql.ExecutionInput} so the data loaders are dispatched as the execution completes each level.
+     */
+    public BronteGQLContext setDataLoaderRegistry(final DataLoaderRegistry dataLoaderRegistry) {
+        this.dataLoaderRegistry = dataLoaderRegistry;
+        return this;
+    }
+
+    /**
+     * Get the data loader registered with the name, the data loader is created and registered on first use so keys
+     * loaded by any resolver of the execution are batched and cached together. When the context has no registry
+     * the keys are loaded as soon as requested.
+     *
+     * @param name the data loader name
+     * @param batchLoader the batch loader to create the data loader with
+     * @param <K> the type of key
+     * @param <V> the type of value
+     * @return the data loader
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> DataLoader<K, V> getDataLoader(final String name, final MappedBatchLoader<K, Try<V>> batchLoader) {
+        if (dataLoaderRegistry == null) {
+            return DataLoader.newMappedDataLoaderWithTry(batchLoader, DataLoaderOptions.newOptions()
+                    .setBatchingEnabled(false));
+        }
+        return (DataLoader<K, V>) dataLoaderRegistry.computeIfAbsent(name,
+                key -> DataLoader.newMappedDataLoaderWithTry(batchLoader));
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -37,12 +78,13 @@ public class BronteGQLContext {
         BronteGQLContext that = (BronteGQLContext) o;
         return Objects.equals(mutableAuthenticationContext,
                               that.mutableAuthenticationContext) && Objects.equals(authenticationContext,
-                                                                                   that.authenticationContext);
+                                                                                   that.authenticationContext)
+                && Objects.equals(dataLoaderRegistry, that.dataLoaderRegistry);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(mutableAuthenticationContext, authenticationContext);
+        return Objects.hash(mutableAuthenticationContext, authenticationContext, dataLoaderRegistry);
     }
 
     @Override
@@ -50,6 +92,7 @@ public class BronteGQLContext {
         return "BronteGQLContext{" +
                 "mutableAuthenticationContext=" + mutableAuthenticationContext +
                 ", authenticationContext=" + authenticationContext +
+                ", dataLoaderRegistry=" + dataLoaderRegistry +
                 '}';
     }
 }
@@ -0,0 +1,80 @@
+package com.smartsparrow.graphql.data;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import com.smartsparrow.courseware.data.CoursewareElementType;
+
+/**
+ * Data loader key of a learner element for a student within a deployment. The element type and the student id
+ * are only set when the loaded value depends on them.
+ */
+public class LearnerElementKey {
+
+    private UUID deploymentId;
+    private UUID elementId;
+    private CoursewareElementType elementType;
+    private UUID studentId;
+
+    public UUID getDeploymentId() {
+        return deploymentId;
+    }
+
+    public LearnerElementKey setDeploymentId(final UUID deploymentId) {
+        this.deploymentId = deploymentId;
+        return this;
+    }
+
+    public UUID getElementId() {
+        return elementId;
+    }
+
+    public LearnerElementKey setElementId(final UUID elementId) {
+        this.elementId = elementId;
+        return this;
+    }
+
+    public CoursewareElementType getElementType() {
+        return elementType;
+    }
+
+    public LearnerElementKey setElementType(final CoursewareElementType elementType) {
+        this.elementType = elementType;
+        return this;
+    }
+
+    public UUID getStudentId() {
+        return studentId;
+    }
+
+    public LearnerElementKey setStudentId(final UUID studentId) {
+        this.studentId = studentId;
+        return this;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LearnerElementKey that = (LearnerElementKey) o;
+        return Objects.equals(deploymentId, that.deploymentId) &&
+                Objects.equals(elementId, that.elementId) &&
+                elementType == that.elementType &&
+                Objects.equals(studentId, that.studentId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(deploymentId, elementId, elementType, studentId);
+    }
+
+    @Override
+    public String toString() {
+        return "LearnerElementKey{" +
+                "deploymentId=" + deploymentId +
+                ", elementId=" + elementId +
+                ", elementType=" + elementType +
+                ", studentId=" + studentId +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+package com.smartsparrow.graphql.data;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Data loader key of the values of a learner element at a deployment change, the configuration fields of a walkable
+ * or the entries of a student scope. The element id is the student scope urn when loading scope entries.
+ */
+public class LearnerFieldsKey {
+
+    private UUID deploymentId;
+    private UUID changeId;
+    private UUID elementId;
+    private UUID studentId;
+    private List<String> fieldNames;
+
+    public UUID getDeploymentId() {
+        return deploymentId;
+    }
+
+    public LearnerFieldsKey setDeploymentId(final UUID deploymentId) {
+        this.deploymentId = deploymentId;
+        return this;
+    }
+
+    public UUID getChangeId() {
+        return changeId;
+    }
+
+    public LearnerFieldsKey setChangeId(final UUID changeId) {
+        this.changeId = changeId;
+        return this;
+    }
+
+    public UUID getElementId() {
+        return elementId;
+    }
+
+    public LearnerFieldsKey setElementId(final UUID elementId) {
+        this.elementId = elementId;
+        return this;
+    }
+
+    public UUID getStudentId() {
+        return studentId;
+    }
+
+    public LearnerFieldsKey setStudentId(final UUID studentId) {
+        this.studentId = studentId;
+        return this;
+    }
+
+    public List<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    public LearnerFieldsKey setFieldNames(final List<String> fieldNames) {
+        this.fieldNames = fieldNames;
+        return this;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LearnerFieldsKey that = (LearnerFieldsKey) o;
+        return Objects.equals(deploymentId, that.deploymentId) &&
+                Objects.equals(changeId, that.changeId) &&
+                Objects.equals(elementId, that.elementId) &&
+                Objects.equals(studentId, that.studentId) &&
+                Objects.equals(fieldNames, that.fieldNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(deploymentId, changeId, elementId, studentId, fieldNames);
+    }
+
+    @Override
+    public String toString() {
+        return "LearnerFieldsKey{" +
+                "deploymentId=" + deploymentId +
+                ", changeId=" + changeId +
+                ", elementId=" + elementId +
+                ", studentId=" + studentId +
+                ", fieldNames=" + fieldNames +
+                '}';
+    }
+}
@@ -10,6 +10,7 @@ import java.util.Objects;
 public class QueryParams {
 
     private String query;
+    private String queryHash;
     private String operationName;
     private Map<String, Object> variables = Collections.emptyMap();
 
@@ -22,6 +23,15 @@ public class QueryParams {
         return this;
     }
 
+    public String getQueryHash() {
+        return queryHash;
+    }
+
+    public QueryParams setQueryHash(final String queryHash) {
+        this.queryHash = queryHash;
+        return this;
+    }
+
     public String getOperationName() {
         return operationName;
     }
@@ -45,7 +55,8 @@ public class QueryParams {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         QueryParams that = (QueryParams) o;
-        return Objects.equals(query, that.query) && Objects.equals(operationName,
+        return Objects.equals(query, that.query) && Objects.equals(queryHash,
+                                                                   that.queryHash) && Objects.equals(operationName,
                                                                    that.operationName) && Objects.equals(
                 variables,
                 that.variables);
@@ -53,13 +64,14 @@ public class QueryParams {
 
     @Override
     public int hashCode() {
-        return Objects.hash(query, operationName, variables);
+        return Objects.hash(query, queryHash, operationName, variables);
     }
 
     @Override
     public String toString() {
         return "QueryParams{" +
                 "query='" + query + '\'' +
+                ", queryHash='" + queryHash + '\'' +
                 ", operationName='" + operationName + '\'' +
                 ", variables=" + variables +
                 '}';
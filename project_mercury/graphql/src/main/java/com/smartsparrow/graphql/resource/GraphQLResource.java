@@ -28,6 +28,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.apache.commons.httpclient.HttpStatus;
+import org.dataloader.DataLoaderRegistry;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -36,6 +37,7 @@ import com.smartsparrow.exception.BadRequestException;
 import com.smartsparrow.graphql.BronteGQLContext;
 import com.smartsparrow.graphql.data.BronteGraphQLResult;
 import com.smartsparrow.graphql.data.QueryParams;
+import com.smartsparrow.graphql.service.GraphQLQueryCache;
 import com.smartsparrow.graphql.wiring.GraphQLServletErrorHandler;
 import com.smartsparrow.iam.service.MutableAuthenticationContext;
 import com.smartsparrow.util.log.MercuryLogger;
@@ -54,6 +56,7 @@ public class GraphQLResource {
 
     private final GraphQL graphQL;
     private final GraphQLServletErrorHandler graphQLServletErrorHandler;
+    private final GraphQLQueryCache graphQLQueryCache;
     private final ArrayList<String> cacheQuery = new ArrayList<>(Arrays.asList("defaultActivity",
                                                                                "activityById",
                                                                                "getElementTypeAndAncestry",
@@ -64,21 +67,25 @@ public class GraphQLResource {
 
     @Inject
     public GraphQLResource(final GraphQLSchema schema,
-                           final GraphQLServletErrorHandler graphQLServletErrorHandler) {
+                           final GraphQLServletErrorHandler graphQLServletErrorHandler,
+                           final GraphQLQueryCache graphQLQueryCache) {
         this.graphQL = GraphQL
                 .newGraphQL(schema)
+                .preparsedDocumentProvider(graphQLQueryCache)
                 .build();
         this.graphQLServletErrorHandler = graphQLServletErrorHandler;
+        this.graphQLQueryCache = graphQLQueryCache;
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     public Response graphQLGet(@QueryParam("query") String query,
+                               @Nullable @QueryParam("queryHash") String queryHash,
                                @Nullable @QueryParam("operationName") String operationName,
                                @Nullable @QueryParam("variables") String variables,
                                @Context HttpServletRequest httpServletRequest) {
 
-        QueryParams sanitizedQueryParams = parseAndValidateQueryParams(query, operationName, variables);
+        QueryParams sanitizedQueryParams = parseAndValidateQueryParams(query, queryHash, operationName, variables);
         return handle(sanitizedQueryParams, httpServletRequest);
     }
 
@@ -129,9 +136,12 @@ public class GraphQLResource {
         MutableAuthenticationContext mutableAuthenticationContext = (MutableAuthenticationContext) httpServletRequest.getAttribute(
                 "mutableAuthenticationContext");
 
+        // data loaders batch and cache the keys loaded by the resolvers for this execution only
+        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
         BronteGQLContext bronteGQLContext = new BronteGQLContext()
                 .setMutableAuthenticationContext(mutableAuthenticationContext)
-                .setAuthenticationContext(mutableAuthenticationContext);
+                .setAuthenticationContext(mutableAuthenticationContext)
+                .setDataLoaderRegistry(dataLoaderRegistry);
 
         Response.ResponseBuilder responseBuilder = Response.ok();
         // This is currently set to 2 weeks. We may want to increase this, but likely need a way to purge.
@@ -144,6 +154,7 @@ public class GraphQLResource {
 
         ExecutionInput.Builder executionInput = newExecutionInput()
                 .context(bronteGQLContext)
+                .dataLoaderRegistry(dataLoaderRegistry)
                 .query(queryParams.getQuery())
                 .operationName(queryParams.getOperationName())
                 .variables(queryParams.getVariables());
@@ -178,6 +189,7 @@ public class GraphQLResource {
             Map<String, Object> variables = queryParams.getVariables();
             String variablesJsonString = new ObjectMapper().writeValueAsString(variables);
             return parseAndValidateQueryParams(queryParams.getQuery(),
+                                               queryParams.getQueryHash(),
                                                queryParams.getOperationName(),
                                                variablesJsonString);
         } catch (JsonProcessingException e) {
@@ -190,11 +202,13 @@ public class GraphQLResource {
      * Validate properties of QueryParams
      *
      * @param query - the graphQL query string
+     * @param queryHash - the hash of a persisted query if available
      * @param operationName - the operation name if available
      * @param variables - the stringified variables map
      * @return {@link QueryParams}
+     * @throws com.smartsparrow.exception.NotFoundFault when the persisted query is not found
      */
-    private QueryParams parseAndValidateQueryParams(String query, String operationName, String variables) {
+    private QueryParams parseAndValidateQueryParams(String query, String queryHash, String operationName, String variables) {
         try {
             TypeReference<HashMap<String, Object>> typeRef = new TypeReference<>() {
             };
@@ -204,7 +218,8 @@ public class GraphQLResource {
                     new HashMap<>();
 
             return new QueryParams()
-                    .setQuery(query)
+                    .setQuery(graphQLQueryCache.resolveQuery(query, queryHash))
+                    .setQueryHash(queryHash)
                     .setOperationName(operationName)
                     .setVariables(variablesMap);
 
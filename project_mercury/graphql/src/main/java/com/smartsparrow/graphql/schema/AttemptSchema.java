@@ -1,13 +1,19 @@
 package com.smartsparrow.graphql.schema;
 
+import static com.smartsparrow.graphql.service.GraphQLBatchLoaders.LEARNER_ATTEMPT;
+
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.dataloader.DataLoader;
+
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.graphql.BronteGQLContext;
+import com.smartsparrow.graphql.data.LearnerElementKey;
+import com.smartsparrow.graphql.service.GraphQLBatchLoaders;
 import com.smartsparrow.learner.attempt.Attempt;
 import com.smartsparrow.learner.data.LearnerWalkable;
 import com.smartsparrow.learner.service.AcquireAttemptService;
@@ -18,6 +24,7 @@ import io.leangen.graphql.annotations.GraphQLContext;
 import io.leangen.graphql.annotations.GraphQLEnvironment;
 import io.leangen.graphql.annotations.GraphQLQuery;
 import io.leangen.graphql.execution.ResolutionEnvironment;
+import reactor.core.publisher.Mono;
 
 @Singleton
 public class AttemptSchema {
@@ -37,8 +44,15 @@ public class AttemptSchema {
 
         UUID studentId = context.getAuthenticationContext().getAccount().getId();
 
-        return acquireAttemptService.acquireLatestAttempt(walkable.getDeploymentId(), walkable.getId(),
-                walkable.getElementType(), studentId)
+        DataLoader<LearnerElementKey, Attempt> loader = context.getDataLoader(LEARNER_ATTEMPT,
+                GraphQLBatchLoaders.parallel(key -> acquireAttemptService.acquireLatestAttempt(key.getDeploymentId(),
+                        key.getElementId(), key.getElementType(), key.getStudentId())));
+
+        return Mono.fromFuture(loader.load(new LearnerElementKey()
+                .setDeploymentId(walkable.getDeploymentId())
+                .setElementId(walkable.getId())
+                .setElementType(walkable.getElementType())
+                .setStudentId(studentId)))
                 .doOnEach(ReactiveTransaction.linkOnNext())
                 .doOnEach(ReactiveTransaction.expireOnComplete())
                 .subscriberContext(ReactiveMonitoring.createContext())
@@ -1,5 +1,8 @@
 package com.smartsparrow.graphql.schema;
 
+import static com.smartsparrow.graphql.service.GraphQLBatchLoaders.LEARNER_ENROLLMENT_PROGRESS;
+import static com.smartsparrow.graphql.service.GraphQLBatchLoaders.LEARNER_PROGRESS;
+import static com.smartsparrow.graphql.service.GraphQLBatchLoaders.LEARNER_SCORE;
 import static com.smartsparrow.iam.util.Permissions.affirmPermission;
 
 import java.util.UUID;
@@ -9,9 +12,13 @@ import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.dataloader.DataLoader;
+
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.graphql.BronteGQLContext;
 import com.smartsparrow.graphql.auth.AllowCohortInstructor;
+import com.smartsparrow.graphql.data.LearnerElementKey;
+import com.smartsparrow.graphql.service.GraphQLBatchLoaders;
 import com.smartsparrow.graphql.type.EnrollmentLearnerActivity;
 import com.smartsparrow.learner.data.LearnerActivity;
 import com.smartsparrow.learner.data.LearnerWalkable;
@@ -59,10 +66,14 @@ public class ProgressSchema {
         BronteGQLContext context = resolutionEnvironment.dataFetchingEnvironment.getContext();
         UUID studentId = context.getAuthenticationContext().getAccount().getId();
 
-        return acquireAttemptService.acquireLatestAttempt(walkable.getDeploymentId(), walkable.getId(), walkable.getElementType(), studentId)
-                .flatMap(attempt -> progressService.findLatest(walkable.getDeploymentId(), walkable.getId(), studentId)
-                        .onErrorResume(ProgressNotFoundFault.class, ex -> Mono.empty())
-                        .filter(progress -> attempt.getId().equals(progress.getAttemptId())))
+        DataLoader<LearnerElementKey, Progress> loader = context.getDataLoader(LEARNER_PROGRESS,
+                GraphQLBatchLoaders.parallel(this::findLatestAttemptProgress));
+
+        return Mono.fromFuture(loader.load(new LearnerElementKey()
+                .setDeploymentId(walkable.getDeploymentId())
+                .setElementId(walkable.getId())
+                .setElementType(walkable.getElementType())
+                .setStudentId(studentId)))
                 .defaultIfEmpty(new GeneralProgress().setCompletion(new Completion().setValue(0f).setConfidence(0f)))
                 .toFuture();
     }
@@ -81,7 +92,15 @@ public class ProgressSchema {
         UUID walkableId = enrollmentLearnerActivity.getLearnerActivity().getId();
         UUID studentId = enrollmentLearnerActivity.getEnrollment().getAccountId();
 
-        return progressService.findLatest(deploymentId, walkableId, studentId)
+        // progress of the enrolled students is loaded regardless of their latest attempt
+        DataLoader<LearnerElementKey, Progress> loader = context.getDataLoader(LEARNER_ENROLLMENT_PROGRESS,
+                GraphQLBatchLoaders.parallel(key -> progressService.findLatest(key.getDeploymentId(),
+                        key.getElementId(), key.getStudentId())));
+
+        return Mono.fromFuture(loader.load(new LearnerElementKey()
+                .setDeploymentId(deploymentId)
+                .setElementId(walkableId)
+                .setStudentId(studentId)))
                 .defaultIfEmpty(new GeneralProgress().setCompletion(new Completion().setValue(0f).setConfidence(0f)))
                 // suppress any not found data exceptions.
                 .onErrorResume(ProgressNotFoundFault.class, ex -> Mono.empty())
@@ -102,12 +121,29 @@ public class ProgressSchema {
 
         final UUID studentId = context.getAuthenticationContext().getAccount().getId();
 
-        return studentScoreService.computeScore(deploymentId, studentId, elementId,
-                                                null)
+        DataLoader<LearnerElementKey, Score> loader = context.getDataLoader(LEARNER_SCORE,
+                GraphQLBatchLoaders.parallel(key -> studentScoreService.computeScore(key.getDeploymentId(),
+                        key.getStudentId(), key.getElementId(), null)));
+
+        return Mono.fromFuture(loader.load(new LearnerElementKey()
+                .setDeploymentId(deploymentId)
+                .setElementId(elementId)
+                .setStudentId(studentId)))
                 .doOnEach(ReactiveTransaction.linkOnNext())
                 .doOnEach(ReactiveTransaction.expireOnComplete())
                 .subscriberContext(ReactiveMonitoring.createContext())
                 .toFuture();
     }
 
+    /**
+     * Find the latest progress of a walkable when it was made within the latest attempt
+     */
+    private Mono<Progress> findLatestAttemptProgress(final LearnerElementKey key) {
+        return acquireAttemptService.acquireLatestAttempt(key.getDeploymentId(), key.getElementId(),
+                key.getElementType(), key.getStudentId())
+                .flatMap(attempt -> progressService.findLatest(key.getDeploymentId(), key.getElementId(), key.getStudentId())
+                        .onErrorResume(ProgressNotFoundFault.class, ex -> Mono.empty())
+                        .filter(progress -> attempt.getId().equals(progress.getAttemptId())));
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.smartsparrow.graphql.schema;
 
+import static com.smartsparrow.graphql.service.GraphQLBatchLoaders.LEARNER_SCOPE;
 import static com.smartsparrow.util.Warrants.affirmArgument;
 
 import java.util.List;
@@ -9,7 +10,11 @@ import java.util.concurrent.CompletableFuture;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.dataloader.DataLoader;
+
 import com.smartsparrow.graphql.BronteGQLContext;
+import com.smartsparrow.graphql.data.LearnerFieldsKey;
+import com.smartsparrow.graphql.service.GraphQLBatchLoaders;
 import com.smartsparrow.learner.data.Evaluation;
 import com.smartsparrow.learner.data.LearnerWalkable;
 import com.smartsparrow.learner.payload.StudentScopePayload;
@@ -40,9 +45,16 @@ public class ScopeSchema {
         BronteGQLContext context = resolutionEnvironment.dataFetchingEnvironment.getContext();
 
         UUID accountId = context.getAuthenticationContext().getAccount().getId();
-        return studentScopeService.fetchScope(walkable.getDeploymentId(), accountId, walkable.getStudentScopeURN(), walkable.getChangeId()).
-                collectList()
-                .toFuture();
+        DataLoader<LearnerFieldsKey, List<StudentScopePayload>> loader = context.getDataLoader(LEARNER_SCOPE,
+                GraphQLBatchLoaders.parallel(key -> studentScopeService.fetchScope(key.getDeploymentId(),
+                        key.getStudentId(), key.getElementId(), key.getChangeId())
+                        .collectList()));
+
+        return loader.load(new LearnerFieldsKey()
+                .setDeploymentId(walkable.getDeploymentId())
+                .setChangeId(walkable.getChangeId())
+                .setElementId(walkable.getStudentScopeURN())
+                .setStudentId(accountId));
     }
 
     @GraphQLQuery(name = "scope", description = "Historic scope data")
@@ -1,5 +1,8 @@
 package com.smartsparrow.graphql.schema;
 
+import static com.smartsparrow.graphql.service.GraphQLBatchLoaders.LEARNER_FIELDS;
+import static com.smartsparrow.graphql.service.GraphQLBatchLoaders.LEARNER_SCORE;
+import static com.smartsparrow.graphql.service.GraphQLBatchLoaders.LEARNER_WALKABLE;
 import static com.smartsparrow.util.Warrants.affirmArgument;
 
 import java.util.ArrayList;
@@ -7,11 +10,13 @@ import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.dataloader.DataLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +38,9 @@ import com.smartsparrow.courseware.service.InteractiveService;
 import com.smartsparrow.courseware.service.PathwayService;
 import com.smartsparrow.exception.IllegalArgumentFault;
 import com.smartsparrow.graphql.BronteGQLContext;
+import com.smartsparrow.graphql.data.LearnerElementKey;
+import com.smartsparrow.graphql.data.LearnerFieldsKey;
+import com.smartsparrow.graphql.service.GraphQLBatchLoaders;
 import com.smartsparrow.graphql.service.GraphQLPageFactory;
 import com.smartsparrow.learner.data.CompletedWalkable;
 import com.smartsparrow.learner.data.Deployment;
@@ -122,16 +130,27 @@ public class WalkableSchema {
         UUID studentId = context.getAuthenticationContext().getAccount().getId();
         Flux<WalkableChild> list = pathway.supplyRelevantWalkables(studentId);
 
-        Mono<List<LearnerWalkable>> walkables = list.concatMap(child -> {
-                    if (child.getElementType().equals(CoursewareElementType.ACTIVITY)) {
-                        return learnerActivityService.findActivity(child.getElementId(), pathway.getDeploymentId());
-                    } else {
-                        return learnerInteractiveService.findInteractive(child.getElementId(), pathway.getDeploymentId());
-                    }
-                }).doOnEach(ReactiveTransaction.linkOnNext())
+        DataLoader<LearnerElementKey, LearnerWalkable> loader = context.getDataLoader(LEARNER_WALKABLE,
+                GraphQLBatchLoaders.parallel(this::findLearnerWalkable));
+
+        Mono<List<LearnerWalkable>> walkables = list
+                .map(child -> new LearnerElementKey()
+                        .setDeploymentId(pathway.getDeploymentId())
+                        .setElementId(child.getElementId())
+                        .setElementType(child.getElementType()))
+                .collectList()
+                .flatMap(keys -> {
+                    // the children are read after the execution dispatched this level, dispatch their keys right away
+                    CompletableFuture<List<LearnerWalkable>> loaded = loader.loadMany(keys);
+                    loader.dispatch();
+                    return Mono.fromFuture(loaded);
+                })
+                .map(loaded -> loaded.stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()))
+                .doOnEach(ReactiveTransaction.linkOnNext())
                 .doOnEach(ReactiveTransaction.expireOnComplete())
                 .subscriberContext(ReactiveMonitoring.createContext())
-                .collectList()
                 .defaultIfEmpty(Lists.newArrayList());
 
         //checkArgument(walkables != null, "list of walkables can not be null");
@@ -231,20 +250,19 @@ public class WalkableSchema {
      */
     @Trace(dispatcher = true, nameTransaction = false, metricName = "Walkable.configurationFieldsCompletedWalkable")
     @GraphQLQuery(name = "configurationFields", description = "fetch configuration fields values for a completed walkable")
-    public CompletableFuture<List<ConfigurationField>> getCompletedWalkableFields(@GraphQLContext CompletedWalkable completedWalkable,
+    public CompletableFuture<List<ConfigurationField>> getCompletedWalkableFields(@GraphQLEnvironment ResolutionEnvironment resolutionEnvironment,
+                                                                                  @GraphQLContext CompletedWalkable completedWalkable,
                                                                                   @GraphQLArgument(name = "fieldNames", description = "fetch those field values within the configuration")
                                                                        List<String> fieldNames) {
 
         affirmArgument(fieldNames != null, "fieldNames argument required");
         affirmArgument(!fieldNames.isEmpty(), "at least 1 field name must be supplied");
 
-        return learnerService.fetchFields(completedWalkable.getDeploymentId(), completedWalkable.getChangeId(),
-                completedWalkable.getElementId(), fieldNames)
-                .doOnEach(ReactiveTransaction.linkOnNext())
-                .doOnEach(ReactiveTransaction.expireOnComplete())
-                .subscriberContext(ReactiveMonitoring.createContext())
-                .collectList()
-                .toFuture();
+        return loadFields(resolutionEnvironment, new LearnerFieldsKey()
+                .setDeploymentId(completedWalkable.getDeploymentId())
+                .setChangeId(completedWalkable.getChangeId())
+                .setElementId(completedWalkable.getElementId())
+                .setFieldNames(fieldNames));
     }
 
     /**
@@ -262,8 +280,13 @@ public class WalkableSchema {
 
         final UUID studentId = context.getAuthenticationContext().getAccount().getId();
 
-        return studentScoreService.computeScore(learnerWalkable.getDeploymentId(), studentId, learnerWalkable.getId(),
-                null)
+        DataLoader<LearnerElementKey, Score> loader = context.getDataLoader(LEARNER_SCORE,
+                GraphQLBatchLoaders.parallel(this::computeScore));
+
+        return Mono.fromFuture(loader.load(new LearnerElementKey()
+                .setDeploymentId(learnerWalkable.getDeploymentId())
+                .setElementId(learnerWalkable.getId())
+                .setStudentId(studentId)))
                 .doOnEach(ReactiveTransaction.linkOnNext())
                 .doOnEach(ReactiveTransaction.expireOnComplete())
                 .subscriberContext(ReactiveMonitoring.createContext())
@@ -279,22 +302,54 @@ public class WalkableSchema {
      */
     @Trace(dispatcher = true, nameTransaction = false, metricName = "Walkable.configurationFieldsLearnerWalkable")
     @GraphQLQuery(name = "configurationFields", description = "fetch configuration fields values for a walkable")
-    public CompletableFuture<List<ConfigurationField>> getLearnerWalkableFields(@GraphQLContext LearnerWalkable learnerWalkable,
+    public CompletableFuture<List<ConfigurationField>> getLearnerWalkableFields(@GraphQLEnvironment ResolutionEnvironment resolutionEnvironment,
+                                                                                @GraphQLContext LearnerWalkable learnerWalkable,
                                                                                 @GraphQLArgument(name = "fieldNames", description = "fetch those field values within the configuration")
                                                                      List<String> fieldNames) {
 
         affirmArgument(fieldNames != null, "fieldNames argument required");
         affirmArgument(!fieldNames.isEmpty(), "at least 1 field name must be supplied");
 
-        return learnerService.fetchFields(learnerWalkable.getDeploymentId(), learnerWalkable.getChangeId(),
-                learnerWalkable.getId(), fieldNames)
+        return loadFields(resolutionEnvironment, new LearnerFieldsKey()
+                .setDeploymentId(learnerWalkable.getDeploymentId())
+                .setChangeId(learnerWalkable.getChangeId())
+                .setElementId(learnerWalkable.getId())
+                .setFieldNames(fieldNames));
+    }
+
+    /**
+     * Load the configuration fields through the request data loader, the fields of sibling walkables are fetched
+     * in the same batch
+     */
+    private CompletableFuture<List<ConfigurationField>> loadFields(final ResolutionEnvironment resolutionEnvironment,
+                                                                   final LearnerFieldsKey key) {
+        BronteGQLContext context = resolutionEnvironment.dataFetchingEnvironment.getContext();
+
+        DataLoader<LearnerFieldsKey, List<ConfigurationField>> loader = context.getDataLoader(LEARNER_FIELDS,
+                GraphQLBatchLoaders.parallel(fieldsKey -> learnerService.fetchFields(fieldsKey.getDeploymentId(),
+                        fieldsKey.getChangeId(), fieldsKey.getElementId(), fieldsKey.getFieldNames())
+                        .collectList()));
+
+        return Mono.fromFuture(loader.load(key))
                 .doOnEach(ReactiveTransaction.linkOnNext())
                 .doOnEach(ReactiveTransaction.expireOnComplete())
                 .subscriberContext(ReactiveMonitoring.createContext())
-                .collectList()
                 .toFuture();
     }
 
+    private Mono<LearnerWalkable> findLearnerWalkable(final LearnerElementKey key) {
+        if (key.getElementType().equals(CoursewareElementType.ACTIVITY)) {
+            return learnerActivityService.findActivity(key.getElementId(), key.getDeploymentId())
+                    .cast(LearnerWalkable.class);
+        }
+        return learnerInteractiveService.findInteractive(key.getElementId(), key.getDeploymentId())
+                .cast(LearnerWalkable.class);
+    }
+
+    private Mono<Score> computeScore(final LearnerElementKey key) {
+        return studentScoreService.computeScore(key.getDeploymentId(), key.getStudentId(), key.getElementId(), null);
+    }
+
     /**
      * Parameters 'before' and 'last' are required to be compatible with the Relay Connection spec. (can be disabled)
      * @return
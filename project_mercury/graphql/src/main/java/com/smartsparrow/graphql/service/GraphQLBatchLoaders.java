@@ -0,0 +1,54 @@
+package com.smartsparrow.graphql.service;
+
+import java.util.function.Function;
+
+import org.dataloader.MappedBatchLoader;
+import org.dataloader.Try;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Batch loaders for the data loaders registered on the {@link com.smartsparrow.graphql.BronteGQLContext}
+ */
+public class GraphQLBatchLoaders {
+
+    // names of the data loaders shared by the resolvers of different schemas
+    public static final String LEARNER_WALKABLE = "learnerWalkable";
+    public static final String LEARNER_SCORE = "learnerScore";
+    public static final String LEARNER_ATTEMPT = "learnerAttempt";
+    public static final String LEARNER_PROGRESS = "learnerProgress";
+    public static final String LEARNER_ENROLLMENT_PROGRESS = "learnerEnrollmentProgress";
+    public static final String LEARNER_FIELDS = "learnerFields";
+    public static final String LEARNER_SCOPE = "learnerScope";
+
+    /**
+     * Maximum number of keys of a batch loaded at the same time, configured with the
+     * <code>graphql.batch.concurrency</code> system property
+     */
+    private static final int CONCURRENCY = Integer.getInteger("graphql.batch.concurrency", 32);
+
+    private GraphQLBatchLoaders() {
+    }
+
+    /**
+     * Create a batch loader reading the keys of a batch in parallel. A key failing to load only fails the fields
+     * waiting on that key, a key loading no value resolves to <code>null</code>.
+     *
+     * @param loader the function loading the value of a single key
+     * @param <K> the type of key
+     * @param <V> the type of value
+     * @return a mapped batch loader to create the data loader with
+     */
+    public static <K, V> MappedBatchLoader<K, Try<V>> parallel(final Function<K, Mono<V>> loader) {
+        return keys -> Flux.fromIterable(keys)
+                .flatMap(key -> loader.apply(key)
+                        .map(Try::succeeded)
+                        .onErrorResume(throwable -> Mono.just(Try.<V>failed(throwable)))
+                        .map(value -> Tuples.of(key, value)), CONCURRENCY)
+                .collectMap(Tuple2::getT1, Tuple2::getT2)
+                .toFuture();
+    }
+}
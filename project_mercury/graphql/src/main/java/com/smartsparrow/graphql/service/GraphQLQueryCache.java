@@ -0,0 +1,102 @@
+package com.smartsparrow.graphql.service;
+
+import static com.smartsparrow.util.Warrants.affirmArgument;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.smartsparrow.exception.NotFoundFault;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+/**
+ * Caches the parsed and validated documents of the executed queries and holds the registry of persisted queries.
+ *
+ * Documents are keyed by the SHA-256 hash of the query text, the same hash clients send in place of the query text
+ * once the query is persisted. A client sending an unknown hash gets a {@link #PERSISTED_QUERY_NOT_FOUND} fault and
+ * is expected to send the hash along with the query text, which persists the query.
+ *
+ * Both caches are bounded, configured with the <code>graphql.document.cache.size</code> and
+ * <code>graphql.persisted.cache.size</code> system properties.
+ */
+@Singleton
+public class GraphQLQueryCache implements PreparsedDocumentProvider {
+
+    public static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+
+    private static final int DOCUMENT_CACHE_SIZE = Integer.getInteger("graphql.document.cache.size", 500);
+    private static final int PERSISTED_QUERY_CACHE_SIZE = Integer.getInteger("graphql.persisted.cache.size", 1000);
+
+    private final Cache<String, PreparsedDocumentEntry> documents = CacheBuilder.newBuilder()
+            .maximumSize(DOCUMENT_CACHE_SIZE)
+            .build();
+
+    private final Cache<String, String> persistedQueries = CacheBuilder.newBuilder()
+            .maximumSize(PERSISTED_QUERY_CACHE_SIZE)
+            .build();
+
+    /**
+     * Get the parsed and validated document of the query, the query is parsed and validated once until evicted
+     *
+     * @param executionInput the execution input holding the query text
+     * @param parseAndValidateFunction the function parsing and validating the query
+     * @return the cached document entry
+     */
+    @Override
+    public PreparsedDocumentEntry getDocument(final ExecutionInput executionInput,
+                                              final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String queryHash = hash(executionInput.getQuery());
+        PreparsedDocumentEntry entry = documents.getIfPresent(queryHash);
+        if (entry == null) {
+            // concurrent misses parse the same query more than once, the last parsed document is kept
+            entry = parseAndValidateFunction.apply(executionInput);
+            documents.put(queryHash, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Resolve the query text to execute. When the query text is supplied it is persisted under the hash,
+     * otherwise the persisted query text is returned.
+     *
+     * @param query the query text, can be <code>null</code> when the hash is supplied
+     * @param queryHash the SHA-256 hash of the query text, can be <code>null</code> when not using persisted queries
+     * @return the query text to execute
+     * @throws com.smartsparrow.exception.IllegalArgumentFault when the hash does not match the query text
+     * @throws NotFoundFault when only the hash is supplied and no query is persisted under it
+     */
+    public String resolveQuery(@Nullable final String query, @Nullable final String queryHash) {
+        if (Strings.isNullOrEmpty(queryHash)) {
+            return query;
+        }
+
+        if (Strings.isNullOrEmpty(query)) {
+            String persisted = persistedQueries.getIfPresent(queryHash);
+            if (persisted == null) {
+                throw new NotFoundFault(PERSISTED_QUERY_NOT_FOUND);
+            }
+            return persisted;
+        }
+
+        affirmArgument(queryHash.equals(hash(query)), "queryHash does not match the query");
+        persistedQueries.put(queryHash, query);
+        return query;
+    }
+
+    /**
+     * @param query the query text
+     * @return the hex encoded SHA-256 hash of the query text
+     */
+    public static String hash(final String query) {
+        return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.dataloader.DataLoaderRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +22,7 @@ import graphql.ExecutionResultImpl;
 import graphql.GraphQL;
 import graphql.GraphQLError;
 import graphql.schema.GraphQLSchema;
+import reactor.core.publisher.Mono;
 
 @Singleton
 public class GraphQLService {
@@ -28,52 +30,69 @@ public class GraphQLService {
     private final static Logger log = LoggerFactory.getLogger(GraphQLService.class);
     private final GraphQLSchema graphQLSchema;
     private final GraphQLErrorService graphQLErrorService;
+    private final GraphQLQueryCache graphQLQueryCache;
     private final GraphQL graphQL;
 
     @Inject
     public GraphQLService(GraphQLSchema graphQLSchema,
-                          GraphQLErrorService graphQLErrorService) {
+                          GraphQLErrorService graphQLErrorService,
+                          GraphQLQueryCache graphQLQueryCache) {
         this.graphQLSchema = graphQLSchema;
         this.graphQLErrorService = graphQLErrorService;
+        this.graphQLQueryCache = graphQLQueryCache;
         this.graphQL = newGraphQL(graphQLSchema)
+                .preparsedDocumentProvider(graphQLQueryCache)
                 .build();
     }
 
     /**
      * This is query execution for RTM calls only. For REST see {@link com.smartsparrow.graphql.resource.GraphQLResource}
+     *
+     * @param query the query text, can be <code>null</code> when executing a persisted query
+     * @param queryHash the hash of a persisted query, see {@link GraphQLQueryCache#resolveQuery(String, String)}
+     * @param parameters the query variables
+     * @param authenticationContext the authentication context of the caller
+     * @return a mono of the execution result, completed once the execution completes
      */
-    public ExecutionResult query(final String query,
-                                 final Map<String, Object> parameters,
-                                 final AuthenticationContext authenticationContext) {
-        if (log.isDebugEnabled()) {
-            log.debug("Executing GraphQL query {} with parameters {}", query, parameters);
-        }
-
-        Map<String, Object> variables = parameters == null ? new HashMap<>() : parameters;
-
-        BronteGQLContext bronteGQLContext = new BronteGQLContext()
-                .setAuthenticationContext(authenticationContext);
-
-        // build the execution path
-        ExecutionInput executionInput = ExecutionInput.newExecutionInput()
-                .query(query)
-                .variables(variables)
-                .context(bronteGQLContext)
-                .build();
-
-        // execute it
-        final ExecutionResult executionResult = graphQL.executeAsync(executionInput).join();
-
-        if (log.isDebugEnabled()) {
-            if (executionResult.getData() == null) {
-                log.debug("GraphQL query result: null");
-            } else {
-                log.debug("GraphQL query result: {}", executionResult.getData().toString());
+    public Mono<ExecutionResult> query(final String query,
+                                       final String queryHash,
+                                       final Map<String, Object> parameters,
+                                       final AuthenticationContext authenticationContext) {
+        return Mono.defer(() -> {
+            String resolvedQuery = graphQLQueryCache.resolveQuery(query, queryHash);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Executing GraphQL query {} with parameters {}", resolvedQuery, parameters);
             }
-            log.debug("GraphQL query errors: {}", executionResult.getErrors());
-        }
 
-        return executionResult;
+            Map<String, Object> variables = parameters == null ? new HashMap<>() : parameters;
+
+            // data loaders batch and cache the keys loaded by the resolvers for this execution only
+            DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
+            BronteGQLContext bronteGQLContext = new BronteGQLContext()
+                    .setAuthenticationContext(authenticationContext)
+                    .setDataLoaderRegistry(dataLoaderRegistry);
+
+            // build the execution path
+            ExecutionInput executionInput = ExecutionInput.newExecutionInput()
+                    .query(resolvedQuery)
+                    .variables(variables)
+                    .context(bronteGQLContext)
+                    .dataLoaderRegistry(dataLoaderRegistry)
+                    .build();
+
+            // execute it, the result is emitted on the thread completing the execution
+            return Mono.fromFuture(graphQL.executeAsync(executionInput));
+        }).doOnNext(executionResult -> {
+            if (log.isDebugEnabled()) {
+                if (executionResult.getData() == null) {
+                    log.debug("GraphQL query result: null");
+                } else {
+                    log.debug("GraphQL query result: {}", executionResult.getData().toString());
+                }
+                log.debug("GraphQL query errors: {}", executionResult.getErrors());
+            }
+        });
     }
 
     /**
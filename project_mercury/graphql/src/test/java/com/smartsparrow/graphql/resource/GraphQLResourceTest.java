@@ -25,6 +25,7 @@ import org.mockito.Spy;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.smartsparrow.graphql.BronteGQLContext;
 import com.smartsparrow.graphql.data.QueryParams;
+import com.smartsparrow.graphql.service.GraphQLQueryCache;
 import com.smartsparrow.graphql.wiring.GraphQLServletErrorHandler;
 import com.smartsparrow.iam.service.MutableAuthenticationContext;
 
@@ -41,6 +42,8 @@ public class GraphQLResourceTest {
     private GraphQLResource graphQLResource;
     @Mock
     private GraphQLServletErrorHandler graphQLServletErrorHandler;
+    @Spy
+    private GraphQLQueryCache graphQLQueryCache = new GraphQLQueryCache();
     @Mock
     private GraphQL graphQL;
     @Mock
@@ -77,7 +80,7 @@ public class GraphQLResourceTest {
     void graphQLGet_emptyQuery() throws JsonProcessingException {
         doReturn(Response.ok().build()).when(graphQLResource).handle(any(),any());
 
-        Response response = graphQLResource.graphQLGet("", null, null, httpServletRequest);
+        Response response = graphQLResource.graphQLGet("", null, null, null, httpServletRequest);
 
         assertAll(() -> {
             assertNotNull(response);
@@ -91,7 +94,7 @@ public class GraphQLResourceTest {
         String result = "{ \"data\": { \"result\": \"pong\" } }";
         doReturn(Response.ok(result).build()).when(graphQLResource).handle(any(),any());
 
-        Response response = graphQLResource.graphQLGet("{query {ping {result}}}", null, null, httpServletRequest);
+        Response response = graphQLResource.graphQLGet("{query {ping {result}}}", null, null, null, httpServletRequest);
 
         assertAll(() -> {
             assertNotNull(response);
@@ -106,7 +109,7 @@ public class GraphQLResourceTest {
         String result = "{ \"data\": { \"result\": \"pong\" } }";
         doReturn(Response.ok(result).build()).when(graphQLResource).handle(any(),any());
 
-        Response response = graphQLResource.graphQLGet("{query {ping {result}}}", "query", null, httpServletRequest);
+        Response response = graphQLResource.graphQLGet("{query {ping {result}}}", null, "query", null, httpServletRequest);
 
         assertAll(() -> {
             assertNotNull(response);
@@ -121,7 +124,7 @@ public class GraphQLResourceTest {
         String result = "{ \"data\": { \"result\": \"pong\" } }";
         doReturn(Response.ok(result).build()).when(graphQLResource).handle(any(),any());
 
-        Response response = graphQLResource.graphQLGet("{query {ping {result}}}", "query", "{ \"id\": \"123\" }", httpServletRequest);
+        Response response = graphQLResource.graphQLGet("{query {ping {result}}}", null, "query", "{ \"id\": \"123\" }", httpServletRequest);
 
         assertAll(() -> {
             assertNotNull(response);
@@ -18,8 +18,10 @@ import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.assertj.core.util.Lists;
+import org.dataloader.DataLoaderRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -244,7 +246,7 @@ class WalkableSchemaTest {
         List<String> fields = new ArrayList<>();
 
         IllegalArgumentFault e = assertThrows(IllegalArgumentFault.class, () -> walkableSchema
-                .getCompletedWalkableFields(completedWalkable, fields)
+                .getCompletedWalkableFields(resolutionEnvironment, completedWalkable, fields)
                 .join());
         assertNotNull(e);
         assertEquals("at least 1 field name must be supplied", e.getMessage());
@@ -267,7 +269,7 @@ class WalkableSchemaTest {
                            .setFieldValue("aya")
                 ));
 
-        List<ConfigurationField> all = walkableSchema.getCompletedWalkableFields(completedWalkable, fields).join();
+        List<ConfigurationField> all = walkableSchema.getCompletedWalkableFields(resolutionEnvironment, completedWalkable, fields).join();
 
         assertNotNull(all);
         assertEquals(1, all.size());
@@ -295,6 +297,39 @@ class WalkableSchemaTest {
         assertEquals(ScoreReason.SCORED, score.getReason());
     }
 
+    @Test
+    @DisplayName("should compute the score once per walkable within an execution")
+    void getScore_batchedWithinExecution() {
+        final UUID activityId = UUID.randomUUID();
+        final UUID interactiveId = UUID.randomUUID();
+        LearnerWalkable activity = new LearnerActivity().setId(activityId).setDeploymentId(deploymentId);
+        LearnerWalkable interactive = new LearnerInteractive().setId(interactiveId).setDeploymentId(deploymentId);
+
+        when(studentScoreService.computeScore(deploymentId, STUDENT_A_ID, activityId, null))
+                .thenReturn(Mono.just(new Score().setValue(75d)));
+        when(studentScoreService.computeScore(deploymentId, STUDENT_A_ID, interactiveId, null))
+                .thenReturn(Mono.just(new Score().setValue(50d)));
+
+        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
+        BronteGQLContext context = resolutionEnvironment.dataFetchingEnvironment.getContext();
+        context.setDataLoaderRegistry(dataLoaderRegistry);
+
+        CompletableFuture<Score> first = walkableSchema.getScore(resolutionEnvironment, activity);
+        CompletableFuture<Score> second = walkableSchema.getScore(resolutionEnvironment, interactive);
+        CompletableFuture<Score> duplicate = walkableSchema.getScore(resolutionEnvironment, activity);
+
+        // nothing is loaded until the execution dispatches the data loaders
+        verify(studentScoreService, never()).computeScore(any(), any(), any(), any());
+
+        dataLoaderRegistry.dispatchAll();
+
+        assertEquals(Double.valueOf(75d), first.join().getValue());
+        assertEquals(Double.valueOf(50d), second.join().getValue());
+        assertEquals(Double.valueOf(75d), duplicate.join().getValue());
+        verify(studentScoreService).computeScore(deploymentId, STUDENT_A_ID, activityId, null);
+        verify(studentScoreService).computeScore(deploymentId, STUDENT_A_ID, interactiveId, null);
+    }
+
     @Test
     void getWalkableFields() {
         UUID activityId = UUID.randomUUID();
@@ -312,7 +347,7 @@ class WalkableSchemaTest {
                                 .setFieldValue("aya")
                 ));
 
-        List<ConfigurationField> all = walkableSchema.getLearnerWalkableFields(learnerWalkable, fields).join();
+        List<ConfigurationField> all = walkableSchema.getLearnerWalkableFields(resolutionEnvironment, learnerWalkable, fields).join();
 
         assertNotNull(all);
         assertEquals(1, all.size());
@@ -0,0 +1,80 @@
+package com.smartsparrow.graphql.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.smartsparrow.exception.IllegalArgumentFault;
+import com.smartsparrow.exception.NotFoundFault;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+
+class GraphQLQueryCacheTest {
+
+    private static final String query = "{ ping { result } }";
+
+    private GraphQLQueryCache graphQLQueryCache;
+
+    @BeforeEach
+    void setUp() {
+        graphQLQueryCache = new GraphQLQueryCache();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void getDocument_parsedOnce() {
+        PreparsedDocumentEntry entry = mock(PreparsedDocumentEntry.class);
+        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate = mock(Function.class);
+        when(parseAndValidate.apply(any())).thenReturn(entry);
+
+        ExecutionInput first = ExecutionInput.newExecutionInput().query(query).build();
+        ExecutionInput second = ExecutionInput.newExecutionInput().query(query).build();
+
+        assertSame(entry, graphQLQueryCache.getDocument(first, parseAndValidate));
+        assertSame(entry, graphQLQueryCache.getDocument(second, parseAndValidate));
+        verify(parseAndValidate, times(1)).apply(any());
+    }
+
+    @Test
+    void resolveQuery_noHash() {
+        assertEquals(query, graphQLQueryCache.resolveQuery(query, null));
+        assertNull(graphQLQueryCache.resolveQuery(null, null));
+    }
+
+    @Test
+    void resolveQuery_persisted() {
+        String queryHash = GraphQLQueryCache.hash(query);
+
+        assertEquals(query, graphQLQueryCache.resolveQuery(query, queryHash));
+        assertEquals(query, graphQLQueryCache.resolveQuery(null, queryHash));
+    }
+
+    @Test
+    void resolveQuery_notFound() {
+        NotFoundFault f = assertThrows(NotFoundFault.class,
+                () -> graphQLQueryCache.resolveQuery(null, GraphQLQueryCache.hash(query)));
+
+        assertEquals(GraphQLQueryCache.PERSISTED_QUERY_NOT_FOUND, f.getMessage());
+    }
+
+    @Test
+    void resolveQuery_hashMismatch() {
+        IllegalArgumentFault f = assertThrows(IllegalArgumentFault.class,
+                () -> graphQLQueryCache.resolveQuery(query, GraphQLQueryCache.hash("{ other }")));
+
+        assertEquals("queryHash does not match the query", f.getMessage());
+        assertThrows(NotFoundFault.class, () -> graphQLQueryCache.resolveQuery(null, GraphQLQueryCache.hash("{ other }")));
+    }
+}
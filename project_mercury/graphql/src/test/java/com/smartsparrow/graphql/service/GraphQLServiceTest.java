@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import graphql.ExecutionResult;
 import graphql.GraphQLError;
@@ -26,6 +27,9 @@ class GraphQLServiceTest {
     @Mock
     private GraphQLErrorService graphQLErrorService;
 
+    @Spy
+    private GraphQLQueryCache graphQLQueryCache = new GraphQLQueryCache();
+
     @InjectMocks
     private GraphQLService graphQLService;
 
@@ -37,8 +37,10 @@ import org.apache.commons.lang.StringUtils;
 import org.redisson.api.RBucketReactive;
 import org.redisson.api.RedissonReactiveClient;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Provider;
 import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.cache.service.CacheTags;
 import com.smartsparrow.cohort.data.CohortSettings;
 import com.smartsparrow.cohort.data.CohortSummary;
 import com.smartsparrow.cohort.data.EnrollmentType;
@@ -103,6 +105,7 @@ public class LTIv11Resource {
     private final DeploymentService deploymentService;
     private final LTIConfig ltiConfig;
     private final RedissonReactiveClient redissonReactiveClient;
+    private final CacheService cacheService;
     //
     private final static CacheControl CACHE_POLICY = new CacheControl();
 
@@ -121,7 +124,8 @@ public class LTIv11Resource {
                           Provider<MutableAuthenticationContext> mutableAuthenticationContextProvider,
                           final DeploymentService deploymentService,
                           final LTIConfig ltiConfig,
-                          final RedissonReactiveClient redissonReactiveClient) {
+                          final RedissonReactiveClient redissonReactiveClient,
+                          final CacheService cacheService) {
         this.cohortService = cohortService;
         this.authenticationService = authenticationService;
         this.ltIv11Service = ltIv11Service;
@@ -131,6 +135,7 @@ public class LTIv11Resource {
         this.deploymentService = deploymentService;
         this.ltiConfig = ltiConfig;
         this.redissonReactiveClient = redissonReactiveClient;
+        this.cacheService = cacheService;
     }
 
     /**
@@ -244,6 +249,8 @@ public class LTIv11Resource {
 
                         RBucketReactive<Map<String, String>> bucket = redissonReactiveClient.getBucket(cacheName);
                         bucket.set(ltiParams, 1l, TimeUnit.DAYS).block();
+                        // cleared with the other values of the deployment when it is published again
+                        cacheService.tag(cacheName, 1l, TimeUnit.DAYS, ImmutableSet.of(CacheTags.deployment(deploymentId))).block();
                         return ltiWebSession;
                     })
                     .flatMap(ltiWebSession -> {
@@ -92,6 +92,9 @@ class LTIv11ResourceTest {
     @Mock
     RBucketReactive<Map<String, String>> redissonReactiveBucket;
 
+    @Mock
+    CacheService cacheService;
+
     @Mock
     private Provider<MutableAuthenticationContext> mutableAuthenticationContextProvider;
 
@@ -180,6 +183,7 @@ class LTIv11ResourceTest {
         when(redissonReactiveBucket.set(any(Map.class), eq(1l), eq(TimeUnit.DAYS)))
                      .thenReturn(Mono.empty());
         doReturn(redissonReactiveBucket).when(redissonReactiveClient).getBucket(any(String.class));
+        when(cacheService.tag(any(String.class), anyLong(), any(TimeUnit.class), any())).thenReturn(Mono.empty());
 
         when(mutableAuthenticationContextProvider.get()).thenReturn(mutableAuthenticationContext);
     }
@@ -0,0 +1,88 @@
+package com.smartsparrow.rtm.message;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Strings;
+import com.google.inject.Provider;
+import com.smartsparrow.rtm.message.recv.courseware.interactive.ReplaceInteractiveConfigMessage;
+import com.smartsparrow.rtm.message.recv.learner.SetStudentScopeMessage;
+
+/**
+ * Compare the single pass deserializer against the previous tree based implementation (readTree + convertValue)
+ * for the largest inbound messages. Run with <code>./gradlew :rtm:jmh</code>, the gc profiler reports the
+ * allocation per message (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceivedMessageDeserializerBenchmark {
+
+    private static final String CONFIG_SAVE = "author.interactive.config.replace";
+    private static final String SCOPE_SET = "learner.student.scope.set";
+
+    @Param({CONFIG_SAVE, SCOPE_SET})
+    private String type;
+
+    @Param({"1024", "65536"})
+    private int payloadSize;
+
+    private String message;
+    private ReceivedMessageDeserializer deserializer;
+    private ObjectMapper treeMapper;
+    private Map<String, Provider<Class<? extends MessageType>>> messageTypes;
+
+    @Setup
+    public void setUp() {
+        messageTypes = new HashMap<>();
+        messageTypes.put(CONFIG_SAVE, () -> ReplaceInteractiveConfigMessage.class);
+        messageTypes.put(SCOPE_SET, () -> SetStudentScopeMessage.class);
+
+        deserializer = new ReceivedMessageDeserializer(messageTypes, null);
+        treeMapper = new ObjectMapper();
+
+        // the config and scope data are sent as escaped json strings
+        String data = "{\\\"text\\\":\\\"" + Strings.repeat("a", payloadSize) + "\\\"}";
+        if (CONFIG_SAVE.equals(type)) {
+            message = String.format("{\"type\":\"%s\",\"id\":\"%s\",\"interactiveId\":\"%s\",\"config\":\"%s\"}",
+                    type, UUID.randomUUID(), UUID.randomUUID(), data);
+        } else {
+            message = String.format("{\"type\":\"%s\",\"id\":\"%s\",\"sourceId\":\"%s\",\"deploymentId\":\"%s\"," +
+                            "\"studentScopeURN\":\"%s\",\"timeId\":\"%s\",\"data\":\"%s\"}",
+                    type, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                    UUID.randomUUID(), data);
+        }
+    }
+
+    @Benchmark
+    public ReceivedMessage singlePass() throws IOException {
+        return deserializer.deserialize(message);
+    }
+
+    @Benchmark
+    public ReceivedMessage treeThenConvert() throws IOException {
+        ObjectNode root = (ObjectNode) treeMapper.readTree(message);
+        String messageType = root.get("type").asText();
+        return (ReceivedMessage) treeMapper.convertValue(root, messageTypes.get(messageType).get());
+    }
+}
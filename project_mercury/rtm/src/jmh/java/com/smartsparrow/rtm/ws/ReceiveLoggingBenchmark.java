@@ -0,0 +1,125 @@
+package com.smartsparrow.rtm.ws;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections4.map.HashedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.smartsparrow.util.log.MercuryLogger;
+import com.smartsparrow.util.log.MercuryLoggerFactory;
+import com.smartsparrow.util.log.data.LogMessage;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.helpers.NOPAppender;
+
+/**
+ * Measure the allocation of the two structured log lines written for each inbound frame by
+ * {@link RTMWebSocketBroker#onWebSocketText(String)}, with the levels enabled and disabled. The eager variant builds
+ * the fields and payloads the way the logger did before the level checks, with a mapper per line. Run with
+ * <code>./gradlew :rtm:jmh -Pjmh.include=ReceiveLoggingBenchmark</code>, the gc profiler reports the allocation per
+ * frame (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceiveLoggingBenchmark {
+
+    @Param({"DEBUG", "WARN"})
+    private String level;
+
+    private MercuryLogger log;
+    private Logger logger;
+    private String message;
+    private String address;
+    private String id;
+    private String type;
+
+    @Setup
+    public void setUp() {
+        logger = (Logger) LoggerFactory.getLogger(ReceiveLoggingBenchmark.class);
+        logger.setLevel(Level.toLevel(level));
+        // discard the events, only the cost of building them is measured
+        logger.setAdditive(false);
+        NOPAppender<ILoggingEvent> appender = new NOPAppender<>();
+        appender.setContext(logger.getLoggerContext());
+        appender.start();
+        logger.addAppender(appender);
+
+        log = MercuryLoggerFactory.getLogger(ReceiveLoggingBenchmark.class);
+        id = UUID.randomUUID().toString();
+        type = "learner.student.scope.set";
+        address = "10.0.0.1";
+        message = String.format("{\"type\":\"%s\",\"id\":\"%s\"}", type, id);
+    }
+
+    @Benchmark
+    public void eager() {
+        Map<String, Object> received = new HashedMap<String, Object>() {
+            {
+                put("address", address);
+                put("message", message);
+            }
+        };
+        // the debug line was level checked, its fields were not
+        if (logger.isDebugEnabled()) {
+            logger.debug(stringify(new LogMessage().setFields(received).setField("content", "Message received from")));
+        }
+
+        Map<String, Object> request = new HashedMap<String, Object>() {
+            {
+                put("id", id);
+                put("type", type);
+                put("mode", null);
+            }
+        };
+        logger.info(stringify(new LogMessage().setFields(request).setField("content", "the request message")));
+    }
+
+    @Benchmark
+    public void lazy() {
+        log.jsonDebug("Message received from", () -> new HashedMap<String, Object>() {
+            {
+                put("address", address);
+                put("message", message);
+            }
+        });
+        log.jsonInfo("the request message", () -> new HashedMap<String, Object>() {
+            {
+                put("id", id);
+                put("type", type);
+                put("mode", null);
+            }
+        });
+    }
+
+    private static String stringify(final Object object) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        try {
+            return objectMapper.writeValueAsString(object);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -10,6 +10,8 @@ import com.smartsparrow.iam.service.AuthenticationContext;
  * Notes:
  *  - The supplied parameters passed to {test(context, message)} are guaranteed to not be null.
  *  - Exceptions should be caught and handled, not propagated.
+ *  - The predicate runs as a blocking call on the RTM worker thread, authorizers reading from the data stores
+ *    should implement {@link ReactiveAuthorizationPredicate} instead.
  */
 public interface AuthorizationPredicate<T extends MessageType> extends BiPredicate<AuthenticationContext, T> {
 
@@ -0,0 +1,34 @@
+package com.smartsparrow.rtm.message;
+
+import com.smartsparrow.iam.service.AuthenticationContext;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Perform Authorization of received messages without blocking the RTM worker thread. Authorizers implementing this
+ * interface are composed by the RTM pipeline through {@link #testAsync(AuthenticationContext, MessageType)}, the
+ * authorizers only implementing {@link AuthorizationPredicate} are still supported but run as blocking calls.
+ *
+ * Notes:
+ *  - The supplied parameters are guaranteed to not be null.
+ *  - Errors should be handled in the returned mono, not propagated.
+ */
+public interface ReactiveAuthorizationPredicate<T extends MessageType> extends AuthorizationPredicate<T> {
+
+    /**
+     * Authorize the message
+     *
+     * @param authenticationContext holds the authenticated user
+     * @param message the received message
+     * @return a mono of <code>true</code> if the message is authorized, <code>false</code> or empty when not
+     */
+    Mono<Boolean> testAsync(AuthenticationContext authenticationContext, T message);
+
+    /**
+     * Blocking adapter of {@link #testAsync(AuthenticationContext, MessageType)}
+     */
+    @Override
+    default boolean test(AuthenticationContext authenticationContext, T message) {
+        return Boolean.TRUE.equals(testAsync(authenticationContext, message).block());
+    }
+}
@@ -0,0 +1,37 @@
+package com.smartsparrow.rtm.message;
+
+import org.eclipse.jetty.websocket.api.Session;
+
+import com.smartsparrow.rtm.lang.WriteResponseException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Message handler processing the incoming message without blocking the RTM worker thread. Handlers implementing this
+ * interface are composed by the RTM pipeline through {@link #handleAsync(Session, MessageType)}, the handlers only
+ * implementing {@link MessageHandler} are still supported but run as blocking calls.
+ *
+ * @param <T> the type of message this processor will process
+ */
+public interface ReactiveMessageHandler<T extends MessageType> extends MessageHandler<T> {
+
+    /**
+     * Handle a new message. The next message of the connection is processed once the returned mono completes.
+     *
+     * Responses must be written to {@code Session} the using the async methods!
+     * {@see Responses.write()}
+     *
+     * @param session the websocket session
+     * @param message the newly arrived message
+     * @return a mono completing when the message is handled
+     */
+    Mono<Void> handleAsync(Session session, T message);
+
+    /**
+     * Blocking adapter of {@link #handleAsync(Session, MessageType)}
+     */
+    @Override
+    default void handle(Session session, T message) throws WriteResponseException {
+        handleAsync(session, message).block();
+    }
+}
@@ -23,8 +23,8 @@ abstract public class ReceivedMessage implements MessageType {
         DEFAULT,
         /**
          * Sets the message processing mode to wait pending. The submitted message will be processed only after
-         * previously submitted messages have complete processing. The implementation gives an approximate guarantee
-         * that the incoming message is actually processed after pending tasks.
+         * previously submitted messages have complete processing. The message is queued behind the pending tasks
+         * of the connection and dispatched as soon as they complete.
          */
         WAIT_PENDING
     }
@@ -69,6 +69,8 @@ abstract public class ReceivedMessage implements MessageType {
 
     /**
      * Allow the client to define for how long the message processing should wait before the being submitted.
+     * The value is no longer used by the broker, which dispatches a {@link Mode#WAIT_PENDING} message as soon as
+     * the pending tasks complete, and is kept for compatibility with existing clients.
      * @return the waitFor default timer when value is not provided or when present the value provided by the client.
      */
     public Long getWaitFor() {
@@ -2,18 +2,19 @@ package com.smartsparrow.rtm.message;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
+import javax.inject.Singleton;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.InjectableValues;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.google.inject.Provider;
 import com.smartsparrow.config.service.ConfigurationService;
 import com.smartsparrow.rtm.lang.InvalidMessageFormat;
@@ -21,18 +22,29 @@ import com.smartsparrow.rtm.lang.UnsupportedMessageType;
 
 /**
  * Deserialize an incoming message to a registered message type.
+ *
+ * The message is parsed once: the root object tokens are buffered while the <code>type</code> and <code>id</code>
+ * fields are peeked, then the buffer is bound straight into the registered message class with an {@link ObjectReader}
+ * cached per type.
  */
+@Singleton
 public class ReceivedMessageDeserializer {
 
-    private ObjectMapper mapper;
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+
+    private final Map<String, Provider<Class<? extends MessageType>>> messageTypes;
+    private final Map<String, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper;
 
     @Inject
     ReceivedMessageDeserializer(Map<String, Provider<Class<? extends MessageType>>> messageTypes, ConfigurationService configurationService) {
+        this.messageTypes = messageTypes;
         mapper = new ObjectMapper();
-        SimpleModule module = new SimpleModule();
-        module.addDeserializer(ReceivedMessage.class, new Deserializer(messageTypes));
-        mapper.registerModule(module);
         mapper.setInjectableValues(new InjectableValues.Std().addValue("configurationService", configurationService));
+
+        // warm up the readers for all the registered types
+        messageTypes.forEach((type, classProvider) -> readers.put(type, mapper.readerFor(classProvider.get())));
     }
 
     /**
@@ -45,72 +57,85 @@ public class ReceivedMessageDeserializer {
      * @throws IOException generally when the JSON is invalid or unable to be parsed.
      */
     public ReceivedMessage deserialize(String json) throws IllegalArgumentException, IOException {
-        try {
-            return mapper.readValue(json, ReceivedMessage.class);
-        } catch(ClassCastException ex) {
-            throw new UnsupportedMessageType("", null);
-        }
-    }
-
-    /*
-     * A custom polymorphic deserializer.
-     */
-    static class Deserializer extends StdDeserializer<ReceivedMessage> {
-
-        private Map<String, Provider<Class<? extends MessageType>>> messageTypes;
-
-        Deserializer(Map<String, Provider<Class<? extends MessageType>>> messageTypes) {
-            super(ReceivedMessage.class);
+        try (JsonParser p = mapper.getFactory().createParser(json)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new UnsupportedMessageType("", null);
+            }
 
-            this.messageTypes = messageTypes;
-        }
+            String type = null;
+            String replyTo = null;
+
+            // buffer the root object while looking for the type and id fields
+            TokenBuffer buffer = new TokenBuffer(p);
+            buffer.writeStartObject();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = p.getCurrentName();
+                buffer.writeFieldName(fieldName);
+                JsonToken valueToken = p.nextToken();
+                if (valueToken.isScalarValue()) {
+                    if (TYPE.equals(fieldName)) {
+                        type = p.getText();
+                    } else if (ID.equals(fieldName)) {
+                        replyTo = p.getText();
+                    }
+                }
+                buffer.copyCurrentStructure(p);
+            }
+            buffer.writeEndObject();
 
-        /**
-         * Deserialize JSON content into the value type this serializer handles.
-         *
-         * @param p the json parser.
-         * @param ctxt the context
-         * @return the deserialized object
-         * @throws IOException when underlying parsing problems occur.
-         * @throws UnsupportedMessageType when an attempt to deserialize a message with an invalid type (or empty)
-         */
-        @Override
-        public ReceivedMessage deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-            ObjectMapper mapper = (ObjectMapper) p.getCodec();
-            ObjectNode root = mapper.readTree(p);
-
-            // attempt to get the message id
-            JsonNode replyTo = root.get("id");
-            String replyToText = replyTo != null ? replyTo.asText() : null;
-
-            // attempt to get the type field.
-            JsonNode node = root.get("type");
-            if(node == null) {
-                throw new UnsupportedMessageType("", replyToText);
+            if (type == null) {
+                throw new UnsupportedMessageType("", replyTo);
             }
 
-            // convert to text
-            String type = node.asText();
+            ObjectReader reader = readerFor(type);
             // ensure it is a registered type
-            if(!messageTypes.containsKey(type)) {
-                throw new UnsupportedMessageType(type, replyToText);
+            if (reader == null) {
+                throw new UnsupportedMessageType(type, replyTo);
             }
 
-            // construct and return it
-            Provider<Class<? extends MessageType>> classProvider = messageTypes.get(type);
-            try {
-                return (ReceivedMessage) mapper.convertValue(root, classProvider.get());
-            } catch (IllegalArgumentException iae) {
-                if (iae.getCause() instanceof InvalidFormatException) {
-                    /* if received json message has a invalid format and can't be parsed,
-                       throw a custom exception with message type to show a verbose message to the user */
-                    throw new InvalidMessageFormat(type, ((InvalidFormatException) iae.getCause()), replyToText);
-                } else {
-                    //in case if some other exception was thrown
-                    throw iae;
-                }
+            return bind(reader, buffer, type, replyTo);
+        }
+    }
+
+    /**
+     * Find the cached reader for a message type, registering it when the type was not known at construction.
+     *
+     * @param type the message type
+     * @return the reader or <code>null</code> when the type is not registered
+     */
+    private ObjectReader readerFor(String type) {
+        ObjectReader reader = readers.get(type);
+        if (reader != null) {
+            return reader;
+        }
+        if (!messageTypes.containsKey(type)) {
+            return null;
+        }
+        Provider<Class<? extends MessageType>> classProvider = messageTypes.get(type);
+        return readers.computeIfAbsent(type, t -> mapper.readerFor(classProvider.get()));
+    }
 
+    /**
+     * Bind the buffered message into the registered type.
+     *
+     * @throws InvalidMessageFormat when a field of the message has an invalid format
+     * @throws UnsupportedMessageType when the registered class is not a {@link ReceivedMessage}
+     * @throws IllegalArgumentException when the message can not be mapped to the registered type
+     */
+    private ReceivedMessage bind(ObjectReader reader, TokenBuffer buffer, String type, String replyTo) throws IOException {
+        try (JsonParser bufferParser = buffer.asParser()) {
+            Object message = reader.readValue(bufferParser);
+            if (!(message instanceof ReceivedMessage)) {
+                throw new UnsupportedMessageType("", null);
             }
+            return (ReceivedMessage) message;
+        } catch (InvalidFormatException ife) {
+            /* if received json message has a invalid format and can't be parsed,
+               throw a custom exception with message type to show a verbose message to the user */
+            throw new InvalidMessageFormat(type, ife, replyTo);
+        } catch (JsonMappingException jme) {
+            // keep reporting mapping problems as invalid arguments
+            throw new IllegalArgumentException(jme.getMessage(), jme);
         }
     }
 }
@@ -1,14 +1,16 @@
 package com.smartsparrow.rtm.message.authorization;
 
 import com.smartsparrow.iam.service.AuthenticationContext;
-import com.smartsparrow.rtm.message.AuthorizationPredicate;
+import com.smartsparrow.rtm.message.ReactiveAuthorizationPredicate;
 import com.smartsparrow.rtm.message.ReceivedMessage;
 
+import reactor.core.publisher.Mono;
+
 /**
  * Authorization predicate that allows authenticated users only.
  *
  */
-public class AllowAuthenticated implements AuthorizationPredicate<ReceivedMessage> {
+public class AllowAuthenticated implements ReactiveAuthorizationPredicate<ReceivedMessage> {
 
     /**
      * Allow authenticated users.
@@ -23,6 +25,11 @@ public class AllowAuthenticated implements AuthorizationPredicate<ReceivedMessag
         return authenticationContext.getAccount() != null;
     }
 
+    @Override
+    public Mono<Boolean> testAsync(AuthenticationContext authenticationContext, ReceivedMessage receivedMessage) {
+        return Mono.just(test(authenticationContext, receivedMessage));
+    }
+
     @Override
     public String getErrorMessage() {
         return "not authenticated";
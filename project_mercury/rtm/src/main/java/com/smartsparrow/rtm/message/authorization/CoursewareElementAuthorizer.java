@@ -6,13 +6,15 @@ import org.slf4j.LoggerFactory;
 
 import com.smartsparrow.iam.service.AuthenticationContext;
 import com.smartsparrow.iam.service.PermissionLevel;
-import com.smartsparrow.rtm.message.AuthorizationPredicate;
+import com.smartsparrow.rtm.message.ReactiveAuthorizationPredicate;
 import com.smartsparrow.rtm.message.recv.courseware.CoursewareElementMessage;
 import com.smartsparrow.rtm.message.recv.courseware.activity.CreateActivityMessage;
 
 import javax.inject.Inject;
 
-public abstract class CoursewareElementAuthorizer implements AuthorizationPredicate<CoursewareElementMessage> {
+import reactor.core.publisher.Mono;
+
+public abstract class CoursewareElementAuthorizer implements ReactiveAuthorizationPredicate<CoursewareElementMessage> {
 
     private static final Logger log = LoggerFactory.getLogger(CoursewareElementAuthorizer.class);
     
@@ -31,16 +33,15 @@ public abstract class CoursewareElementAuthorizer implements AuthorizationPredic
     public abstract PermissionLevel getAllowedPermissionLevel();
 
     @Override
-    public boolean test(AuthenticationContext authenticationContext, CoursewareElementMessage message) {
+    public Mono<Boolean> testAsync(AuthenticationContext authenticationContext, CoursewareElementMessage message) {
 
         if (message instanceof CreateActivityMessage && message.getElementId() == null) {
             //TODO remove when PLT-4284 is done
             log.warn("Creating an author activity without a parent pathway. This is a temporary behaviour. " +
                     "Parent pathway will be required parameter soon. No permission checks for now. ");
-            return true;
+            return Mono.just(true);
         }
-        return coursewareElementAuthorizerService.authorize(authenticationContext, message.getElementId(), message.getElementType(), getAllowedPermissionLevel());
-
+        return coursewareElementAuthorizerService.authorizeAsync(authenticationContext, message.getElementId(), message.getElementType(), getAllowedPermissionLevel());
     }
 
 
@@ -12,6 +12,8 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Inject;
 import java.util.UUID;
 
+import reactor.core.publisher.Mono;
+
 public class CoursewareElementAuthorizerService {
     private static final Logger log = LoggerFactory.getLogger(CoursewareElementAuthorizerService.class);
     private final CoursewareService coursewareService;
@@ -37,29 +39,42 @@ public class CoursewareElementAuthorizerService {
                              UUID elementId,
                              CoursewareElementType elementType,
                              PermissionLevel permissionLevel) {
-        Account account = authenticationContext.getAccount();
-        UUID projectId;
-        try {
-            projectId = coursewareService.getProjectId(elementId, elementType).block();
-            //Finding the permission level via project
-            if (projectId != null && account != null) {
-                PermissionLevel permission = projectPermissionService.findHighestPermissionLevel(account.getId(), projectId).block();
-
-                return permission != null
-                        && permission.isEqualOrHigherThan(permissionLevel);
-            }
-
-            if (log.isDebugEnabled()) {
-                log.debug("Could not verify permission level, `projectId` or `accountId` can not be defined: " + elementId);
-            }
+        return authorizeAsync(authenticationContext, elementId, elementType, permissionLevel).block();
+    }
 
-            return false;
-        } catch (Exception ex) {
+    /**
+     * Non-blocking version of {@link #authorize(AuthenticationContext, UUID, CoursewareElementType, PermissionLevel)}.
+     * The project is found via the courseware ancestry index, so only the elements not indexed yet are read.
+     *
+     * @param authenticationContext holds the authenticated user
+     * @param elementId             the element id
+     * @param elementType           the element type
+     * @param permissionLevel       the permission level
+     * @return a mono of <code>true</code> if the request is permitted or <code>false</code> when not
+     */
+    public Mono<Boolean> authorizeAsync(AuthenticationContext authenticationContext,
+                                        UUID elementId,
+                                        CoursewareElementType elementType,
+                                        PermissionLevel permissionLevel) {
+        Account account = authenticationContext.getAccount();
+        if (account == null) {
             if (log.isDebugEnabled()) {
-                log.debug("Exception while checking permissions for courseware elements", ex);
+                log.debug("Could not verify permission level, `accountId` can not be defined: " + elementId);
             }
-            return false;
+            return Mono.just(false);
         }
+
+        return Mono.defer(() -> coursewareService.getProjectId(elementId, elementType))
+                //Finding the permission level via project
+                .flatMap(projectId -> projectPermissionService.findHighestPermissionLevel(account.getId(), projectId))
+                .map(permission -> permission.isEqualOrHigherThan(permissionLevel))
+                .defaultIfEmpty(false)
+                .onErrorResume(ex -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Exception while checking permissions for courseware elements", ex);
+                    }
+                    return Mono.just(false);
+                });
     }
 
 }
@@ -9,19 +9,19 @@ import org.slf4j.LoggerFactory;
 
 import com.smartsparrow.graphql.service.GraphQLService;
 import com.smartsparrow.iam.service.AuthenticationContext;
-import com.smartsparrow.rtm.lang.WriteResponseException;
-import com.smartsparrow.rtm.message.MessageHandler;
+import com.smartsparrow.rtm.message.ReactiveMessageHandler;
 import com.smartsparrow.rtm.message.recv.GraphQLQueryMessage;
 import com.smartsparrow.rtm.message.send.LiteralBasicResponseMessage;
 import com.smartsparrow.rtm.util.Responses;
 
-import graphql.ExecutionResult;
+import reactor.core.publisher.Mono;
 
-public class GraphQLQueryMessageHandler implements MessageHandler<GraphQLQueryMessage> {
+public class GraphQLQueryMessageHandler implements ReactiveMessageHandler<GraphQLQueryMessage> {
 
     private final static Logger log = LoggerFactory.getLogger(GraphQLQueryMessageHandler.class);
 
     public static final String GRAPHQL_QUERY = "graphql.query";
+    public static final String GRAPHQL_QUERY_ERROR = "graphql.query.error";
 
     private final GraphQLService graphQLService;
     private final Provider<AuthenticationContext> authenticationContextProvider;
@@ -34,20 +34,27 @@ public class GraphQLQueryMessageHandler implements MessageHandler<GraphQLQueryMe
     }
 
     @Override
-    public void handle(Session session, GraphQLQueryMessage message) throws WriteResponseException {
-        // execute the query.
-        ExecutionResult executionResult = graphQLService.query(message.getQuery(),
-                                                               message.getParameters(),
-                                                               authenticationContextProvider.get());
-        // sanitize the response (log errors, etc.)
-        ExecutionResult sanitizedResult = graphQLService.sanitize(executionResult);
-
-        // per ~ spec, the return of this call is nearly always successful (i.e. no graphql.error)
-        // as data may be partially returned.
-        LiteralBasicResponseMessage response = new LiteralBasicResponseMessage("graphql.response", message.getId());
-        response.addAllFields(sanitizedResult.toSpecification());
-
-        Responses.write(session, response);
+    public Mono<Void> handleAsync(Session session, GraphQLQueryMessage message) {
+        // execute the query, the next message of the connection is handled once the response is written
+        return graphQLService.query(message.getQuery(),
+                                    message.getQueryHash(),
+                                    message.getParameters(),
+                                    authenticationContextProvider.get())
+                // sanitize the response (log errors, etc.)
+                .map(graphQLService::sanitize)
+                .onErrorResume(ex -> {
+                    log.debug("Unable to execute the graphql query", ex);
+                    return Mono.fromRunnable(() -> Responses.errorReactive(session, message.getId(), GRAPHQL_QUERY_ERROR, ex));
+                })
+                .doOnNext(sanitizedResult -> {
+                    // per ~ spec, the return of this call is nearly always successful (i.e. no graphql.error)
+                    // as data may be partially returned.
+                    LiteralBasicResponseMessage response = new LiteralBasicResponseMessage("graphql.response", message.getId());
+                    response.addAllFields(sanitizedResult.toSpecification());
+
+                    Responses.writeReactive(session, response);
+                })
+                .then();
     }
 
 }
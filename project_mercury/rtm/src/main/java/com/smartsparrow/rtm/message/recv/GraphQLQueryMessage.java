@@ -12,6 +12,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 public class GraphQLQueryMessage extends ReceivedMessage {
 
     private String query;
+    private String queryHash;
     private Map<String, Object> parameters;
 
     public GraphQLQueryMessage() {
@@ -21,6 +22,13 @@ public class GraphQLQueryMessage extends ReceivedMessage {
         return query;
     }
 
+    /**
+     * @return the SHA-256 hash of a persisted query, sent in place of or along with the query text
+     */
+    public String getQueryHash() {
+        return queryHash;
+    }
+
     public Map<String, Object> getParameters() {
         return parameters;
     }
@@ -32,17 +40,19 @@ public class GraphQLQueryMessage extends ReceivedMessage {
         if (o == null || getClass() != o.getClass())
             return false;
         GraphQLQueryMessage that = (GraphQLQueryMessage) o;
-        return Objects.equal(query, that.query) && Objects.equal(parameters, that.parameters);
+        return Objects.equal(query, that.query) && Objects.equal(queryHash, that.queryHash)
+                && Objects.equal(parameters, that.parameters);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(query, parameters);
+        return Objects.hashCode(query, queryHash, parameters);
     }
 
     @Override
     public String toString() {
-        return MoreObjects.toStringHelper(this).add("query", query).add("parameters", parameters).toString();
+        return MoreObjects.toStringHelper(this).add("query", query).add("queryHash", queryHash)
+                .add("parameters", parameters).toString();
     }
 
 }
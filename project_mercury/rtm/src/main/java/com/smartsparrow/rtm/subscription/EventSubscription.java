@@ -5,13 +5,13 @@ import javax.inject.Inject;
 import com.newrelic.api.agent.Trace;
 import com.smartsparrow.util.monitoring.ReactiveTransaction;
 import org.apache.http.HttpStatus;
-import org.redisson.api.RTopicReactive;
 import org.redisson.api.RedissonReactiveClient;
 import org.redisson.api.listener.MessageListener;
 
 import com.smartsparrow.dataevent.eventmessage.EventMessage;
 import com.smartsparrow.rtm.lang.WriteResponseException;
 import com.smartsparrow.rtm.message.send.BasicResponseMessage;
+import com.smartsparrow.rtm.subscription.data.RTMTopicMultiplexer;
 import com.smartsparrow.rtm.util.Responses;
 import com.smartsparrow.rtm.ws.RTMClient;
 import com.smartsparrow.util.log.MercuryLogger;
@@ -30,7 +30,6 @@ public abstract class EventSubscription<T extends EventMessage> implements Subsc
 
     private String channel = null;
     private Integer listenerId = null;
-    private RTopicReactive redisTopic = null;
     private MessageListener<T> messageListener;
 
     private static final MercuryLogger log = MercuryLoggerFactory.getLogger(EventSubscription.class);
@@ -38,6 +37,9 @@ public abstract class EventSubscription<T extends EventMessage> implements Subsc
     @Inject
     private RedissonReactiveClient redis;
 
+    @Inject
+    private RTMTopicMultiplexer topicMultiplexer;
+
     /**
      * Accessor for the injected redis client service
      */
@@ -66,10 +68,10 @@ public abstract class EventSubscription<T extends EventMessage> implements Subsc
     @Override
     public Mono<Integer> subscribe(RTMClient rtmClient) {
         if (getName() == null) throw new RuntimeException("name is empty, use setName method");
-        redisTopic = getRedis().getTopic(getName());
 
         this.messageListener = initMessageListener(rtmClient);
-        Mono<Integer> listenerIdMono = redisTopic.addListener(getMessageType(), messageListener);
+        // the topic redis listener is shared with all the local subscriptions to the same topic
+        Mono<Integer> listenerIdMono = topicMultiplexer.addListener(getName(), getMessageType(), messageListener);
 
         return listenerIdMono.publishOn(Schedulers.elastic())
                 .doOnNext(id -> listenerId = id)
@@ -79,7 +81,9 @@ public abstract class EventSubscription<T extends EventMessage> implements Subsc
 
     @Override
     public void unsubscribe(RTMClient rtmClient) {
-        redisTopic.removeListener(messageListener).publishOn(Schedulers.elastic()).subscribe();
+        topicMultiplexer.removeListener(getName(), getMessageType(), messageListener)
+                .publishOn(Schedulers.elastic())
+                .subscribe();
     }
 
     protected void emitError(RTMClient rtmClient, String type, EventMessage msg) {
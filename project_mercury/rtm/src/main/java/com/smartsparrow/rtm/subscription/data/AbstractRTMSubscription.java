@@ -9,7 +9,6 @@ import java.util.UUID;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
-import org.redisson.api.RTopicReactive;
 import org.redisson.api.RedissonReactiveClient;
 import org.redisson.api.listener.MessageListener;
 
@@ -36,7 +35,6 @@ public abstract class AbstractRTMSubscription implements RTMSubscription, Serial
     private static final long serialVersionUID = 573174064692945487L;
 
     private Integer listenerId = null;
-    private RTopicReactive redisTopic = null;
 
     @SuppressWarnings("rawtypes")
     private MessageListener<EventConsumable> messageListener;
@@ -48,6 +46,9 @@ public abstract class AbstractRTMSubscription implements RTMSubscription, Serial
     @Inject
     private RedissonReactiveClient redis;
 
+    @Inject
+    private RTMTopicMultiplexer topicMultiplexer;
+
     public AbstractRTMSubscription() {
         this.subscriptionId = UUIDs.timeBased();
     }
@@ -128,10 +129,10 @@ public abstract class AbstractRTMSubscription implements RTMSubscription, Serial
     public Mono<Integer> subscribe(RTMClient rtmClient) {
 
         if (getName() == null) throw new RuntimeException("name is empty, use setName method");
-        redisTopic = getRedis().getTopic(getName());
 
         this.messageListener = messageListener(rtmClient);
-        Mono<Integer> listenerIdMono = redisTopic.addListener(EventConsumable.class, this.messageListener);
+        // the topic redis listener is shared with all the local subscriptions to the same topic
+        Mono<Integer> listenerIdMono = topicMultiplexer.addListener(getName(), EventConsumable.class, this.messageListener);
 
         return listenerIdMono.publishOn(Schedulers.elastic())
                 .doOnNext(id -> listenerId = id)
@@ -145,6 +146,8 @@ public abstract class AbstractRTMSubscription implements RTMSubscription, Serial
      */
     @Override
     public void unsubscribe(RTMClient rtmClient) {
-        redisTopic.removeListener(messageListener).publishOn(Schedulers.elastic()).subscribe();
+        topicMultiplexer.removeListener(getName(), EventConsumable.class, messageListener)
+                .publishOn(Schedulers.elastic())
+                .subscribe();
     }
 }
@@ -0,0 +1,192 @@
+package com.smartsparrow.rtm.subscription.data;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.redisson.api.RTopicReactive;
+import org.redisson.api.RedissonReactiveClient;
+import org.redisson.api.listener.MessageListener;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.smartsparrow.util.log.MercuryLogger;
+import com.smartsparrow.util.log.MercuryLoggerFactory;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Node-local multiplexer for the Redis RTM subscription topics.
+ *
+ * Registers a single Redis listener per topic (and message type) for the whole JVM. Each message is decoded once
+ * by Redisson then fanned out in memory to every local listener. Local listeners are reference counted, the Redis
+ * listener is removed when the last local listener leaves the topic. A topic whose Redis listener fails to register
+ * is evicted so the next local listener registers it again.
+ */
+@Singleton
+public class RTMTopicMultiplexer {
+
+    private static final MercuryLogger log = MercuryLoggerFactory.getLogger(RTMTopicMultiplexer.class);
+
+    private final RedissonReactiveClient redis;
+    private final Map<TopicKey, TopicFanOut<?>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger localListenerIds = new AtomicInteger();
+
+    @Inject
+    public RTMTopicMultiplexer(final RedissonReactiveClient redis) {
+        this.redis = redis;
+    }
+
+    /**
+     * Add a local listener to a topic. The Redis listener for the topic is registered on the first local listener.
+     *
+     * @param topicName the redis topic name
+     * @param messageType the type of message to listen for
+     * @param listener the local listener
+     * @param <T> the message type
+     * @return a mono holding the local listener id, emitted once the topic Redis listener is registered. The local
+     * listener receives the topic messages as soon as this method returns
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<Integer> addListener(final String topicName, final Class<T> messageType,
+                                         final MessageListener<? super T> listener) {
+        final int localListenerId = localListenerIds.incrementAndGet();
+        final TopicKey key = new TopicKey(topicName, messageType);
+
+        // atomic with the removal of the last local listener, the listener is never added to an evicted topic
+        final TopicFanOut<T> fanOut = (TopicFanOut<T>) topics.compute(key, (k, existing) -> {
+            TopicFanOut<T> current = existing != null ? (TopicFanOut<T>) existing
+                    : new TopicFanOut<>(redis.getTopic(topicName), messageType);
+            current.listeners.put(localListenerId, listener);
+            return current;
+        });
+
+        return fanOut.registration
+                .thenReturn(localListenerId)
+                .doOnError(throwable -> {
+                    // evict the failed registration, the next local listener registers the topic again
+                    fanOut.listeners.remove(localListenerId);
+                    topics.remove(key, fanOut);
+                });
+    }
+
+    /**
+     * Remove a local listener from a topic. The Redis listener for the topic is removed with the last local listener.
+     *
+     * @param topicName the redis topic name
+     * @param messageType the type of message the listener was added for
+     * @param listener the local listener to remove
+     * @return a mono completing once the topic Redis listener is removed when required
+     */
+    public Mono<Void> removeListener(final String topicName, final Class<?> messageType,
+                                     final MessageListener<?> listener) {
+        final TopicKey key = new TopicKey(topicName, messageType);
+        final TopicFanOut<?>[] removed = new TopicFanOut<?>[1];
+
+        // atomic with the addition of a local listener, the topic is only evicted when it has no listener left
+        topics.computeIfPresent(key, (k, fanOut) -> {
+            if (!fanOut.listeners.values().remove(listener) || !fanOut.listeners.isEmpty()) {
+                return fanOut;
+            }
+            removed[0] = fanOut;
+            return null;
+        });
+
+        if (removed[0] == null) {
+            return Mono.empty();
+        }
+
+        final TopicFanOut<?> fanOut = removed[0];
+        return fanOut.registration
+                .flatMap(redisListenerId -> fanOut.topic.removeListener(redisListenerId))
+                .onErrorResume(throwable -> {
+                    log.jsonError("error removing redis topic listener", new HashMap<String, Object>() {
+                        {put("topic", topicName);}
+                    }, throwable);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * @return the number of Redis listeners registered by this node
+     */
+    public int getTopicCount() {
+        return topics.size();
+    }
+
+    /**
+     * @return the number of local listeners across all the topics
+     */
+    public int getLocalListenerCount() {
+        return topics.values().stream()
+                .mapToInt(fanOut -> fanOut.listeners.size())
+                .sum();
+    }
+
+    @VisibleForTesting
+    int getLocalListenerCount(final String topicName, final Class<?> messageType) {
+        TopicFanOut<?> fanOut = topics.get(new TopicKey(topicName, messageType));
+        return fanOut == null ? 0 : fanOut.listeners.size();
+    }
+
+    /**
+     * The Redis listener of a topic and the local listeners it fans out to
+     */
+    private static class TopicFanOut<T> {
+
+        private final RTopicReactive topic;
+        private final Map<Integer, MessageListener<? super T>> listeners = new ConcurrentHashMap<>();
+        private final Mono<Integer> registration;
+
+        TopicFanOut(final RTopicReactive topic, final Class<T> messageType) {
+            this.topic = topic;
+            // register once, every local listener waits on the same registration
+            this.registration = topic.addListener(messageType, this::dispatch).cache();
+        }
+
+        private void dispatch(final CharSequence channel, final T message) {
+            for (MessageListener<? super T> listener : listeners.values()) {
+                try {
+                    listener.onMessage(channel, message);
+                } catch (Throwable throwable) {
+                    // one failing listener should not prevent the others from receiving the message
+                    log.jsonError("error dispatching topic message to local listener", new HashMap<String, Object>() {
+                        {put("topic", channel);}
+                    }, throwable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Identify a topic by name and message type
+     */
+    private static class TopicKey {
+
+        private final String name;
+        private final Class<?> messageType;
+
+        TopicKey(final String name, final Class<?> messageType) {
+            this.name = name;
+            this.messageType = messageType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            TopicKey topicKey = (TopicKey) o;
+            return Objects.equals(name, topicKey.name) &&
+                    Objects.equals(messageType, topicKey.messageType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, messageType);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.smartsparrow.rtm.ws;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.slf4j.MDC;
+
+import com.newrelic.api.agent.NewRelic;
+import com.smartsparrow.iam.service.MutableAuthenticationContext;
+import com.smartsparrow.iam.wiring.MutableAuthenticationContextProvider;
+import com.smartsparrow.rtm.wiring.RTMScope;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs the legacy blocking authorizers and handlers of a message as part of the non-blocking RTM pipeline.
+ *
+ * While the pipeline is still running on the lane thread that entered the RTM scope, the blocking call runs inline.
+ * Once a non-blocking step completed on another thread the blocking call is moved to the elastic scheduler, so it
+ * never parks a data store I/O thread, and runs with the message context (RTM scope, authentication context and MDC)
+ * set for the time of the call. The scope is seeded again, values created lazily in the scope are not shared with
+ * the lane thread.
+ *
+ * Each blocking call is counted under <code>Custom/RTM/Blocking/{type}/{class}</code> so the remaining blocking
+ * authorizers and handlers can be tracked down.
+ */
+class RTMBlockingAdapter {
+
+    private final RTMScope rtmScope;
+    private final Runnable seedScope;
+    private final MutableAuthenticationContext authenticationContext;
+    private final Map<String, String> mdc;
+    private final Thread laneThread = Thread.currentThread();
+
+    // true while the lane thread is in the scoping block this adapter was created in
+    private volatile boolean inScope = true;
+
+    /**
+     * Create the adapter for a message, must be called by the lane thread inside the message scoping block
+     *
+     * @param rtmScope the RTM scope
+     * @param seedScope seeds the scope after entering it
+     * @param authenticationContext the authentication context of the connection
+     */
+    RTMBlockingAdapter(final RTMScope rtmScope,
+                       final Runnable seedScope,
+                       final MutableAuthenticationContext authenticationContext) {
+        this.rtmScope = rtmScope;
+        this.seedScope = seedScope;
+        this.authenticationContext = authenticationContext;
+        this.mdc = MDC.getCopyOfContextMap();
+    }
+
+    /**
+     * Mark the lane thread as leaving the message scoping block
+     */
+    void exitScope() {
+        inScope = false;
+    }
+
+    /**
+     * Adapt a blocking call
+     *
+     * @param type the type of call, either Authorizer or Handler
+     * @param target the authorizer or handler making the call
+     * @param callable the blocking call
+     * @param <T> the type of result
+     * @return a mono of the call result
+     */
+    <T> Mono<T> call(final String type, final Object target, final Callable<T> callable) {
+        return Mono.defer(() -> {
+            NewRelic.incrementCounter("Custom/RTM/Blocking/" + type + "/" + target.getClass().getSimpleName());
+            if (inScope && Thread.currentThread() == laneThread) {
+                return Mono.fromCallable(callable);
+            }
+            return Mono.fromCallable(() -> callInScope(callable))
+                    .subscribeOn(Schedulers.elastic());
+        });
+    }
+
+    private <T> T callInScope(final Callable<T> callable) throws Exception {
+        final Map<String, String> previous = MDC.getCopyOfContextMap();
+        rtmScope.enter();
+        try {
+            seedScope.run();
+            MutableAuthenticationContextProvider.set(authenticationContext);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            return callable.call();
+        } finally {
+            MutableAuthenticationContextProvider.cleanup();
+            if (previous != null) {
+                MDC.setContextMap(previous);
+            } else {
+                MDC.clear();
+            }
+            rtmScope.exit();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.smartsparrow.rtm.ws;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.newrelic.api.agent.NewRelic;
+
+/**
+ * Node-wide scheduler that processes the RTM messages of every WebSocket connection on a fixed set of worker threads.
+ *
+ * Each connection owns a serial lane ({@link RTMWebSocketExecutor}) which guarantees the per-connection message
+ * ordering. A lane is only handed to this scheduler while it has pending work, so the worker queue never holds
+ * more entries than there are busy connections; the thread count stays constant no matter how many connections
+ * are opened.
+ *
+ * The number of workers can be tuned with the <code>rtm.scheduler.workers</code> system property.
+ */
+@Singleton
+public class RTMMessageScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RTMMessageScheduler.class);
+
+    private static final int DEFAULT_WORKERS = Math.max(32, Runtime.getRuntime().availableProcessors() * 8);
+
+    private final ThreadPoolExecutor workers;
+
+    // the number of lanes currently holding pending messages
+    private final AtomicInteger activeLanes = new AtomicInteger();
+    // the number of messages queued or running across all the lanes
+    private final AtomicLong pendingMessages = new AtomicLong();
+
+    @Inject
+    public RTMMessageScheduler() {
+        this(Integer.getInteger("rtm.scheduler.workers", DEFAULT_WORKERS));
+        periodicMetrics();
+    }
+
+    @VisibleForTesting
+    RTMMessageScheduler(int workerCount) {
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("rtm-worker-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
+    /**
+     * Hand a lane drain to the worker threads.
+     *
+     * @param drain the runnable draining a connection lane
+     */
+    void dispatch(Runnable drain) {
+        workers.execute(drain);
+    }
+
+    /**
+     * Track a lane becoming busy (<code>true</code>) or idle (<code>false</code>)
+     */
+    void laneActive(boolean active) {
+        if (active) {
+            activeLanes.incrementAndGet();
+        } else {
+            activeLanes.decrementAndGet();
+        }
+    }
+
+    /**
+     * Track the number of messages queued or running across the lanes
+     *
+     * @param delta the value to add to the pending messages count
+     */
+    void pendingMessages(long delta) {
+        pendingMessages.addAndGet(delta);
+    }
+
+    /**
+     * @return the number of connections currently holding pending messages
+     */
+    public int getActiveLanes() {
+        return activeLanes.get();
+    }
+
+    /**
+     * @return the number of messages queued or running across all the connections
+     */
+    public long getPendingMessages() {
+        return pendingMessages.get();
+    }
+
+    /**
+     * @return the number of lane drains waiting for a free worker
+     */
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * @return the number of workers currently processing messages
+     */
+    public int getBusyWorkers() {
+        return workers.getActiveCount();
+    }
+
+    /**
+     * Report the scheduler gauges at a fixed rate.
+     */
+    private void periodicMetrics() {
+        ScheduledExecutorService scheduled = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("rtm-scheduler-metrics")
+                .setDaemon(true)
+                .build());
+        scheduled.scheduleAtFixedRate(() -> {
+            NewRelic.recordMetric("Custom/RTM/Scheduler/ActiveLanes", getActiveLanes());
+            NewRelic.recordMetric("Custom/RTM/Scheduler/PendingMessages", getPendingMessages());
+            NewRelic.recordMetric("Custom/RTM/Scheduler/QueueDepth", getQueueDepth());
+            NewRelic.recordMetric("Custom/RTM/Scheduler/BusyWorkers", getBusyWorkers());
+            if (log.isDebugEnabled()) {
+                log.debug("rtm scheduler activeLanes={}, pendingMessages={}, queueDepth={}, busyWorkers={}",
+                        getActiveLanes(), getPendingMessages(), getQueueDepth(), getBusyWorkers());
+            }
+        }, 30, 10, TimeUnit.SECONDS);
+    }
+}
@@ -14,8 +14,12 @@ import com.smartsparrow.iam.service.AuthenticationContext;
 import com.smartsparrow.rtm.lang.RTMWebSocketHandlerException;
 import com.smartsparrow.rtm.message.AuthorizationPredicate;
 import com.smartsparrow.rtm.message.MessageType;
+import com.smartsparrow.rtm.message.ReactiveAuthorizationPredicate;
 import com.smartsparrow.rtm.message.ReceivedMessage;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 class RTMWebSocketAuthorizer {
 
     // the message authorizers, as lazy-Providers.
@@ -37,14 +41,17 @@ class RTMWebSocketAuthorizer {
     }
 
     /**
-     * Invoke all the message authorize predicates
+     * Invoke all the message authorize predicates. The predicates are resolved when this method is called, the
+     * authorization runs when the returned mono is subscribed to.
      *
      * @param receivedMessage the message to authorize
-     * @throws RTMWebSocketHandlerException with an error message
+     * @param authenticationContext holds the authenticated user
+     * @param blockingAdapter runs the predicates not implementing {@link ReactiveAuthorizationPredicate}
+     * @return an empty mono when authorized or a mono error of {@link RTMWebSocketHandlerException} when not
      */
     @SuppressWarnings("unchecked")
-    void authorize(ReceivedMessage receivedMessage, AuthenticationContext authenticationContext)
-            throws RTMWebSocketHandlerException {
+    Mono<Void> authorize(ReceivedMessage receivedMessage, AuthenticationContext authenticationContext,
+                         RTMBlockingAdapter blockingAdapter) {
         Collection<Provider<AuthorizationPredicate<? extends MessageType>>> authorizerProviders = authorizerPredicates.get(
                 receivedMessage.getType());
 
@@ -52,23 +59,37 @@ class RTMWebSocketAuthorizer {
                 .map(one-> (AuthorizationPredicate<ReceivedMessage>) one.get())
                 .collect(Collectors.toList());
 
-        invokeAuthorizers(predicateInstances, receivedMessage, authenticationContext);
+        return invokeAuthorizers(predicateInstances, receivedMessage, authenticationContext, blockingAdapter);
     }
 
     /**
-     * Invoke all authorize predicates.
+     * Invoke all authorize predicates, one at the time in order. The first failing predicate stops the authorization.
      *
      * @param authorizers a collection of all the message authorizers
      * @param receivedMessage the message to authorize
-     * @throws RTMWebSocketHandlerException with status code 401 if any of the authorizer fails
+     * @return a mono error of {@link RTMWebSocketHandlerException} with status code 401 if any of the authorizer fails
      */
-    private void invokeAuthorizers(List<AuthorizationPredicate<ReceivedMessage>> authorizers, ReceivedMessage receivedMessage,
-                                   AuthenticationContext authenticationContext) throws RTMWebSocketHandlerException {
-        for (AuthorizationPredicate<ReceivedMessage> authorizer : authorizers) {
-            if (!authorizer.test(authenticationContext, receivedMessage)) {
-                throw new RTMWebSocketHandlerException(String.format("Unauthorized: %s", authorizer.getErrorMessage()),
-                        receivedMessage.getId(), HttpStatus.UNAUTHORIZED_401, receivedMessage.getType());
-            }
+    private Mono<Void> invokeAuthorizers(List<AuthorizationPredicate<ReceivedMessage>> authorizers, ReceivedMessage receivedMessage,
+                                         AuthenticationContext authenticationContext, RTMBlockingAdapter blockingAdapter) {
+        return Flux.fromIterable(authorizers)
+                .concatMap(authorizer -> test(authorizer, receivedMessage, authenticationContext, blockingAdapter)
+                        .defaultIfEmpty(false)
+                        .flatMap(authorized -> {
+                            if (!authorized) {
+                                return Mono.error(new RTMWebSocketHandlerException(String.format("Unauthorized: %s", authorizer.getErrorMessage()),
+                                        receivedMessage.getId(), HttpStatus.UNAUTHORIZED_401, receivedMessage.getType()));
+                            }
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private Mono<Boolean> test(AuthorizationPredicate<ReceivedMessage> authorizer, ReceivedMessage receivedMessage,
+                               AuthenticationContext authenticationContext, RTMBlockingAdapter blockingAdapter) {
+        if (authorizer instanceof ReactiveAuthorizationPredicate) {
+            return Mono.defer(() -> ((ReactiveAuthorizationPredicate<ReceivedMessage>) authorizer)
+                    .testAsync(authenticationContext, receivedMessage));
         }
+        return blockingAdapter.call("Authorizer", authorizer, () -> authorizer.test(authenticationContext, receivedMessage));
     }
 }
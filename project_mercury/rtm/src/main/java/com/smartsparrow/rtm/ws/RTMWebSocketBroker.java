@@ -1,8 +1,8 @@
 package com.smartsparrow.rtm.ws;
 
 import java.io.IOException;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 
@@ -27,6 +27,8 @@ import com.smartsparrow.util.Tokens;
 import com.smartsparrow.util.log.MercuryLogger;
 import com.smartsparrow.util.log.MercuryLoggerFactory;
 
+import reactor.core.publisher.Mono;
+
 /**
  * The main RTM WebSocket broker. This broker processes the messages which arrive on the WebSocket and then handle
  * the offloading of the processing of the messages.
@@ -35,7 +37,7 @@ import com.smartsparrow.util.log.MercuryLoggerFactory;
  * the messages to message consumer thread workers in order to perform the processing.
  *
  * Restrictions that are applied to client connections:
- *  - Allow no more than 5 concurrent message processing; subsequent messages will be queued (blocks in the handler thread)
+ *  - Messages are processed one at the time in arrival order; subsequent messages are queued on the connection lane
  *  - (TODO) If not authenticated, disconnect on any message which is not authentication related.
  *  - Submitting multiple binary messages should result in a disconnect.
  *  - (TODO) Submitting too many invalid messages should result in a disconnect.
@@ -53,10 +55,6 @@ public class RTMWebSocketBroker extends WebSocketAdapter {
     private final ReceivedMessageDeserializer receivedMessageDeserializer;
     private final RTMWebSocketContext rtmWebSocketContext;
 
-    private CountDownLatch countDownLatch = null;
-
-    private final Object lock = new Object();
-
     @Inject
     RTMWebSocketBroker(final RTMWebSocketHandler rtmWebSocketHandler,
                        final RTMWebSocketExecutor rtmWebSocketExecutor,
@@ -96,7 +94,7 @@ public class RTMWebSocketBroker extends WebSocketAdapter {
         //
         // no need to maintain a local copy of the session as our parent has it.
         //
-        log.jsonDebug("connect from", new HashedMap<String, Object>(){
+        log.jsonDebug("connect from", () -> new HashedMap<String, Object>() {
             {
                 put("address", getSession().getRemoteAddress().getAddress());
 
@@ -129,7 +127,7 @@ public class RTMWebSocketBroker extends WebSocketAdapter {
     /**
      * Process an incoming text message on a WebSocket.
      *
-     * This method wraps the {@link RTMWebSocketHandler#submit(ReceivedMessage)} in a {@link Runnable} and delegates
+     * This method wraps the {@link RTMWebSocketHandler#submit(ReceivedMessage)} in an asynchronous task and delegates
      * the message processing to the {@link RTMWebSocketExecutor}
      *
      * Important note: the message is ignored when the {@link RTMWebSocketManager} has triggered a graceful shutdown
@@ -140,7 +138,7 @@ public class RTMWebSocketBroker extends WebSocketAdapter {
     public void onWebSocketText(String message) {
         // the super implementation does nothing.
         // super.onWebSocketText(message);
-        log.jsonDebug("Message received from", new HashedMap<String, Object>() {
+        log.jsonDebug("Message received from", () -> new HashedMap<String, Object>() {
             {
                 put("address", getSession().getRemoteAddress().getAddress());
                 put("message", message);
@@ -153,62 +151,31 @@ public class RTMWebSocketBroker extends WebSocketAdapter {
             return;
         }
 
-        synchronized (lock) {
-            try {
-                // try to deserialize the message
-                ReceivedMessage receivedMessage = deserialize(message);
-
-                log.jsonInfo("the request message", new HashedMap<String, Object>() {
-                    {
-                        put("id", receivedMessage.getId());
-                        put("type", receivedMessage.getType());
-                        put("mode", receivedMessage.getMode());
-                    }
-                });
-
-                // read the mode message property
-                ReceivedMessage.Mode processingMode = receivedMessage.getMode();
-
-                switch (processingMode) {
-                    case WAIT_PENDING:
-                        // get the estimate number of pending tasks from the executor
-                        final long pendingTasksCount = rtmWebSocketExecutor.getExecutor().getPendingTasksCount();
-
-                        // if there are pending tasks then create the count down latch
-                        // this is to avoid creating a count down latch every time because despite the pending task number
-                        // count being 0 the count down latch will wait the waitFor timeout
-                        if (pendingTasksCount > 0) {
-                            // create the countdown latch with size = to the number of tasks
-                            countDownLatch = new CountDownLatch(Math.toIntExact(pendingTasksCount));
-                            // create a timer with the default timer constant
-                            try {
-                                countDownLatch.await(receivedMessage.getWaitFor(), TimeUnit.MILLISECONDS);
-                            } catch (InterruptedException e) {
-                                log.error("Interrupted exception. This might be cause by the client suddenly closing the session", e);
-                            } finally {
-                                // when the count down latch has released the thread set it back to null
-                                countDownLatch = null;
-                            }
-                        }
-                        break;
-                    case DEFAULT:
-                    default:
-                        // nothing special happening here for now
-                        break;
+        try {
+            // try to deserialize the message
+            ReceivedMessage receivedMessage = deserialize(message);
+
+            log.jsonInfo("the request message", () -> new HashedMap<String, Object>() {
+                {
+                    put("id", receivedMessage.getId());
+                    put("type", receivedMessage.getType());
+                    put("mode", receivedMessage.getMode());
                 }
-
-                // finally process the message
-                rtmWebSocketExecutor.execute(processRunnable(receivedMessage));
-
-            } catch (DeserializationException e) {
-                log.error("Exception while parsing the message", e);
-                // respond with an error when deserialization failed
-                ErrorMessage error = new ErrorMessage(e.getType())
-                        .setReplyTo(e.getReplyTo())
-                        .setCode(e.getStatusCode())
-                        .setMessage(e.getErrorMessage());
-                emitError(error);
-            }
+            });
+
+            // the connection lane processes the messages in arrival order, so a WAIT_PENDING message queued here
+            // acts as a completion barrier: it is dispatched as soon as the previously submitted messages have
+            // completed processing, without parking the WebSocket I/O thread while waiting.
+            rtmWebSocketExecutor.executeAsync(processTask(receivedMessage));
+
+        } catch (DeserializationException e) {
+            log.error("Exception while parsing the message", e);
+            // respond with an error when deserialization failed
+            ErrorMessage error = new ErrorMessage(e.getType())
+                    .setReplyTo(e.getReplyTo())
+                    .setCode(e.getStatusCode())
+                    .setMessage(e.getErrorMessage());
+            emitError(error);
         }
     }
 
@@ -249,7 +216,7 @@ public class RTMWebSocketBroker extends WebSocketAdapter {
 
         super.onWebSocketClose(statusCode, reason);
 
-        log.jsonDebug("websocket closed", new HashedMap<String, Object>() {
+        log.jsonDebug("websocket closed", () -> new HashedMap<String, Object>() {
             {
                 put("statusCode", statusCode);
                 put("reason", Strings.nullToEmpty(reason));
@@ -324,27 +291,20 @@ public class RTMWebSocketBroker extends WebSocketAdapter {
     }
 
     /**
-     * Wraps the message processing in a runnable to be executed by the ExecutorService
+     * Wraps the message processing in a task to be executed by the connection lane
      *
      * @param message the message to process.
      */
-    private Runnable processRunnable(ReceivedMessage message) {
-        return () -> {
-            try {
-                rtmWebSocketHandler.submit(message);
-            } catch (RTMWebSocketHandlerException e) {
-                ErrorMessage error = new ErrorMessage(e.getType())
-                        .setReplyTo(e.getReplyTo())
-                        .setCode(e.getStatusCode())
-                        .setMessage(e.getErrorMessage());
-                emitError(error);
-            } finally {
-                // if the count down latch is active then count down!
-                if (countDownLatch != null) {
-                    countDownLatch.countDown();
-                }
-            }
-        };
+    private Supplier<Mono<Void>> processTask(ReceivedMessage message) {
+        return () -> rtmWebSocketHandler.submit(message)
+                .onErrorResume(RTMWebSocketHandlerException.class, e -> {
+                    ErrorMessage error = new ErrorMessage(e.getType())
+                            .setReplyTo(e.getReplyTo())
+                            .setCode(e.getStatusCode())
+                            .setMessage(e.getErrorMessage());
+                    emitError(error);
+                    return Mono.empty();
+                });
     }
 
     /**
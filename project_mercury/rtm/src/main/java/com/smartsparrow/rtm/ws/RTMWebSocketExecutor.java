@@ -1,104 +1,248 @@
 package com.smartsparrow.rtm.ws;
 
-import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Provider;
 import com.smartsparrow.iam.service.MutableAuthenticationContext;
+import com.smartsparrow.iam.wiring.MutableAuthenticationContextProvider;
+
+import reactor.core.publisher.Mono;
 
 /**
- * A wrapper around the ExecutorService
+ * The serial message lane of a single socket (=> for that specific user). Messages are processed one at the time
+ * in the order they were received, on the worker threads of the node-wide {@link RTMMessageScheduler}.
+ *
+ * A task processed asynchronously suspends the lane until it completes: the worker thread is released and the lane
+ * is dispatched again on completion, so the next message still waits for the previous one without parking a worker.
+ *
+ * The authentication context of the connection travels with each task and is set on the worker thread only for
+ * the time the task runs.
  */
 class RTMWebSocketExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(RTMWebSocketExecutor.class);
 
-    // the executor service that handles the threads, there is one of these per socket (=> for that specific user)
-    private RTMThreadPoolExecutor executor;
+    // the maximum number of tasks processed per drain before the lane yields the worker to other connections
+    private static final int DRAIN_BATCH_SIZE = 16;
 
-    @Inject
-    RTMWebSocketExecutor(Provider<MutableAuthenticationContext> mutableAuthenticationContextProvider) {
-        // limit the number of concurrent processing of messages per connection.
-        executor = new RTMThreadPoolExecutor(1, 5, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
-                                             mutableAuthenticationContextProvider.get());
-    }
+    // the states of a running task
+    private static final int RUNNING = 0;
+    private static final int SUSPENDED = 1;
+    private static final int DONE = 2;
 
-    /**
-     * @return the executor service
-     */
-    public RTMThreadPoolExecutor getExecutor() {
-        return executor;
+    private final RTMMessageScheduler scheduler;
+    private final MutableAuthenticationContext authenticationContext;
+
+    private final Queue<Supplier<Mono<Void>>> tasks = new ConcurrentLinkedQueue<>();
+    // queued + running tasks
+    private final AtomicInteger pending = new AtomicInteger();
+    // true when a drain of this lane is dispatched to the scheduler
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private volatile boolean shutdown = false;
+
+    @Inject
+    RTMWebSocketExecutor(Provider<MutableAuthenticationContext> mutableAuthenticationContextProvider,
+                         RTMMessageScheduler scheduler) {
+        this.authenticationContext = mutableAuthenticationContextProvider.get();
+        this.scheduler = scheduler;
     }
 
     /**
-     * Tries to gracefully stop the executor by stopping new tasks from being accepted but finnish processing already
-     * running/accepted tasks. If takes longer than supplied timeout parameter, tries to forcefully stop all tasks
-     * and prints a log warn of pending tasks.
+     * Tries to gracefully stop the lane by stopping new tasks from being accepted but finish processing already
+     * accepted tasks. If interrupted while waiting, discards all the queued tasks and prints a log warn of pending tasks.
      *
-     * @param timeout time to wait before forcefully trying to kill all tasks
+     * @param timeout time to wait for the accepted tasks to complete
      * @param timeunit unit of timeout
-     * @return the list of runnable that were not executed
      */
     public void shutdownWebsocketExecutor(long timeout, TimeUnit timeunit) {
-        executor.shutdown();
         try {
-            executor.awaitTermination(timeout, timeunit);
+            gracefulShutdown(timeout, timeunit);
         } catch (InterruptedException e) {
-            List<Runnable> unprocessed = executor.shutdownNow();
-            unprocessed.forEach(r -> log.warn("Task not processed due to socket close: {}", r));
+            Supplier<Mono<Void>> unprocessed;
+            while ((unprocessed = tasks.poll()) != null) {
+                log.warn("Task not processed due to socket close: {}", unprocessed);
+                completed();
+            }
+            Thread.currentThread().interrupt();
         }
     }
 
     /**
-     * Wrapper around the submit method. It returns a future that can be used for evaluation.
+     * Wrapper around the execute method. It returns a future that can be used for evaluation.
      *
      * @return {type Future} a future
      */
-    public <T> Future<T> submit(Callable<T> callable){
-        return executor.submit(callable);
+    public <T> Future<T> submit(Callable<T> callable) {
+        FutureTask<T> task = new FutureTask<>(callable);
+        execute(task);
+        return task;
     }
 
     /**
-     * Wrapper around the execute method. Both `execute` and `submit` implementations
-     * in a forkJoinPool perform an externalPush. The differences are the `execute`
-     * throws a null pointer exception when the runnable is null and does not return
-     * a future.
+     * Queue the runnable at the end of this connection lane.
      *
+     * @param runnable the task to run
+     * @throws RejectedExecutionException when the lane has been shutdown
+     * @throws NullPointerException when the runnable is null
      */
     public void execute(Runnable runnable) {
-        executor.execute(runnable);
+        if (runnable == null) {
+            throw new NullPointerException();
+        }
+        executeAsync(() -> Mono.fromRunnable(runnable));
     }
 
     /**
-     * Gracefully shuts down the executor service
+     * Queue an asynchronous task at the end of this connection lane. The next task of the lane runs once the mono
+     * supplied by this task completes.
      *
-     * A shutdown signal is sent to the {@link ExecutorService} then the
-     * {@link ExecutorService#awaitTermination(long, TimeUnit)} method is invoked to enabled all the threads inside
-     * the pool to finish processing
+     * @param task supplies the mono processing the task, subscribed to by the lane
+     * @throws RejectedExecutionException when the lane has been shutdown
+     * @throws NullPointerException when the task is null
+     */
+    public void executeAsync(Supplier<Mono<Void>> task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        if (shutdown) {
+            throw new RejectedExecutionException("websocket executor is shutdown");
+        }
+        if (pending.getAndIncrement() == 0) {
+            scheduler.laneActive(true);
+        }
+        scheduler.pendingMessages(1);
+        tasks.offer(task);
+        schedule();
+    }
+
+    /**
+     * Gracefully shuts down the lane
+     *
+     * No new task is accepted, then waits for the already accepted tasks to finish processing
      *
-     * @param timeout the amount of time the executor will wait for all the threads to terminate
+     * @param timeout the amount of time to wait for all the tasks to complete
      * @param timeUnit the timeUnit value of the timeout
-     * @return {@code true} if this executor terminated and
-     *         {@code false} if the timeout elapsed before termination
+     * @return {@code true} if all the tasks completed and
+     *         {@code false} if the timeout elapsed before completion
      */
     public boolean gracefulShutdown(long timeout, TimeUnit timeUnit) throws InterruptedException {
-        executor.shutdown();
-        return executor.awaitTermination(timeout, timeUnit);
+        shutdown = true;
+        long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+        synchronized (this) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+        return true;
     }
 
-    @VisibleForTesting
-    public void setExecutor(RTMThreadPoolExecutor executor) {
-        this.executor = executor;
+    /**
+     * @return the number of tasks queued or running on this lane
+     */
+    public long getPendingTasksCount() {
+        return pending.get();
     }
 
+    /**
+     * Dispatch a drain of this lane to the scheduler unless one is already dispatched
+     */
+    private void schedule() {
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.dispatch(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Run a batch of queued tasks then release the worker. Re-dispatch the lane when tasks are still queued. When a
+     * task does not complete on this thread the lane stays dispatched and is resumed by the task completion.
+     */
+    private void drain() {
+        Supplier<Mono<Void>> task;
+        int processed = 0;
+        while (processed < DRAIN_BATCH_SIZE && (task = tasks.poll()) != null) {
+            processed++;
+            if (!run(task)) {
+                return;
+            }
+        }
+        resume();
+    }
+
+    /**
+     * Release the lane then dispatch it again when tasks are still queued
+     */
+    private void resume() {
+        scheduled.set(false);
+        schedule();
+    }
+
+    /**
+     * Run the task with the connection authentication context set in the running thread.
+     *
+     * @return <code>true</code> when the task completed on this thread, <code>false</code> when it completes later
+     */
+    private boolean run(Supplier<Mono<Void>> task) {
+        // RUNNING until the task completes or this thread stops waiting for it, whichever comes first
+        final AtomicInteger state = new AtomicInteger(RUNNING);
+        MutableAuthenticationContextProvider.set(authenticationContext);
+        try {
+            task.get().subscribe(null,
+                    error -> {
+                        log.error("Unhandled error while processing task", error);
+                        finished(state);
+                    },
+                    () -> finished(state));
+        } catch (Throwable t) {
+            log.error("Unhandled error while processing task", t);
+            finished(state);
+        } finally {
+            // remove the authentication context in the running thread as it can cause leaks.
+            MutableAuthenticationContextProvider.cleanup();
+        }
+        return !state.compareAndSet(RUNNING, SUSPENDED);
+    }
+
+    /**
+     * Complete a task, resume the lane when the drain stopped waiting for the task
+     */
+    private void finished(AtomicInteger state) {
+        completed();
+        if (state.getAndSet(DONE) == SUSPENDED) {
+            resume();
+        }
+    }
+
+    private void completed() {
+        scheduler.pendingMessages(-1);
+        if (pending.decrementAndGet() == 0) {
+            scheduler.laneActive(false);
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
 }
@@ -4,7 +4,9 @@ import static com.smartsparrow.util.log.JsonLayout.REQUEST_CONTEXT;
 import static com.smartsparrow.util.log.JsonLayout.TRACE_ID;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -29,6 +31,7 @@ import com.smartsparrow.rtm.lang.WriteResponseException;
 import com.smartsparrow.rtm.message.MessageHandler;
 import com.smartsparrow.rtm.message.MessageType;
 import com.smartsparrow.rtm.message.RTMClientContext;
+import com.smartsparrow.rtm.message.ReactiveMessageHandler;
 import com.smartsparrow.rtm.message.ReceivedMessage;
 import com.smartsparrow.rtm.message.event.EventPublisher;
 import com.smartsparrow.rtm.message.event.RTMEventBroker;
@@ -42,6 +45,9 @@ import com.smartsparrow.util.log.data.Request;
 import com.smartsparrow.util.log.data.RequestContext;
 
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
 
 /**
  * The RTM WebSocket handler. This class responsibility is to apply business logic rules to the incoming message
@@ -83,15 +89,22 @@ class RTMWebSocketHandler {
     }
 
     /**
-     * Submit an incoming message for processing after it passes validation
+     * Submit an incoming message for processing after it passes validation. The message is validated and its
+     * processing started when this method is called, the blocking authorizers and handlers run on the calling thread
+     * until a non-blocking one yields.
      *
      * @param receivedMessage the deserialized received message
+     * @return a mono completing when the message is processed or a mono error of {@link RTMWebSocketHandlerException}
      */
-    void submit(ReceivedMessage receivedMessage) throws RTMWebSocketHandlerException {
-        // Error on messages that have an unsupported supplied type.
-        validate(receivedMessage);
+    Mono<Void> submit(ReceivedMessage receivedMessage) {
+        try {
+            // Error on messages that have an unsupported supplied type.
+            validate(receivedMessage);
+        } catch (RTMWebSocketHandlerException e) {
+            return Mono.error(e);
+        }
         // execute logic on message
-        process(receivedMessage);
+        return process(receivedMessage);
     }
 
     /**
@@ -162,12 +175,15 @@ class RTMWebSocketHandler {
 
 
     /**
-     * Process the message inside the RTMScope.
+     * Process the message inside the RTMScope. The processing is subscribed to inside the scope, so the steps running
+     * on this thread see the scope, the steps resuming on another thread are given the scope by the {@link RTMBlockingAdapter}.
      *
      * @param receivedMessage the received message to process
+     * @return a mono completing when the message is processed
      */
-    private void process(ReceivedMessage receivedMessage) throws RTMWebSocketHandlerException {
+    private Mono<Void> process(ReceivedMessage receivedMessage) {
         rtmScope.enter();
+        RTMBlockingAdapter blockingAdapter = null;
         try {
 
             // seed the relevant values
@@ -193,13 +209,17 @@ class RTMWebSocketHandler {
                 MDC.put(TRACE_ID, receivedMessage.getTraceId());
             }
 
-            handle(receivedMessage);
+            blockingAdapter = new RTMBlockingAdapter(rtmScope, this::seedScope, authenticationContextProvider.get());
+
+            return handle(receivedMessage, blockingAdapter)
+                    .subscribeWith(MonoProcessor.create());
 
         } finally {
+            if (blockingAdapter != null) {
+                blockingAdapter.exitScope();
+            }
             MDC.remove(TRACE_ID);
             rtmScope.exit();
-
-
         }
     }
 
@@ -214,15 +234,16 @@ class RTMWebSocketHandler {
     }
 
     /**
-     * Handles a message applying business rules. Any type of logic performed in this method is scoped in RTMScope
+     * Handles a message applying business rules. The authorizers and handlers are resolved in RTMScope when this
+     * method is called, the handlers are invoked once the message is authorized
      *
      * @param receivedMessage the received message to handle
+     * @param blockingAdapter runs the blocking authorizers and handlers
      */
-    private void handle(ReceivedMessage receivedMessage) throws RTMWebSocketHandlerException {
-        authorize(receivedMessage);
-
-        // Invoke all the message handlers
-        invokeHandlersFor(receivedMessage);
+    private Mono<Void> handle(ReceivedMessage receivedMessage, RTMBlockingAdapter blockingAdapter) {
+        return authorize(receivedMessage, blockingAdapter)
+                // Invoke all the message handlers
+                .then(invokeHandlersFor(receivedMessage, blockingAdapter));
     }
 
     /**
@@ -310,46 +331,78 @@ class RTMWebSocketHandler {
      * Authorize the message
      *
      * @param receivedMessage the message to authorize
-     * @throws RTMWebSocketHandlerException if the user is not authorized
+     * @param blockingAdapter runs the blocking authorizers
+     * @return a mono error of {@link RTMWebSocketHandlerException} if the user is not authorized
      */
-    private void authorize(ReceivedMessage receivedMessage) throws RTMWebSocketHandlerException {
-        rtmWebSocketAuthorizer.authorize(receivedMessage, authenticationContextProvider.get());
+    private Mono<Void> authorize(ReceivedMessage receivedMessage, RTMBlockingAdapter blockingAdapter) {
+        return rtmWebSocketAuthorizer.authorize(receivedMessage, authenticationContextProvider.get(), blockingAdapter);
     }
 
     /**
-     * Invoke all message handlers
+     * Invoke all message handlers, one at the time in order. The handlers implementing {@link ReactiveMessageHandler}
+     * are composed without blocking, the others run through the blocking adapter.
      *
      * @param receivedMessage the message to handle
+     * @param blockingAdapter runs the blocking handlers
      */
     @SuppressWarnings("unchecked")
-    private void invokeHandlersFor(ReceivedMessage receivedMessage) throws RTMWebSocketHandlerException {
+    private Mono<Void> invokeHandlersFor(ReceivedMessage receivedMessage, RTMBlockingAdapter blockingAdapter) {
         Collection<Provider<MessageHandler<? extends ReceivedMessage>>> handlerProviders = messageHandlers.get(receivedMessage.getType());
-        for (Provider<MessageHandler<? extends ReceivedMessage>> provider : handlerProviders) {
-            try {
-                MessageHandler<ReceivedMessage> handler = (MessageHandler<ReceivedMessage>) provider.get();
-                handler.handle(rtmClient.getSession(), receivedMessage);
-            } catch (Exception e) {
+        List<MessageHandler<ReceivedMessage>> handlers;
+        try {
+            handlers = handlerProviders.stream()
+                    .map(provider -> (MessageHandler<ReceivedMessage>) provider.get())
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            return handleError(e, receivedMessage);
+        }
 
-                // If the exception was propagated by a reactor chain, try and unwrap it.
-                Throwable unwrapped = Exceptions.unwrap(e);
+        return Flux.fromIterable(handlers)
+                .concatMap(handler -> invoke(handler, receivedMessage, blockingAdapter)
+                        .onErrorResume(e -> handleError(e, receivedMessage)))
+                .then();
+    }
 
-                // Deal with RTM level errors here
-                if(unwrapped instanceof Fault) {
-                    // For faults, skip logging errors
-                    throw new RTMWebSocketHandlerException(unwrapped.getLocalizedMessage(),
-                            receivedMessage.getId(),
-                            ((ErrorResponseType)unwrapped).getResponseStatusCode(),
-                            receivedMessage.getType());
-                } else if(unwrapped instanceof WriteResponseException) {
-                    log.error("unable to write the response", unwrapped);
-                } else {
-                    String errorMessage = "unhandled error occurred to message processing";
-                    log.error(errorMessage, unwrapped);
-                    //re-throw RTMWebSocketHandlerException so RTMWebSocketBroker will catch it and send error message to client
-                    // this block is executed if the service layer throws a runtime exception and the exception is not caught in a message handler
-                    throw new RTMWebSocketHandlerException(errorMessage, receivedMessage.getId(), HttpStatus.SC_INTERNAL_SERVER_ERROR, receivedMessage.getType());
-                }
-            }
+    @SuppressWarnings("unchecked")
+    private Mono<Void> invoke(MessageHandler<ReceivedMessage> handler, ReceivedMessage receivedMessage,
+                              RTMBlockingAdapter blockingAdapter) {
+        if (handler instanceof ReactiveMessageHandler) {
+            return Mono.defer(() -> ((ReactiveMessageHandler<ReceivedMessage>) handler)
+                    .handleAsync(rtmClient.getSession(), receivedMessage));
+        }
+        return blockingAdapter.call("Handler", handler, () -> {
+            handler.handle(rtmClient.getSession(), receivedMessage);
+            return null;
+        });
+    }
+
+    /**
+     * Map a message handler error to the error response
+     *
+     * @param e the handler error
+     * @param receivedMessage the message being handled
+     * @return an empty mono when the error was a write error, a mono error of {@link RTMWebSocketHandlerException} otherwise
+     */
+    private Mono<Void> handleError(Throwable e, ReceivedMessage receivedMessage) {
+        // If the exception was propagated by a reactor chain, try and unwrap it.
+        Throwable unwrapped = Exceptions.unwrap(e);
+
+        // Deal with RTM level errors here
+        if(unwrapped instanceof Fault) {
+            // For faults, skip logging errors
+            return Mono.error(new RTMWebSocketHandlerException(unwrapped.getLocalizedMessage(),
+                    receivedMessage.getId(),
+                    ((ErrorResponseType)unwrapped).getResponseStatusCode(),
+                    receivedMessage.getType()));
+        } else if(unwrapped instanceof WriteResponseException) {
+            log.error("unable to write the response", unwrapped);
+            return Mono.empty();
+        } else {
+            String errorMessage = "unhandled error occurred to message processing";
+            log.error(errorMessage, unwrapped);
+            //re-throw RTMWebSocketHandlerException so RTMWebSocketBroker will catch it and send error message to client
+            // this block is executed if the service layer throws a runtime exception and the exception is not caught in a message handler
+            return Mono.error(new RTMWebSocketHandlerException(errorMessage, receivedMessage.getId(), HttpStatus.SC_INTERNAL_SERVER_ERROR, receivedMessage.getType()));
         }
     }
 
@@ -94,6 +94,31 @@ class ReceivedMessageDeserializerTest {
         assertEquals(id, ((InvalidMessageFormat) t).getReplyTo());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void deserialize_unknownField() throws ClassNotFoundException {
+        String message = String.format("{\"type\": \"%s\", \"id\":\"%s\", \"unknown\":{\"a\":[1,2]}}", type, id);
+        when(messageTypes.containsKey(type)).thenReturn(true);
+        when(messageTypes.get(type)).thenReturn(classProvider);
+        Class classType = Class.forName(TestEntity.class.getTypeName());
+        when(classProvider.get()).thenReturn(classType);
+        assertThrows(IllegalArgumentException.class, ()-> receivedMessageDeserializer.deserialize(message));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void deserialize_nestedFieldsAndIdAfterType() throws IOException, ClassNotFoundException {
+        UUID entityId = UUID.randomUUID();
+        String message = String.format("{\"type\":\"%s\",\"entityId\":\"%s\",\"id\":\"%s\"}", type, entityId, id);
+        when(messageTypes.containsKey(type)).thenReturn(true);
+        when(messageTypes.get(type)).thenReturn(classProvider);
+        Class classType = Class.forName(TestEntity.class.getTypeName());
+        when(classProvider.get()).thenReturn(classType);
+        TestEntity deserialized = (TestEntity) receivedMessageDeserializer.deserialize(message);
+        assertEquals(entityId, deserialized.getEntityId());
+        assertEquals(id, deserialized.getId());
+    }
+
     @Test
     void deserialize_evaluationFeatureModeDefault() throws IOException, ClassNotFoundException {
         EvaluationFeatureMode defaultMode = new EvaluationFeatureMode();
@@ -48,7 +48,7 @@ class AllowCoursewareElementContributorOrHigherTest {
         authenticationContext = mockAuthenticationContext(accountId);
         when(message.getElementId()).thenReturn(elementId);
         when(message.getElementType()).thenReturn(elementType);
-        when(coursewareElementAuthorizerService.authorize(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
+        when(coursewareElementAuthorizerService.authorizeAsync(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(true));
     }
 
     @Test
@@ -69,7 +69,7 @@ class AllowCoursewareElementContributorOrHigherTest {
 
     @Test
     void test_noAccess_forReviewer() {
-        when(coursewareElementAuthorizerService.authorize(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(false);
+        when(coursewareElementAuthorizerService.authorizeAsync(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(false));
 
 
         boolean result = authorizer.test(authenticationContext, message);
@@ -88,7 +88,7 @@ class AllowCoursewareElementContributorOrHigherTest {
 
     @Test
     void test_noPermission() {
-        when(coursewareElementAuthorizerService.authorize(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(false);
+        when(coursewareElementAuthorizerService.authorizeAsync(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(false));
 
         boolean result = authorizer.test(authenticationContext, message);
 
@@ -99,10 +99,30 @@ class AllowCoursewareElementContributorOrHigherTest {
     void test_exception() {
         TestPublisher<UUID> workspacePublisher = TestPublisher.create();
         workspacePublisher.error(new RuntimeException("any runtime exception"));
-        when(coursewareElementAuthorizerService.authorize(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(false);
+        when(coursewareElementAuthorizerService.authorizeAsync(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(false));
 
         boolean result = authorizer.test(authenticationContext, message);
 
         assertFalse(result);
     }
+
+    @Test
+    void testAsync() {
+        when(coursewareElementAuthorizerService.authorizeAsync(authenticationContext, elementId, elementType, PermissionLevel.CONTRIBUTOR))
+                .thenReturn(Mono.just(true));
+
+        Boolean result = authorizer.testAsync(authenticationContext, message).block();
+
+        assertTrue(result);
+    }
+
+    @Test
+    void testAsync_noPermission() {
+        when(coursewareElementAuthorizerService.authorizeAsync(authenticationContext, elementId, elementType, PermissionLevel.CONTRIBUTOR))
+                .thenReturn(Mono.just(false));
+
+        Boolean result = authorizer.testAsync(authenticationContext, message).block();
+
+        assertFalse(result);
+    }
 }
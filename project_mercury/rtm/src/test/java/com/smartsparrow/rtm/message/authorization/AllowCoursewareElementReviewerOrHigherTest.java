@@ -52,7 +52,7 @@ class AllowCoursewareElementReviewerOrHigherTest {
         authenticationContext = mockAuthenticationContext(accountId);
         when(message.getElementId()).thenReturn(elementId);
         when(message.getElementType()).thenReturn(elementType);
-        when(coursewareElementAuthorizerService.authorize(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
+        when(coursewareElementAuthorizerService.authorizeAsync(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(true));
     }
 
     @Test
@@ -101,7 +101,7 @@ class AllowCoursewareElementReviewerOrHigherTest {
     void test_noPermission() {
         when(coursewareService.getWorkspaceId(elementId, CoursewareElementType.ACTIVITY)).thenReturn(Mono.just(workspaceId));
         when(workspaceService.findHighestPermissionLevel(accountId, workspaceId)).thenReturn(Mono.empty());
-        when(coursewareElementAuthorizerService.authorize(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(false);
+        when(coursewareElementAuthorizerService.authorizeAsync(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(false));
 
         boolean result = authorizer.test(authenticationContext, message);
 
@@ -113,7 +113,7 @@ class AllowCoursewareElementReviewerOrHigherTest {
         TestPublisher<UUID> workspacePublisher = TestPublisher.create();
         workspacePublisher.error(new RuntimeException("any exception"));
         when(coursewareService.getWorkspaceId(elementId, CoursewareElementType.ACTIVITY)).thenReturn(workspacePublisher.mono());
-        when(coursewareElementAuthorizerService.authorize(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(false);
+        when(coursewareElementAuthorizerService.authorizeAsync(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(false));
 
         boolean result = authorizer.test(authenticationContext, message);
 
@@ -94,4 +94,33 @@ public class CoursewareElementAuthorizerServiceTest {
 
         assertFalse(result);
     }
+
+    @Test
+    void authorizeAsync_success() {
+        when(projectPermissionService.findHighestPermissionLevel(accountId, projectId)).thenReturn(Mono.just(PermissionLevel.CONTRIBUTOR));
+
+        Boolean result = authorizer.authorizeAsync(authenticationContext, elementId, elementType, PermissionLevel.CONTRIBUTOR).block();
+
+        assertTrue(result);
+    }
+
+    @Test
+    void authorizeAsync_projectError() {
+        TestPublisher<UUID> projectPublisher = TestPublisher.create();
+        projectPublisher.error(new RuntimeException("any runtime exception"));
+        when(coursewareService.getProjectId(elementId, elementType)).thenReturn(projectPublisher.mono());
+
+        Boolean result = authorizer.authorizeAsync(authenticationContext, elementId, elementType, PermissionLevel.REVIEWER).block();
+
+        assertFalse(result);
+    }
+
+    @Test
+    void authorizeAsync_projectNotFound() {
+        when(coursewareService.getProjectId(elementId, elementType)).thenReturn(Mono.empty());
+
+        Boolean result = authorizer.authorizeAsync(authenticationContext, elementId, elementType, PermissionLevel.REVIEWER).block();
+
+        assertFalse(result);
+    }
 }
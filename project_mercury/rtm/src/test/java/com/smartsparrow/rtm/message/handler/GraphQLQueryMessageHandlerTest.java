@@ -0,0 +1,94 @@
+package com.smartsparrow.rtm.message.handler;
+
+import static com.smartsparrow.rtm.MessageHandlerTestUtils.verifySentMessage;
+import static com.smartsparrow.rtm.message.handler.GraphQLQueryMessageHandler.GRAPHQL_QUERY_ERROR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+import javax.inject.Provider;
+
+import org.eclipse.jetty.websocket.api.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.smartsparrow.graphql.service.GraphQLService;
+import com.smartsparrow.iam.service.AuthenticationContext;
+import com.smartsparrow.rtm.RTMWebSocketTestUtils;
+import com.smartsparrow.rtm.message.recv.GraphQLQueryMessage;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+class GraphQLQueryMessageHandlerTest {
+
+    @InjectMocks
+    private GraphQLQueryMessageHandler handler;
+
+    @Mock
+    private GraphQLService graphQLService;
+    @Mock
+    private Provider<AuthenticationContext> authenticationContextProvider;
+    @Mock
+    private AuthenticationContext authenticationContext;
+    @Mock
+    private GraphQLQueryMessage message;
+    private Session session;
+
+    private static final String query = "{ me { id } }";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        session = RTMWebSocketTestUtils.mockSession();
+        when(authenticationContextProvider.get()).thenReturn(authenticationContext);
+        when(message.getQuery()).thenReturn(query);
+        when(message.getId()).thenReturn("msg-1");
+        when(graphQLService.sanitize(any(ExecutionResult.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void handleAsync_writesBeforeCompleting() throws IOException {
+        TestPublisher<ExecutionResult> publisher = TestPublisher.create();
+        when(graphQLService.query(query, null, null, authenticationContext)).thenReturn(publisher.mono());
+
+        StepVerifier.create(handler.handleAsync(session, message))
+                .then(() -> {
+                    // nothing is written while the query runs
+                    verify(session.getRemote(), never()).sendStringByFuture(anyString());
+                    publisher.emit(new ExecutionResultImpl(new HashMap<>(), null));
+                })
+                .verifyComplete();
+
+        verifySentMessage(session, response -> {
+            assertEquals("graphql.response", response.getType());
+            assertEquals("msg-1", response.getReplyTo());
+        });
+    }
+
+    @Test
+    void handleAsync_error() throws IOException {
+        TestPublisher<ExecutionResult> publisher = TestPublisher.create();
+        when(graphQLService.query(query, null, null, authenticationContext)).thenReturn(publisher.mono());
+
+        StepVerifier.create(handler.handleAsync(session, message))
+                .then(() -> publisher.error(new RuntimeException("boom")))
+                .verifyComplete();
+
+        verifySentMessage(session, response -> {
+            assertEquals(GRAPHQL_QUERY_ERROR, response.getType());
+            assertEquals(500, response.getCode());
+        });
+    }
+}
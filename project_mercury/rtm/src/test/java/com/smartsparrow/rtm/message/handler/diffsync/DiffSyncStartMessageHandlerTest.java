@@ -41,10 +41,10 @@ import com.smartsparrow.rtm.message.recv.diffsync.DiffSyncStartMessage;
 import data.Channel;
 import data.DiffSync;
 import data.DiffSyncEntity;
-import data.DiffSyncGateway;
 import data.DiffSyncIdentifier;
 import data.DiffSyncIdentifierType;
 import data.DiffSyncService;
+import data.DiffSyncWriteBehind;
 import data.EntityType;
 import data.Message;
 import data.ServerBackup;
@@ -82,7 +82,7 @@ public class DiffSyncStartMessageHandlerTest {
 
     private DiffSyncIdentifier diffSyncIdentifier;
     @Mock
-    private DiffSyncGateway diffSyncGateway;
+    private DiffSyncWriteBehind diffSyncWriteBehind;
 
     private static final String clientId = "12345";
     private static final UUID entityId = UUID.randomUUID();
@@ -155,7 +155,7 @@ public class DiffSyncStartMessageHandlerTest {
                                                    channel,
                                                    diffSyncEntity,
                                                    diffSyncIdentifier,
-                                                   diffSyncGateway)));
+                                                   diffSyncWriteBehind)));
         when(diffSyncProducer.buildConsumableMessage(any(Message.class), any(DiffSyncIdentifier.class), any(DiffSyncEntity.class)))
                 .thenReturn(diffSyncProducer);
 
@@ -0,0 +1,154 @@
+package com.smartsparrow.rtm.subscription.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.redisson.api.RTopicReactive;
+import org.redisson.api.RedissonReactiveClient;
+import org.redisson.api.listener.MessageListener;
+
+import reactor.core.publisher.Mono;
+
+class RTMTopicMultiplexerTest {
+
+    @InjectMocks
+    private RTMTopicMultiplexer multiplexer;
+
+    @Mock
+    private RedissonReactiveClient redis;
+
+    @Mock
+    private RTopicReactive topic;
+
+    private static final String topicName = "topic/name";
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(redis.getTopic(topicName)).thenReturn(topic);
+        when(topic.addListener(eq(String.class), any(MessageListener.class))).thenReturn(Mono.just(7));
+        when(topic.removeListener(anyInt())).thenReturn(Mono.empty());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void addListener_sharesRedisListener() {
+        MessageListener<String> one = mock(MessageListener.class);
+        MessageListener<String> two = mock(MessageListener.class);
+
+        Integer firstId = multiplexer.addListener(topicName, String.class, one).block();
+        Integer secondId = multiplexer.addListener(topicName, String.class, two).block();
+
+        ArgumentCaptor<MessageListener> captor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic, times(1)).addListener(eq(String.class), captor.capture());
+        assertEquals(1, multiplexer.getTopicCount());
+        assertEquals(2, multiplexer.getLocalListenerCount(topicName, String.class));
+        assertNotEquals(firstId, secondId);
+
+        // a message received from redis is fanned out to every local listener
+        captor.getValue().onMessage(topicName, "hello");
+        verify(one).onMessage(topicName, "hello");
+        verify(two).onMessage(topicName, "hello");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void dispatch_failingListener() {
+        MessageListener<String> failing = mock(MessageListener.class);
+        MessageListener<String> other = mock(MessageListener.class);
+        doThrow(new RuntimeException("boom")).when(failing).onMessage(any(), any());
+
+        multiplexer.addListener(topicName, String.class, failing).block();
+        multiplexer.addListener(topicName, String.class, other).block();
+
+        ArgumentCaptor<MessageListener> captor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addListener(eq(String.class), captor.capture());
+        captor.getValue().onMessage(topicName, "hello");
+
+        verify(other).onMessage(topicName, "hello");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void removeListener_lastLocalListenerRemovesRedisListener() {
+        MessageListener<String> one = mock(MessageListener.class);
+        MessageListener<String> two = mock(MessageListener.class);
+        multiplexer.addListener(topicName, String.class, one).block();
+        multiplexer.addListener(topicName, String.class, two).block();
+
+        multiplexer.removeListener(topicName, String.class, one).block();
+        verify(topic, never()).removeListener(anyInt());
+        assertEquals(1, multiplexer.getLocalListenerCount(topicName, String.class));
+
+        multiplexer.removeListener(topicName, String.class, two).block();
+        verify(topic).removeListener(7);
+        assertEquals(0, multiplexer.getTopicCount());
+        assertEquals(0, multiplexer.getLocalListenerCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void removeListener_unknownListener() {
+        multiplexer.addListener(topicName, String.class, mock(MessageListener.class)).block();
+
+        multiplexer.removeListener(topicName, String.class, mock(MessageListener.class)).block();
+
+        verify(topic, never()).removeListener(anyInt());
+        assertEquals(1, multiplexer.getTopicCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void addListener_registrationFailed_evictsTopic() {
+        when(topic.addListener(eq(String.class), any(MessageListener.class)))
+                .thenReturn(Mono.error(new RuntimeException("redis down")))
+                .thenReturn(Mono.just(8));
+
+        assertThrows(RuntimeException.class,
+                () -> multiplexer.addListener(topicName, String.class, mock(MessageListener.class)).block());
+        assertEquals(0, multiplexer.getTopicCount());
+        assertEquals(0, multiplexer.getLocalListenerCount());
+
+        // the next local listener registers the topic again
+        MessageListener<String> next = mock(MessageListener.class);
+        multiplexer.addListener(topicName, String.class, next).block();
+        verify(topic, times(2)).addListener(eq(String.class), any(MessageListener.class));
+        assertEquals(1, multiplexer.getLocalListenerCount(topicName, String.class));
+
+        multiplexer.removeListener(topicName, String.class, next).block();
+        verify(topic).removeListener(8);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void addListener_afterLastRemoved_registersAgain() {
+        MessageListener<String> one = mock(MessageListener.class);
+        MessageListener<String> two = mock(MessageListener.class);
+        multiplexer.addListener(topicName, String.class, one).block();
+        multiplexer.removeListener(topicName, String.class, one).block();
+
+        multiplexer.addListener(topicName, String.class, two).block();
+
+        verify(topic, times(2)).addListener(eq(String.class), any(MessageListener.class));
+        assertEquals(1, multiplexer.getTopicCount());
+        assertEquals(1, multiplexer.getLocalListenerCount(topicName, String.class));
+    }
+}
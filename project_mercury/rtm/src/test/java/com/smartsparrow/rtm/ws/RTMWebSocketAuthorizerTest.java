@@ -3,9 +3,10 @@ package com.smartsparrow.rtm.ws;
 import static com.smartsparrow.rtm.RTMWebSocketTestUtils.genericMock;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collection;
@@ -21,11 +22,18 @@ import org.mockito.MockitoAnnotations;
 
 import com.google.inject.Provider;
 import com.smartsparrow.iam.service.AuthenticationContext;
+import com.smartsparrow.iam.service.MutableAuthenticationContext;
 import com.smartsparrow.rtm.RTMWebSocketTestUtils;
 import com.smartsparrow.rtm.lang.RTMWebSocketHandlerException;
 import com.smartsparrow.rtm.message.AuthorizationPredicate;
 import com.smartsparrow.rtm.message.MessageType;
+import com.smartsparrow.rtm.message.ReactiveAuthorizationPredicate;
 import com.smartsparrow.rtm.message.ReceivedMessage;
+import com.smartsparrow.rtm.wiring.RTMScope;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class RTMWebSocketAuthorizerTest {
@@ -76,7 +84,7 @@ class RTMWebSocketAuthorizerTest {
         when(authorizerPredicateProvider.get()).thenReturn(authorizedPredicate);
         when(authorizedPredicate.test(authenticationContext, authorized)).thenReturn(true);
 
-        rtmWebSocketAuthorizer.authorize(authorized, authenticationContext);
+        rtmWebSocketAuthorizer.authorize(authorized, authenticationContext, blockingAdapter()).block();
     }
 
     @SuppressWarnings("unchecked")
@@ -93,6 +101,51 @@ class RTMWebSocketAuthorizerTest {
         when(unauthorizedPredicateProvider.get()).thenReturn(unauthorizedPredicate);
         when(unauthorizedPredicate.test(authenticationContext, authorized)).thenReturn(false);
 
-        assertThrows(RTMWebSocketHandlerException.class, ()->  rtmWebSocketAuthorizer.authorize(unauthorized, authenticationContext));
+        StepVerifier.create(rtmWebSocketAuthorizer.authorize(unauthorized, authenticationContext, blockingAdapter()))
+                .expectError(RTMWebSocketHandlerException.class)
+                .verify();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void isAuthorized_reactive() {
+        ReceivedMessage message = RTMWebSocketTestUtils.buildMessage("reactive");
+        AuthenticationContext authenticationContext = mock(AuthenticationContext.class);
+
+        ReactiveAuthorizationPredicate reactivePredicate = genericMock(ReactiveAuthorizationPredicate.class);
+        Provider<AuthorizationPredicate<? extends MessageType>> reactivePredicateProvider = genericMock(Provider.class);
+        TestPublisher<Boolean> authorization = TestPublisher.create();
+
+        when(authorizerPredicates.get(message.getType())).thenReturn(Lists.newArrayList(reactivePredicateProvider));
+        when(reactivePredicateProvider.get()).thenReturn(reactivePredicate);
+        when(reactivePredicate.testAsync(authenticationContext, message)).thenReturn(authorization.mono());
+
+        StepVerifier.create(rtmWebSocketAuthorizer.authorize(message, authenticationContext, blockingAdapter()))
+                .then(() -> authorization.emit(true))
+                .verifyComplete();
+
+        verify(reactivePredicate, never()).test(authenticationContext, message);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void isNotAuthorized_reactiveEmpty() {
+        ReceivedMessage message = RTMWebSocketTestUtils.buildMessage("reactiveEmpty");
+        AuthenticationContext authenticationContext = mock(AuthenticationContext.class);
+
+        ReactiveAuthorizationPredicate reactivePredicate = genericMock(ReactiveAuthorizationPredicate.class);
+        Provider<AuthorizationPredicate<? extends MessageType>> reactivePredicateProvider = genericMock(Provider.class);
+
+        when(authorizerPredicates.get(message.getType())).thenReturn(Lists.newArrayList(reactivePredicateProvider));
+        when(reactivePredicateProvider.get()).thenReturn(reactivePredicate);
+        when(reactivePredicate.testAsync(authenticationContext, message)).thenReturn(Mono.empty());
+
+        StepVerifier.create(rtmWebSocketAuthorizer.authorize(message, authenticationContext, blockingAdapter()))
+                .expectError(RTMWebSocketHandlerException.class)
+                .verify();
+    }
+
+    private RTMBlockingAdapter blockingAdapter() {
+        return new RTMBlockingAdapter(mock(RTMScope.class), () -> {}, new MutableAuthenticationContext());
     }
 }
@@ -1,13 +1,15 @@
 package com.smartsparrow.rtm.ws;
 
 import static com.smartsparrow.rtm.RTMWebSocketTestUtils.mockReceivedMessage;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -15,7 +17,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jetty.websocket.api.Session;
@@ -33,6 +37,8 @@ import com.smartsparrow.rtm.lang.UnsupportedMessageType;
 import com.smartsparrow.rtm.message.ReceivedMessage;
 import com.smartsparrow.rtm.message.ReceivedMessageDeserializer;
 
+import reactor.core.publisher.Mono;
+
 class RTMWebSocketBrokerTest {
 
     @Mock
@@ -116,34 +122,80 @@ class RTMWebSocketBrokerTest {
 
         String message = "a message";
         spy.onWebSocketText(message);
-        verify(rtmWebSocketExecutor, times(1)).execute(any(Runnable.class));
+        verify(rtmWebSocketExecutor, times(1)).executeAsync(any());
     }
 
     @Test
     void onWebSocketText_error() throws RTMWebSocketHandlerException, InterruptedException {
         MutableAuthenticationContext mutableAuthenticationContext = mock(MutableAuthenticationContext.class);
         Session session = RTMWebSocketTestUtils.mockSession();
-        WebSocketAdapter spy = Mockito.spy(rtmWebSocketBroker);
-        RTMThreadPoolExecutor executor = new RTMThreadPoolExecutor(0, 5, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
-                mutableAuthenticationContext);
+        RTMWebSocketExecutor executor = new RTMWebSocketExecutor(() -> mutableAuthenticationContext,
+                new RTMMessageScheduler(1));
+        WebSocketAdapter spy = Mockito.spy(new RTMWebSocketBroker(
+                rtmWebSocketHandler,
+                executor,
+                receivedMessageDeserializer,
+                rtmWebSocketContext));
         String message = "message";
-        doCallRealMethod().when(rtmWebSocketExecutor).setExecutor(executor);
-        rtmWebSocketExecutor.setExecutor(executor);
-        when(rtmWebSocketExecutor.getExecutor()).thenReturn(executor);
-        doCallRealMethod().when(rtmWebSocketExecutor).execute(any(Runnable.class));
         when(spy.getSession()).thenReturn(session);
         RTMWebSocketHandlerException e = mock(RTMWebSocketHandlerException.class);
         when(e.getType()).thenReturn("some.type.of.error");
-        doThrow(e).when(rtmWebSocketHandler).submit(any(ReceivedMessage.class));
+        when(rtmWebSocketHandler.submit(any(ReceivedMessage.class))).thenReturn(Mono.error(e));
 
         spy.onWebSocketText(message);
 
-        // force executor termination to test that error emitted on socket when exception is thrown
-        rtmWebSocketExecutor.getExecutor().awaitTermination(500, TimeUnit.MILLISECONDS);
+        // wait for the lane to drain to test that error emitted on socket when exception is thrown
+        assertTrue(executor.gracefulShutdown(500, TimeUnit.MILLISECONDS));
         String response = "{\"type\":\"some.type.of.error\"}";
         verify(session.getRemote(), times(1)).sendStringByFuture(response);
     }
 
+    @Test
+    void onWebSocketText_waitPending_doesNotBlock() throws Exception {
+        ReceivedMessage waitPending = new ReceivedMessage() {
+            @Override
+            public String getType() {
+                return "test.type";
+            }
+
+            @Override
+            public Mode getMode() {
+                return Mode.WAIT_PENDING;
+            }
+        };
+        when(receivedMessageDeserializer.deserialize("wait")).thenReturn(waitPending);
+        RTMWebSocketExecutor executor = new RTMWebSocketExecutor(() -> mock(MutableAuthenticationContext.class),
+                new RTMMessageScheduler(2));
+        WebSocketAdapter spy = Mockito.spy(new RTMWebSocketBroker(
+                rtmWebSocketHandler,
+                executor,
+                receivedMessageDeserializer,
+                rtmWebSocketContext));
+        when(spy.getSession()).thenReturn(RTMWebSocketTestUtils.mockSession());
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<ReceivedMessage> processed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            ReceivedMessage received = invocation.getArgument(0);
+            if (received != waitPending) {
+                release.await();
+            }
+            processed.add(received);
+            return Mono.empty();
+        }).when(rtmWebSocketHandler).submit(any(ReceivedMessage.class));
+
+        spy.onWebSocketText("a message");
+        spy.onWebSocketText("wait");
+        // the wait pending message is queued behind the pending message, the I/O thread does not wait for it
+        assertEquals(2, executor.getPendingTasksCount());
+        assertTrue(processed.isEmpty());
+
+        release.countDown();
+        assertTrue(executor.gracefulShutdown(1, TimeUnit.SECONDS));
+        assertEquals(2, processed.size());
+        assertSame(waitPending, processed.get(1));
+    }
+
     @Test
     void onWebSocketClose() {
         //initialize session before testing socket closing
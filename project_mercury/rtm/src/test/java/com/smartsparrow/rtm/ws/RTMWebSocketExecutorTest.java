@@ -0,0 +1,155 @@
+package com.smartsparrow.rtm.ws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Lists;
+import com.smartsparrow.iam.service.MutableAuthenticationContext;
+import com.smartsparrow.iam.wiring.MutableAuthenticationContextProvider;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class RTMWebSocketExecutorTest {
+
+    private MutableAuthenticationContext authenticationContext;
+    private RTMMessageScheduler scheduler;
+    private RTMWebSocketExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        authenticationContext = mock(MutableAuthenticationContext.class);
+        scheduler = new RTMMessageScheduler(4);
+        executor = new RTMWebSocketExecutor(() -> authenticationContext, scheduler);
+    }
+
+    @Test
+    void execute_preservesOrder() throws InterruptedException {
+        List<Integer> processed = new CopyOnWriteArrayList<>();
+
+        IntStream.range(0, 100).forEach(i -> executor.execute(() -> processed.add(i)));
+
+        assertTrue(executor.gracefulShutdown(1, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), processed);
+        assertEquals(0, executor.getPendingTasksCount());
+        assertEquals(0, scheduler.getActiveLanes());
+        assertEquals(0, scheduler.getPendingMessages());
+    }
+
+    @Test
+    void execute_setsAuthenticationContext() throws Exception {
+        Future<MutableAuthenticationContext> future = executor.submit(() -> new MutableAuthenticationContextProvider().get());
+
+        assertSame(authenticationContext, future.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_errorDoesNotStopLane() throws Exception {
+        executor.execute(() -> {
+            throw new IllegalStateException("boom");
+        });
+        Future<String> future = executor.submit(() -> "ok");
+
+        assertEquals("ok", future.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void getPendingTasksCount() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> {});
+
+        assertEquals(2, executor.getPendingTasksCount());
+        assertEquals(1, scheduler.getActiveLanes());
+
+        latch.countDown();
+        assertTrue(executor.gracefulShutdown(1, TimeUnit.SECONDS));
+        assertEquals(0, executor.getPendingTasksCount());
+    }
+
+    @Test
+    void gracefulShutdown_timeout() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertFalse(executor.gracefulShutdown(50, TimeUnit.MILLISECONDS));
+        latch.countDown();
+    }
+
+    @Test
+    void executeAsync_suspendsLaneWithoutHoldingWorker() throws InterruptedException {
+        RTMWebSocketExecutor other = new RTMWebSocketExecutor(() -> authenticationContext, new RTMMessageScheduler(1));
+        MonoProcessor<Void> pending = MonoProcessor.create();
+        List<String> processed = new CopyOnWriteArrayList<>();
+
+        other.executeAsync(() -> pending.doOnSuccess(ignored -> processed.add("async")));
+        other.execute(() -> processed.add("next"));
+
+        // the lane waits for the async task, the next task is queued behind it
+        assertFalse(other.gracefulShutdown(50, TimeUnit.MILLISECONDS));
+        assertTrue(processed.isEmpty());
+        assertEquals(2, other.getPendingTasksCount());
+
+        pending.onComplete();
+        assertTrue(other.gracefulShutdown(1, TimeUnit.SECONDS));
+        assertEquals(Lists.newArrayList("async", "next"), processed);
+    }
+
+    @Test
+    void executeAsync_suspendedLaneReleasesWorker() throws Exception {
+        RTMMessageScheduler single = new RTMMessageScheduler(1);
+        RTMWebSocketExecutor suspended = new RTMWebSocketExecutor(() -> authenticationContext, single);
+        RTMWebSocketExecutor another = new RTMWebSocketExecutor(() -> authenticationContext, single);
+        MonoProcessor<Void> pending = MonoProcessor.create();
+
+        suspended.executeAsync(() -> pending);
+        // the only worker is free to process another connection while the first lane waits
+        assertEquals("ok", another.submit(() -> "ok").get(1, TimeUnit.SECONDS));
+
+        pending.onComplete();
+        assertTrue(suspended.gracefulShutdown(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void executeAsync_errorDoesNotStopLane() throws Exception {
+        executor.executeAsync(() -> Mono.error(new IllegalStateException("boom")));
+        Future<String> future = executor.submit(() -> "ok");
+
+        assertEquals("ok", future.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_afterShutdown() throws InterruptedException {
+        executor.gracefulShutdown(0, TimeUnit.MILLISECONDS);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+    }
+}
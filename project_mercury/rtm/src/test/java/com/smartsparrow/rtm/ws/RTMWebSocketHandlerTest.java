@@ -6,9 +6,11 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -27,16 +29,22 @@ import org.mockito.MockitoAnnotations;
 import com.google.common.collect.Lists;
 import com.google.inject.Provider;
 import com.smartsparrow.dataevent.BroadcastMessage;
+import com.smartsparrow.exception.IllegalArgumentFault;
 import com.smartsparrow.iam.service.MutableAuthenticationContext;
 import com.smartsparrow.rtm.RTMWebSocketTestUtils;
 import com.smartsparrow.rtm.lang.RTMValidationException;
 import com.smartsparrow.rtm.lang.RTMWebSocketHandlerException;
 import com.smartsparrow.rtm.message.MessageHandler;
+import com.smartsparrow.rtm.message.ReactiveMessageHandler;
 import com.smartsparrow.rtm.message.ReceivedMessage;
 import com.smartsparrow.rtm.message.event.EventPublisher;
 import com.smartsparrow.rtm.subscription.SubscriptionManager;
 import com.smartsparrow.rtm.wiring.RTMScope;
 
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
 
 class RTMWebSocketHandlerTest {
 
@@ -73,7 +81,9 @@ class RTMWebSocketHandlerTest {
 
         when(messageHandlers.containsKey(message.getType())).thenReturn(false);
 
-        assertThrows(RTMWebSocketHandlerException.class, () -> rtmWebSocketHandler.submit(message));
+        StepVerifier.create(rtmWebSocketHandler.submit(message))
+                .expectError(RTMWebSocketHandlerException.class)
+                .verify();
     }
 
     @Test
@@ -83,7 +93,9 @@ class RTMWebSocketHandlerTest {
         when(messageHandlers.containsKey(message.getType())).thenReturn(true);
         when(rtmWebSocketAuthorizer.hasAuthorizer(message)).thenReturn(false);
 
-        assertThrows(RTMWebSocketHandlerException.class, () -> rtmWebSocketHandler.submit(message));
+        StepVerifier.create(rtmWebSocketHandler.submit(message))
+                .expectError(RTMWebSocketHandlerException.class)
+                .verify();
     }
 
     @SuppressWarnings("unchecked")
@@ -101,7 +113,9 @@ class RTMWebSocketHandlerTest {
         when(messageHandlers.get(message.getType())).thenReturn(handlerProviders);
         when(handlerProvider.get()).thenReturn(messageHandler);
 
-        assertThrows(RTMWebSocketHandlerException.class, () -> rtmWebSocketHandler.submit(message));
+        StepVerifier.create(rtmWebSocketHandler.submit(message))
+                .expectError(RTMWebSocketHandlerException.class)
+                .verify();
     }
 
     @SuppressWarnings("unchecked")
@@ -119,9 +133,12 @@ class RTMWebSocketHandlerTest {
         when(messageHandlers.get(message.getType())).thenReturn(handlerProviders);
         when(handlerProvider.get()).thenReturn(messageHandler);
 
-        RTMWebSocketHandlerException t = assertThrows(RTMWebSocketHandlerException.class, () -> rtmWebSocketHandler.submit(message));
-        assertEquals(500, t.getStatusCode());
-        assertEquals("unhandled error occurred to message validating", t.getErrorMessage());
+        StepVerifier.create(rtmWebSocketHandler.submit(message))
+                .expectErrorSatisfies(t -> {
+                    assertEquals(500, ((RTMWebSocketHandlerException) t).getStatusCode());
+                    assertEquals("unhandled error occurred to message validating", ((RTMWebSocketHandlerException) t).getErrorMessage());
+                })
+                .verify();
     }
 
     @SuppressWarnings("unchecked")
@@ -141,7 +158,9 @@ class RTMWebSocketHandlerTest {
         when(messageHandlers.get(message.getType())).thenReturn(handlerProviders);
         when(rtmWebSocketAuthorizer.hasAuthorizer(message)).thenReturn(true);
 
-        assertThrows(RTMWebSocketHandlerException.class, () -> rtmWebSocketHandler.submit(message));
+        StepVerifier.create(rtmWebSocketHandler.submit(message))
+                .expectError(RTMWebSocketHandlerException.class)
+                .verify();
     }
 
     @SuppressWarnings("unchecked")
@@ -157,14 +176,88 @@ class RTMWebSocketHandlerTest {
         when(messageHandlers.containsKey(message.getType())).thenReturn(true);
         when(rtmWebSocketAuthorizer.hasAuthorizer(message)).thenReturn(true);
 
+        when(rtmWebSocketAuthorizer.authorize(eq(message), any(), any())).thenReturn(Mono.empty());
+
         when(messageHandlers.get(message.getType())).thenReturn(Lists.newArrayList(handlerProvider));
         when(handlerProvider.get()).thenReturn(handler);
-        rtmWebSocketHandler.submit(message);
+        rtmWebSocketHandler.submit(message).block();
 
         // verifies handlers have been called
         verify(handler, times(1)).handle(session, message);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void process_unauthorized() throws Exception {
+        ReceivedMessage message = mockReceivedMessage();
+        MessageHandler handler = mock(MessageHandler.class);
+        Provider<MessageHandler<? extends ReceivedMessage>> handlerProvider = genericMock(Provider.class);
+        Session session = RTMWebSocketTestUtils.mockSession();
+
+        rtmWebSocketHandler.initialise("client-id", session, RTMWebSocketContext.SOCKET);
+
+        when(messageHandlers.containsKey(message.getType())).thenReturn(true);
+        when(rtmWebSocketAuthorizer.hasAuthorizer(message)).thenReturn(true);
+        when(rtmWebSocketAuthorizer.authorize(eq(message), any(), any()))
+                .thenReturn(Mono.error(new RTMWebSocketHandlerException("Unauthorized", message.getId(), 401)));
+        when(messageHandlers.get(message.getType())).thenReturn(Lists.newArrayList(handlerProvider));
+        when(handlerProvider.get()).thenReturn(handler);
+
+        StepVerifier.create(rtmWebSocketHandler.submit(message))
+                .expectError(RTMWebSocketHandlerException.class)
+                .verify();
+
+        verify(handler, never()).handle(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void process_reactiveHandler() {
+        ReceivedMessage message = mockReceivedMessage();
+        ReactiveMessageHandler handler = mock(ReactiveMessageHandler.class);
+        Provider<MessageHandler<? extends ReceivedMessage>> handlerProvider = genericMock(Provider.class);
+        Session session = RTMWebSocketTestUtils.mockSession();
+        TestPublisher<Void> handling = TestPublisher.create();
+
+        rtmWebSocketHandler.initialise("client-id", session, RTMWebSocketContext.SOCKET);
+
+        when(messageHandlers.containsKey(message.getType())).thenReturn(true);
+        when(rtmWebSocketAuthorizer.hasAuthorizer(message)).thenReturn(true);
+        when(rtmWebSocketAuthorizer.authorize(eq(message), any(), any())).thenReturn(Mono.empty());
+        when(messageHandlers.get(message.getType())).thenReturn(Lists.newArrayList(handlerProvider));
+        when(handlerProvider.get()).thenReturn(handler);
+        when(handler.handleAsync(session, message)).thenReturn(handling.mono());
+
+        Mono<Void> processed = rtmWebSocketHandler.submit(message);
+
+        // the handler completes after submit returned
+        verify(handler).handleAsync(session, message);
+        handling.complete();
+        StepVerifier.create(processed).verifyComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void process_handlerFault() throws Exception {
+        ReceivedMessage message = mockReceivedMessage();
+        MessageHandler handler = mock(MessageHandler.class);
+        Provider<MessageHandler<? extends ReceivedMessage>> handlerProvider = genericMock(Provider.class);
+        Session session = RTMWebSocketTestUtils.mockSession();
+
+        rtmWebSocketHandler.initialise("client-id", session, RTMWebSocketContext.SOCKET);
+
+        when(messageHandlers.containsKey(message.getType())).thenReturn(true);
+        when(rtmWebSocketAuthorizer.hasAuthorizer(message)).thenReturn(true);
+        when(rtmWebSocketAuthorizer.authorize(eq(message), any(), any())).thenReturn(Mono.empty());
+        when(messageHandlers.get(message.getType())).thenReturn(Lists.newArrayList(handlerProvider));
+        when(handlerProvider.get()).thenReturn(handler);
+        doThrow(new IllegalArgumentFault("bad argument")).when(handler).handle(session, message);
+
+        StepVerifier.create(rtmWebSocketHandler.submit(message))
+                .expectErrorSatisfies(t -> assertEquals(400, ((RTMWebSocketHandlerException) t).getStatusCode()))
+                .verify();
+    }
+
 
     @Test
     void initialise() {
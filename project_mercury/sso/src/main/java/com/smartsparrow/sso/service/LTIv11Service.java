@@ -20,8 +20,10 @@ import org.redisson.api.RedissonReactiveClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.net.HttpHeaders;
 import com.smartsparrow.cache.service.CacheService;
+import com.smartsparrow.cache.service.CacheTags;
 import com.smartsparrow.exception.IllegalArgumentFault;
 import com.smartsparrow.exception.IllegalStateFault;
 import com.smartsparrow.iam.lang.UnauthorizedFault;
@@ -60,18 +62,21 @@ public class LTIv11Service {
     private final LTIMessageSignatures ltiMessageSignatures;
     private final IESService iesService;
     private final RedissonReactiveClient redissonReactiveClient;
+    private final CacheService cacheService;
 
     @Inject
     public LTIv11Service(final AccountService accountService,
                          final LTIv11Gateway ltIv11Gateway,
                          final LTIMessageSignatures ltiMessageSignatures,
                          final IESService iesService,
-                         final RedissonReactiveClient redissonReactiveClient) {
+                         final RedissonReactiveClient redissonReactiveClient,
+                         final CacheService cacheService) {
         this.accountService = accountService;
         this.ltIv11Gateway = ltIv11Gateway;
         this.ltiMessageSignatures = ltiMessageSignatures;
         this.iesService = iesService;
         this.redissonReactiveClient = redissonReactiveClient;
+        this.cacheService = cacheService;
     }
 
     /**
@@ -279,6 +284,9 @@ public class LTIv11Service {
 
                                 RBucketReactive<Map<String, String>> storeBucket = redissonReactiveClient.getBucket(cacheNameToStore);
                                 storeBucket.set(ltiParams, 1l, TimeUnit.DAYS).block();
+                                // cleared with the other values of the deployment when it is published again
+                                cacheService.tag(cacheNameToStore, 1l, TimeUnit.DAYS,
+                                        ImmutableSet.of(CacheTags.deployment(deploymentId))).block();
                             } catch (Exception e) {
                                 log.info("Error occurred while storing/retrieving of ltiParams from cache");
                             }